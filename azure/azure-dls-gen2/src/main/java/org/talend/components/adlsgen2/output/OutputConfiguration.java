@@ -15,7 +15,9 @@ package org.talend.components.adlsgen2.output;
 import java.io.Serializable;
 
 import org.talend.components.adlsgen2.dataset.AdlsGen2DataSet;
+import org.talend.components.common.stream.format.avro.AvroOutputConfiguration;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -27,7 +29,8 @@ import lombok.Data;
 })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { //
         @GridLayout.Row({ "dataSet" }), //
-        @GridLayout.Row({ "blobNameTemplate" }) })
+        @GridLayout.Row({ "blobNameTemplate" }), //
+        @GridLayout.Row({ "avroConfiguration" }) })
 @Documentation("ADLS output configuration")
 public class OutputConfiguration implements Serializable {
 
@@ -40,4 +43,9 @@ public class OutputConfiguration implements Serializable {
             + "I.e. myPrefix-5deaa8ff-7d22-4b86-a864-9a6fa414501a.avro")
     private String blobNameTemplate = "data-";
 
+    @Option
+    @ActiveIf(target = "dataSet.format", value = "AVRO")
+    @Documentation("Compression and block size of written avro files.")
+    private AvroOutputConfiguration avroConfiguration = new AvroOutputConfiguration();
+
 }
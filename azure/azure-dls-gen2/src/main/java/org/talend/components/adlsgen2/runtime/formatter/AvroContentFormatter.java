@@ -23,6 +23,8 @@ import org.apache.avro.io.DatumWriter;
 import org.talend.components.adlsgen2.output.OutputConfiguration;
 import org.talend.components.adlsgen2.runtime.AdlsGen2RuntimeException;
 import org.talend.components.common.Constants;
+import org.talend.components.common.stream.format.avro.AvroOutputConfiguration;
+import org.talend.components.common.stream.output.avro.AvroOutput;
 import org.talend.components.common.stream.output.avro.RecordToAvro;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.record.Record;
@@ -50,7 +52,10 @@ public class AvroContentFormatter extends AbstractContentFormatter {
             Schema schema = records.get(0).getSchema();
             ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
             DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
-            DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
+            final AvroOutputConfiguration avroOptions = configuration.getAvroConfiguration();
+            DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter)
+                    .setCodec(AvroOutput.codec(avroOptions.getCodec(), avroOptions.getCompressionLevel()))
+                    .setSyncInterval(avroOptions.getSyncInterval());
             dataFileWriter.create(converter.fromRecordSchema(schema), byteBuffer);
             for (Record record : records) {
                 dataFileWriter.append(converter.fromRecord(record));
@@ -24,6 +24,8 @@ import org.apache.avro.io.DatumWriter;
 import org.talend.components.adlsgen2.output.OutputConfiguration;
 import org.talend.components.adlsgen2.service.AdlsGen2Service;
 import org.talend.components.common.Constants;
+import org.talend.components.common.stream.format.avro.AvroOutputConfiguration;
+import org.talend.components.common.stream.output.avro.AvroOutput;
 import org.talend.components.common.stream.output.avro.RecordToAvro;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
@@ -63,7 +65,10 @@ public class AvroBlobWriter extends BlobWriter {
         try {
             ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
             DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
-            DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
+            final AvroOutputConfiguration avroOptions = configuration.getAvroConfiguration();
+            DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter)
+                    .setCodec(AvroOutput.codec(avroOptions.getCodec(), avroOptions.getCompressionLevel()))
+                    .setSyncInterval(avroOptions.getSyncInterval());
             dataFileWriter.create(converter.fromRecordSchema(getSchema()), byteBuffer);
             for (Record record : getBatch()) {
                 dataFileWriter.append(converter.fromRecord(record));
@@ -15,7 +15,9 @@ package org.talend.components.azure.output;
 import java.io.Serializable;
 
 import org.talend.components.azure.dataset.AzureBlobDataset;
+import org.talend.components.common.stream.format.avro.AvroOutputConfiguration;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -23,7 +25,8 @@ import lombok.Data;
 
 @GridLayout({ @GridLayout.Row({ "dataset" }) })
 
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("blobNameTemplate") })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row("blobNameTemplate"), @GridLayout.Row("avroConfiguration") })
 @Documentation("Options for the output component")
 @Data
 public class BlobOutputConfiguration implements Serializable {
@@ -36,4 +39,9 @@ public class BlobOutputConfiguration implements Serializable {
     @Documentation("Generated blob item name prefix.\nBatch file would have name prefix + UUID + extension.\n"
             + "I.e. myPrefix-5deaa8ff-7d22-4b86-a864-9a6fa414501a.avro")
     private String blobNameTemplate = "data-";
+
+    @Option
+    @ActiveIf(target = "dataset.fileFormat", value = "AVRO")
+    @Documentation("Compression and block size of written avro files.")
+    private AvroOutputConfiguration avroConfiguration = new AvroOutputConfiguration();
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ import org.talend.components.azure.output.BlobOutputConfiguration;
 import org.talend.components.azure.service.AzureBlobComponentServices;
 import org.talend.components.common.Constants;
 import org.talend.components.common.service.azureblob.AzureComponentServices;
+import org.talend.components.common.stream.format.avro.AvroOutputConfiguration;
+import org.talend.components.common.stream.output.avro.AvroOutput;
 import org.talend.components.common.stream.output.avro.RecordToAvro;
 import org.talend.sdk.component.api.record.Record;
 
@@ -81,7 +83,10 @@ public class AvroBlobFileWriter extends BlobFileWriter {
     private byte[] convertBatchToBytes() throws IOException {
         ByteArrayOutputStream byteBuffer = new ByteArrayOutputStream();
         DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
-        DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter);
+        final AvroOutputConfiguration avroOptions = config.getAvroConfiguration();
+        DataFileWriter<GenericRecord> dataFileWriter = new DataFileWriter<>(datumWriter)
+                .setCodec(AvroOutput.codec(avroOptions.getCodec(), avroOptions.getCompressionLevel()))
+                .setSyncInterval(avroOptions.getSyncInterval());
         dataFileWriter.create(converter.fromRecordSchema(getSchema()), byteBuffer);
         for (Record record : getBatch()) {
             dataFileWriter.append(converter.fromRecord(record));
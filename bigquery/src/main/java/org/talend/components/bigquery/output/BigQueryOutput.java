@@ -41,12 +41,12 @@ import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.channels.Channels;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import static org.talend.sdk.component.api.component.Icon.IconType.BIGQUERY;
@@ -58,9 +58,6 @@ import static org.talend.sdk.component.api.component.Icon.IconType.BIGQUERY;
 @Documentation("This component writes into BigQuery.")
 public class BigQueryOutput implements Serializable {
 
-    /** Maximum records per request allowed by Google API */
-    private static final int MAX_BATCH_SIZE = 10_000;
-
     private final I18nMessage i18n;
 
     private final BigQueryOutputConfig configuration;
@@ -95,6 +92,8 @@ public class BigQueryOutput implements Serializable {
 
     private transient boolean isTruncateDone;
 
+    private transient InsertAllPipeline insertPipeline;
+
     public BigQueryOutput(@Option("configuration") final BigQueryOutputConfig configuration,
             BigQueryService bigQueryService,
             GoogleStorageService storageService, RecordIORepository ioRepository, I18nMessage i18n) {
@@ -267,43 +266,36 @@ public class BigQueryOutput implements Serializable {
     }
 
     private void streamData() {
+        if (insertPipeline == null) {
+            insertPipeline = new InsertAllPipeline(bigQuery, tableId, configuration.getInsertConcurrency());
+        }
         TacoKitRecordToTableRowConverter converter = new TacoKitRecordToTableRowConverter(tableSchema, i18n);
 
-        int nbRecordsToSend = records.size();
-        int nbRecordsSent = 0;
-        List<Map<String, ?>> recordsBuffer = new ArrayList<>();
-
-        while (nbRecordsSent < nbRecordsToSend) {
-
-            recordsBuffer.clear();
-            records
-                    .stream()
-                    .skip(nbRecordsSent)
-                    .limit(MAX_BATCH_SIZE)
-                    .map(converter::apply)
-                    .forEach(recordsBuffer::add);
-
-            InsertAllRequest.Builder insertAllRequestBuilder = InsertAllRequest.newBuilder(tableId);
-            recordsBuffer.stream().forEach(insertAllRequestBuilder::addRow);
-            InsertAllResponse response = bigQuery.insertAll(insertAllRequestBuilder.build());
-
-            if (response.hasErrors()) {
-                // response.getInsertErrors();
-                // rejected no handled by TCK
-                log.warn(i18n.warnRejected(response.getInsertErrors().size()));
-                // log errors for first row
-                response.getInsertErrors().values().iterator().next().stream().forEach(e -> log.warn(e.getMessage()));
-                if (response.getInsertErrors().size() == recordsBuffer.size()) {
-                    // All rows were rejected : there's an issue with schema ?
-                    log.warn(records.get(0).getSchema().toString());
-                    log.warn(tableSchema.toString());
-                    // Let's show how the first record was handled.
-                    log.warn(records.get(nbRecordsSent).toString());
-                    log.warn(recordsBuffer.get(0).toString());
-                }
+        // rows are converted once, while previous requests are sent.
+        for (Record record : records) {
+            insertPipeline.add(record, converter.apply(record));
+        }
+        List<Reject> rejects = insertPipeline.flush();
+
+        if (!rejects.isEmpty()) {
+            // rejected no handled by TCK
+            log.warn(i18n.warnRejected(rejects.size()));
+            rejects.stream().map(Reject::toString).forEach(log::warn);
+            if (rejects.size() == records.size()) {
+                // All rows were rejected : there's an issue with schema ?
+                log.warn(records.get(0).getSchema().toString());
+                log.warn(tableSchema.toString());
+                // Let's show how the first record was handled.
+                log.warn(String.valueOf(converter.apply(records.get(0))));
             }
+        }
+    }
 
-            nbRecordsSent += recordsBuffer.size();
+    @PreDestroy
+    public void release() {
+        if (insertPipeline != null) {
+            insertPipeline.close();
+            insertPipeline = null;
         }
     }
 
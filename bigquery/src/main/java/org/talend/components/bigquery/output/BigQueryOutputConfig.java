@@ -30,7 +30,7 @@ import static org.talend.sdk.component.api.component.Icon.IconType.BIGQUERY;
 @Data
 @Icon(value = Icon.IconType.CUSTOM, custom = "bigquery-connector")
 @Documentation("Dataset of a BigQuery component.")
-@OptionsOrder({ "dataSet", "tableOperation" })
+@OptionsOrder({ "dataSet", "tableOperation", "insertConcurrency" })
 public class BigQueryOutputConfig implements Serializable {
 
     @Option
@@ -42,6 +42,12 @@ public class BigQueryOutputConfig implements Serializable {
     @DefaultValue("NONE")
     private TableOperation tableOperation = TableOperation.NONE;
 
+    @Option
+    @ActiveIf(target = "tableOperation", value = "TRUNCATE", negate = true)
+    @Documentation("Maximum number of streaming insert requests sent concurrently.")
+    @DefaultValue("4")
+    private int insertConcurrency = 4;
+
     public enum TableOperation {
         /**
          * Specifics that tables should not be created.
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.bigquery.output;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.BigQueryError;
+import com.google.cloud.bigquery.InsertAllRequest;
+import com.google.cloud.bigquery.InsertAllResponse;
+import com.google.cloud.bigquery.TableId;
+import lombok.extern.slf4j.Slf4j;
+import org.talend.components.bigquery.service.BigQueryConnectorException;
+import org.talend.sdk.component.api.record.Record;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streaming inserts of converted rows.
+ * Rows are grouped in insertAll requests limited by number of rows and by estimated payload size,
+ * requests are sent by a pool of threads with a bounded number of requests in flight.
+ * Each row gets an insertId, so BigQuery can de-duplicate rows of retried requests.
+ * Rows rejected by BigQuery are mapped back to their source records.
+ */
+@Slf4j
+public class InsertAllPipeline implements AutoCloseable {
+
+    /** Maximum records per request allowed by Google API */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    /** Maximum payload per request, under the 10 MB HTTP request limit of streaming inserts. */
+    public static final long MAX_BATCH_BYTES = 9L * 1024 * 1024;
+
+    /** json overhead of a row in request, with its insertId ({"insertId":"...","json":{...}}) */
+    private static final int ROW_OVERHEAD = 100;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final BigQuery bigQuery;
+
+    private final TableId tableId;
+
+    private final int maxBatchSize;
+
+    private final long maxBatchBytes;
+
+    private final ExecutorService executor;
+
+    /** limit number of requests in flight, so converted rows in memory stay bounded */
+    private final Semaphore inFlight;
+
+    private final List<Future<List<Reject>>> pending = new ArrayList<>();
+
+    /** prefix of insertIds, unique for this pipeline */
+    private final String idPrefix = UUID.randomUUID().toString();
+
+    private long rowNumber;
+
+    private InsertAllRequest.Builder currentRequest;
+
+    private List<Record> currentRecords;
+
+    private long currentBytes;
+
+    public InsertAllPipeline(BigQuery bigQuery, TableId tableId, int concurrency) {
+        this(bigQuery, tableId, concurrency, MAX_BATCH_SIZE, MAX_BATCH_BYTES);
+    }
+
+    public InsertAllPipeline(BigQuery bigQuery, TableId tableId, int concurrency, int maxBatchSize,
+            long maxBatchBytes) {
+        this.bigQuery = bigQuery;
+        this.tableId = tableId;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchBytes = maxBatchBytes;
+        final int threads = Math.max(1, concurrency);
+        final int pool = POOL_NUMBER.incrementAndGet();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, (Runnable r) -> {
+            final Thread thread = new Thread(r, "bigquery-insert-" + pool + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inFlight = new Semaphore(threads);
+    }
+
+    /**
+     * Add converted row of record, send current request if it's full.
+     *
+     * @param record : source record.
+     * @param row : record converted to table row.
+     */
+    public void add(Record record, Map<String, ?> row) {
+        final long rowBytes = ROW_OVERHEAD + InsertAllPipeline.estimateSize(row);
+        if (this.currentRequest != null && (this.currentRecords.size() >= this.maxBatchSize
+                || this.currentBytes + rowBytes > this.maxBatchBytes)) {
+            this.send();
+        }
+        if (this.currentRequest == null) {
+            this.currentRequest = InsertAllRequest.newBuilder(this.tableId);
+            this.currentRecords = new ArrayList<>();
+            this.currentBytes = 0L;
+        }
+        this.currentRequest.addRow(InsertAllRequest.RowToInsert.of(this.idPrefix + "-" + this.rowNumber++, row));
+        this.currentRecords.add(record);
+        this.currentBytes += rowBytes;
+    }
+
+    /**
+     * Send pending rows and wait for all requests.
+     *
+     * @return rejected records.
+     */
+    public List<Reject> flush() {
+        this.send();
+        final List<Reject> rejects = new ArrayList<>();
+        try {
+            for (Future<List<Reject>> request : this.pending) {
+                rejects.addAll(request.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BigQueryConnectorException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new BigQueryConnectorException(e.getCause().getMessage());
+        } finally {
+            this.pending.clear();
+        }
+        return rejects;
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    private void send() {
+        if (this.currentRequest == null) {
+            return;
+        }
+        final InsertAllRequest request = this.currentRequest.build();
+        final List<Record> sources = this.currentRecords;
+        this.currentRequest = null;
+        this.currentRecords = null;
+        try {
+            this.inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BigQueryConnectorException(e.getMessage());
+        }
+        try {
+            this.pending.add(this.executor.submit(() -> {
+                try {
+                    return this.insert(request, sources);
+                } finally {
+                    this.inFlight.release();
+                }
+            }));
+        } catch (RuntimeException e) {
+            this.inFlight.release();
+            throw e;
+        }
+    }
+
+    private List<Reject> insert(InsertAllRequest request, List<Record> sources) {
+        log.debug("Insert {} rows in {}", sources.size(), this.tableId.getTable());
+        final InsertAllResponse response = this.bigQuery.insertAll(request);
+        if (response == null || !response.hasErrors()) {
+            return new ArrayList<>();
+        }
+        final Map<Long, List<BigQueryError>> errors = response.getInsertErrors();
+        final List<Reject> rejects = new ArrayList<>(errors.size());
+        // errors are indexed by row position in request.
+        errors.forEach((Long index, List<BigQueryError> rowErrors) -> rejects
+                .add(new Reject(sources.get(index.intValue()), rowErrors)));
+        return rejects;
+    }
+
+    /**
+     * Estimate json size of a converted value.
+     *
+     * @param value : table row value (map, collection, string, number or boolean).
+     * @return approximate number of bytes.
+     */
+    static long estimateSize(Object value) {
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence) {
+            final CharSequence text = (CharSequence) value;
+            long size = text.length() + 2;
+            for (int i = 0; i < text.length(); i++) {
+                final char c = text.charAt(i);
+                if (c >= 0x80 || c < 0x20 || c == '"' || c == '\\') {
+                    // multi bytes utf-8 char or escaped char.
+                    size += 2;
+                }
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = 2;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += String.valueOf(entry.getKey()).length() + 4 + InsertAllPipeline.estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 2;
+            for (Object element : (Collection<?>) value) {
+                size += 1 + InsertAllPipeline.estimateSize(element);
+            }
+            return size;
+        }
+        if (value instanceof Boolean) {
+            return 5;
+        }
+        // numbers
+        return 24;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.bigquery.output;
+
+import com.google.cloud.bigquery.BigQueryError;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.talend.sdk.component.api.record.Record;
+
+import java.util.List;
+
+/**
+ * Record rejected by a streaming insert, with BigQuery errors of its row.
+ */
+@Getter
+@RequiredArgsConstructor
+public class Reject {
+
+    private final Record record;
+
+    private final List<BigQueryError> errors;
+
+    @Override
+    public String toString() {
+        return "{\"errors\": \"" + errors + "\", \"record\":" + record + "}";
+    }
+}
@@ -36,6 +36,12 @@ import static java.util.stream.Collectors.toList;
 @Slf4j
 public class TacoKitRecordToTableRowConverter {
 
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private com.google.cloud.bigquery.Schema tableSchema;
 
     private I18nMessage i18n;
@@ -180,19 +186,19 @@ public class TacoKitRecordToTableRowConverter {
     }
 
     private String getTimeString(ZonedDateTime time) {
-        return time.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+        return time.format(TIME_FORMAT);
     }
 
     private String getDateTimeString(ZonedDateTime time) {
-        return time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+        return time.format(DATETIME_FORMAT);
     }
 
     private String getDateString(ZonedDateTime time) {
-        return time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        return time.format(DATE_FORMAT);
     }
 
     private String getTimestampString(ZonedDateTime time) {
-        return time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+        return time.format(DATETIME_FORMAT);
     }
 
 }
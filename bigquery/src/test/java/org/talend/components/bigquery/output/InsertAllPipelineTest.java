@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.bigquery.output;
+
+import com.google.cloud.bigquery.BigQuery;
+import com.google.cloud.bigquery.BigQueryError;
+import com.google.cloud.bigquery.InsertAllRequest;
+import com.google.cloud.bigquery.InsertAllResponse;
+import com.google.cloud.bigquery.TableId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+public class InsertAllPipelineTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    private final TableId tableId = TableId.of("project", "dataset", "table");
+
+    private BigQuery bigQuery;
+
+    private List<InsertAllRequest> requests;
+
+    @BeforeEach
+    public void init() {
+        bigQuery = Mockito.mock(BigQuery.class);
+        requests = new CopyOnWriteArrayList<>();
+        // reject row with "reject" name.
+        final List<BigQueryError> rowErrors =
+                Collections.singletonList(new BigQueryError("invalid", "name", "rejected"));
+        Mockito.when(bigQuery.insertAll(Mockito.any(InsertAllRequest.class))).thenAnswer(invocation -> {
+            final InsertAllRequest request = (InsertAllRequest) invocation.getArguments()[0];
+            requests.add(request);
+            final InsertAllResponse response = Mockito.mock(InsertAllResponse.class);
+            final Map<Long, List<BigQueryError>> errors = request
+                    .getRows()
+                    .stream()
+                    .filter(row -> "reject".equals(row.getContent().get("name")))
+                    .collect(Collectors.toMap(row -> (long) request.getRows().indexOf(row), row -> rowErrors));
+            Mockito.when(response.hasErrors()).thenReturn(!errors.isEmpty());
+            Mockito.when(response.getInsertErrors()).thenReturn(errors);
+            return response;
+        });
+    }
+
+    @Test
+    public void batchByRowsAndMapRejects() {
+        final List<Reject> rejects;
+        try (InsertAllPipeline pipeline = new InsertAllPipeline(bigQuery, tableId, 3, 10, Long.MAX_VALUE)) {
+            for (int i = 0; i < 25; i++) {
+                final String name = i % 7 == 3 ? "reject" : "name" + i;
+                final Record record = factory.newRecordBuilder().withInt("id", i).withString("name", name).build();
+                pipeline.add(record, Collections.singletonMap("name", name));
+            }
+            rejects = pipeline.flush();
+        }
+
+        Assertions.assertEquals(3, requests.size());
+        Assertions.assertEquals(25, requests.stream().mapToInt(r -> r.getRows().size()).sum());
+        final Set<String> insertIds = requests
+                .stream()
+                .flatMap(r -> r.getRows().stream())
+                .map(InsertAllRequest.RowToInsert::getId)
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(25, insertIds.size());
+
+        final Set<Integer> rejectedIds =
+                rejects.stream().map(r -> r.getRecord().getInt("id")).collect(Collectors.toSet());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(3, 10, 17, 24)), rejectedIds);
+        Assertions.assertEquals("invalid", rejects.get(0).getErrors().get(0).getReason());
+    }
+
+    @Test
+    public void batchByBytes() {
+        final String value = String.join("", Collections.nCopies(1000, "x"));
+        try (InsertAllPipeline pipeline = new InsertAllPipeline(bigQuery, tableId, 2, 10_000, 10_000)) {
+            for (int i = 0; i < 30; i++) {
+                final Record record = factory.newRecordBuilder().withString("value", value).build();
+                pipeline.add(record, Collections.singletonMap("value", value));
+            }
+            Assertions.assertTrue(pipeline.flush().isEmpty());
+        }
+        // each row is estimated to 1113 bytes, so 8 rows by request.
+        Assertions.assertEquals(4, requests.size());
+        requests.forEach(r -> Assertions.assertTrue(r.getRows().size() <= 8, "request too big"));
+    }
+
+    @Test
+    public void estimateSize() {
+        Assertions.assertEquals(7, InsertAllPipeline.estimateSize("hello"));
+        Assertions.assertEquals(4, InsertAllPipeline.estimateSize(null));
+        Assertions
+                .assertEquals(2 + 1 + 4 + 7, InsertAllPipeline.estimateSize(Collections.singletonMap("k", "hello")));
+    }
+}
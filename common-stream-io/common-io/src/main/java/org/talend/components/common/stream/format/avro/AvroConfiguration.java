@@ -19,8 +19,28 @@ import lombok.Data;
 @Data
 public class AvroConfiguration implements ContentFormat {
 
+    /** Avro default sync interval */
+    public static final int DEFAULT_SYNC_INTERVAL = 64000;
+
+    public enum Codec {
+        NULL,
+        DEFLATE,
+        SNAPPY,
+        BZIP2,
+        XZ
+    }
+
     private boolean attachSchema = true;
 
     private String avroSchema;
 
+    /** compression codec of data blocks, when schema is attached (see {@link AvroOutputConfiguration}) */
+    private Codec codec = Codec.NULL;
+
+    private int compressionLevel = 6;
+
+    private int syncInterval = DEFAULT_SYNC_INTERVAL;
+
+    private int bufferSize = 2048;
+
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.format.avro;
+
+import java.io.Serializable;
+
+import org.talend.components.common.stream.format.avro.AvroConfiguration.Codec;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import lombok.Data;
+
+/**
+ * Options of written Avro files, for output components only.
+ */
+@Data
+@GridLayout({ @GridLayout.Row("codec"), @GridLayout.Row("compressionLevel") })
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("syncInterval"),
+        @GridLayout.Row("bufferSize") })
+@Documentation("Avro output configuration, with compression and block size of written files.")
+public class AvroOutputConfiguration implements Serializable {
+
+    private static final long serialVersionUID = -3184318927403823652L;
+
+    @Option
+    @Documentation("Compression codec of data blocks, when schema is attached.")
+    private Codec codec = Codec.NULL;
+
+    @Option
+    @ActiveIf(target = "codec", value = { "DEFLATE", "XZ" })
+    @Min(1)
+    @Max(9)
+    @Documentation("Compression level, from 1 (fastest) to 9 (smallest).")
+    private int compressionLevel = 6;
+
+    @Option
+    @Min(32)
+    @Max(1 << 30)
+    @Documentation("Approximate size in bytes of data blocks, a sync marker follows each block.")
+    private int syncInterval = AvroConfiguration.DEFAULT_SYNC_INTERVAL;
+
+    @Option
+    @Min(32)
+    @Documentation("Size in bytes of the encoder buffer, when schema is not attached.")
+    private int bufferSize = 2048;
+
+    /**
+     * Copy these options to the avro format.
+     *
+     * @param avroConfig : format of written files.
+     */
+    public void applyTo(final AvroConfiguration avroConfig) {
+        avroConfig.setCodec(this.codec);
+        avroConfig.setCompressionLevel(this.compressionLevel);
+        avroConfig.setSyncInterval(this.syncInterval);
+        avroConfig.setBufferSize(this.bufferSize);
+    }
+}
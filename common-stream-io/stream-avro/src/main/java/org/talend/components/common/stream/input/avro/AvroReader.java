@@ -16,8 +16,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
+import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.DataFileStream;
+import org.apache.avro.file.SeekableInput;
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.DatumReader;
@@ -48,6 +51,47 @@ public class AvroReader implements RecordReader {
         }
     }
 
+    /**
+     * Read records of data blocks starting between two positions of an Avro file.
+     * Blocks are found with their sync markers, so that a file split by positions has each of its blocks read by
+     * exactly one split.
+     *
+     * @param input : seekable Avro file.
+     * @param start : position of split start, blocks starting after it are read.
+     * @param end : position of split end, blocks starting after it are left to next split.
+     * @return records of split.
+     */
+    public Iterator<Record> read(SeekableInput input, long start, long end) {
+        try {
+            final DatumReader<GenericRecord> userDatumReader = new GenericDatumReader<>();
+            final DataFileReader<GenericRecord> reader = new DataFileReader<>(input, userDatumReader);
+            this.genericRecordReader = reader;
+            reader.sync(start);
+            final Iterator<GenericRecord> splitIterator = new Iterator<GenericRecord>() {
+
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return reader.hasNext() && !reader.pastSync(end);
+                    } catch (IOException exIO) {
+                        throw new UncheckedIOException("Unable to read avro block : " + exIO.getMessage(), exIO);
+                    }
+                }
+
+                @Override
+                public GenericRecord next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return reader.next();
+                }
+            };
+            return new IteratorMap<>(splitIterator, this.convertor::toRecord);
+        } catch (IOException exIO) {
+            throw new UncheckedIOException("Unable to open avro reader : " + exIO.getMessage(), exIO);
+        }
+    }
+
     @Override
     public void close() {
         if (this.genericRecordReader != null) {
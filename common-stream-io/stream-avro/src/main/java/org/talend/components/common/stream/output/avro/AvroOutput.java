@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
@@ -24,6 +25,7 @@ import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.EncoderFactory;
 import org.talend.components.common.stream.api.output.TargetFinder;
 import org.talend.components.common.stream.format.avro.AvroConfiguration;
+import org.talend.components.common.stream.format.avro.AvroConfiguration.Codec;
 
 /**
  * Writer for avro record to output.
@@ -37,12 +39,38 @@ public abstract class AvroOutput implements AutoCloseable {
 
     public static AvroOutput buildOutput(final AvroConfiguration avroConfig, final TargetFinder destinationFinder) {
         if (avroConfig.isAttachSchema()) {
-            return new WithHead(destinationFinder);
+            final CodecFactory codec = AvroOutput.codec(avroConfig.getCodec(), avroConfig.getCompressionLevel());
+            return new WithHead(destinationFinder, codec, avroConfig.getSyncInterval());
         } else {
             final Schema schema =
                     avroConfig.getAvroSchema() != null ? new Schema.Parser().parse(avroConfig.getAvroSchema())
                             : null;
-            return new Headless(destinationFinder, schema);
+            return new Headless(destinationFinder, schema, avroConfig.getBufferSize());
+        }
+    }
+
+    /**
+     * Codec of data blocks, none by default.
+     *
+     * @param codec : configured codec.
+     * @param compressionLevel : level of deflate and xz codecs.
+     * @return avro codec factory.
+     */
+    public static CodecFactory codec(final Codec codec, final int compressionLevel) {
+        if (codec == null) {
+            return CodecFactory.nullCodec();
+        }
+        switch (codec) {
+        case DEFLATE:
+            return CodecFactory.deflateCodec(compressionLevel);
+        case SNAPPY:
+            return CodecFactory.snappyCodec();
+        case BZIP2:
+            return CodecFactory.bzip2Codec();
+        case XZ:
+            return CodecFactory.xzCodec(compressionLevel);
+        default:
+            return CodecFactory.nullCodec();
         }
     }
 
@@ -75,10 +103,10 @@ public abstract class AvroOutput implements AutoCloseable {
 
         private final DataFileWriter<GenericRecord> dataFileWriter;
 
-        public WithHead(final TargetFinder destination) {
+        public WithHead(final TargetFinder destination, final CodecFactory codec, final int syncInterval) {
             super(destination);
             final DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>();
-            this.dataFileWriter = new DataFileWriter<>(datumWriter);
+            this.dataFileWriter = new DataFileWriter<>(datumWriter).setCodec(codec).setSyncInterval(syncInterval);
         }
 
         @Override
@@ -108,11 +136,14 @@ public abstract class AvroOutput implements AutoCloseable {
 
         private final Schema initialSchema;
 
+        private final int bufferSize;
+
         private BinaryEncoder out;
 
-        public Headless(final TargetFinder destination, final Schema schema) {
+        public Headless(final TargetFinder destination, final Schema schema, final int bufferSize) {
             super(destination);
             this.initialSchema = schema;
+            this.bufferSize = bufferSize;
         }
 
         @Override
@@ -122,7 +153,7 @@ public abstract class AvroOutput implements AutoCloseable {
 
         @Override
         protected void first(GenericRecord firstRecord) throws IOException {
-            this.out = EncoderFactory.get().binaryEncoder(destination(), null);
+            this.out = new EncoderFactory().configureBufferSize(this.bufferSize).binaryEncoder(destination(), null);
             final Schema recordSchema = firstRecord.getSchema();
             if (!this.compatibleSchema(recordSchema)) {
                 throw new IllegalArgumentException("Record schema not compatible with init schema");
@@ -15,7 +15,10 @@ package org.talend.components.common.stream.output.avro;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.Collection;
-import java.util.Objects;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
@@ -31,11 +34,18 @@ import org.talend.components.common.stream.Constants;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 
+/**
+ * Converts talend records to Avro.
+ * Avro schema is compiled once into a writer plan, holding one writer by field, that puts values by position
+ * in Avro record. Plans are cached by record schema: records of a flow share the same schema instance, so it's
+ * compared by identity first, and structurally only when a new instance comes.
+ */
 public class RecordToAvro implements RecordConverter<GenericRecord, org.apache.avro.Schema> {
 
     private static final String ERROR_UNDEFINED_TYPE = "Undefined type %s.";
 
-    private org.apache.avro.Schema avroSchema;
+    /** number of last record schemas for which writer plans are kept */
+    private static final int MAX_CACHED_PLANS = 16;
 
     private boolean isSchemaFixed = false;
 
@@ -43,6 +53,17 @@ public class RecordToAvro implements RecordConverter<GenericRecord, org.apache.a
 
     private Schema cachedSchema;
 
+    private WriterPlan cachedPlan;
+
+    private final Map<Schema, WriterPlan> plans = new LinkedHashMap<Schema, WriterPlan>(MAX_CACHED_PLANS, 0.75f,
+            true) {
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Schema, WriterPlan> eldest) {
+            return this.size() > MAX_CACHED_PLANS;
+        }
+    };
+
     public RecordToAvro(final String currentRecordNamespace) {
         if (currentRecordNamespace == null) {
             throw new IllegalArgumentException("currentRecordNamespace can't be null");
@@ -52,171 +73,143 @@ public class RecordToAvro implements RecordConverter<GenericRecord, org.apache.a
 
     public RecordToAvro(final org.apache.avro.Schema givenSchema) {
         this.currentRecordNamespace = "";
-        this.avroSchema = givenSchema;
         this.isSchemaFixed = true;
+        this.cachedPlan = this.compile(givenSchema);
     }
 
     @Override
     public GenericRecord fromRecord(final Record record) {
-        if (!this.isSchemaFixed && (avroSchema == null || !(Objects.equals(this.cachedSchema, record.getSchema())))) {
-            this.cachedSchema = record.getSchema();
-            avroSchema = fromRecordSchema(record.getSchema());
+        final Schema recordSchema = record.getSchema();
+        if (!this.isSchemaFixed && (this.cachedPlan == null || this.cachedSchema != recordSchema)) {
+            this.cachedPlan = this.plans
+                    .computeIfAbsent(recordSchema, (Schema s) -> this.compile(this.fromRecordSchema(s)));
+            this.cachedSchema = recordSchema;
         }
-        return recordToAvro(record, newAvroRecord(avroSchema));
+        return this.cachedPlan.write(record);
     }
 
-    private GenericRecord recordToAvro(final Record fromRecord,
-            final GenericRecord toRecord) {
-        if (fromRecord == null) {
-            return toRecord;
-        }
-        toRecord.getSchema()
-                .getFields() //
-                .forEach((final org.apache.avro.Schema.Field field) -> this.toTCKRecord(field, fromRecord, toRecord));
+    /**
+     * Compile writer plan of an Avro record schema.
+     *
+     * @param schema Avro record schema, can be nullable.
+     * @return writer plan.
+     */
+    private WriterPlan compile(final org.apache.avro.Schema schema) {
+        return this.compile(schema, new IdentityHashMap<>());
+    }
 
-        return toRecord;
+    private WriterPlan compile(final org.apache.avro.Schema schema,
+            final Map<org.apache.avro.Schema, WriterPlan> compiled) {
+        final org.apache.avro.Schema recordSchema = AvroHelper.nonNullableType(schema);
+        WriterPlan plan = compiled.get(recordSchema);
+        if (plan == null) {
+            // registered before its fields are compiled, for recursive schemas.
+            plan = new WriterPlan(recordSchema);
+            compiled.put(recordSchema, plan);
+            final List<org.apache.avro.Schema.Field> fields = recordSchema.getFields();
+            for (int i = 0; i < fields.size(); i++) {
+                plan.writers[i] = this.fieldWriter(fields.get(i), compiled);
+            }
+        }
+        return plan;
     }
 
-    private void toTCKRecord(final org.apache.avro.Schema.Field field,
-            final Record fromRecord,
-            final GenericRecord toRecord) {
+    private FieldWriter fieldWriter(final org.apache.avro.Schema.Field field,
+            final Map<org.apache.avro.Schema, WriterPlan> compiled) {
         final String name = field.name();
+        final int pos = field.pos();
         final org.apache.avro.Schema.Type fieldType = AvroHelper.getFieldType(field);
-        String logicalType = AvroHelper.getLogicalType(field);
+        final String logicalType = AvroHelper.getLogicalType(field);
         switch (fieldType) {
         case RECORD:
-            final Record record = fromRecord.getRecord(name);
-            if (record != null) {
-                final org.apache.avro.Schema subSchema = field.schema();
-                final GenericRecord subrecord = this.recordToAvro(record, newAvroRecord(subSchema));
-                toRecord.put(name, subrecord);
-            }
-            break;
+            final WriterPlan subPlan = this.compile(field.schema(), compiled);
+            return (final Record fromRecord, final GenericData.Record toRecord) -> {
+                final Record record = fromRecord.getRecord(name);
+                if (record != null) {
+                    toRecord.put(pos, subPlan.write(record));
+                }
+            };
         case ARRAY:
-            final Collection<Object> tckArray = fromRecord.getOptionalArray(Object.class, name).orElse(null);
-            final Collection<?> avroArray = this.treatCollection(field.schema(), tckArray);
-            if (avroArray != null) {
-                toRecord.put(name, avroArray);
-            }
-
-            break;
+            final CollectionWriter collectionWriter = new CollectionWriter(field.schema(), compiled);
+            return (final Record fromRecord, final GenericData.Record toRecord) -> {
+                final Collection<Object> tckArray = fromRecord.getOptionalArray(Object.class, name).orElse(null);
+                final Collection<?> avroArray = collectionWriter.write(tckArray);
+                if (avroArray != null) {
+                    toRecord.put(pos, avroArray);
+                }
+            };
         case STRING:
-            toRecord.put(name, fromRecord.getOptionalString(name).orElse(null));
-            break;
+            return (final Record fromRecord, final GenericData.Record toRecord) -> toRecord
+                    .put(pos, fromRecord.getOptionalString(name).orElse(null));
         case BYTES:
         case FIXED:
             if (Constants.AVRO_LOGICAL_TYPE_DECIMAL.equals(logicalType)) {
-                final Optional<String> optionalStringValue = fromRecord.getOptionalString(name);
-                if (optionalStringValue.isPresent()) {
-                    org.apache.avro.Schema fieldSchema = AvroHelper.nonNullableType(field.schema());
-                    BigDecimal bigDecimal = new BigDecimal(optionalStringValue.get())
-                            .setScale(
-                                    ((LogicalTypes.Decimal) fieldSchema.getLogicalType())
-                                            .getScale(),
-                                    BigDecimal.ROUND_HALF_UP);
-                    if (org.apache.avro.Schema.Type.BYTES.equals(fieldType)) {
-                        ByteBuffer byteBuffer = ByteBuffer.wrap(bigDecimal.unscaledValue().toByteArray());
-                        toRecord.put(name, byteBuffer);
-                    } else {
-                        byte fillByte = (byte) (bigDecimal.signum() < 0 ? 0xFF : 0x00);
-                        byte[] unscaled = bigDecimal.unscaledValue().toByteArray();
-                        byte[] bytes = new byte[fieldSchema.getFixedSize()];
-                        int offset = bytes.length - unscaled.length;
-                        for (int i = 0; i < bytes.length; i += 1) {
-                            if (i < offset) {
-                                bytes[i] = fillByte;
-                            } else {
-                                bytes[i] = unscaled[i - offset];
-                            }
-                        }
-                        toRecord.put(name, new GenericData.Fixed(fieldSchema, bytes));
-                    }
-                } else {
-                    toRecord.put(name, null);
-                }
-            } else {
-                final Optional<byte[]> optionalBytesValue = fromRecord.getOptionalBytes(name);
-                if (optionalBytesValue.isPresent()) {
-                    ByteBuffer byteBuffer = ByteBuffer.wrap(fromRecord.getBytes(name));
-                    toRecord.put(name, byteBuffer);
-                } else {
-                    toRecord.put(name, null);
-                }
+                return this.decimalWriter(field, fieldType);
             }
-            break;
+            return (final Record fromRecord, final GenericData.Record toRecord) -> {
+                final Optional<byte[]> optionalBytesValue = fromRecord.getOptionalBytes(name);
+                toRecord.put(pos, optionalBytesValue.map(ByteBuffer::wrap).orElse(null));
+            };
         case INT:
-            OptionalInt optionalIntValue = fromRecord.getOptionalInt(name);
-            if (optionalIntValue.isPresent()) {
-                toRecord.put(name, optionalIntValue.getAsInt());
-            } else {
-                toRecord.put(name, null);
-            }
-            break;
+            return (final Record fromRecord, final GenericData.Record toRecord) -> {
+                final OptionalInt optionalIntValue = fromRecord.getOptionalInt(name);
+                toRecord.put(pos, optionalIntValue.isPresent() ? optionalIntValue.getAsInt() : null);
+            };
         case LONG:
-            OptionalLong optionalLongValue = fromRecord.getOptionalLong(name);
-            if (optionalLongValue.isPresent()) {
-                toRecord.put(name, optionalLongValue.getAsLong());
-            } else {
-                toRecord.put(name, null);
-            }
-            break;
+            return (final Record fromRecord, final GenericData.Record toRecord) -> {
+                final OptionalLong optionalLongValue = fromRecord.getOptionalLong(name);
+                toRecord.put(pos, optionalLongValue.isPresent() ? optionalLongValue.getAsLong() : null);
+            };
         case FLOAT:
-            OptionalDouble optionalFloat = fromRecord.getOptionalFloat(name);
-            if (optionalFloat.isPresent()) {
-                toRecord.put(name, (float) optionalFloat.getAsDouble());
-            } else {
-                toRecord.put(name, null);
-            }
-            break;
+            return (final Record fromRecord, final GenericData.Record toRecord) -> {
+                final OptionalDouble optionalFloat = fromRecord.getOptionalFloat(name);
+                toRecord.put(pos, optionalFloat.isPresent() ? (float) optionalFloat.getAsDouble() : null);
+            };
         case DOUBLE:
-            OptionalDouble optionalDouble = fromRecord.getOptionalDouble(name);
-            if (optionalDouble.isPresent()) {
-                toRecord.put(name, optionalDouble.getAsDouble());
-            } else {
-                toRecord.put(name, null);
-            }
-            break;
+            return (final Record fromRecord, final GenericData.Record toRecord) -> {
+                final OptionalDouble optionalDouble = fromRecord.getOptionalDouble(name);
+                toRecord.put(pos, optionalDouble.isPresent() ? optionalDouble.getAsDouble() : null);
+            };
         case BOOLEAN:
-            toRecord.put(name, fromRecord.getOptionalBoolean(name).orElse(null));
-            break;
+            return (final Record fromRecord, final GenericData.Record toRecord) -> toRecord
+                    .put(pos, fromRecord.getOptionalBoolean(name).orElse(null));
         default:
             throw new IllegalStateException(String.format(ERROR_UNDEFINED_TYPE, fieldType.name()));
         }
     }
 
-    private Collection<?> treatCollection(final org.apache.avro.Schema schema,
-            final Collection<?> values) {
-
-        if (values == null) {
-            return null;
-        }
-        if (values.isEmpty()) {
-            return values;
-        }
-        final Collection<?> avroValues;
-        final Object firstArrayValue = values.iterator().next();
-        if (firstArrayValue instanceof Record) {
-            final org.apache.avro.Schema subSchema = AvroHelper.nonNullableType(schema).getElementType();
-            avroValues = values
-                    .stream()
-                    .map(o -> o == null ? null : this.recordToAvro((Record) o, this.newAvroRecord(subSchema)))
-                    .collect(Collectors.toList());
-
-        } else if (firstArrayValue instanceof Collection) {
-            final org.apache.avro.Schema elementType = AvroHelper.nonNullableType(schema).getElementType();
-            avroValues = values.stream()
-                    .map(Collection.class::cast)
-                    .map((Collection subValues) -> this.treatCollection(elementType, subValues))
-                    .collect(Collectors.toList());
-        } else {
-            avroValues = values;
-        }
-        return avroValues;
-    }
-
-    private GenericData.Record newAvroRecord(final org.apache.avro.Schema schema) {
-        final org.apache.avro.Schema simpleSchema = AvroHelper.nonNullableType(schema);
-        return new GenericData.Record(simpleSchema);
+    private FieldWriter decimalWriter(final org.apache.avro.Schema.Field field,
+            final org.apache.avro.Schema.Type fieldType) {
+        final String name = field.name();
+        final int pos = field.pos();
+        final org.apache.avro.Schema fieldSchema = AvroHelper.nonNullableType(field.schema());
+        final int scale = ((LogicalTypes.Decimal) fieldSchema.getLogicalType()).getScale();
+        final boolean isBytes = org.apache.avro.Schema.Type.BYTES.equals(fieldType);
+        return (final Record fromRecord, final GenericData.Record toRecord) -> {
+            final Optional<String> optionalStringValue = fromRecord.getOptionalString(name);
+            if (!optionalStringValue.isPresent()) {
+                toRecord.put(pos, null);
+                return;
+            }
+            final BigDecimal bigDecimal =
+                    new BigDecimal(optionalStringValue.get()).setScale(scale, BigDecimal.ROUND_HALF_UP);
+            if (isBytes) {
+                toRecord.put(pos, ByteBuffer.wrap(bigDecimal.unscaledValue().toByteArray()));
+            } else {
+                byte fillByte = (byte) (bigDecimal.signum() < 0 ? 0xFF : 0x00);
+                byte[] unscaled = bigDecimal.unscaledValue().toByteArray();
+                byte[] bytes = new byte[fieldSchema.getFixedSize()];
+                int offset = bytes.length - unscaled.length;
+                for (int i = 0; i < bytes.length; i += 1) {
+                    if (i < offset) {
+                        bytes[i] = fillByte;
+                    } else {
+                        bytes[i] = unscaled[i - offset];
+                    }
+                }
+                toRecord.put(pos, new GenericData.Fixed(fieldSchema, bytes));
+            }
+        };
     }
 
     /**
@@ -231,4 +224,86 @@ public class RecordToAvro implements RecordConverter<GenericRecord, org.apache.a
         return schemaToAvro.fromRecordSchema(null, schema);
     }
 
+    /**
+     * Writes a field of talend record into Avro record.
+     */
+    @FunctionalInterface
+    private interface FieldWriter {
+
+        void write(Record fromRecord, GenericData.Record toRecord);
+    }
+
+    /**
+     * Writers of all fields of an Avro record schema, in field order.
+     */
+    private static class WriterPlan {
+
+        private final org.apache.avro.Schema schema;
+
+        private final FieldWriter[] writers;
+
+        WriterPlan(final org.apache.avro.Schema schema) {
+            this.schema = schema;
+            this.writers = new FieldWriter[schema.getFields().size()];
+        }
+
+        org.apache.avro.Schema getSchema() {
+            return this.schema;
+        }
+
+        GenericData.Record write(final Record fromRecord) {
+            final GenericData.Record toRecord = new GenericData.Record(this.schema);
+            for (FieldWriter writer : this.writers) {
+                writer.write(fromRecord, toRecord);
+            }
+            return toRecord;
+        }
+    }
+
+    /**
+     * Converts array values, records and sub arrays are converted with the plans of element schema.
+     */
+    private class CollectionWriter {
+
+        private final org.apache.avro.Schema elementType;
+
+        private final Map<org.apache.avro.Schema, WriterPlan> compiled;
+
+        private WriterPlan elementPlan;
+
+        private CollectionWriter elementWriter;
+
+        CollectionWriter(final org.apache.avro.Schema schema,
+                final Map<org.apache.avro.Schema, WriterPlan> compiled) {
+            this.elementType = AvroHelper.nonNullableType(schema).getElementType();
+            this.compiled = compiled;
+        }
+
+        Collection<?> write(final Collection<?> values) {
+            if (values == null || values.isEmpty()) {
+                return values;
+            }
+            final Object firstArrayValue = values.iterator().next();
+            if (firstArrayValue instanceof Record) {
+                if (this.elementPlan == null) {
+                    this.elementPlan = RecordToAvro.this.compile(this.elementType, this.compiled);
+                }
+                return values
+                        .stream()
+                        .map(o -> o == null ? null : this.elementPlan.write((Record) o))
+                        .collect(Collectors.toList());
+            }
+            if (firstArrayValue instanceof Collection) {
+                if (this.elementWriter == null) {
+                    this.elementWriter = new CollectionWriter(this.elementType, this.compiled);
+                }
+                return values
+                        .stream()
+                        .map(Collection.class::cast)
+                        .map((Collection subValues) -> this.elementWriter.write(subValues))
+                        .collect(Collectors.toList());
+            }
+            return values;
+        }
+    }
 }
@@ -12,17 +12,23 @@
  */
 package org.talend.components.common.stream.input.avro;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 
+import org.apache.avro.file.SeekableByteArrayInput;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.api.output.RecordWriter;
 import org.talend.components.common.stream.format.avro.AvroConfiguration;
+import org.talend.components.common.stream.output.avro.AvroWriterSupplier;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
@@ -98,6 +104,35 @@ class AvroReaderTest {
         }
     }
 
+    @Test
+    public void readSplits() throws IOException {
+        final AvroConfiguration cfg = new AvroConfiguration();
+        cfg.setCodec(AvroConfiguration.Codec.DEFLATE);
+        cfg.setSyncInterval(500);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RecordWriter writer = new AvroWriterSupplier().getWriter(() -> out, cfg)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.add(factory.newRecordBuilder().withInt("ID", i).withString("content", "content " + i).build());
+            }
+        }
+        final byte[] file = out.toByteArray();
+
+        // 3 splits of file, each block read once.
+        final Set<Integer> ids = new HashSet<>();
+        final long splitSize = file.length / 3 + 1;
+        for (long start = 0; start < file.length; start += splitSize) {
+            try (AvroReader reader = new AvroReader(toRecord)) {
+                final Iterator<Record> records =
+                        reader.read(new SeekableByteArrayInput(file), start, start + splitSize);
+                Assertions.assertTrue(records.hasNext(), "split without block");
+                while (records.hasNext()) {
+                    Assertions.assertTrue(ids.add(records.next().getInt("ID")), "record read twice");
+                }
+            }
+        }
+        Assertions.assertEquals(1000, ids.size());
+    }
+
     @Test
     public void readBadFormat() {
         boolean toException = false;
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.output.avro;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.talend.components.common.stream.api.output.RecordWriter;
+import org.talend.components.common.stream.format.avro.AvroConfiguration;
+import org.talend.components.common.stream.input.avro.AvroReader;
+import org.talend.components.common.stream.input.avro.AvroToRecord;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Report write and read records/sec and compression ratio of Avro files by codec.
+ * The number of records is given by the avro.benchmark.records system property, 1 million by default,
+ * and the codecs by avro.benchmark.codecs, as a list of codec[:level].
+ * <p>
+ * Run it with : mvn test -Dtest.excluded= -Dgroups=Benchmark -Davro.benchmark.records=1000000
+ */
+@Slf4j
+@Tag("Benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AvroCodecBenchmarkTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    private Schema schema;
+
+    private int count;
+
+    private Path file;
+
+    @BeforeAll
+    void init() throws IOException {
+        this.schema = this.factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(this.entry("id", Schema.Type.LONG))
+                .withEntry(this.entry("name", Schema.Type.STRING))
+                .withEntry(this.entry("city", Schema.Type.STRING))
+                .withEntry(this.entry("amount", Schema.Type.DOUBLE))
+                .withEntry(this.entry("active", Schema.Type.BOOLEAN))
+                .build();
+        this.count = Integer.getInteger("avro.benchmark.records", 1_000_000);
+        this.file = Files.createTempFile("avro-benchmark", ".avro");
+    }
+
+    @AfterAll
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    void compareCodecs() throws IOException {
+        final String codecs = System.getProperty("avro.benchmark.codecs",
+                "NULL,DEFLATE:1,DEFLATE:6,DEFLATE:9,SNAPPY,BZIP2,XZ:6");
+        // uncompressed file size, reference of compression ratios.
+        this.write(new AvroConfiguration());
+        final long uncompressedSize = Files.size(this.file);
+        for (String codec : codecs.split(",")) {
+            final String[] codecLevel = codec.trim().split(":");
+            final AvroConfiguration config = new AvroConfiguration();
+            config.setCodec(AvroConfiguration.Codec.valueOf(codecLevel[0]));
+            if (codecLevel.length > 1) {
+                config.setCompressionLevel(Integer.parseInt(codecLevel[1]));
+            }
+            final long writeMillis = this.write(config);
+            final long size = Files.size(this.file);
+            final long readMillis = this.read();
+            log
+                    .info("[AvroCodecBenchmark] {}: {} bytes, ratio {}, write {} records/sec, read {} records/sec",
+                            codec, size, String.format("%.2f", (double) uncompressedSize / size),
+                            this.count * 1000L / writeMillis, this.count * 1000L / readMillis);
+        }
+    }
+
+    private long write(final AvroConfiguration config) throws IOException {
+        final long start = System.nanoTime();
+        try (final BufferedOutputStream output = new BufferedOutputStream(Files.newOutputStream(this.file));
+                final RecordWriter writer = new AvroWriterSupplier().getWriter(() -> output, config)) {
+            for (int i = 0; i < this.count; i++) {
+                writer
+                        .add(this.factory
+                                .newRecordBuilder(this.schema)
+                                .withLong("id", i)
+                                .withString("name", "name " + (i % 5000))
+                                .withString("city", "city " + (i % 100))
+                                .withDouble("amount", (i % 10000) / 4d)
+                                .withBoolean("active", i % 3 == 0)
+                                .build());
+            }
+        }
+        return Math.max(1L, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long read() throws IOException {
+        final long start = System.nanoTime();
+        int read = 0;
+        try (final InputStream input = Files.newInputStream(this.file);
+                final AvroReader reader = new AvroReader(new AvroToRecord(this.factory))) {
+            final Iterator<Record> records = reader.read(input);
+            while (records.hasNext()) {
+                records.next();
+                read++;
+            }
+        }
+        Assertions.assertEquals(this.count, read);
+        return Math.max(1L, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Schema.Entry entry(final String name, final Schema.Type type) {
+        return this.factory.newEntryBuilder().withName(name).withType(type).withNullable(true).build();
+    }
+}
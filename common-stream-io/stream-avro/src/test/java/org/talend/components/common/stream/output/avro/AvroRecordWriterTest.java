@@ -18,9 +18,16 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.avro.Schema;
 import org.apache.avro.SchemaBuilder;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableByteArrayInput;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.talend.components.common.stream.api.output.RecordWriter;
@@ -100,6 +107,43 @@ class AvroRecordWriterTest {
         }
     }
 
+    @Test
+    void addWithCodec() throws IOException {
+        final AvroConfiguration cfg = new AvroConfiguration();
+        final byte[] uncompressed = this.write(cfg, 500);
+
+        cfg.setCodec(AvroConfiguration.Codec.DEFLATE);
+        cfg.setCompressionLevel(9);
+        cfg.setSyncInterval(1000);
+        final byte[] compressed = this.write(cfg, 500);
+        Assertions.assertTrue(compressed.length < uncompressed.length,
+                compressed.length + " compressed bytes for " + uncompressed.length);
+
+        try (DataFileReader<GenericRecord> reader =
+                new DataFileReader<>(new SeekableByteArrayInput(compressed), new GenericDatumReader<>())) {
+            Assertions.assertEquals(DataFileConstants.DEFLATE_CODEC, reader.getMetaString(DataFileConstants.CODEC));
+            final Set<Long> blocks = new HashSet<>();
+            int count = 0;
+            while (reader.hasNext()) {
+                Assertions.assertEquals(count, reader.next().get("ID"));
+                blocks.add(reader.previousSync());
+                count++;
+            }
+            Assertions.assertEquals(500, count);
+            Assertions.assertTrue(blocks.size() > 1, "sync interval not used");
+        }
+    }
+
+    private byte[] write(final AvroConfiguration cfg, final int count) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RecordWriter writer = new AvroWriterSupplier().getWriter(() -> out, cfg)) {
+            for (int i = 0; i < count; i++) {
+                writer.add(factory.newRecordBuilder().withInt("ID", i).withString("content", "content " + i).build());
+            }
+        }
+        return out.toByteArray();
+    }
+
     private void prepareTestRecords() {
         // some demo records
         versatileRecord = factory
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.output.avro;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.stream.AvroHelper;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compare the records/sec of the name based conversion, which compares schemas structurally for each record,
+ * with the compiled writer plans, both followed by binary encoding. Records either share one schema instance,
+ * or each have their own equal instance, so that schema lookup by identity and by equality are both measured.
+ * The number of records is given by the avro.benchmark.records system property, 1 million by default.
+ * <p>
+ * Run it with : mvn test -Dtest.excluded= -Dgroups=Benchmark -Davro.benchmark.records=1000000
+ */
+@Slf4j
+@Tag("Benchmark")
+class RecordToAvroBenchmarkTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void compareThroughput() throws IOException {
+        // records sharing the same schema instance, as most connectors give.
+        final Schema addressSchema = this.buildAddressSchema();
+        final Schema schema = this.buildSchema(addressSchema);
+        this.compare(this.buildRecords((int i) -> this.buildRecord(i, schema, addressSchema)), "");
+    }
+
+    @Test
+    void compareThroughputWithDistinctSchemas() throws IOException {
+        // records each with its own equal schema instance, as connectors inferring schema per record give,
+        // so plans are found by structural comparison.
+        this.compare(this.buildRecords((int i) -> {
+            final Schema addressSchema = this.buildAddressSchema();
+            return this.buildRecord(i, this.buildSchema(addressSchema), addressSchema);
+        }), " (distinct schemas)");
+    }
+
+    private List<Record> buildRecords(final IntFunction<Record> recordBuilder) {
+        final int count = Integer.getInteger("avro.benchmark.records", 1_000_000);
+        final List<Record> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(recordBuilder.apply(i));
+        }
+        return records;
+    }
+
+    private void compare(final List<Record> records, final String label) throws IOException {
+        // warm up both paths, then measure.
+        this.write(records, new LegacyConverter()::fromRecord, "legacy (warm up)" + label);
+        this.write(records, new RecordToAvro("test")::fromRecord, "compiled (warm up)" + label);
+        final long legacyChecksum = this.write(records, new LegacyConverter()::fromRecord, "legacy" + label);
+        final long compiledChecksum = this.write(records, new RecordToAvro("test")::fromRecord, "compiled" + label);
+        Assertions.assertEquals(legacyChecksum, compiledChecksum);
+    }
+
+    private Schema buildAddressSchema() {
+        return this.factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(this.entry("street", Schema.Type.STRING, null))
+                .withEntry(this.entry("zip", Schema.Type.INT, null))
+                .build();
+    }
+
+    private Schema buildSchema(final Schema addressSchema) {
+        return this.factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(this.entry("id", Schema.Type.LONG, null))
+                .withEntry(this.entry("name", Schema.Type.STRING, null))
+                .withEntry(this.entry("amount", Schema.Type.DOUBLE, null))
+                .withEntry(this.entry("quantity", Schema.Type.INT, null))
+                .withEntry(this.entry("active", Schema.Type.BOOLEAN, null))
+                .withEntry(this.entry("comment", Schema.Type.STRING, null))
+                .withEntry(this.entry("address", Schema.Type.RECORD, addressSchema))
+                .build();
+    }
+
+    private Record buildRecord(final int i, final Schema schema, final Schema addressSchema) {
+        final Record address = this.factory
+                .newRecordBuilder(addressSchema)
+                .withString("street", i + " main street")
+                .withInt("zip", 10000 + i % 90000)
+                .build();
+        final Record.Builder builder = this.factory
+                .newRecordBuilder(schema)
+                .withLong("id", i)
+                .withString("name", "name " + i)
+                .withDouble("amount", i * 1.5d)
+                .withInt("quantity", i % 100)
+                .withBoolean("active", i % 2 == 0)
+                .withRecord("address", address);
+        if (i % 3 == 0) {
+            builder.withString("comment", "comment " + i);
+        }
+        return builder.build();
+    }
+
+    private long write(final List<Record> records, final Function<Record, GenericRecord> converter,
+            final String name) throws IOException {
+        final ChecksumOutputStream output = new ChecksumOutputStream();
+        final BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(output, null);
+        GenericDatumWriter<GenericRecord> writer = null;
+        final long start = System.nanoTime();
+        for (Record record : records) {
+            final GenericRecord avroRecord = converter.apply(record);
+            if (writer == null) {
+                writer = new GenericDatumWriter<>(avroRecord.getSchema());
+            }
+            writer.write(avroRecord, encoder);
+        }
+        encoder.flush();
+        final long millis = Math.max(1L, (System.nanoTime() - start) / 1_000_000);
+        log
+                .info("[RecordToAvroBenchmark] {}: {} records, {} records/sec, {} bytes", name, records.size(),
+                        records.size() * 1000L / millis, output.size);
+        return output.checksum.getValue();
+    }
+
+    private Schema.Entry entry(final String name, final Schema.Type type, final Schema elementSchema) {
+        return this.factory
+                .newEntryBuilder()
+                .withName(name)
+                .withType(type)
+                .withNullable(true)
+                .withElementSchema(elementSchema)
+                .build();
+    }
+
+    /**
+     * Conversion before writer plans, for the types of benchmark records: schemas compared structurally for each
+     * record, field type resolved and value put by name for each field.
+     */
+    private static class LegacyConverter {
+
+        private final RecordToAvro schemaConverter = new RecordToAvro("test");
+
+        private Schema cachedSchema;
+
+        private org.apache.avro.Schema avroSchema;
+
+        GenericRecord fromRecord(final Record record) {
+            if (this.avroSchema == null || !Objects.equals(this.cachedSchema, record.getSchema())) {
+                this.cachedSchema = record.getSchema();
+                this.avroSchema = this.schemaConverter.fromRecordSchema(record.getSchema());
+            }
+            return this.toAvro(record, this.avroSchema);
+        }
+
+        private GenericRecord toAvro(final Record fromRecord, final org.apache.avro.Schema schema) {
+            final GenericData.Record toRecord = new GenericData.Record(AvroHelper.nonNullableType(schema));
+            for (org.apache.avro.Schema.Field field : toRecord.getSchema().getFields()) {
+                final String name = field.name();
+                // logical type was resolved for each field too, only used by decimals
+                AvroHelper.getLogicalType(field);
+                switch (AvroHelper.getFieldType(field)) {
+                case RECORD:
+                    final Record record = fromRecord.getRecord(name);
+                    if (record != null) {
+                        toRecord.put(name, this.toAvro(record, field.schema()));
+                    }
+                    break;
+                case STRING:
+                    toRecord.put(name, fromRecord.getOptionalString(name).orElse(null));
+                    break;
+                case INT:
+                    toRecord.put(name, fromRecord.getOptionalInt(name).isPresent() ? fromRecord.getInt(name) : null);
+                    break;
+                case LONG:
+                    toRecord.put(name, fromRecord.getOptionalLong(name).isPresent() ? fromRecord.getLong(name) : null);
+                    break;
+                case DOUBLE:
+                    toRecord
+                            .put(name, fromRecord.getOptionalDouble(name).isPresent() ? fromRecord.getDouble(name)
+                                    : null);
+                    break;
+                case BOOLEAN:
+                    toRecord.put(name, fromRecord.getOptionalBoolean(name).orElse(null));
+                    break;
+                default:
+                    throw new IllegalStateException("Type of field " + name + " not used by benchmark.");
+                }
+            }
+            return toRecord;
+        }
+    }
+
+    /**
+     * Keeps only size and checksum of written bytes.
+     */
+    private static class ChecksumOutputStream extends OutputStream {
+
+        private final CRC32 checksum = new CRC32();
+
+        private long size;
+
+        @Override
+        public void write(final int b) {
+            this.checksum.update(b);
+            this.size++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            this.checksum.update(b, off, len);
+            this.size += len;
+        }
+    }
+}
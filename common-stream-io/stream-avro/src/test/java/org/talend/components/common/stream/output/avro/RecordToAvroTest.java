@@ -217,6 +217,28 @@ class RecordToAvroTest {
         assertEquals(Arrays.asList("ary1", "ary2", "ary3"), record.get("array"));
     }
 
+    @Test
+    void writerPlanBySchema() {
+        final RecordToAvro converter = new RecordToAvro("test");
+        final Record first = factory.newRecordBuilder().withString("name", "first").withInt("age", 20).build();
+        // same structure, other schema instance
+        final Record second = factory.newRecordBuilder().withString("name", "second").withInt("age", 30).build();
+        final Record other = factory.newRecordBuilder().withString("name", "other").build();
+
+        final GenericRecord avroFirst = converter.fromRecord(first);
+        final GenericRecord avroSecond = converter.fromRecord(second);
+        final GenericRecord avroOther = converter.fromRecord(other);
+        final GenericRecord avroFirstAgain = converter.fromRecord(first);
+
+        Assertions.assertSame(avroFirst.getSchema(), avroSecond.getSchema());
+        Assertions.assertNotSame(avroFirst.getSchema(), avroOther.getSchema());
+        Assertions.assertSame(avroFirst.getSchema(), avroFirstAgain.getSchema());
+        assertEquals("second", avroSecond.get("name"));
+        assertEquals(30, avroSecond.get("age"));
+        assertEquals("other", avroOther.get("name"));
+        assertEquals("first", avroFirstAgain.get("name"));
+    }
+
     @Test
     void fromAndToRecord() {
         RecordToAvro converter = new RecordToAvro("test");
@@ -0,0 +1,346 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming CSV tokenizer.
+ * Reads the source by large blocks of chars and splits it in records of fields.
+ * Quoted fields can contain the field delimiter, the record separator and escaped or doubled quotes.
+ * Escape sequences follow commons-csv : \r, \n, \t, \b, \f and escaped quote, delimiter or escape characters are
+ * translated, other escaped characters are kept as is with their escape character.
+ */
+public class CSVTokenizer implements Iterator<List<String>>, AutoCloseable {
+
+    /** default size of the char buffer. */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int NONE = -1;
+
+    /** source of chars */
+    private final Reader reader;
+
+    /** field delimiter */
+    private final char delimiter;
+
+    /** quote char or NONE */
+    private final int quote;
+
+    /** escape char or NONE */
+    private final int escape;
+
+    /** record separator */
+    private final char[] separator;
+
+    /** with a LF separator, CRLF is also accepted as record end */
+    private final boolean lineFeed;
+
+    private final char[] buffer;
+
+    /** next char to read in buffer */
+    private int position;
+
+    /** end of valid chars in buffer */
+    private int limit;
+
+    private boolean endOfStream;
+
+    /** current field value */
+    private final StringBuilder field = new StringBuilder();
+
+    /** number of fields of the previous record, used to size the next one */
+    private int lastSize = 10;
+
+    /** next record, null if not yet read */
+    private List<String> nextRecord;
+
+    /** current record number, for error messages */
+    private long recordNumber;
+
+    public CSVTokenizer(Reader reader, char delimiter, Character quote, Character escape, String separator) {
+        this(reader, delimiter, quote, escape, separator, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CSVTokenizer(Reader reader, char delimiter, Character quote, Character escape, String separator,
+            int bufferSize) {
+        if (separator == null || separator.isEmpty()) {
+            throw new IllegalArgumentException("CSV record separator can't be empty");
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.quote = quote == null ? NONE : quote;
+        // quote doubling is the only escape when both are the same.
+        this.escape = escape == null || escape.equals(quote) ? NONE : escape;
+        this.separator = separator.toCharArray();
+        this.lineFeed = "\n".equals(separator);
+        this.buffer = new char[Math.max(bufferSize, this.separator.length + 2)];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.nextRecord == null) {
+            this.nextRecord = this.readRecord();
+        }
+        return this.nextRecord != null;
+    }
+
+    @Override
+    public List<String> next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final List<String> current = this.nextRecord;
+        this.nextRecord = null;
+        return current;
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * read next record.
+     *
+     * @return fields of record, empty for an empty line, null at end of stream.
+     */
+    private List<String> readRecord() {
+        try {
+            if (!this.ensure(1)) {
+                return null;
+            }
+            this.recordNumber++;
+            final int emptyLine = this.recordEndLength();
+            if (emptyLine > 0) {
+                this.position += emptyLine;
+                return Collections.emptyList();
+            }
+            final List<String> fields = new ArrayList<>(this.lastSize);
+            boolean recordEnd = false;
+            while (!recordEnd) {
+                this.field.setLength(0);
+                if (this.quote != NONE && this.buffer[this.position] == this.quote) {
+                    this.position++;
+                    this.readQuoted();
+                } else {
+                    this.readUnquoted();
+                }
+                fields.add(this.field.toString());
+                if (!this.ensure(1)) {
+                    recordEnd = true;
+                } else {
+                    final int end = this.recordEndLength();
+                    if (end > 0) {
+                        this.position += end;
+                        recordEnd = true;
+                    } else {
+                        // on delimiter.
+                        this.position++;
+                        if (!this.ensure(1)) {
+                            fields.add("");
+                            recordEnd = true;
+                        }
+                    }
+                }
+            }
+            this.lastSize = fields.size();
+            return fields;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read CSV record " + this.recordNumber, e);
+        }
+    }
+
+    /**
+     * read field value up to next delimiter or record separator.
+     */
+    private void readUnquoted() throws IOException {
+        int start = this.position;
+        while (true) {
+            if (this.position >= this.limit) {
+                this.field.append(this.buffer, start, this.position - start);
+                if (!this.ensure(1)) {
+                    return;
+                }
+                start = this.position;
+            }
+            final char c = this.buffer[this.position];
+            if (c == this.delimiter) {
+                break;
+            }
+            if (c == this.separator[0] || (this.lineFeed && c == '\r')) {
+                this.field.append(this.buffer, start, this.position - start);
+                if (this.recordEndLength() > 0) {
+                    return;
+                }
+                start = this.position;
+            } else if (c == this.escape) {
+                this.field.append(this.buffer, start, this.position - start);
+                this.readEscape();
+                start = this.position;
+                continue;
+            }
+            this.position++;
+        }
+        this.field.append(this.buffer, start, this.position - start);
+    }
+
+    /**
+     * read quoted field value, position is after the opening quote.
+     */
+    private void readQuoted() throws IOException {
+        int start = this.position;
+        while (true) {
+            if (this.position >= this.limit) {
+                this.field.append(this.buffer, start, this.position - start);
+                if (!this.ensure(1)) {
+                    throw new IOException("End of stream reached before end of quoted field");
+                }
+                start = this.position;
+            }
+            final char c = this.buffer[this.position];
+            if (c == this.quote) {
+                this.field.append(this.buffer, start, this.position - start);
+                this.position++;
+                if (this.ensure(1) && this.buffer[this.position] == this.quote) {
+                    // doubled quote.
+                    this.field.append(c);
+                    this.position++;
+                    start = this.position;
+                    continue;
+                }
+                this.skipAfterQuote();
+                return;
+            }
+            if (c == this.escape) {
+                this.field.append(this.buffer, start, this.position - start);
+                this.readEscape();
+                start = this.position;
+                continue;
+            }
+            this.position++;
+        }
+    }
+
+    /**
+     * after closing quote, only white spaces are allowed before delimiter or record end.
+     */
+    private void skipAfterQuote() throws IOException {
+        while (this.ensure(1)) {
+            final char c = this.buffer[this.position];
+            if (c == this.delimiter || this.recordEndLength() > 0) {
+                return;
+            }
+            if (!Character.isWhitespace(c)) {
+                throw new IOException("Invalid char '" + c + "' between quoted field and delimiter");
+            }
+            this.position++;
+        }
+    }
+
+    /**
+     * translate escape sequence, position is on escape char.
+     */
+    private void readEscape() throws IOException {
+        this.position++;
+        if (!this.ensure(1)) {
+            this.field.append((char) this.escape);
+            return;
+        }
+        final char c = this.buffer[this.position++];
+        switch (c) {
+        case 'r':
+            this.field.append('\r');
+            break;
+        case 'n':
+            this.field.append('\n');
+            break;
+        case 't':
+            this.field.append('\t');
+            break;
+        case 'b':
+            this.field.append('\b');
+            break;
+        case 'f':
+            this.field.append('\f');
+            break;
+        default:
+            if (c == this.quote || c == this.escape || c == this.delimiter || c == '\r' || c == '\n') {
+                this.field.append(c);
+            } else {
+                this.field.append((char) this.escape).append(c);
+            }
+        }
+    }
+
+    /**
+     * check if record separator starts at position.
+     *
+     * @return length of record separator, 0 if there is none at position.
+     */
+    private int recordEndLength() throws IOException {
+        final char c = this.buffer[this.position];
+        if (this.lineFeed && c == '\r') {
+            return this.ensure(2) && this.buffer[this.position + 1] == '\n' ? 2 : 0;
+        }
+        if (c != this.separator[0] || !this.ensure(this.separator.length)) {
+            return 0;
+        }
+        for (int i = 1; i < this.separator.length; i++) {
+            if (this.buffer[this.position + i] != this.separator[i]) {
+                return 0;
+            }
+        }
+        return this.separator.length;
+    }
+
+    /**
+     * ensure at least n chars are available from position, pending chars are moved at buffer start if needed.
+     *
+     * @return false if end of stream is reached before.
+     */
+    private boolean ensure(int n) throws IOException {
+        if (this.limit - this.position >= n) {
+            return true;
+        }
+        if (this.endOfStream) {
+            return false;
+        }
+        final int remaining = this.limit - this.position;
+        if (remaining > 0) {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+        }
+        this.position = 0;
+        this.limit = remaining;
+        while (this.limit < n) {
+            final int read = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            if (read < 0) {
+                this.endOfStream = true;
+                return false;
+            }
+            this.limit += read;
+        }
+        return true;
+    }
+}
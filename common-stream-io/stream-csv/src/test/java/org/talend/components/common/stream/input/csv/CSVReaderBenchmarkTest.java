@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.talend.components.common.stream.CSVHelper;
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.csv.FieldSeparator;
+import org.talend.components.common.stream.input.line.DefaultRecordReader;
+import org.talend.components.common.stream.input.line.LineSplitter;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compare the MB/sec of the legacy scanner and per line parser reader with the streaming tokenizer.
+ * The file size is given in MB by the csv.benchmark.size system property, 2 GB by default.
+ * <p>
+ * Run it with : mvn test -Dtest.excluded= -Dgroups=Benchmark -Dcsv.benchmark.size=2048
+ */
+@Slf4j
+@Tag("Benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CSVReaderBenchmarkTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    private final CSVConfiguration config = new CSVConfiguration();
+
+    private Path file;
+
+    @BeforeAll
+    void createFile() throws IOException {
+        this.config.setFieldSeparator(new FieldSeparator());
+        this.config.getFieldSeparator().setFieldSeparatorType(FieldSeparator.Type.COMMA);
+        this.config.setLineConfiguration(new LineConfiguration());
+
+        final long size = Long.getLong("csv.benchmark.size", 2048L) * 1024 * 1024;
+        this.file = Files.createTempFile("csv-benchmark", ".csv");
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new BufferedOutputStream(Files.newOutputStream(this.file)), StandardCharsets.UTF_8))) {
+            long written = 0;
+            for (long row = 0; written < size; row++) {
+                final String line = row + ",first name " + row + ",\"last, name\"," + (row * 31 % 1000) / 7d
+                        + ",\"a \"\"quoted\"\" text\",2022-03-14T10:00:00Z\n";
+                writer.write(line);
+                written += line.length();
+            }
+        }
+    }
+
+    @AfterAll
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    void compareThroughput() throws IOException {
+        final LineSplitter legacySplitter = new LegacySplitter(CSVHelper.getCsvFormat(this.config));
+        final long legacyCount = this.read(DefaultRecordReader.of(this.factory, this.config.getLineConfiguration(),
+                legacySplitter), "legacy");
+        final long streamingCount =
+                this.read(new CSVReaderSupplier().getReader(this.factory, this.config, null), "streaming");
+        Assertions.assertEquals(legacyCount, streamingCount);
+    }
+
+    private long read(final RecordReader reader, final String name) throws IOException {
+        final long start = System.nanoTime();
+        long count = 0;
+        try (final InputStream input = Files.newInputStream(this.file)) {
+            final Iterator<Record> records = reader.read(input);
+            while (records.hasNext()) {
+                records.next();
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        final long nanos = System.nanoTime() - start;
+        log
+                .info("[CSVReaderBenchmark] {}: {} records, {} MB/sec", name, count,
+                        Files.size(this.file) * 1000L / Math.max(1, nanos / 1_000_000) / (1024 * 1024));
+        return count;
+    }
+
+    /**
+     * CSV line splitter before streaming tokenizer, one parser by line.
+     */
+    private static class LegacySplitter implements LineSplitter {
+
+        private final CSVFormat format;
+
+        LegacySplitter(CSVFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public Iterable<String> translate(String line) {
+            try {
+                final List<CSVRecord> records = CSVParser.parse(line, this.format).getRecords();
+                return records.isEmpty() ? Collections.emptyList() : records.get(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
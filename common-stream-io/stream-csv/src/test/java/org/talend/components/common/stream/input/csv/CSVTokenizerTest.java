@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.csv;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.format.HeaderLine;
+import org.talend.components.common.stream.format.LineConfiguration;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.common.stream.format.csv.FieldSeparator;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class CSVTokenizerTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 4, 5, 7, CSVTokenizer.DEFAULT_BUFFER_SIZE })
+    void simpleRecords(int bufferSize) {
+        final List<List<String>> records = this.tokenize("a,b,c\r\nd,,f\n\ng,h,\n", "\n", bufferSize);
+        Assertions.assertEquals(4, records.size());
+        Assertions.assertEquals(Arrays.asList("a", "b", "c"), records.get(0));
+        Assertions.assertEquals(Arrays.asList("d", "", "f"), records.get(1));
+        Assertions.assertEquals(Collections.emptyList(), records.get(2));
+        Assertions.assertEquals(Arrays.asList("g", "h", ""), records.get(3));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 4, 5, 7, CSVTokenizer.DEFAULT_BUFFER_SIZE })
+    void quotedFields(int bufferSize) {
+        final List<List<String>> records =
+                this.tokenize("\"multi\nline\",\"a,b\"\n\"say \"\"hi\"\"\",\"esc \\\"q\\\"\" \nlast", "\n", bufferSize);
+        Assertions.assertEquals(3, records.size());
+        Assertions.assertEquals(Arrays.asList("multi\nline", "a,b"), records.get(0));
+        Assertions.assertEquals(Arrays.asList("say \"hi\"", "esc \"q\""), records.get(1));
+        Assertions.assertEquals(Collections.singletonList("last"), records.get(2));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 4, 5, 7, CSVTokenizer.DEFAULT_BUFFER_SIZE })
+    void multiCharsSeparator(int bufferSize) {
+        final List<List<String>> records = this.tokenize("a,b||\"c||d\",e\\tf||", "||", bufferSize);
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals(Arrays.asList("a", "b"), records.get(0));
+        Assertions.assertEquals(Arrays.asList("c||d", "e\tf"), records.get(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "\"not closed", "\"closed\"x,y" })
+    void invalidQuotedField(String content) {
+        Assertions.assertThrows(UncheckedIOException.class, () -> this.tokenize(content, "\n", 64));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2 })
+    void readRecordsWithHeader(int headerSize) {
+        final CSVConfiguration config = new CSVConfiguration();
+        config.setFieldSeparator(new FieldSeparator());
+        config.getFieldSeparator().setFieldSeparatorType(FieldSeparator.Type.SEMICOLON);
+        config.setLineConfiguration(new LineConfiguration());
+        config.getLineConfiguration().setHeader(new HeaderLine());
+        config.getLineConfiguration().getHeader().setActive(true);
+        config.getLineConfiguration().getHeader().setSize(headerSize);
+
+        final String content = (headerSize > 1 ? "title\n" : "") + "id;name\n1;\"first\nname\"\n2;second\n";
+        final RecordReader reader =
+                new CSVReaderSupplier().getReader(new RecordBuilderFactoryImpl("test"), config, null);
+        final Iterator<Record> records =
+                reader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertTrue(records.hasNext());
+        final Record first = records.next();
+        Assertions.assertEquals("1", first.getString("id"));
+        Assertions.assertEquals("first\nname", first.getString("name"));
+        Assertions.assertTrue(records.hasNext());
+        Assertions.assertEquals("second", records.next().getString("name"));
+        Assertions.assertFalse(records.hasNext());
+        reader.close();
+    }
+
+    private List<List<String>> tokenize(String content, String separator, int bufferSize) {
+        final List<List<String>> records = new ArrayList<>();
+        try (final CSVTokenizer tokenizer =
+                new CSVTokenizer(new StringReader(content), ',', '"', '\\', separator, bufferSize)) {
+            tokenizer.forEachRemaining(records::add);
+        }
+        return records;
+    }
+}
@@ -17,13 +17,30 @@ import java.io.InputStream;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.talend.components.common.stream.format.excel.ExcelConfiguration.ExcelFormat;
 
 public class ExcelUtils {
 
+    /** number of excel 2007 rows kept in memory while writing, older ones are flushed to a temporary file. */
+    public static final int ROW_ACCESS_WINDOW = 100;
+
+    /**
+     * Create workbook for writing.
+     * Excel 2007 workbooks are streamed (only last rows are kept in memory),
+     * they must be disposed after being written to clean temporary files.
+     *
+     * @param format : excel format.
+     * @return new workbook.
+     */
     public static Workbook createWorkBook(ExcelFormat format) {
-        return format == ExcelFormat.EXCEL97 ? new HSSFWorkbook() : new XSSFWorkbook();
+        if (format == ExcelFormat.EXCEL97) {
+            return new HSSFWorkbook();
+        }
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
+        return workbook;
     }
 
     public static Workbook readWorkBook(ExcelFormat format, InputStream input) throws IOException {
@@ -33,6 +33,9 @@ public class ExcelRecordReader implements RecordReader {
     /** converter from excel row to talend record. */
     private final RecordBuilderFactory factory;
 
+    /** current format reader */
+    private FormatReader reader = null;
+
     public ExcelRecordReader(ExcelConfiguration configuration, RecordBuilderFactory factory) {
         this.configuration = configuration;
         this.factory = factory;
@@ -40,9 +43,10 @@ public class ExcelRecordReader implements RecordReader {
 
     @Override
     public Iterator<Record> read(InputStream in) {
+        this.close();
         try {
-            final FormatReader reader = FormatReader.findReader(this.configuration.getExcelFormat(), this.factory);
-            return reader.read(in, this.configuration);
+            this.reader = FormatReader.findReader(this.configuration.getExcelFormat(), this.factory);
+            return this.reader.read(in, this.configuration);
         } catch (IOException exIO) {
             log.error("Error while reading excel input", exIO);
             throw new UncheckedIOException("Error while reading excel input", exIO);
@@ -51,5 +55,13 @@ public class ExcelRecordReader implements RecordReader {
 
     @Override
     public void close() {
+        if (this.reader instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) this.reader).close();
+            } catch (Exception ex) {
+                log.error("Error while closing excel input", ex);
+            }
+        }
+        this.reader = null;
     }
 }
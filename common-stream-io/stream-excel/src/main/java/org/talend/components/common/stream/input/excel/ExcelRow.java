@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * Read only access to the cells of an excel row, by column index.
+ * This is the part of a POI row that records are built from, so that streamed rows provide their values
+ * without implementing the whole POI Row and Cell interfaces.
+ */
+interface ExcelRow {
+
+    /**
+     * @return index after the last cell of the row, -1 if the row has no cell.
+     */
+    int getLastCellNum();
+
+    /**
+     * @param column : column index.
+     * @return type of cell, null if the row has no cell at this index.
+     */
+    CellType getCellType(int column);
+
+    /**
+     * @param column : index of a formula cell.
+     * @return type of formula result.
+     */
+    CellType getCachedFormulaResultType(int column);
+
+    String getStringCellValue(int column);
+
+    double getNumericCellValue(int column);
+
+    boolean getBooleanCellValue(int column);
+}
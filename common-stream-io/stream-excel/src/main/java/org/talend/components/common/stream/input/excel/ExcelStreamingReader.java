@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.talend.components.common.collections.IteratorComposer;
+import org.talend.components.common.stream.format.excel.ExcelConfiguration;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.xml.sax.SAXException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Excel 2007 (xlsx) reader that streams sheet rows instead of loading the whole workbook.
+ * Input is spooled to a temporary file, so that zip entries are not held in memory,
+ * then sheet xml is pulled row by row; only shared strings table is loaded.
+ */
+@Slf4j
+public class ExcelStreamingReader implements FormatReader, AutoCloseable {
+
+    private final ExcelToRecord toRecord;
+
+    /** temporary copy of input */
+    private Path spoolFile;
+
+    private OPCPackage excelPackage;
+
+    private SheetRowIterator rows;
+
+    public ExcelStreamingReader(RecordBuilderFactory recordBuilderFactory) {
+        this.toRecord = new ExcelToRecord(recordBuilderFactory);
+    }
+
+    @Override
+    public Iterator<Record> read(InputStream input, ExcelConfiguration configuration) throws IOException {
+        this.close();
+        try {
+            this.spoolFile = Files.createTempFile("talend-excel-", ".xlsx");
+            Files.copy(input, this.spoolFile, StandardCopyOption.REPLACE_EXISTING);
+            this.excelPackage = OPCPackage.open(this.spoolFile.toFile(), PackageAccess.READ);
+
+            final SharedStrings strings = new ReadOnlySharedStringsTable(this.excelPackage, false);
+            final XSSFReader reader = new XSSFReader(this.excelPackage);
+            this.rows = new SheetRowIterator(this.findSheet(reader, configuration.getSheetName()), strings);
+        } catch (OpenXML4JException | SAXException | IOException | RuntimeException ex) {
+            this.close();
+            throw new IOException("Can't open excel file: " + ex.getMessage(), ex);
+        }
+
+        final int headers = configuration.calcHeader();
+        if (headers >= 1) {
+            this.parseHeaderRow(this.rows, headers);
+        }
+
+        return IteratorComposer
+                .of(this.rows)
+                .skipFooter(configuration.calcFooter())
+                .map((ExcelRow row) -> this.toRecord.toRecord(row))
+                .closeable(this)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (this.rows != null) {
+                this.rows.close();
+            }
+            if (this.excelPackage != null) {
+                // read only package, nothing to save.
+                this.excelPackage.revert();
+            }
+            if (this.spoolFile != null) {
+                Files.deleteIfExists(this.spoolFile);
+            }
+        } catch (IOException ex) {
+            log.error("Error while closing excel input", ex);
+            throw new UncheckedIOException("Error while closing excel input", ex);
+        } finally {
+            this.rows = null;
+            this.excelPackage = null;
+            this.spoolFile = null;
+        }
+    }
+
+    private InputStream findSheet(XSSFReader reader, String sheetName) throws IOException, OpenXML4JException {
+        final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            final InputStream sheet = sheets.next();
+            if (sheets.getSheetName().equals(sheetName)) {
+                return sheet;
+            }
+            sheet.close();
+        }
+        throw new IllegalArgumentException("Sheet '" + sheetName + "' not found in excel file");
+    }
+
+    /**
+     * Read header row to retrieve column names.
+     *
+     * @param rows : excel rows.
+     * @param headers : number of header rows, last one has column names.
+     */
+    private void parseHeaderRow(Iterator<ExcelRow> rows, int headers) {
+        for (int i = 1; i < headers && rows.hasNext(); i++) {
+            rows.next();
+        }
+        if (rows.hasNext()) {
+            this.toRecord.inferSchema(rows.next(), true);
+        }
+    }
+}
@@ -12,12 +12,9 @@
  */
 package org.talend.components.common.stream.input.excel;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
-import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Row;
 import org.talend.sdk.component.api.record.Record;
@@ -46,20 +43,16 @@ public class ExcelToRecord {
             this.index = index;
         }
 
-        CellType getRealCellType(final Row row) {
+        CellType getRealCellType(final ExcelRow row) {
             // update type if null (init with header)
             if (this.type == null) {
-                final Cell currentCell = row.getCell(this.index);
-                if (currentCell != null) {
-                    this.type = currentCell.getCellType();
-                }
+                this.type = row.getCellType(this.index);
             }
 
             // this return real cell type (in case of formula);
             CellType cellType = this.type;
             if (this.type == CellType.FORMULA) {
-                Cell cell = row.getCell(this.index);
-                cellType = cell.getCachedFormulaResultType();
+                cellType = row.getCachedFormulaResultType(this.index);
             }
             return cellType;
         }
@@ -72,6 +65,10 @@ public class ExcelToRecord {
     }
 
     public Record toRecord(Row row) {
+        return this.toRecord(new PoiExcelRow(row));
+    }
+
+    Record toRecord(ExcelRow row) {
         if (schema == null) {
             inferSchema(row, false);
         }
@@ -79,26 +76,26 @@ public class ExcelToRecord {
         final Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder();
 
         for (int i = 0; i < schema.getEntries().size(); i++) {
-            final Cell recordCell = row.getCell(i);
+            final boolean hasCell = row.getCellType(i) != null;
             final String colName = this.columns.get(i).name;
             final Entry entry = schema.getEntries().get(i);
 
-            if (recordCell != null && entry.getType() == null) {
-                recordBuilder.withString(colName, recordCell.getStringCellValue());
-            } else if (recordCell != null) {
+            if (hasCell && entry.getType() == null) {
+                recordBuilder.withString(colName, row.getStringCellValue(i));
+            } else if (hasCell) {
                 try {
                     switch (entry.getType()) {
                     case BOOLEAN:
-                        recordBuilder.withBoolean(colName, recordCell.getBooleanCellValue());
+                        recordBuilder.withBoolean(colName, row.getBooleanCellValue(i));
                         break;
                     case DOUBLE:
-                        recordBuilder.withDouble(colName, recordCell.getNumericCellValue());
+                        recordBuilder.withDouble(colName, row.getNumericCellValue(i));
                         break;
                     default:
-                        recordBuilder.withString(colName, recordCell.getStringCellValue());
+                        recordBuilder.withString(colName, row.getStringCellValue(i));
                     }
                 } catch (RuntimeException ex) {
-                    recordBuilder.withString(colName, recordCell.getStringCellValue());
+                    recordBuilder.withString(colName, row.getStringCellValue(i));
                 }
             }
         }
@@ -107,6 +104,10 @@ public class ExcelToRecord {
     }
 
     public Schema inferSchema(final Row rowRecord, boolean isHeader) {
+        return this.inferSchema(new PoiExcelRow(rowRecord), isHeader);
+    }
+
+    Schema inferSchema(final ExcelRow rowRecord, boolean isHeader) {
         if (schema == null) {
             if (this.columns == null) {
                 this.columns = inferSchemaColumns(rowRecord, isHeader);
@@ -149,21 +150,27 @@ public class ExcelToRecord {
     }
 
     public List<Column> inferSchemaColumns(Row excelRecord, boolean isHeader) {
-        return StreamSupport
-                .stream(excelRecord.spliterator(), false)
-                .filter(Objects::nonNull)
-                .map((Cell cell) -> this.buildColumn(cell, isHeader))
-                .collect(Collectors.toList());
+        return this.inferSchemaColumns(new PoiExcelRow(excelRecord), isHeader);
+    }
+
+    List<Column> inferSchemaColumns(ExcelRow excelRecord, boolean isHeader) {
+        final List<Column> rowColumns = new ArrayList<>();
+        for (int index = 0; index < excelRecord.getLastCellNum(); index++) {
+            final CellType cellType = excelRecord.getCellType(index);
+            if (cellType != null) {
+                rowColumns.add(this.buildColumn(excelRecord, index, cellType, isHeader));
+            }
+        }
+        return rowColumns;
     }
 
-    private Column buildColumn(Cell cell, boolean isHeader) {
+    private Column buildColumn(ExcelRow row, int index, CellType cellType, boolean isHeader) {
         final String columnName;
         if (isHeader) {
-            columnName = cell.getStringCellValue();
+            columnName = row.getStringCellValue(index);
         } else {
-            columnName = "field" + cell.getColumnIndex();
+            columnName = "field" + index;
         }
-        final CellType cellType = cell.getCellType();
-        return new Column(columnName, isHeader ? null : cellType, cell.getColumnIndex());
+        return new Column(columnName, isHeader ? null : cellType, index);
     }
 }
@@ -26,7 +26,10 @@ public interface FormatReader {
     Iterator<Record> read(InputStream input, ExcelConfiguration configuration) throws IOException;
 
     static FormatReader findReader(ExcelFormat format, RecordBuilderFactory factory) {
-        if (format == ExcelFormat.EXCEL97 || format == ExcelFormat.EXCEL2007) {
+        if (format == ExcelFormat.EXCEL2007) {
+            return new ExcelStreamingReader(factory);
+        }
+        if (format == ExcelFormat.EXCEL97) {
             return new ExcelReader(factory);
         }
         return new HTMLReader(factory);
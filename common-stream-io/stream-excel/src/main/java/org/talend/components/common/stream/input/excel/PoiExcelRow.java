@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * Excel row view on a POI row of a loaded workbook.
+ */
+class PoiExcelRow implements ExcelRow {
+
+    private final Row row;
+
+    PoiExcelRow(Row row) {
+        this.row = row;
+    }
+
+    @Override
+    public int getLastCellNum() {
+        return this.row.getLastCellNum();
+    }
+
+    @Override
+    public CellType getCellType(int column) {
+        final Cell cell = this.row.getCell(column);
+        return cell == null ? null : cell.getCellType();
+    }
+
+    @Override
+    public CellType getCachedFormulaResultType(int column) {
+        return this.row.getCell(column).getCachedFormulaResultType();
+    }
+
+    @Override
+    public String getStringCellValue(int column) {
+        return this.row.getCell(column).getStringCellValue();
+    }
+
+    @Override
+    public double getNumericCellValue(int column) {
+        return this.row.getCell(column).getNumericCellValue();
+    }
+
+    @Override
+    public boolean getBooleanCellValue(int column) {
+        return this.row.getCell(column).getBooleanCellValue();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.model.SharedStrings;
+
+/**
+ * Pull parser on sheet xml part of an excel 2007 file (xlsx).
+ * Only current row is kept in memory, string values are resolved with shared strings table.
+ */
+class SheetRowIterator implements Iterator<ExcelRow>, AutoCloseable {
+
+    private static final XMLInputFactory XML_FACTORY = SheetRowIterator.buildFactory();
+
+    /** sheet xml part */
+    private final InputStream sheet;
+
+    private final XMLStreamReader reader;
+
+    /** shared strings of workbook */
+    private final SharedStrings strings;
+
+    /** next row, null if not yet read */
+    private StreamingRow nextRow;
+
+    /** index of last read row */
+    private int lastRowNum = -1;
+
+    /** number of cells of last read row, used to size the next one */
+    private int lastCells = 10;
+
+    SheetRowIterator(InputStream sheet, SharedStrings strings) {
+        this.sheet = sheet;
+        this.strings = strings;
+        try {
+            this.reader = XML_FACTORY.createXMLStreamReader(sheet);
+        } catch (XMLStreamException ex) {
+            throw new IllegalStateException("Can't read excel sheet", ex);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.nextRow == null) {
+            try {
+                this.nextRow = this.readRow();
+            } catch (XMLStreamException ex) {
+                throw new IllegalStateException("Can't read excel row after row " + (this.lastRowNum + 1), ex);
+            }
+        }
+        return this.nextRow != null;
+    }
+
+    @Override
+    public ExcelRow next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final ExcelRow current = this.nextRow;
+        this.nextRow = null;
+        return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.reader.close();
+        } catch (XMLStreamException ex) {
+            throw new IOException("Can't close excel sheet", ex);
+        } finally {
+            this.sheet.close();
+        }
+    }
+
+    private StreamingRow readRow() throws XMLStreamException {
+        while (this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(this.reader.getLocalName())) {
+                return this.parseRow();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * parse row element, reader is on row start element.
+     */
+    private StreamingRow parseRow() throws XMLStreamException {
+        final String ref = this.reader.getAttributeValue(null, "r");
+        final int rowNum = ref == null ? this.lastRowNum + 1 : Integer.parseInt(ref) - 1;
+        final StreamingRow row = new StreamingRow(rowNum, this.lastCells);
+        int nextColumn = 0;
+        while (this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(this.reader.getLocalName())) {
+                nextColumn = this.parseCell(row, nextColumn) + 1;
+            } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(this.reader.getLocalName())) {
+                break;
+            }
+        }
+        this.lastRowNum = rowNum;
+        this.lastCells = Math.max(row.getLastCellNum(), 1);
+        return row;
+    }
+
+    /**
+     * parse cell element, reader is on cell start element.
+     *
+     * @return cell column index.
+     */
+    private int parseCell(StreamingRow row, int nextColumn) throws XMLStreamException {
+        final String ref = this.reader.getAttributeValue(null, "r");
+        final int column = ref == null ? nextColumn : SheetRowIterator.columnIndex(ref);
+        final String type = this.reader.getAttributeValue(null, "t");
+
+        String value = null;
+        String formula = null;
+        while (this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String name = this.reader.getLocalName();
+                if ("v".equals(name)) {
+                    value = this.reader.getElementText();
+                } else if ("f".equals(name)) {
+                    formula = this.reader.getElementText();
+                } else if ("is".equals(name)) {
+                    value = this.parseInlineString();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(this.reader.getLocalName())) {
+                break;
+            }
+        }
+
+        final CellType valueType;
+        if ("s".equals(type)) {
+            valueType = value == null ? CellType.BLANK : CellType.STRING;
+            if (value != null) {
+                value = this.strings.getItemAt(Integer.parseInt(value.trim())).getString();
+            }
+        } else if ("inlineStr".equals(type) || "str".equals(type) || "d".equals(type)) {
+            valueType = CellType.STRING;
+            value = value == null ? "" : value;
+        } else if ("b".equals(type)) {
+            valueType = value == null ? CellType.BLANK : CellType.BOOLEAN;
+        } else if ("e".equals(type)) {
+            valueType = CellType.ERROR;
+        } else if (value == null && formula != null) {
+            // formula without cached value is numeric.
+            valueType = CellType.NUMERIC;
+            value = "0";
+        } else {
+            valueType = value == null ? CellType.BLANK : CellType.NUMERIC;
+        }
+        row.addCell(column, valueType, value, formula);
+        return column;
+    }
+
+    /**
+     * concat texts of inline string, without phonetic runs.
+     */
+    private String parseInlineString() throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        int phonetic = 0;
+        while (this.reader.hasNext()) {
+            final int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String name = this.reader.getLocalName();
+                if ("rPh".equals(name)) {
+                    phonetic++;
+                } else if ("t".equals(name) && phonetic == 0) {
+                    text.append(this.reader.getElementText());
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                final String name = this.reader.getLocalName();
+                if ("rPh".equals(name)) {
+                    phonetic--;
+                } else if ("is".equals(name)) {
+                    break;
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * column index of cell reference.
+     *
+     * @param ref : cell reference as "AB12".
+     * @return 0 based index of column.
+     */
+    static int columnIndex(String ref) {
+        int index = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            final char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            index = index * 26 + (c - 'A' + 1);
+        }
+        return index - 1;
+    }
+
+    private static XMLInputFactory buildFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * Cell of a streamed excel sheet.
+ * Value getters follow XSSFCell behavior.
+ */
+class StreamingCell {
+
+    /** cell type, FORMULA if cell has a formula */
+    private final CellType type;
+
+    /** type of value, cached result type for formula */
+    private final CellType valueType;
+
+    /** raw value of cell */
+    private final String value;
+
+    private final String formula;
+
+    StreamingCell(CellType valueType, String value, String formula) {
+        this.type = formula == null ? valueType : CellType.FORMULA;
+        this.valueType = valueType;
+        this.value = value;
+        this.formula = formula;
+    }
+
+    CellType getCellType() {
+        return this.type;
+    }
+
+    CellType getCachedFormulaResultType() {
+        if (this.type != CellType.FORMULA) {
+            throw new IllegalStateException("Only formula cells have cached results");
+        }
+        return this.valueType;
+    }
+
+    double getNumericCellValue() {
+        if (this.valueType == CellType.BLANK) {
+            return 0.0;
+        }
+        if (this.valueType != CellType.NUMERIC) {
+            throw this.typeMismatch(CellType.NUMERIC);
+        }
+        try {
+            return Double.parseDouble(this.value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalStateException("Cannot get a numeric value from '" + this.value + "'", ex);
+        }
+    }
+
+    String getStringCellValue() {
+        if (this.valueType == CellType.BLANK) {
+            return "";
+        }
+        if (this.valueType != CellType.STRING) {
+            throw this.typeMismatch(CellType.STRING);
+        }
+        return this.value;
+    }
+
+    boolean getBooleanCellValue() {
+        if (this.valueType == CellType.BLANK) {
+            return false;
+        }
+        if (this.valueType != CellType.BOOLEAN) {
+            throw this.typeMismatch(CellType.BOOLEAN);
+        }
+        return "1".equals(this.value) || "true".equalsIgnoreCase(this.value);
+    }
+
+    @Override
+    public String toString() {
+        return this.formula == null ? String.valueOf(this.value) : this.formula;
+    }
+
+    private IllegalStateException typeMismatch(CellType expected) {
+        return new IllegalStateException("Cannot get a " + expected + " value from a " + this.valueType + " cell");
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.excel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.CellType;
+
+/**
+ * Row of a streamed excel sheet, holds only its own cells.
+ */
+class StreamingRow implements ExcelRow {
+
+    private final int rowNum;
+
+    /** cells by column index, null for missing cells */
+    private final List<StreamingCell> cells;
+
+    StreamingRow(int rowNum, int expectedCells) {
+        this.rowNum = rowNum;
+        this.cells = new ArrayList<>(expectedCells);
+    }
+
+    void addCell(int columnIndex, CellType valueType, String value, String formula) {
+        while (this.cells.size() < columnIndex) {
+            this.cells.add(null);
+        }
+        final StreamingCell cell = new StreamingCell(valueType, value, formula);
+        if (columnIndex < this.cells.size()) {
+            this.cells.set(columnIndex, cell);
+        } else {
+            this.cells.add(cell);
+        }
+    }
+
+    @Override
+    public int getLastCellNum() {
+        return this.cells.isEmpty() ? -1 : this.cells.size();
+    }
+
+    @Override
+    public CellType getCellType(int column) {
+        final StreamingCell cell = this.getCell(column);
+        return cell == null ? null : cell.getCellType();
+    }
+
+    @Override
+    public CellType getCachedFormulaResultType(int column) {
+        return this.getExistingCell(column).getCachedFormulaResultType();
+    }
+
+    @Override
+    public String getStringCellValue(int column) {
+        return this.getExistingCell(column).getStringCellValue();
+    }
+
+    @Override
+    public double getNumericCellValue(int column) {
+        return this.getExistingCell(column).getNumericCellValue();
+    }
+
+    @Override
+    public boolean getBooleanCellValue(int column) {
+        return this.getExistingCell(column).getBooleanCellValue();
+    }
+
+    private StreamingCell getCell(int column) {
+        if (column < 0 || column >= this.cells.size()) {
+            return null;
+        }
+        return this.cells.get(column);
+    }
+
+    private StreamingCell getExistingCell(int column) {
+        final StreamingCell cell = this.getCell(column);
+        if (cell == null) {
+            throw new IllegalStateException("No cell in column " + column + " of row " + this.rowNum);
+        }
+        return cell;
+    }
+}
@@ -12,18 +12,24 @@
  */
 package org.talend.components.common.stream.input.excel;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Iterator;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.talend.components.common.stream.ExcelUtils;
 import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.api.output.RecordWriter;
 import org.talend.components.common.stream.format.FooterLine;
 import org.talend.components.common.stream.format.HeaderLine;
 import org.talend.components.common.stream.format.excel.ExcelConfiguration;
 import org.talend.components.common.stream.format.excel.ExcelConfiguration.ExcelFormat;
+import org.talend.components.common.stream.output.excel.ExcelWriterSupplier;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
@@ -197,6 +203,51 @@ class ExcelReaderSupplierTest {
         this.testOneValueFile("excel97/excel_97_1_record_footer.xls");
     }
 
+    @Test
+    void streamLargeSheet() throws IOException {
+        final int size = ExcelUtils.ROW_ACCESS_WINDOW * 5 + 3;
+        final ExcelConfiguration writeConfig = new ExcelConfiguration();
+        writeConfig.setExcelFormat(ExcelFormat.EXCEL2007);
+        writeConfig.setSheetName("Streamed");
+        writeConfig.setHeader(new HeaderLine());
+        writeConfig.getHeader().setActive(true);
+        writeConfig.getHeader().setSize(1);
+        writeConfig.setFooter(new FooterLine());
+        writeConfig.getFooter().setActive(true);
+        writeConfig.getFooter().setSize(1);
+
+        final ByteArrayOutputStream excel = new ByteArrayOutputStream();
+        try (final RecordWriter writer = new ExcelWriterSupplier().getWriter(() -> excel, writeConfig)) {
+            for (int i = 0; i < size; i++) {
+                writer
+                        .add(factory
+                                .newRecordBuilder()
+                                .withInt("id", i)
+                                .withString("name", "name " + i)
+                                .withBoolean("even", i % 2 == 0)
+                                .build());
+            }
+        }
+
+        try (final RecordReader reader = new ExcelReaderSupplier().getReader(factory, writeConfig)) {
+            final Iterator<Record> records = reader.read(new ByteArrayInputStream(excel.toByteArray()));
+            for (int i = 0; i < size; i++) {
+                Assertions.assertTrue(records.hasNext(), "no record " + i);
+                final Record record = records.next();
+                Assertions.assertEquals(i, record.getDouble("id"), 0.01);
+                Assertions.assertEquals("name " + i, record.getString("name"));
+                Assertions.assertEquals(i % 2 == 0, record.getBoolean("even"));
+            }
+            Assertions.assertFalse(records.hasNext(), "footer must be skipped");
+        }
+
+        writeConfig.setSheetName("Unknown");
+        try (final RecordReader reader = new ExcelReaderSupplier().getReader(factory, writeConfig)) {
+            Assertions.assertThrows(UncheckedIOException.class,
+                    () -> reader.read(new ByteArrayInputStream(excel.toByteArray())));
+        }
+    }
+
     /*
      * @Test
      * void testHTMLFile() throws IOException {
@@ -28,9 +28,13 @@ import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.format.json.JsonPointerParser;
 import org.talend.sdk.component.api.record.Record;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Read json object from a stream (Reader) and convert it to Record iterator.
+ * Objects with same structure share the inferred schema through the converter schema cache.
  */
+@Slf4j
 public class JsonRecordReader implements RecordReader {
 
     /** json pointer config */
@@ -64,6 +68,7 @@ public class JsonRecordReader implements RecordReader {
             this.jsonParser.close();
             this.jsonParser = null;
         }
+        log.debug("Json schema cache: {}", this.toRecord.getSchemaCache());
     }
 
     /**
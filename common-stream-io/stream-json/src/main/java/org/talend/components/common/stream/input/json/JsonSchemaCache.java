@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.stream.input.json;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.Getter;
+
+/**
+ * Bounded LRU cache of inferred schemas, keyed by the shape fingerprint of json objects
+ * (see {@link JsonToSchema#fingerprint(javax.json.JsonObject)}).
+ * Not thread safe, as json readers are used by a single thread.
+ */
+public class JsonSchemaCache {
+
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private final Map<String, Schema> schemas;
+
+    /** number of schemas found in cache. */
+    @Getter
+    private long hits;
+
+    /** number of schemas inferred. */
+    @Getter
+    private long misses;
+
+    public JsonSchemaCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public JsonSchemaCache(final int maxSize) {
+        this.schemas = new LinkedHashMap<String, Schema>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Schema> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get schema of given shape, infer it if not in cache.
+     *
+     * @param fingerprint : shape of json object.
+     * @param inferSchema : schema inference for a missing shape.
+     * @return schema.
+     */
+    public Schema get(final String fingerprint, final Function<String, Schema> inferSchema) {
+        final Schema schema = this.schemas.get(fingerprint);
+        if (schema != null) {
+            this.hits++;
+            return schema;
+        }
+        this.misses++;
+        final Schema newSchema = inferSchema.apply(fingerprint);
+        this.schemas.put(fingerprint, newSchema);
+        return newSchema;
+    }
+
+    public int size() {
+        return this.schemas.size();
+    }
+
+    @Override
+    public String toString() {
+        return "JsonSchemaCache{size=" + this.size() + ", hits=" + this.hits + ", misses=" + this.misses + "}";
+    }
+}
@@ -30,6 +30,7 @@ import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -43,6 +44,16 @@ public class JsonToRecord {
 
     private final Schema givenSchema;
 
+    /** schema inference, used when no schema is given. */
+    private final JsonToSchema toSchema;
+
+    /** inferred schemas by json shape. */
+    @Getter
+    private final JsonSchemaCache schemaCache = new JsonSchemaCache();
+
+    /** converter of last call with a fixed schema. */
+    private JsonToRecord fixedSchemaToRecord;
+
     public JsonToRecord(final RecordBuilderFactory factory) {
         this(factory, false, null, false);
     }
@@ -63,6 +74,7 @@ public class JsonToRecord {
         }
         this.givenSchema = schema;
         this.emptyRecordAsString = emptyRecordAsString;
+        this.toSchema = new JsonToSchema(this.factory, this.numberOption::getNumberType, emptyRecordAsString);
     }
 
     /**
@@ -87,17 +99,24 @@ public class JsonToRecord {
     public Record toRecord(final JsonObject object,
             final Schema schema,
             final boolean emptyRecordAsString) {
-
-        final JsonToRecord toRecord = new JsonToRecord(this.factory,
-                this.numberOption == NumberOption.FORCE_DOUBLE_TYPE, schema, emptyRecordAsString);
-        return toRecord.toRecord(object);
+        return this.withSchema(schema, emptyRecordAsString).toRecord(object);
     }
 
     public Record toRecord(final JsonObject object,
             final Schema schema) {
-        final JsonToRecord toRecord = new JsonToRecord(this.factory,
-                this.numberOption == NumberOption.FORCE_DOUBLE_TYPE, schema, this.emptyRecordAsString);
-        return toRecord.toRecord(object);
+        return this.withSchema(schema, this.emptyRecordAsString).toRecord(object);
+    }
+
+    /**
+     * Get converter with fixed schema, reused while called with same schema.
+     */
+    private JsonToRecord withSchema(final Schema schema, final boolean emptyRecordAsString) {
+        if (this.fixedSchemaToRecord == null || this.fixedSchemaToRecord.givenSchema != schema
+                || this.fixedSchemaToRecord.emptyRecordAsString != emptyRecordAsString) {
+            this.fixedSchemaToRecord = new JsonToRecord(this.factory,
+                    this.numberOption == NumberOption.FORCE_DOUBLE_TYPE, schema, emptyRecordAsString);
+        }
+        return this.fixedSchemaToRecord;
     }
 
     /**
@@ -117,9 +136,8 @@ public class JsonToRecord {
         if (this.givenSchema != null) {
             schema = this.givenSchema;
         } else {
-            final JsonToSchema schemaBuilder =
-                    new JsonToSchema(this.factory, this.numberOption::getNumberType, emptyRecordAsString);
-            schema = schemaBuilder.inferSchema(json);
+            final String shape = this.toSchema.fingerprint(json);
+            schema = this.schemaCache.get(shape, (String key) -> this.toSchema.inferSchema(json));
         }
         return convertJsonObjectToRecord(schema, json);
     }
@@ -53,6 +53,81 @@ public class JsonToSchema {
         return builder.build();
     }
 
+    /**
+     * Compute shape of json object, objects with same shape have same inferred schema.
+     * Shape contains keys and value types, for arrays the merged or mixed type of elements.
+     *
+     * @param json : json object.
+     * @return shape fingerprint.
+     */
+    public String fingerprint(final JsonObject json) {
+        final StringBuilder fingerprint = new StringBuilder();
+        this.objectFingerprint(fingerprint, json, false);
+        return fingerprint.toString();
+    }
+
+    /**
+     * @param withNulls : keep null fields, for objects of arrays, where a null field merged with another value
+     *        stays null (see mergeAll), so that field depends on which object comes first.
+     */
+    private void objectFingerprint(final StringBuilder fingerprint, final JsonObject value, final boolean withNulls) {
+        fingerprint.append('{');
+        for (Map.Entry<String, JsonValue> field : value.entrySet()) {
+            if (withNulls || this.emptyJsonAsString || field.getValue() != JsonValue.NULL) {
+                // prefix with length, so any key can be used without escaping.
+                fingerprint.append(field.getKey().length()).append(':').append(field.getKey());
+                this.valueFingerprint(fingerprint, field.getValue(), withNulls);
+            }
+        }
+        fingerprint.append('}');
+    }
+
+    private void valueFingerprint(final StringBuilder fingerprint, final JsonValue value, final boolean withNulls) {
+        switch (value.getValueType()) {
+        case ARRAY:
+            this.arrayFingerprint(fingerprint, value.asJsonArray());
+            break;
+        case OBJECT:
+            this.objectFingerprint(fingerprint, value.asJsonObject(), withNulls);
+            break;
+        case NULL:
+            // not a string, merged with other values differently.
+            fingerprint.append('0');
+            break;
+        default:
+            fingerprint.append(this.translateType(value).name().charAt(0));
+        }
+    }
+
+    private void arrayFingerprint(final StringBuilder fingerprint, final JsonArray array) {
+        fingerprint.append('[');
+        final JsonValue value = array == null || array.isEmpty() ? null : array.get(0);
+        if (value != null && value.getValueType() == JsonValue.ValueType.OBJECT) {
+            // objects are merged (see inferSchema), a same shape repeated doesn't change merged schema.
+            String previous = null;
+            for (JsonValue element : array) {
+                if (element instanceof JsonObject) {
+                    final StringBuilder elementFingerprint = new StringBuilder();
+                    this.objectFingerprint(elementFingerprint, element.asJsonObject(), true);
+                    final String current = elementFingerprint.toString();
+                    if (!current.equals(previous)) {
+                        fingerprint.append(current);
+                    }
+                    previous = current;
+                }
+            }
+        } else if (value != null && value.getValueType() == JsonValue.ValueType.ARRAY) {
+            this.arrayFingerprint(fingerprint, value.asJsonArray());
+        } else if (value != null) {
+            final Schema.Type mixed = array.stream() //
+                    .skip(1L) //
+                    .map(this::translateType) //
+                    .reduce(this.translateType(value), this::mixType);
+            fingerprint.append(mixed.name().charAt(0));
+        }
+        fingerprint.append(']');
+    }
+
     private void populateJsonObjectEntries(Schema.Builder builder, JsonObject value) {
         value.entrySet()
                 .stream() //
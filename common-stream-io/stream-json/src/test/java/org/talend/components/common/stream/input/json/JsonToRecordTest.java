@@ -393,4 +393,45 @@ class JsonToRecordTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void schemaCache() {
+        final JsonObject first = Json.createObjectBuilder().add("id", 1).add("name", "first").build();
+        final JsonObject second = Json.createObjectBuilder().add("id", 2).add("name", "second").build();
+        final JsonObject otherType = Json.createObjectBuilder().add("id", 2.5).add("name", "third").build();
+        final JsonObject otherKeys = Json.createObjectBuilder().add("name", "fourth").add("id", 4).build();
+
+        final Record record1 = toRecord.toRecord(first);
+        final Record record2 = toRecord.toRecord(second);
+        Assertions.assertSame(record1.getSchema(), record2.getSchema());
+        Assertions.assertEquals(2L, record2.getLong("id"));
+        Assertions.assertEquals(1L, toRecord.getSchemaCache().getMisses());
+        Assertions.assertEquals(1L, toRecord.getSchemaCache().getHits());
+
+        final Record record3 = toRecord.toRecord(otherType);
+        Assertions.assertNotSame(record1.getSchema(), record3.getSchema());
+        Assertions.assertEquals(2.5d, record3.getDouble("id"));
+        final Record record4 = toRecord.toRecord(otherKeys);
+        Assertions.assertEquals("name", record4.getSchema().getEntries().get(0).getName());
+        Assertions.assertEquals(3L, toRecord.getSchemaCache().getMisses());
+        Assertions.assertEquals(3, toRecord.getSchemaCache().size());
+    }
+
+    @Test
+    void schemaCacheEviction() {
+        final JsonSchemaCache cache = new JsonSchemaCache(2);
+        final Schema schema = new RecordBuilderFactoryImpl("test").newSchemaBuilder(Schema.Type.RECORD).build();
+        cache.get("a", (String key) -> schema);
+        cache.get("b", (String key) -> schema);
+        cache.get("a", (String key) -> schema);
+        cache.get("c", (String key) -> schema);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1L, cache.getHits());
+
+        // "b" was the least recently used.
+        cache.get("a", (String key) -> schema);
+        cache.get("b", (String key) -> schema);
+        Assertions.assertEquals(2L, cache.getHits());
+        Assertions.assertEquals(4L, cache.getMisses());
+    }
+}
@@ -19,6 +19,7 @@ import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.StringReader;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
@@ -83,6 +84,23 @@ class JsonToSchemaTest {
         Assertions.assertEquals(Schema.Type.BOOLEAN, arrayType);
     }
 
+    @Test
+    void fingerprintWithNullFieldInArray() {
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+        final JsonToSchema toSchema = new JsonToSchema(factory, this::getNumberType, false);
+        final JsonObject withNull =
+                Json.createReader(new StringReader("{\"x\":[{\"a\":null},{\"a\":1}]}")).readObject();
+        final JsonObject withoutField = Json.createReader(new StringReader("{\"x\":[{},{\"a\":1}]}")).readObject();
+
+        Assertions.assertNotEquals(toSchema.fingerprint(withNull), toSchema.fingerprint(withoutField));
+
+        final Schema schemaWithNull = toSchema.inferSchema(withNull);
+        final Schema schemaWithoutField = toSchema.inferSchema(withoutField);
+        Assertions.assertNull(this.getEntry(schemaWithNull.getEntry("x").getElementSchema(), "a"));
+        Assertions.assertEquals(Schema.Type.LONG,
+                this.getEntry(schemaWithoutField.getEntry("x").getElementSchema(), "a").getType());
+    }
+
     @Test
     void inferBigSchema() throws IOException {
         final String property = System.getProperty("talend.component.beam.record.factory.impl");
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.collections;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fetches pages of a paginated source on a background thread, while previous pages are read.
+ * Pages are fetched in order by one thread, so the fetcher can keep its paging state (next page token or link).
+ * Up to queueDepth pages wait for the reader; with a depth of 0, pages are fetched by the reader itself.
+ * Fetch time and time the reader waited for pages are measured, to show how long the reader is blocked.
+ *
+ * @param <P> page type.
+ */
+@Slf4j
+public class PagePrefetcher<P> implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    /** how often the prefetch thread and the reader, waiting for each other, check if it was closed */
+    private static final long WAIT_TIMEOUT_MILLIS = 100;
+
+    private final String name;
+
+    /** gives next page, or null when all pages were fetched */
+    private final Supplier<P> fetcher;
+
+    private final BlockingQueue<Page<P>> queue;
+
+    private final Thread thread;
+
+    private volatile boolean closed;
+
+    private boolean ended;
+
+    private int pages;
+
+    private volatile long fetchNanos;
+
+    private volatile long maxFetchNanos;
+
+    private long waitNanos;
+
+    public PagePrefetcher(String name, int queueDepth, Supplier<P> fetcher) {
+        this.name = name;
+        this.fetcher = fetcher;
+        if (queueDepth <= 0) {
+            this.queue = null;
+            this.thread = null;
+            return;
+        }
+        this.queue = new ArrayBlockingQueue<>(queueDepth);
+        this.thread = new Thread(this::prefetch, name + "-prefetch-" + THREAD_NUMBER.incrementAndGet());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Next page, waiting for it when not fetched yet.
+     *
+     * @return next page, null when all pages were read or when closed.
+     */
+    public P next() {
+        if (ended || closed) {
+            return null;
+        }
+        final long start = System.nanoTime();
+        final Page<P> page = queue == null ? fetch() : take();
+        final long waited = System.nanoTime() - start;
+        waitNanos += waited;
+        if (page == null) {
+            // closed while waiting.
+            ended = true;
+            return null;
+        }
+        if (page.error != null) {
+            ended = true;
+            throw rethrow(page.error);
+        }
+        if (page.content == null) {
+            ended = true;
+            return null;
+        }
+        pages++;
+        log.debug("[{}] page {} read after waiting {} ms.", name, pages, TimeUnit.NANOSECONDS.toMillis(waited));
+        return page.content;
+    }
+
+    /** number of pages read */
+    public int getPages() {
+        return pages;
+    }
+
+    /** time spent fetching pages */
+    public long getFetchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(fetchNanos);
+    }
+
+    /** longest fetch of a page */
+    public long getMaxFetchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxFetchNanos);
+    }
+
+    /** time the reader was blocked waiting for pages */
+    public long getWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (thread != null) {
+            // free waiting pages, and the prefetch thread if it waits for a place.
+            queue.clear();
+            thread.interrupt();
+        }
+        log
+                .info("[{}] {} pages read, fetched in {} ms (max {} ms by page), reader waited {} ms.", name, pages,
+                        getFetchMillis(), getMaxFetchMillis(), getWaitMillis());
+    }
+
+    /**
+     * Wait for next fetched page.
+     *
+     * @return next page, null if closed while waiting.
+     */
+    private Page<P> take() {
+        try {
+            Page<P> page = null;
+            while (!closed && page == null) {
+                page = queue.poll(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            return page;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        if (error instanceof RuntimeException) {
+            return (RuntimeException) error;
+        }
+        return new IllegalStateException(error.getMessage(), error);
+    }
+
+    private void prefetch() {
+        try {
+            Page<P> page;
+            do {
+                page = fetch();
+                // interruption can be swallowed by the fetcher, so closed is checked while waiting.
+                boolean queued = false;
+                while (!closed && !queued) {
+                    queued = queue.offer(page, WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            } while (!closed && page.content != null && page.error == null);
+        } catch (InterruptedException e) {
+            // closed while waiting for the reader.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Page<P> fetch() {
+        final long start = System.nanoTime();
+        try {
+            return new Page<>(fetcher.get(), null);
+        } catch (Throwable e) {
+            // errors are given to the reader too, else it would wait for a page forever.
+            return new Page<>(null, e);
+        } finally {
+            final long duration = System.nanoTime() - start;
+            fetchNanos += duration;
+            maxFetchNanos = Math.max(maxFetchNanos, duration);
+            log.debug("[{}] page fetched in {} ms.", name, TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    private static class Page<P> {
+
+        private final P content;
+
+        private final Throwable error;
+
+        Page(P content, Throwable error) {
+            this.content = content;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.common.collections;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PagePrefetcherTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 3 })
+    void pagesInOrder(final int depth) {
+        final AtomicInteger page = new AtomicInteger();
+        final Supplier<Integer> fetcher = () -> page.get() < 10 ? page.incrementAndGet() : null;
+        final List<Integer> pages = new ArrayList<>();
+        try (PagePrefetcher<Integer> prefetcher = new PagePrefetcher<>("test", depth, fetcher)) {
+            Integer next;
+            while ((next = prefetcher.next()) != null) {
+                pages.add(next);
+            }
+            Assertions.assertNull(prefetcher.next());
+            Assertions.assertEquals(10, prefetcher.getPages());
+        }
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals(i + 1, pages.get(i));
+        }
+    }
+
+    @Test
+    void nextPageFetchedWhileReading() throws InterruptedException {
+        final AtomicInteger page = new AtomicInteger();
+        final CountDownLatch secondPageFetched = new CountDownLatch(1);
+        final Supplier<Integer> fetcher = () -> {
+            if (page.get() >= 4) {
+                return null;
+            }
+            final int next = page.incrementAndGet();
+            if (next == 2) {
+                secondPageFetched.countDown();
+            }
+            return next;
+        };
+        try (PagePrefetcher<Integer> prefetcher = new PagePrefetcher<>("test", 1, fetcher)) {
+            Assertions.assertEquals(1, prefetcher.next());
+            // page 2 is fetched while page 1 is read, before the reader asks for it.
+            Assertions.assertTrue(secondPageFetched.await(10, TimeUnit.SECONDS), "page 2 not prefetched");
+            Assertions.assertEquals(2, prefetcher.next());
+            Assertions.assertEquals(3, prefetcher.next());
+            Assertions.assertEquals(4, prefetcher.next());
+            Assertions.assertNull(prefetcher.next());
+            Assertions.assertEquals(4, prefetcher.getPages());
+        }
+    }
+
+    @Test
+    void fetchErrorThrownToReader() {
+        final AtomicInteger page = new AtomicInteger();
+        final Supplier<Integer> fetcher = () -> {
+            if (page.incrementAndGet() == 2) {
+                throw new IllegalArgumentException("page 2 failed");
+            }
+            return page.get();
+        };
+        try (PagePrefetcher<Integer> prefetcher = new PagePrefetcher<>("test", 2, fetcher)) {
+            Assertions.assertEquals(1, prefetcher.next());
+            final IllegalArgumentException error =
+                    Assertions.assertThrows(IllegalArgumentException.class, prefetcher::next);
+            Assertions.assertEquals("page 2 failed", error.getMessage());
+            Assertions.assertNull(prefetcher.next());
+        }
+    }
+
+    @Test
+    void fetchFatalErrorThrownToReader() {
+        final Supplier<Integer> fetcher = () -> {
+            throw new NoClassDefFoundError("missing page class");
+        };
+        try (PagePrefetcher<Integer> prefetcher = new PagePrefetcher<>("test", 1, fetcher)) {
+            final NoClassDefFoundError error = Assertions
+                    .assertTimeoutPreemptively(Duration.ofSeconds(10),
+                            () -> Assertions.assertThrows(NoClassDefFoundError.class, prefetcher::next));
+            Assertions.assertEquals("missing page class", error.getMessage());
+            Assertions.assertNull(prefetcher.next());
+        }
+    }
+
+    @Test
+    void nextAfterClose() {
+        final AtomicInteger page = new AtomicInteger();
+        final PagePrefetcher<Integer> prefetcher = new PagePrefetcher<>("test", 2, page::incrementAndGet);
+        Assertions.assertEquals(1, prefetcher.next());
+        prefetcher.close();
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), () -> Assertions.assertNull(prefetcher.next()));
+    }
+
+    @Test
+    void closeReleasesWaitingReader() throws InterruptedException {
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final Supplier<Integer> fetcher = () -> {
+            fetching.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                // interruption swallowed, as some clients do.
+            }
+            return 1;
+        };
+        final PagePrefetcher<Integer> prefetcher = new PagePrefetcher<>("test", 1, fetcher);
+        final Thread closer = new Thread(() -> {
+            try {
+                fetching.await();
+                prefetcher.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        closer.start();
+        try {
+            Assertions
+                    .assertTimeoutPreemptively(Duration.ofSeconds(10),
+                            () -> Assertions.assertNull(prefetcher.next()));
+        } finally {
+            released.countDown();
+            closer.join();
+        }
+    }
+}
@@ -32,7 +32,10 @@ import javax.json.JsonObject;
 import javax.json.JsonReader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 @Slf4j
 @Documentation("This component reads data from cosmosDB.")
@@ -50,12 +53,24 @@ public class CosmosDBInput implements Serializable {
 
     private transient Iterator<Document> iterator;
 
+    /** partition key ranges read by this worker, null to read whole collection */
+    private final List<String> partitionKeyRangeIds;
+
+    /** number of documents by page when reading partition key ranges */
+    static final int PAGE_SIZE = 1000;
+
     public CosmosDBInput(@Option("configuration") final CosmosDBInputConfiguration configuration,
             final CosmosDBService service,
             final RecordBuilderFactory builderFactory) {
+        this(configuration, service, builderFactory, null);
+    }
+
+    public CosmosDBInput(final CosmosDBInputConfiguration configuration, final CosmosDBService service,
+            final RecordBuilderFactory builderFactory, final List<String> partitionKeyRangeIds) {
         this.configuration = configuration;
         this.service = service;
         this.builderFactory = builderFactory;
+        this.partitionKeyRangeIds = partitionKeyRangeIds;
     }
 
     @PostConstruct
@@ -87,6 +102,30 @@ public class CosmosDBInput implements Serializable {
 
     private Iterator<Document> getResults(String databaseName, String collectionName) {
         String collectionLink = String.format("/dbs/%s/colls/%s", databaseName, collectionName);
+        if (partitionKeyRangeIds != null) {
+            // read partition key ranges one after the other, each one by bounded pages.
+            Iterator<String> rangeIds = partitionKeyRangeIds.iterator();
+            return new Iterator<Document>() {
+
+                private Iterator<Document> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && rangeIds.hasNext()) {
+                        current = getRangeResults(collectionLink, rangeIds.next());
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public Document next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
         FeedResponse<Document> queryResults;
         if (configuration.getDataset().isUseQuery()) {
             // Set some common query options
@@ -102,4 +141,17 @@ public class CosmosDBInput implements Serializable {
         }
         return queryResults.getQueryIterator();
     }
+
+    private Iterator<Document> getRangeResults(String collectionLink, String partitionKeyRangeId) {
+        FeedOptions options = new FeedOptions();
+        options.setPageSize(PAGE_SIZE);
+        options.setPartitionKeyRangeIdInternal(partitionKeyRangeId);
+        log.debug("Read partition key range {} of {}", partitionKeyRangeId, collectionLink);
+        if (configuration.getDataset().isUseQuery()) {
+            return client
+                    .queryDocuments(collectionLink, configuration.getDataset().getQuery(), options)
+                    .getQueryIterator();
+        }
+        return client.readDocuments(collectionLink, options).getQueryIterator();
+    }
 }
\ No newline at end of file
@@ -12,6 +12,9 @@
  */
 package org.talend.components.cosmosDB.input;
 
+import com.microsoft.azure.documentdb.DocumentClient;
+import com.microsoft.azure.documentdb.DocumentClientException;
+import lombok.extern.slf4j.Slf4j;
 import org.talend.components.cosmosDB.service.CosmosDBService;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
@@ -21,55 +24,127 @@ import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import static java.util.Collections.singletonList;
 
+@Slf4j
 @Version(1)
 @Icon(value = Icon.IconType.CUSTOM, custom = "CosmosDB-input")
 @PartitionMapper(name = "SQLAPIInput")
 @Documentation("cosmosDB input Mapper")
 public class CosmosDBInputMapper implements Serializable {
 
+    /** queries whose result needs all partitions at once */
+    private static final Pattern NOT_SPLITTABLE_QUERY = Pattern
+            .compile("\\b(ORDER\\s+BY|GROUP\\s+BY|TOP|DISTINCT|OFFSET|COUNT|SUM|AVG|MIN|MAX)\\b",
+                    Pattern.CASE_INSENSITIVE);
+
     private final CosmosDBInputConfiguration configuration;
 
     private final CosmosDBService service;
 
     private final RecordBuilderFactory recordBuilderFactory;
 
+    /** partition key ranges read by this split, null for whole collection */
+    private final List<String> partitionKeyRangeIds;
+
+    /** number of partition key ranges of collection, when split */
+    private final int rangeCount;
+
     public CosmosDBInputMapper(@Option("configuration") final CosmosDBInputConfiguration configuration,
             final CosmosDBService service, final RecordBuilderFactory recordBuilderFactory) {
+        this(configuration, service, recordBuilderFactory, null, 0);
+    }
+
+    private CosmosDBInputMapper(final CosmosDBInputConfiguration configuration, final CosmosDBService service,
+            final RecordBuilderFactory recordBuilderFactory, final List<String> partitionKeyRangeIds,
+            final int rangeCount) {
         this.configuration = configuration;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
+        this.partitionKeyRangeIds = partitionKeyRangeIds;
+        this.rangeCount = rangeCount;
     }
 
     @Assessor
     public long estimateSize() {
-        // this method should return the estimation of the dataset size
-        // it is recommended to return a byte value
-        // if you don't have the exact size you can use a rough estimation
-        return 1L;
+        // documents size of the collection, from its usage metrics, shared evenly by partition key ranges.
+        try (DocumentClient client = service.documentClientFrom(configuration.getDataset().getDatastore())) {
+            long size = service.getCollectionSize(client, getCollectionLink());
+            if (partitionKeyRangeIds != null && rangeCount > 0) {
+                size = size * partitionKeyRangeIds.size() / rangeCount;
+            }
+            return Math.max(1L, size);
+        } catch (DocumentClientException e) {
+            log.warn("Can't get usage of collection {}: {}", configuration.getDataset().getCollectionID(),
+                    e.getMessage());
+            return 1L;
+        }
     }
 
     @Split
     public List<CosmosDBInputMapper> split(@PartitionSize final long bundles) {
-        // overall idea here is to split the work related to configuration in bundles of size "bundles"
-        //
-        // for instance if your estimateSize() returned 1000 and you can run on 10 nodes
-        // then the environment can decide to run it concurrently (10 * 100).
-        // In this case bundles = 100 and we must try to return 10 CosmosDBInputMapper with 1/10 of the overall work
-        // each.
-        //
-        // default implementation returns this which means it doesn't support the work to be split
-        return singletonList(this);
+        // one split by group of partition key ranges, each group holding about "bundles" bytes.
+        if (partitionKeyRangeIds != null || bundles <= 0 || !isSplittable(configuration)) {
+            return singletonList(this);
+        }
+        final List<String> rangeIds;
+        final long size;
+        try (DocumentClient client = service.documentClientFrom(configuration.getDataset().getDatastore())) {
+            rangeIds = service.getPartitionKeyRangeIds(client, getCollectionLink());
+            size = service.getCollectionSize(client, getCollectionLink());
+        } catch (DocumentClientException | IllegalStateException e) {
+            log.warn("Can't split read of collection {}: {}", configuration.getDataset().getCollectionID(),
+                    e.getMessage());
+            return singletonList(this);
+        }
+        final int splitCount = (int) Math.min(rangeIds.size(), Math.max(1L, (size + bundles - 1) / bundles));
+        if (splitCount <= 1) {
+            return singletonList(this);
+        }
+        final List<CosmosDBInputMapper> mappers = new ArrayList<>(splitCount);
+        for (List<String> group : groupRanges(rangeIds, splitCount)) {
+            mappers.add(new CosmosDBInputMapper(configuration, service, recordBuilderFactory, group, rangeIds.size()));
+        }
+        log.info("Read of collection {} split in {} groups of partition key ranges.",
+                configuration.getDataset().getCollectionID(), mappers.size());
+        return mappers;
     }
 
     @Emitter
     public CosmosDBInput createWorker() {
-        // here we create an actual worker,
-        // you are free to rework the configuration etc but our default generated implementation
-        // propagates the partition mapper entries.
-        return new CosmosDBInput(configuration, service, recordBuilderFactory);
+        // each split reads its own partition key ranges.
+        return new CosmosDBInput(configuration, service, recordBuilderFactory, partitionKeyRangeIds);
+    }
+
+    private String getCollectionLink() {
+        return String.format("/dbs/%s/colls/%s", configuration.getDataset().getDatastore().getDatabaseID(),
+                configuration.getDataset().getCollectionID());
+    }
+
+    /**
+     * Whole collection reads and simple queries can be run partition by partition.
+     * Queries with ordering or aggregation need a cross partition query.
+     */
+    static boolean isSplittable(CosmosDBInputConfiguration configuration) {
+        return !configuration.getDataset().isUseQuery()
+                || !NOT_SPLITTABLE_QUERY.matcher(configuration.getDataset().getQuery()).find();
+    }
+
+    /**
+     * Share ranges in groups of consecutive ranges, group sizes differ by one at most.
+     */
+    static List<List<String>> groupRanges(List<String> rangeIds, int groupCount) {
+        final List<List<String>> groups = new ArrayList<>(groupCount);
+        int start = 0;
+        for (int i = 0; i < groupCount; i++) {
+            final int end = (int) ((long) rangeIds.size() * (i + 1) / groupCount);
+            groups.add(new ArrayList<>(rangeIds.subList(start, end)));
+            start = end;
+        }
+        return groups;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.output;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.talend.sdk.component.api.record.Record;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk writes of a group of records.
+ * Records are buffered until flush, then grouped by physical partition and written by several concurrent
+ * requests per partition. Throttled requests (429) are retried after the delay given by CosmosDB, and all workers
+ * pause until then, so the write rate adapts to the provisioned throughput.
+ */
+@Slf4j
+public class BulkWriter implements AutoCloseable {
+
+    static final int TOO_MANY_REQUESTS = 429;
+
+    /** retries of a throttled request before failing it */
+    static final int MAX_THROTTLE_RETRIES = 20;
+
+    /** pause when CosmosDB gives no retry delay */
+    private static final long MIN_BACKOFF_MILLIS = 10L;
+
+    private static final int MAX_THREADS = 64;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final OutputParserFactory.IOutputParser parser;
+
+    /** gives partition of a record */
+    private final Function<Record, String> partitioner;
+
+    private final int concurrencyPerPartition;
+
+    private final ExecutorService executor;
+
+    private final List<Record> buffer = new ArrayList<>();
+
+    /** no request is sent before this time, set by throttled requests */
+    private final AtomicLong throttledUntil = new AtomicLong();
+
+    /** request units consumed by last flush */
+    @Getter
+    private double lastRequestCharge;
+
+    public BulkWriter(OutputParserFactory.IOutputParser parser, Function<Record, String> partitioner,
+            int partitionCount, int concurrencyPerPartition) {
+        this.parser = parser;
+        this.partitioner = partitioner;
+        this.concurrencyPerPartition = Math.max(1, concurrencyPerPartition);
+        final int threads = Math.min(MAX_THREADS, Math.max(1, partitionCount) * this.concurrencyPerPartition);
+        final int pool = POOL_NUMBER.incrementAndGet();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, (Runnable r) -> {
+            final Thread thread = new Thread(r, "cosmosdb-bulk-" + pool + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void add(Record record) {
+        this.buffer.add(record);
+    }
+
+    /**
+     * Write buffered records, and wait for all writes.
+     *
+     * @return records that could not be written.
+     */
+    public List<Failure> flush() {
+        if (this.buffer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final long start = System.currentTimeMillis();
+        final Map<String, List<Record>> partitions = new LinkedHashMap<>();
+        for (Record record : this.buffer) {
+            partitions.computeIfAbsent(this.partitioner.apply(record), k -> new ArrayList<>()).add(record);
+        }
+        final int count = this.buffer.size();
+        this.buffer.clear();
+
+        final DoubleAdder requestCharge = new DoubleAdder();
+        final LongAdder throttled = new LongAdder();
+        final List<Future<List<Failure>>> writes = new ArrayList<>();
+        for (List<Record> records : partitions.values()) {
+            // records of a partition are shared, round robin, by its concurrent requests.
+            final int slices = Math.min(this.concurrencyPerPartition, records.size());
+            for (int slice = 0; slice < slices; slice++) {
+                final List<Record> sliceRecords = new ArrayList<>(records.size() / slices + 1);
+                for (int i = slice; i < records.size(); i += slices) {
+                    sliceRecords.add(records.get(i));
+                }
+                writes.add(this.executor.submit(() -> this.write(sliceRecords, requestCharge, throttled)));
+            }
+        }
+
+        final List<Failure> failures = new ArrayList<>();
+        try {
+            for (Future<List<Failure>> write : writes) {
+                failures.addAll(write.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }
+        this.lastRequestCharge = requestCharge.sum();
+        log.info("Bulk write of {} documents on {} partitions in {} ms: {} RU consumed, {} throttled requests, "
+                + "{} failures.", count, partitions.size(), System.currentTimeMillis() - start,
+                this.lastRequestCharge, throttled.sum(), failures.size());
+        return failures;
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    private List<Failure> write(List<Record> records, DoubleAdder requestCharge, LongAdder throttled)
+            throws InterruptedException {
+        final List<Failure> failures = new ArrayList<>();
+        for (Record record : records) {
+            int attempt = 0;
+            while (true) {
+                this.awaitThrottling();
+                try {
+                    requestCharge.add(this.parser.write(record));
+                    break;
+                } catch (DocumentClientException e) {
+                    if (e.getStatusCode() == TOO_MANY_REQUESTS && attempt++ < MAX_THROTTLE_RETRIES) {
+                        throttled.increment();
+                        final long retryAfter = Math.max(MIN_BACKOFF_MILLIS, e.getRetryAfterInMilliseconds());
+                        this.throttledUntil.accumulateAndGet(System.currentTimeMillis() + retryAfter, Math::max);
+                        continue;
+                    }
+                    failures.add(new Failure(record, e));
+                    break;
+                } catch (RuntimeException e) {
+                    failures.add(new Failure(record, e));
+                    break;
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void awaitThrottling() throws InterruptedException {
+        long wait;
+        while ((wait = this.throttledUntil.get() - System.currentTimeMillis()) > 0) {
+            Thread.sleep(wait);
+        }
+    }
+
+    /**
+     * Record failed by bulk write, with CosmosDB error.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Failure {
+
+        private final Record record;
+
+        private final Exception error;
+
+        @Override
+        public String toString() {
+            return "{\"error\": \"" + error.getMessage() + "\", \"record\":" + record + "}";
+        }
+    }
+}
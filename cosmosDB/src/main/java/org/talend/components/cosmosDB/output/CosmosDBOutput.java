@@ -14,6 +14,7 @@ package org.talend.components.cosmosDB.output;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -25,6 +26,7 @@ import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Processor;
@@ -57,6 +59,8 @@ public class CosmosDBOutput implements Serializable {
 
     private OutputParserFactory.IOutputParser out;
 
+    private transient BulkWriter bulkWriter;
+
     public CosmosDBOutput(@Option("configuration") final CosmosDBOutputConfiguration configuration,
             final CosmosDBService service) {
         this.configuration = configuration;
@@ -71,16 +75,41 @@ public class CosmosDBOutput implements Serializable {
         if (configuration.isCreateCollection()) {
             createDocumentCollectionIfNotExists();
         }
-        out = new OutputParserFactory(configuration, client).getOutputParser();
+        OutputParserFactory parserFactory = new OutputParserFactory(configuration, client);
+        out = parserFactory.getOutputParser();
+        if (configuration.isBulkWrite()) {
+            OutputParserFactory.Partitioner partitioner = parserFactory.getPartitioner();
+            bulkWriter = new BulkWriter(out, partitioner, partitioner.getPartitionCount(),
+                    configuration.getBulkConcurrency());
+        }
     }
 
     @ElementListener
     public void onNext(@Input final Record record) {
-        out.output(record);
+        if (bulkWriter != null) {
+            bulkWriter.add(record);
+        } else {
+            out.output(record);
+        }
+    }
+
+    @AfterGroup
+    public void afterGroup() {
+        if (bulkWriter == null) {
+            return;
+        }
+        List<BulkWriter.Failure> failures = bulkWriter.flush();
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> log.error("Failed to write document: {}", failure));
+            throw new IllegalArgumentException(failures.get(0).getError());
+        }
     }
 
     @PreDestroy
     public void release() {
+        if (bulkWriter != null) {
+            bulkWriter.close();
+        }
         if (client != null) {
             client.close();
         }
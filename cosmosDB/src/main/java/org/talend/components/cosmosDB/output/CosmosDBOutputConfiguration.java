@@ -36,7 +36,8 @@ import lombok.Data;
 }),
         @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }),
                 @GridLayout.Row({ "offerThroughput" }), @GridLayout.Row({ "partitionKey" }),
-                @GridLayout.Row({ "partitionKeyForDelete" }) }) })
+                @GridLayout.Row({ "partitionKeyForDelete" }), @GridLayout.Row({ "bulkWrite" }),
+                @GridLayout.Row({ "bulkConcurrency" }) }) })
 @Documentation("cosmosDB output configuration")
 public class CosmosDBOutputConfiguration implements Serializable {
 
@@ -75,4 +76,13 @@ public class CosmosDBOutputConfiguration implements Serializable {
     @ActiveIf(target = "dataAction", value = { "INSERT", "UPSERT" })
     private boolean autoIDGeneration;
 
+    @Option
+    @Documentation("Write records of a group concurrently, grouped by physical partition")
+    private boolean bulkWrite;
+
+    @Option
+    @ActiveIf(target = "bulkWrite", value = "true")
+    @Documentation("Number of concurrent requests by physical partition in bulk write")
+    private int bulkConcurrency = 4;
+
 }
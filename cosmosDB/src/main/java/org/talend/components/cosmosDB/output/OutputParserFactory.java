@@ -12,15 +12,24 @@
  */
 package org.talend.components.cosmosDB.output;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.apache.commons.lang3.StringUtils;
 import org.talend.sdk.component.api.record.Record;
 
 import com.microsoft.azure.documentdb.Document;
 import com.microsoft.azure.documentdb.DocumentClient;
 import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.FeedOptions;
 import com.microsoft.azure.documentdb.PartitionKey;
+import com.microsoft.azure.documentdb.PartitionKeyDefinition;
+import com.microsoft.azure.documentdb.PartitionKeyRange;
 import com.microsoft.azure.documentdb.RequestOptions;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -66,9 +75,103 @@ public class OutputParserFactory {
         return delegate;
     }
 
+    /**
+     * Find physical partition of records, from partition key ranges of the collection.
+     */
+    public Partitioner getPartitioner() {
+        final String collectionLink = String.format("/dbs/%s/colls/%s", databaseName, collectionName);
+        final PartitionKeyDefinition definition;
+        final List<PartitionKeyRange> ranges;
+        try {
+            definition = client.readCollection(collectionLink, null).getResource().getPartitionKey();
+            ranges = client.readPartitionKeyRanges(collectionLink, (FeedOptions) null).getQueryIterable().toList();
+        } catch (DocumentClientException e) {
+            throw new IllegalArgumentException(e);
+        }
+        if (definition == null || definition.getPaths() == null || definition.getPaths().isEmpty()) {
+            return new Partitioner(definition, null, ranges);
+        }
+        if (definition.getPaths().size() > 1) {
+            throw new IllegalArgumentException(
+                    "Partition key with several paths is not supported: " + definition.getPaths());
+        }
+        final List<String> path = Arrays
+                .stream(definition.getPaths().iterator().next().split("/"))
+                .filter(StringUtils::isNotEmpty)
+                .collect(Collectors.toList());
+        return new Partitioner(definition, path, ranges);
+    }
+
     interface IOutputParser {
 
-        void output(Record record);
+        /**
+         * Write record in collection.
+         *
+         * @return request units consumed.
+         */
+        double write(Record record) throws DocumentClientException;
+
+        default void output(Record record) {
+            try {
+                write(record);
+            } catch (DocumentClientException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    class Partitioner implements Function<Record, String> {
+
+        private final PartitionKeyDefinition definition;
+
+        /** path of partition key in documents, null for a collection without partition key */
+        private final List<String> path;
+
+        private final List<PartitionKeyRange> ranges;
+
+        public int getPartitionCount() {
+            return ranges.size();
+        }
+
+        /**
+         * @return id of partition key range of record.
+         */
+        @Override
+        public String apply(Record record) {
+            if (path == null || ranges.size() <= 1) {
+                return "";
+            }
+            final Object value = this.getKeyValue(record);
+            try {
+                String effectiveKey = new PartitionKey(value)
+                        .getInternalPartitionKey()
+                        .getEffectivePartitionKeyString(definition, true);
+                for (PartitionKeyRange range : ranges) {
+                    if (effectiveKey.compareTo(range.getMinInclusive()) >= 0
+                            && effectiveKey.compareTo(range.getMaxExclusive()) < 0) {
+                        return range.getId();
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.debug("Can't find partition of key {}: {}", value, e.getMessage());
+            }
+            // group by logical partition
+            return String.valueOf(value);
+        }
+
+        /**
+         * Read partition key value from record, through sub-records of path, so the record is not serialized
+         * before it is written.
+         */
+        private Object getKeyValue(Record record) {
+            Record current = record;
+            for (int i = 0; i < path.size() - 1 && current != null; i++) {
+                final Object child = current.get(Object.class, path.get(i));
+                current = child instanceof Record ? (Record) child : null;
+            }
+            return current == null ? null : current.get(Object.class, path.get(path.size() - 1));
+        }
     }
 
     class Insert implements IOutputParser {
@@ -78,14 +181,11 @@ public class OutputParserFactory {
         boolean disAbleautoID = !configuration.isAutoIDGeneration();
 
         @Override
-        public void output(Record record) {
+        public double write(Record record) throws DocumentClientException {
             String jsonString = getJsonString(record);
-            try {
-                Document document = new Document(jsonString);
-                client.createDocument(collectionLink, document, new RequestOptions(), disAbleautoID);
-            } catch (DocumentClientException e) {
-                throw new IllegalArgumentException(e);
-            }
+            Document document = new Document(jsonString);
+            return client.createDocument(collectionLink, document, new RequestOptions(), disAbleautoID)
+                    .getRequestCharge();
         }
     }
 
@@ -102,14 +202,10 @@ public class OutputParserFactory {
         }
 
         @Override
-        public void output(Record record) {
+        public double write(Record record) throws DocumentClientException {
             String id = record.getString("id");
             final String documentLink = String.format("/dbs/%s/colls/%s/docs/%s", databaseName, collectionName, id);
-            try {
-                client.deleteDocument(documentLink, getPartitionKey(record));
-            } catch (DocumentClientException e) {
-                throw new IllegalArgumentException(e);
-            }
+            return client.deleteDocument(documentLink, getPartitionKey(record)).getRequestCharge();
         }
 
         public RequestOptions getPartitionKey(Record record) {
@@ -127,15 +223,12 @@ public class OutputParserFactory {
     class Update implements IOutputParser {
 
         @Override
-        public void output(Record record) {
+        public double write(Record record) throws DocumentClientException {
             String id = record.getString("id");
             final String documentLink = String.format("/dbs/%s/colls/%s/docs/%s", databaseName, collectionName, id);
             String jsonString = getJsonString(record);
-            try {
-                client.replaceDocument(documentLink, new Document(jsonString), new RequestOptions());
-            } catch (DocumentClientException e) {
-                throw new IllegalArgumentException(e);
-            }
+            return client.replaceDocument(documentLink, new Document(jsonString), new RequestOptions())
+                    .getRequestCharge();
         }
     }
 
@@ -146,13 +239,10 @@ public class OutputParserFactory {
         String collectionLink = String.format("/dbs/%s/colls/%s", databaseName, collectionName);
 
         @Override
-        public void output(Record record) {
+        public double write(Record record) throws DocumentClientException {
             String jsonString = getJsonString(record);
-            try {
-                client.upsertDocument(collectionLink, new Document(jsonString), new RequestOptions(), disAbleautoID);
-            } catch (DocumentClientException e) {
-                throw new IllegalArgumentException(e);
-            }
+            return client.upsertDocument(collectionLink, new Document(jsonString), new RequestOptions(), disAbleautoID)
+                    .getRequestCharge();
         }
     }
 }
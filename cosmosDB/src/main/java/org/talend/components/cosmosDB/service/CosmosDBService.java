@@ -17,6 +17,9 @@ import com.microsoft.azure.documentdb.ConnectionPolicy;
 import com.microsoft.azure.documentdb.ConsistencyLevel;
 import com.microsoft.azure.documentdb.DocumentClient;
 import com.microsoft.azure.documentdb.DocumentClientException;
+import com.microsoft.azure.documentdb.FeedOptions;
+import com.microsoft.azure.documentdb.PartitionKeyRange;
+import com.microsoft.azure.documentdb.RequestOptions;
 import com.microsoft.azure.documentdb.RetryOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -81,6 +84,31 @@ public class CosmosDBService {
                 ConsistencyLevel.valueOf(datastore.getConsistencyLevel().name()));
     }
 
+    /**
+     * Get ids of partition key ranges (physical partitions) of a collection.
+     */
+    public List<String> getPartitionKeyRangeIds(DocumentClient client, String collectionLink) {
+        return client
+                .readPartitionKeyRanges(collectionLink, (FeedOptions) null)
+                .getQueryIterable()
+                .toList()
+                .stream()
+                .map(PartitionKeyRange::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get size of a collection documents, from its usage metrics.
+     *
+     * @return size in bytes.
+     */
+    public long getCollectionSize(DocumentClient client, String collectionLink) throws DocumentClientException {
+        RequestOptions options = new RequestOptions();
+        options.setPopulateQuotaInfo(true);
+        // usage is given in KB.
+        return client.readCollection(collectionLink, options).getCollectionSizeUsage() * 1024L;
+    }
+
     @HealthCheck("healthCheck")
     public HealthCheckStatus
             healthCheck(@Option("configuration.dataset.connection") final CosmosDBDataStore datastore) {
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.input;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.cosmosDB.dataset.QueryDataset;
+
+import java.util.Arrays;
+import java.util.List;
+
+class CosmosDBInputMapperTest {
+
+    @Test
+    void groupRanges() {
+        final List<String> ranges = Arrays.asList("0", "1", "2", "3", "4", "5", "6");
+        final List<List<String>> groups = CosmosDBInputMapper.groupRanges(ranges, 3);
+
+        Assertions.assertEquals(3, groups.size());
+        Assertions.assertEquals(Arrays.asList("0", "1"), groups.get(0));
+        Assertions.assertEquals(Arrays.asList("2", "3"), groups.get(1));
+        Assertions.assertEquals(Arrays.asList("4", "5", "6"), groups.get(2));
+        Assertions.assertEquals(7, CosmosDBInputMapper.groupRanges(ranges, 7).size());
+    }
+
+    @Test
+    void splittableQueries() {
+        final CosmosDBInputConfiguration cfg = new CosmosDBInputConfiguration();
+        final QueryDataset dataset = new QueryDataset();
+        cfg.setDataset(dataset);
+        Assertions.assertTrue(CosmosDBInputMapper.isSplittable(cfg));
+
+        dataset.setUseQuery(true);
+        dataset.setQuery("SELECT * FROM c WHERE c.lastName = 'Andersen'");
+        Assertions.assertTrue(CosmosDBInputMapper.isSplittable(cfg));
+
+        dataset.setQuery("SELECT * FROM c order by c.lastName");
+        Assertions.assertFalse(CosmosDBInputMapper.isSplittable(cfg));
+        dataset.setQuery("SELECT TOP 10 * FROM c");
+        Assertions.assertFalse(CosmosDBInputMapper.isSplittable(cfg));
+        dataset.setQuery("SELECT VALUE COUNT(1) FROM c");
+        Assertions.assertFalse(CosmosDBInputMapper.isSplittable(cfg));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.output;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import com.microsoft.azure.documentdb.DocumentClientException;
+
+class BulkWriterTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void writeByPartitionWithThrottling() {
+        final Map<String, Set<String>> threadsByPartition = new ConcurrentHashMap<>();
+        final Set<Integer> written = ConcurrentHashMap.newKeySet();
+        final AtomicInteger throttled = new AtomicInteger();
+        final OutputParserFactory.IOutputParser parser = (Record record) -> {
+            final int id = record.getInt("id");
+            threadsByPartition
+                    .computeIfAbsent(record.getString("pk"), k -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            // first write of every tenth record is throttled.
+            if (id % 10 == 0 && throttled.incrementAndGet() <= 10) {
+                throw new DocumentClientException(BulkWriter.TOO_MANY_REQUESTS, new Exception("throttled"),
+                        Collections.singletonMap("x-ms-retry-after-ms", "5"));
+            }
+            if (id == 42) {
+                throw new DocumentClientException(409, "conflict");
+            }
+            written.add(id);
+            return 1.5;
+        };
+
+        final List<BulkWriter.Failure> failures;
+        try (BulkWriter writer = new BulkWriter(parser, record -> record.getString("pk"), 2, 2)) {
+            for (int i = 0; i < 100; i++) {
+                writer.add(factory.newRecordBuilder().withInt("id", i).withString("pk", "p" + i % 2).build());
+            }
+            failures = writer.flush();
+            Assertions.assertEquals(99 * 1.5, writer.getLastRequestCharge(), 0.001);
+            Assertions.assertTrue(writer.flush().isEmpty());
+        }
+
+        Assertions.assertEquals(99, written.size());
+        Assertions.assertEquals(1, failures.size());
+        Assertions.assertEquals(42, failures.get(0).getRecord().getInt("id"));
+        Assertions.assertEquals(409, ((DocumentClientException) failures.get(0).getError()).getStatusCode());
+        // two concurrent requests by partition.
+        Assertions.assertEquals(2, threadsByPartition.size());
+        threadsByPartition.values().forEach(threads -> Assertions.assertEquals(2, threads.size()));
+    }
+
+    @Test
+    void failWhenAlwaysThrottled() {
+        final OutputParserFactory.IOutputParser parser = (Record record) -> {
+            throw new DocumentClientException(BulkWriter.TOO_MANY_REQUESTS, new Exception("throttled"),
+                    Collections.singletonMap("x-ms-retry-after-ms", "1"));
+        };
+        try (BulkWriter writer = new BulkWriter(parser, record -> "", 1, 1)) {
+            writer.add(factory.newRecordBuilder().withInt("id", 1).build());
+            final List<BulkWriter.Failure> failures = writer.flush();
+            Assertions.assertEquals(1, failures.size());
+            Assertions.assertEquals(0.0, writer.getLastRequestCharge());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.cosmosDB.output;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.components.cosmosDB.dataset.QueryDataset;
+import org.talend.components.cosmosDB.datastore.CosmosDBDataStore;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import com.microsoft.azure.documentdb.PartitionKeyDefinition;
+import com.microsoft.azure.documentdb.PartitionKeyRange;
+
+class OutputParserFactoryTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    private final List<PartitionKeyRange> ranges =
+            Arrays.asList(new PartitionKeyRange("0", "", "3F"), new PartitionKeyRange("1", "3F", "FF"));
+
+    @Test
+    void partitionFromRecordFields() {
+        final OutputParserFactory parserFactory = new OutputParserFactory(this.buildConfiguration(), null);
+        final OutputParserFactory.Partitioner flat = parserFactory.new Partitioner(this.definition("/city"),
+                Collections.singletonList("city"), ranges);
+        final OutputParserFactory.Partitioner nested = parserFactory.new Partitioner(
+                this.definition("/address/city"), Arrays.asList("address", "city"), ranges);
+
+        for (String city : Arrays.asList("Paris", "Nantes", "Lyon", "Lille")) {
+            final Record flatRecord =
+                    factory.newRecordBuilder().withString("id", city).withString("city", city).build();
+            final Record nestedRecord = factory
+                    .newRecordBuilder()
+                    .withString("id", city)
+                    .withRecord("address", factory.newRecordBuilder().withString("city", city).build())
+                    .build();
+
+            final String partition = flat.apply(flatRecord);
+            Assertions.assertTrue(Arrays.asList("0", "1").contains(partition), "unknown partition " + partition);
+            Assertions.assertEquals(partition, nested.apply(nestedRecord));
+        }
+
+        // record without key goes to partition of undefined key.
+        final Record noKey = factory.newRecordBuilder().withString("id", "none").build();
+        Assertions.assertEquals(flat.apply(noKey), nested.apply(noKey));
+    }
+
+    private PartitionKeyDefinition definition(String path) {
+        final PartitionKeyDefinition definition = new PartitionKeyDefinition();
+        definition.setPaths(Collections.singletonList(path));
+        return definition;
+    }
+
+    private CosmosDBOutputConfiguration buildConfiguration() {
+        final CosmosDBOutputConfiguration configuration = new CosmosDBOutputConfiguration();
+        final QueryDataset dataset = new QueryDataset();
+        dataset.setCollectionID("collection");
+        final CosmosDBDataStore store = new CosmosDBDataStore();
+        store.setDatabaseID("database");
+        dataset.setDatastore(store);
+        configuration.setDataset(dataset);
+        return configuration;
+    }
+}
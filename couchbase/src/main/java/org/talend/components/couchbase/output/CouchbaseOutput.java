@@ -26,11 +26,13 @@ import javax.annotation.PreDestroy;
 
 import org.talend.components.couchbase.dataset.DocumentType;
 import org.talend.components.couchbase.service.CouchbaseService;
+import org.talend.components.couchbase.service.I18nMessage;
 import org.talend.sdk.component.api.component.Icon;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Processor;
@@ -40,11 +42,12 @@ import org.talend.sdk.component.api.record.Schema;
 import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.Cluster;
-import com.couchbase.client.java.Collection;
+import com.couchbase.client.java.AsyncCollection;
 import com.couchbase.client.java.codec.RawBinaryTranscoder;
 import com.couchbase.client.java.codec.RawStringTranscoder;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.kv.MutateInSpec;
 import com.couchbase.client.java.kv.UpsertOptions;
 import com.couchbase.client.java.query.QueryOptions;
 
@@ -59,7 +62,9 @@ public class CouchbaseOutput implements Serializable {
 
     private transient Cluster cluster;
 
-    private transient Collection collection;
+    private transient AsyncCollection asyncCollection;
+
+    private transient MutationPipeline mutations;
 
     private String idFieldName;
 
@@ -67,20 +72,29 @@ public class CouchbaseOutput implements Serializable {
 
     private final CouchbaseService service;
 
+    private final I18nMessage i18n;
+
     private static final String CONTENT_FIELD_NAME = "content";
 
+    /** maximum number of operations in a sub-document mutation */
+    static final int MAX_MUTATE_IN_SPECS = 16;
+
     public CouchbaseOutput(@Option("configuration") final CouchbaseOutputConfiguration configuration,
-            final CouchbaseService service) {
+            final CouchbaseService service, final I18nMessage i18n) {
         this.configuration = configuration;
         this.service = service;
+        this.i18n = i18n;
     }
 
     @PostConstruct
     public void init() {
         cluster = service.openConnection(configuration.getDataSet().getDatastore());
         Bucket bucket = cluster.bucket(configuration.getDataSet().getBucket());
-        collection = bucket.defaultCollection();
+        asyncCollection = bucket.defaultCollection().async();
         idFieldName = configuration.getIdFieldName();
+        if (!configuration.isUseN1QLQuery()) {
+            mutations = new MutationPipeline(configuration.getMaxConcurrentMutations());
+        }
     }
 
     @ElementListener
@@ -99,35 +113,59 @@ public class CouchbaseOutput implements Serializable {
                 throw new ComponentException(ex.getMessage());
             }
         } else {
+            // mutations are sent asynchronously, and awaited at end of group.
+            String id = rec.getString(idFieldName);
             if (configuration.isPartialUpdate()) {
-                updatePartiallyDocument(rec);
+                updatePartiallyDocument(id, rec);
             } else {
                 if (configuration.getDataSet().getDocumentType() == DocumentType.BINARY) {
-                    collection.upsert(rec.getString(idFieldName), rec.getBytes(CONTENT_FIELD_NAME),
-                            UpsertOptions.upsertOptions().transcoder(RawBinaryTranscoder.INSTANCE));
+                    mutations.add(id, () -> asyncCollection.upsert(id, rec.getBytes(CONTENT_FIELD_NAME),
+                            UpsertOptions.upsertOptions().transcoder(RawBinaryTranscoder.INSTANCE)));
                 } else if (configuration.getDataSet().getDocumentType() == DocumentType.STRING) {
-                    collection.upsert(rec.getString(idFieldName), rec.getString(CONTENT_FIELD_NAME),
-                            UpsertOptions.upsertOptions().transcoder(RawStringTranscoder.INSTANCE));
+                    mutations.add(id, () -> asyncCollection.upsert(id, rec.getString(CONTENT_FIELD_NAME),
+                            UpsertOptions.upsertOptions().transcoder(RawStringTranscoder.INSTANCE)));
                 } else {
-                    collection.upsert(rec.getString(idFieldName), buildJsonObjectWithoutId(rec));
+                    mutations.add(id, () -> asyncCollection.upsert(id, buildJsonObjectWithoutId(rec)));
                 }
             }
         }
     }
 
+    @AfterGroup
+    public void afterGroup() {
+        if (mutations == null) {
+            return;
+        }
+        List<MutationPipeline.Failure> failures = mutations.flush();
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> log.error("Mutation of document {} failed: {}.", failure.getDocumentId(),
+                    failure.getError().getMessage()));
+            throw new ComponentException(i18n.mutationsFailed(failures.size(), failures.get(0).toString()));
+        }
+    }
+
     @PreDestroy
     public void release() {
+        if (mutations != null) {
+            // don't close connection with mutations in flight.
+            mutations.flush().forEach(failure -> log.error("Mutation of document {} failed: {}.",
+                    failure.getDocumentId(), failure.getError().getMessage()));
+        }
         service.closeConnection(configuration.getDataSet().getDatastore());
     }
 
-    private void updatePartiallyDocument(Record rec) {
-        rec.getSchema()
+    private void updatePartiallyDocument(String id, Record rec) {
+        // all fields of the record in as few sub-document mutations as possible.
+        List<MutateInSpec> specs = rec.getSchema()
                 .getEntries()
                 .stream()
                 .filter(e -> !idFieldName.equals(e.getName()))
-                .forEach(
-                        e -> collection.mutateIn(rec.getString(idFieldName), Collections
-                                .singletonList(upsert(e.getName(), jsonValueFromRecordValue(e, rec)))));
+                .map(e -> upsert(e.getName(), jsonValueFromRecordValue(e, rec)))
+                .collect(Collectors.toList());
+        for (int i = 0; i < specs.size(); i += MAX_MUTATE_IN_SPECS) {
+            List<MutateInSpec> chunk = specs.subList(i, Math.min(specs.size(), i + MAX_MUTATE_IN_SPECS));
+            mutations.add(id, () -> asyncCollection.mutateIn(id, chunk));
+        }
     }
 
     private Object jsonValueFromRecordValue(Schema.Entry entry, Record rec) {
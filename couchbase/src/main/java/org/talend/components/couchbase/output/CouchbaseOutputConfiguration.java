@@ -33,7 +33,8 @@ import lombok.Data;
         @GridLayout.Row({ "idFieldName", "partialUpdate" }), @GridLayout.Row({ "useN1QLQuery" }),
         @GridLayout.Row({ "query" }),
         @GridLayout.Row({ "queryParams" }), })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row({ "dataSet" }), @GridLayout.Row({ "maxConcurrentMutations" }) })
 @Documentation("Couchbase output configuration.")
 public class CouchbaseOutputConfiguration implements Serializable {
 
@@ -67,4 +68,9 @@ public class CouchbaseOutputConfiguration implements Serializable {
     @Documentation("N1QL Query Parameters.")
     private List<N1QLQueryParameter> queryParams = Collections.emptyList();
 
+    @Option
+    @ActiveIf(target = "useN1QLQuery", value = "false")
+    @Documentation("Maximum number of document mutations sent without waiting for their result.")
+    private int maxConcurrentMutations = 64;
+
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.couchbase.output;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.talend.sdk.component.api.exception.ComponentException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Asynchronous KV mutations with a bounded number in flight.
+ * Mutations are sent without waiting for previous ones, so throughput is bound by cluster capacity
+ * instead of network latency. Failed mutations are kept with their document id until next flush.
+ */
+public class MutationPipeline {
+
+    private final int maxInFlight;
+
+    private final Semaphore inFlight;
+
+    private final ConcurrentLinkedQueue<Failure> failures = new ConcurrentLinkedQueue<>();
+
+    public MutationPipeline(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.inFlight = new Semaphore(this.maxInFlight);
+    }
+
+    /**
+     * Send a mutation, wait first if too many mutations are in flight.
+     *
+     * @param documentId : id of mutated document.
+     * @param mutation : starts the asynchronous mutation.
+     */
+    public void add(String documentId, Supplier<CompletableFuture<?>> mutation) {
+        acquire(1);
+        CompletableFuture<?> result;
+        try {
+            result = mutation.get();
+        } catch (RuntimeException e) {
+            // mutation rejected before being sent (invalid id or value).
+            inFlight.release();
+            failures.add(new Failure(documentId, e));
+            return;
+        }
+        result.whenComplete((Object r, Throwable error) -> {
+            if (error != null) {
+                failures.add(new Failure(documentId,
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error));
+            }
+            inFlight.release();
+        });
+    }
+
+    /**
+     * Wait for all mutations in flight.
+     *
+     * @return failed mutations since previous flush.
+     */
+    public List<Failure> flush() {
+        acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        List<Failure> result = new ArrayList<>();
+        Failure failure;
+        while ((failure = failures.poll()) != null) {
+            result.add(failure);
+        }
+        return result;
+    }
+
+    private void acquire(int permits) {
+        try {
+            inFlight.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComponentException(e.getMessage());
+        }
+    }
+
+    /**
+     * Failed mutation of a document.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Failure {
+
+        private final String documentId;
+
+        private final Throwable error;
+
+        @Override
+        public String toString() {
+            return documentId + " : " + error.getMessage();
+        }
+    }
+}
@@ -28,14 +28,18 @@ import static org.talend.sdk.component.api.record.Schema.Type.STRING;
 
 import java.io.Serializable;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.Optional;
 import java.nio.file.Paths;
 
@@ -75,6 +79,10 @@ import com.couchbase.client.java.diagnostics.WaitUntilReadyOptions;
 import com.couchbase.client.java.env.ClusterEnvironment;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
+import com.couchbase.client.java.manager.query.CreatePrimaryQueryIndexOptions;
+import com.couchbase.client.java.query.QueryOptions;
+import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.ReactiveQueryResult;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -86,6 +94,9 @@ public class CouchbaseService implements Serializable {
 
     private static final transient Logger LOG = LoggerFactory.getLogger(CouchbaseService.class);
 
+    /** number of ids requested at once to query service while looking for split ids */
+    static final int SPLIT_IDS_PREFETCH = 1_000;
+
     private final Map<CouchbaseDataStore, ClusterHolder> clustersPool = new ConcurrentHashMap<>();
 
     @Service
@@ -244,6 +255,90 @@ public class CouchbaseService implements Serializable {
         return collection;
     }
 
+    public void createPrimaryIndex(Cluster cluster, String bucketName) {
+        cluster.queryIndexes()
+                .createPrimaryIndex(bucketName,
+                        CreatePrimaryQueryIndexOptions.createPrimaryQueryIndexOptions().ignoreIfExists(true));
+    }
+
+    /**
+     * Count documents of a bucket, in a range of document ids if given.
+     *
+     * @param idFrom first document id (inclusive), null for no lower bound.
+     * @param idTo last document id (exclusive), null for no upper bound.
+     */
+    public long countDocuments(Cluster cluster, String bucketName, String idFrom, String idTo) {
+        QueryResult result = cluster.query("SELECT RAW COUNT(*) FROM `" + bucketName + "`"
+                + idRangeCondition(idFrom, idTo), idRangeOptions(idFrom, idTo));
+        List<Long> rows = result.rowsAs(Long.class);
+        return rows.isEmpty() ? 0L : rows.get(0);
+    }
+
+    /**
+     * Find document ids splitting a bucket in ranges of about the same number of documents.
+     * Ids are streamed once on primary index, in META().id order, and every (count / splitCount)-th id is kept.
+     *
+     * @param count number of documents of bucket.
+     * @param splitCount expected number of ranges.
+     * @return increasing ids, each one starting a range except the first range.
+     */
+    public List<String> getSplitIds(Cluster cluster, String bucketName, long count, int splitCount) {
+        List<String> ids = new ArrayList<>();
+        if (splitCount <= 1 || count <= 0) {
+            return ids;
+        }
+        ReactiveQueryResult result = cluster
+                .reactive()
+                .query("SELECT RAW META().id FROM `" + bucketName + "` ORDER BY META().id")
+                .block();
+        // closing the stream cancels the query once the last split id is read.
+        try (Stream<String> rows = result.rowsAs(String.class).toStream(SPLIT_IDS_PREFETCH)) {
+            Iterator<String> iterator = rows.iterator();
+            long position = 0;
+            int split = 1;
+            while (split < splitCount && iterator.hasNext()) {
+                String id = iterator.next();
+                if (position == split * count / splitCount) {
+                    ids.add(id);
+                }
+                // several splits start at the same position when there are fewer documents than splits.
+                while (split < splitCount && split * count / splitCount <= position) {
+                    split++;
+                }
+                position++;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * N1QL condition on a range of document ids, with $idFrom and $idTo named parameters.
+     */
+    public static String idRangeCondition(String idFrom, String idTo) {
+        if (idFrom == null && idTo == null) {
+            return "";
+        }
+        StringBuilder condition = new StringBuilder(" WHERE ");
+        if (idFrom != null) {
+            condition.append("META().id >= $idFrom");
+        }
+        if (idTo != null) {
+            condition.append(idFrom != null ? " AND " : "").append("META().id < $idTo");
+        }
+        return condition.toString();
+    }
+
+    public static QueryOptions idRangeOptions(String idFrom, String idTo) {
+        JsonObject parameters = JsonObject.create();
+        if (idFrom != null) {
+            parameters.put("idFrom", idFrom);
+        }
+        if (idTo != null) {
+            parameters.put("idTo", idTo);
+        }
+        return QueryOptions.queryOptions().parameters(parameters);
+    }
+
     public void closeConnection(CouchbaseDataStore ds) {
         ClusterHolder holder = clustersPool.get(ds);
         if (holder == null) {
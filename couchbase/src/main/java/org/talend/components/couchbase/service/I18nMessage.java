@@ -46,4 +46,6 @@ public interface I18nMessage {
     String connectionKODetailed(String details);
 
     String unexpectedValue(String parameterValue);
+
+    String mutationsFailed(int count, String firstFailure);
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -42,11 +43,11 @@ import com.couchbase.client.core.error.CouchbaseException;
 import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.Cluster;
 import com.couchbase.client.java.Collection;
-import com.couchbase.client.java.analytics.AnalyticsResult;
+import com.couchbase.client.java.ReactiveCluster;
+import com.couchbase.client.java.analytics.ReactiveAnalyticsResult;
 import com.couchbase.client.java.json.JsonArray;
 import com.couchbase.client.java.json.JsonObject;
-import com.couchbase.client.java.manager.query.CreatePrimaryQueryIndexOptions;
-import com.couchbase.client.java.query.QueryResult;
+import com.couchbase.client.java.query.ReactiveQueryResult;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -68,18 +69,37 @@ public class CouchbaseInput implements Serializable {
 
     private Set<String> columnsSet;
 
+    /** number of rows requested at once to query service, bounds rows buffered in memory */
+    static final int ROWS_PREFETCH = 256;
+
+    private transient Stream<JsonObject> queryResults;
+
     private transient Iterator<JsonObject> queryResultsIterator = null;
 
     private transient Collection collection;
 
+    /** first document id read (inclusive) when bucket read is split, null otherwise */
+    private final String idFrom;
+
+    /** last document id read (exclusive) when bucket read is split, null otherwise */
+    private final String idTo;
+
     public static final String META_ID_FIELD = "_meta_id_";
 
     public CouchbaseInput(@Option("configuration") final CouchbaseInputConfiguration configuration,
             final CouchbaseService service, final RecordBuilderFactory builderFactory, final I18nMessage i18n) {
+        this(configuration, service, builderFactory, i18n, null, null);
+    }
+
+    public CouchbaseInput(final CouchbaseInputConfiguration configuration, final CouchbaseService service,
+            final RecordBuilderFactory builderFactory, final I18nMessage i18n, final String idFrom,
+            final String idTo) {
         this.configuration = configuration;
         this.service = service;
         this.builderFactory = builderFactory;
         this.i18n = i18n;
+        this.idFrom = idFrom;
+        this.idTo = idTo;
     }
 
     @PostConstruct
@@ -88,53 +108,59 @@ public class CouchbaseInput implements Serializable {
         Bucket bucket = cluster.bucket(configuration.getDataSet().getBucket());
         collection = service.openDefaultCollection(cluster, configuration.getDataSet().getBucket());
         if (configuration.isCreatePrimaryIndex()) {
-            cluster.queryIndexes()
-                    .createPrimaryIndex(bucket.name(),
-                            CreatePrimaryQueryIndexOptions.createPrimaryQueryIndexOptions().ignoreIfExists(true));
+            service.createPrimaryIndex(cluster, bucket.name());
         }
         columnsSet = new HashSet<>();
 
+        // rows are streamed by reactive api : they are requested by small batches while records are emitted,
+        // instead of buffering the whole result.
+        ReactiveCluster reactiveCluster = cluster.reactive();
         if (configuration.getSelectAction() == SelectAction.ANALYTICS) {
-            AnalyticsResult analyticsResult = null;
+            ReactiveAnalyticsResult analyticsResult = null;
             try {
-                analyticsResult = cluster.analyticsQuery(configuration.getQuery());
+                analyticsResult = reactiveCluster.analyticsQuery(configuration.getQuery()).block();
             } catch (CouchbaseException e) {
                 LOG.error(i18n.queryResultError(e.getMessage()));
                 throw new ComponentException(i18n.queryResultError(e.getMessage()));
             }
-            queryResultsIterator = analyticsResult.rowsAsObject().iterator();
+            queryResults = analyticsResult.rowsAs(JsonObject.class).toStream(ROWS_PREFETCH);
         } else {
             // DSL API (Statement, AsPath classes etc. was deprecated, cannot use it anymore!)
             // In most cases, a simple string statement is the best replacement.
 
-            QueryResult n1qlResult;
+            ReactiveQueryResult n1qlResult;
             StringBuilder statementBuilder;
             switch (configuration.getSelectAction()) {
             case ALL:
                 statementBuilder = new StringBuilder();
                 statementBuilder.append("SELECT meta().id as `_meta_id_`, * FROM `").append(bucket.name()).append("`");
+                // range of document ids of this split, if any
+                statementBuilder.append(CouchbaseService.idRangeCondition(idFrom, idTo));
                 if (!configuration.getLimit().isEmpty()) {
                     statementBuilder.append(" LIMIT ").append(configuration.getLimit().trim());
                 }
-                n1qlResult = cluster.query(statementBuilder.toString());
+                n1qlResult = reactiveCluster
+                        .query(statementBuilder.toString(), CouchbaseService.idRangeOptions(idFrom, idTo))
+                        .block();
                 break;
             case N1QL:
                 /*
                  * should contain "meta().id as `_meta_id_`" field for non-json (binary) documents
                  */
-                n1qlResult = cluster.query(configuration.getQuery());
+                n1qlResult = reactiveCluster.query(configuration.getQuery()).block();
                 break;
             case ONE:
                 statementBuilder = new StringBuilder();
                 statementBuilder.append("SELECT meta().id as `_meta_id_`, * FROM `").append(bucket.name()).append("`");
                 statementBuilder.append(" USE KEYS \"").append(configuration.getDocumentId()).append("\"");
-                n1qlResult = cluster.query(statementBuilder.toString());
+                n1qlResult = reactiveCluster.query(statementBuilder.toString()).block();
                 break;
             default:
                 throw new ComponentException("Select action: '" + configuration.getSelectAction() + "' is unsupported");
             }
-            queryResultsIterator = n1qlResult.rowsAsObject().iterator();
+            queryResults = n1qlResult.rowsAs(JsonObject.class).toStream(ROWS_PREFETCH);
         }
+        queryResultsIterator = queryResults.iterator();
     }
 
     @Producer
@@ -193,6 +219,10 @@ public class CouchbaseInput implements Serializable {
 
     @PreDestroy
     public void release() {
+        if (queryResults != null) {
+            // cancel the query if all rows were not read
+            queryResults.close();
+        }
         service.closeConnection(configuration.getDataSet().getDatastore());
     }
 
@@ -12,6 +12,7 @@
  */
 package org.talend.components.couchbase.source;
 
+import org.talend.components.couchbase.datastore.CouchbaseDataStore;
 import org.talend.components.couchbase.service.CouchbaseService;
 import org.talend.components.couchbase.service.I18nMessage;
 
@@ -22,17 +23,27 @@ import org.talend.sdk.component.api.input.*;
 import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
+import com.couchbase.client.core.error.CouchbaseException;
+import com.couchbase.client.java.Cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Collections.singletonList;
 
+@Slf4j
 @Version(value = 3, migrationHandler = CouchbaseInputMigrationHandler.class)
 @Icon(value = Icon.IconType.CUSTOM, custom = "couchbase-input")
 @PartitionMapper(name = "Input")
 @Documentation("Couchbase input Mapper")
 public class CouchbaseInputMapper implements Serializable {
 
+    /** maximum number of ranges a bucket read is split in */
+    static final int MAX_SPLITS = 64;
+
     private final CouchbaseInputConfiguration configuration;
 
     private final CouchbaseService service;
@@ -41,41 +52,100 @@ public class CouchbaseInputMapper implements Serializable {
 
     private final I18nMessage i18nMessage;
 
+    /** first document id read by this split (inclusive), null for beginning of bucket */
+    private final String idFrom;
+
+    /** last document id read by this split (exclusive), null for end of bucket */
+    private final String idTo;
+
     public CouchbaseInputMapper(@Option("configuration") final CouchbaseInputConfiguration configuration,
             final CouchbaseService service, final RecordBuilderFactory recordBuilderFactory,
             final I18nMessage i18nMessage) {
+        this(configuration, service, recordBuilderFactory, i18nMessage, null, null);
+    }
+
+    private CouchbaseInputMapper(final CouchbaseInputConfiguration configuration, final CouchbaseService service,
+            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage, final String idFrom,
+            final String idTo) {
         this.configuration = configuration;
         this.service = service;
         this.recordBuilderFactory = recordBuilderFactory;
         this.i18nMessage = i18nMessage;
+        this.idFrom = idFrom;
+        this.idTo = idTo;
+    }
+
+    /**
+     * Whole bucket reads can be split on document id ranges.
+     * Queries and limited reads are not split, and a read by document id is a single document.
+     */
+    private boolean isSplittable() {
+        return configuration.getSelectAction() == SelectAction.ALL
+                && (configuration.getLimit() == null || configuration.getLimit().trim().isEmpty());
     }
 
     @Assessor
     public long estimateSize() {
-        // this method should return the estimation of the dataset size
-        // it is recommended to return a byte value
-        // if you don't have the exact size you can use a rough estimation
-        return 1L;
+        // number of documents read, bundles are sized on it.
+        if (!isSplittable()) {
+            return 1L;
+        }
+        CouchbaseDataStore dataStore = configuration.getDataSet().getDatastore();
+        Cluster cluster = service.openConnection(dataStore);
+        try {
+            return Math.max(1L,
+                    service.countDocuments(cluster, configuration.getDataSet().getBucket(), idFrom, idTo));
+        } catch (CouchbaseException e) {
+            // no primary index yet.
+            log.warn("Can't count documents of bucket {} : {}", configuration.getDataSet().getBucket(),
+                    e.getMessage());
+            return 1L;
+        } finally {
+            service.closeConnection(dataStore);
+        }
     }
 
     @Split
     public List<CouchbaseInputMapper> split(@PartitionSize final long bundles) {
-        // overall idea here is to split the work related to configuration in bundles of size "bundles"
-        //
-        // for instance if your estimateSize() returned 1000 and you can run on 10 nodes
-        // then the environment can decide to run it concurrently (10 * 100).
-        // In this case bundles = 100 and we must try to return 10 CouchbaseInputMapper with 1/10 of the overall work
-        // each.
-        //
-        // default implementation returns this which means it doesn't support the work to be split
-        return singletonList(this);
+        // bucket is split on META().id ranges of about "bundles" documents, found on primary index.
+        if (!isSplittable() || idFrom != null || idTo != null || bundles <= 0) {
+            return singletonList(this);
+        }
+        CouchbaseDataStore dataStore = configuration.getDataSet().getDatastore();
+        String bucketName = configuration.getDataSet().getBucket();
+        Cluster cluster = service.openConnection(dataStore);
+        try {
+            if (configuration.isCreatePrimaryIndex()) {
+                service.createPrimaryIndex(cluster, bucketName);
+            }
+            long count = service.countDocuments(cluster, bucketName, null, null);
+            int splitCount = (int) Math.min(MAX_SPLITS, (count + bundles - 1) / bundles);
+            if (splitCount <= 1) {
+                return singletonList(this);
+            }
+            List<String> splitIds = service.getSplitIds(cluster, bucketName, count, splitCount);
+            List<CouchbaseInputMapper> mappers = new ArrayList<>(splitIds.size() + 1);
+            String from = null;
+            for (String splitId : splitIds) {
+                mappers.add(new CouchbaseInputMapper(configuration, service, recordBuilderFactory, i18nMessage,
+                        from, splitId));
+                from = splitId;
+            }
+            mappers.add(new CouchbaseInputMapper(configuration, service, recordBuilderFactory, i18nMessage, from,
+                    null));
+            log.debug("Read of bucket {} split in {} ranges", bucketName, mappers.size());
+            return mappers;
+        } catch (CouchbaseException e) {
+            log.warn("Can't split read of bucket {} : {}", bucketName, e.getMessage());
+            return singletonList(this);
+        } finally {
+            service.closeConnection(dataStore);
+        }
     }
 
     @Emitter
     public CouchbaseInput createWorker() {
-        // here we create an actual worker,
-        // you are free to rework the configuration etc but our default generated implementation
-        // propagates the partition mapper entries.
-        return new CouchbaseInput(configuration, service, recordBuilderFactory, i18nMessage);
+        // each split reads its own range of document ids.
+        return new CouchbaseInput(configuration, service, recordBuilderFactory, i18nMessage, idFrom, idTo);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.couchbase.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.couchbase.client.core.error.DocumentNotFoundException;
+
+@DisplayName("Testing of asynchronous mutations")
+class MutationPipelineTest {
+
+    @Test
+    @DisplayName("Mutations in flight are bounded and failures are reported by document")
+    void boundedMutationsWithFailures() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        MutationPipeline pipeline = new MutationPipeline(3);
+        try {
+            for (int i = 0; i < 50; i++) {
+                final int index = i;
+                pipeline.add("doc_" + i, () -> CompletableFuture.supplyAsync(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(2);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.incrementAndGet();
+                    if (index % 10 == 7) {
+                        throw new DocumentNotFoundException(null);
+                    }
+                    return index;
+                }, executor));
+            }
+            List<MutationPipeline.Failure> failures = pipeline.flush();
+
+            assertEquals(50, done.get());
+            assertTrue(maxRunning.get() <= 3, "too many mutations in flight");
+            assertEquals("doc_17,doc_27,doc_37,doc_47,doc_7",
+                    failures.stream().map(MutationPipeline.Failure::getDocumentId).sorted().collect(
+                            Collectors.joining(",")));
+            assertTrue(failures.get(0).getError() instanceof DocumentNotFoundException);
+            assertTrue(pipeline.flush().isEmpty());
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Mutation rejected before being sent is reported")
+    void rejectedMutation() {
+        MutationPipeline pipeline = new MutationPipeline(1);
+        pipeline.add("bad", () -> {
+            throw new IllegalArgumentException("invalid id");
+        });
+        pipeline.add("good", () -> CompletableFuture.completedFuture(null));
+
+        List<MutationPipeline.Failure> failures = pipeline.flush();
+        assertEquals(1, failures.size());
+        assertEquals("bad : invalid id", failures.get(0).toString());
+    }
+}
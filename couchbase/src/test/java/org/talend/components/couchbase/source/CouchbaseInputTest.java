@@ -37,6 +37,7 @@ import org.talend.components.couchbase.dataset.DocumentType;
 import org.talend.components.couchbase.datastore.CouchbaseDataStore;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.junit5.WithComponents;
+import org.talend.sdk.component.runtime.input.Mapper;
 import org.talend.sdk.component.runtime.manager.chain.Job;
 
 import com.couchbase.client.java.Collection;
@@ -345,6 +346,34 @@ class CouchbaseInputTest extends CouchbaseUtilTest {
         assertEquals(0, result.size());
     }
 
+    @Test
+    @DisplayName("Split bucket read on document id ranges")
+    void splitInputDataTest() {
+        log.info("Test start: splitInputDataTest");
+        String idPrefix = "splitInputDataTest";
+        Collection collection = couchbaseCluster.bucket(BUCKET_NAME).defaultCollection();
+        for (int i = 0; i < 10; i++) {
+            collection.insert(generateDocId(idPrefix, i), createJsonObject("split" + i));
+        }
+        CouchbaseInputConfiguration configuration = getInputConfiguration();
+        configuration.setCreatePrimaryIndex(true);
+
+        Mapper mapper = componentsHandler.createMapper(CouchbaseInputMapper.class, configuration);
+        long size = mapper.assess();
+        Assertions.assertTrue(size >= 10);
+        List<Mapper> splits = mapper.split(size / 3);
+        Assertions.assertTrue(splits.size() > 1);
+
+        List<String> ids = splits.stream()
+                .flatMap(split -> componentsHandler.collectAsList(Record.class, split).stream())
+                .map(record -> record.getString("_meta_id_"))
+                .filter(id -> id.startsWith(idPrefix))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(10, ids.size());
+        assertEquals(10, ids.stream().distinct().count());
+    }
+
     private CouchbaseInputConfiguration getInputConfiguration() {
         CouchbaseDataSet couchbaseDataSet = new CouchbaseDataSet();
         couchbaseDataSet.setDatastore(couchbaseDataStore);
@@ -35,7 +35,8 @@ import lombok.Data;
         @GridLayout.Row({ "serviceRootUrl" }),
         @GridLayout.Row({ "clientId" }), @GridLayout.Row({ "clientSecret" }),
         @GridLayout.Row({ "authorizationEndpoint" }) })
-@GridLayout(names = ADVANCED, value = { @GridLayout.Row("timeout"), @GridLayout.Row("maxRetries") })
+@GridLayout(names = ADVANCED, value = { @GridLayout.Row("timeout"), @GridLayout.Row("maxRetries"),
+        @GridLayout.Row("metadataCacheTtl"), @GridLayout.Row("metadataCacheDirectory") })
 @Documentation("Dynamics CRM connection")
 public class DynamicsCrmConnection implements Serializable {
 
@@ -86,4 +87,13 @@ public class DynamicsCrmConnection implements Serializable {
     @Documentation("Max retries")
     private Integer maxRetries = 5;
 
+    @Option
+    @Documentation("Time in minutes service metadata is used before being checked again. 0 to disable the cache.")
+    private Integer metadataCacheTtl = 60;
+
+    @Option
+    @ActiveIf(target = "metadataCacheTtl", value = "0", negate = true)
+    @Documentation("Directory where service metadata are stored, to be shared by jobs. Memory only if empty.")
+    private String metadataCacheDirectory;
+
 }
\ No newline at end of file
@@ -27,11 +27,13 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.olingo.client.api.ODataClient;
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.apache.olingo.client.api.domain.ClientCollectionValue;
 import org.apache.olingo.client.api.domain.ClientComplexValue;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientProperty;
 import org.apache.olingo.client.api.domain.ClientValue;
+import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmElement;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
@@ -111,6 +113,29 @@ public abstract class AbstractToEntityRecordProcessor implements RecordProcessor
 
     @Override
     public void processRecord(Record record) throws ServiceUnavailableException {
+        doProcessRecord(createEntity(record), record);
+    }
+
+    @Override
+    public ChangesetWriter.Operation createOperation(Record record) {
+        return new ChangesetWriter.Operation(record, createRequests(createEntity(record), record));
+    }
+
+    protected abstract void doProcessRecord(ClientEntity entity, Record record) throws ServiceUnavailableException;
+
+    /**
+     * Requests writing the entity in a batch changeset, created on the caller thread.
+     */
+    protected abstract List<ODataBatchableRequest> createRequests(ClientEntity entity, Record record);
+
+    protected URIBuilder entitySetUriBuilder() {
+        return client
+                .getClient()
+                .newURIBuilder(configuration.getDataset().getDatastore().getServiceRootUrl())
+                .appendEntitySetSegment(entitySet.getName());
+    }
+
+    private ClientEntity createEntity(Record record) {
         Set<String> keys = entitySet
                 .getEntityType()
                 .getKeyPropertyRefs()
@@ -118,12 +143,9 @@ public abstract class AbstractToEntityRecordProcessor implements RecordProcessor
                 .map(EdmKeyPropertyRef::getName)
                 .collect(Collectors.toSet());
         columnNames.removeAll(keys);
-        ClientEntity entity = createEntity(columnNames, record);
-        doProcessRecord(entity, record);
+        return createEntity(columnNames, record);
     }
 
-    protected abstract void doProcessRecord(ClientEntity entity, Record record) throws ServiceUnavailableException;
-
     protected ClientEntity createEntity(Set<String> columnNames, Record record) {
         ClientEntity entity =
                 client.getClient().getObjectFactory().newEntity(entitySet.getEntityType().getFullQualifiedName());
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.output;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes records by OData $batch requests, each of them holding one changeset of several records.
+ * A changeset is cut at changesetSize records, or before exceeding the 1000 requests allowed in a $batch request
+ * (an upsert needs one request by record, plus one by lookup to clear).
+ * A bounded number of batch requests are sent concurrently. A changeset is atomic, so when it fails, its records
+ * are sent again one by one, to find which of them failed.
+ */
+@Slf4j
+public class ChangesetWriter implements AutoCloseable {
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    /** maximum number of requests in a $batch request */
+    static final int MAX_CHANGESET_REQUESTS = 1000;
+
+    private final int changesetSize;
+
+    private final int maxConcurrentBatches;
+
+    private final ChangesetSender sender;
+
+    private final Semaphore inFlight;
+
+    private final ExecutorService executor;
+
+    private final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+
+    private List<Operation> changeset = new ArrayList<>();
+
+    /** number of requests of current changeset */
+    private int changesetRequests;
+
+    public ChangesetWriter(int changesetSize, int maxConcurrentBatches, ChangesetSender sender) {
+        this.changesetSize = Math.max(1, changesetSize);
+        this.maxConcurrentBatches = Math.max(1, maxConcurrentBatches);
+        this.sender = sender;
+        this.inFlight = new Semaphore(this.maxConcurrentBatches);
+        final int pool = POOL_NUMBER.incrementAndGet();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.maxConcurrentBatches, (Runnable r) -> {
+            final Thread thread = new Thread(r, "dynamicscrm-batch-" + pool + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Add an operation to current changeset, and send it when full.
+     * Waits while the maximum number of batch requests are in flight.
+     */
+    public void add(Operation operation) {
+        if (!changeset.isEmpty() && changesetRequests + operation.getRequests().size() > MAX_CHANGESET_REQUESTS) {
+            submit();
+        }
+        changeset.add(operation);
+        changesetRequests += operation.getRequests().size();
+        if (changeset.size() >= changesetSize) {
+            submit();
+        }
+    }
+
+    /**
+     * Send current changeset, and wait for all batch requests.
+     *
+     * @return records that could not be written.
+     */
+    public List<Failure> flush() {
+        if (!changeset.isEmpty()) {
+            submit();
+        }
+        try {
+            inFlight.acquire(maxConcurrentBatches);
+            inFlight.release(maxConcurrentBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        if (failures.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Failure> result = new ArrayList<>();
+        Failure failure;
+        while ((failure = failures.poll()) != null) {
+            result.add(failure);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void submit() {
+        final List<Operation> operations = changeset;
+        changeset = new ArrayList<>(changesetSize);
+        changesetRequests = 0;
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    send(operations);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void send(List<Operation> operations) {
+        try {
+            sender.send(operations);
+            return;
+        } catch (Exception e) {
+            if (operations.size() == 1) {
+                failures.add(new Failure(operations.get(0).getRecord(), e));
+                return;
+            }
+            log.debug("Changeset of {} records failed, sending them one by one: {}", operations.size(),
+                    e.getMessage());
+        }
+        for (Operation operation : operations) {
+            try {
+                sender.send(Collections.singletonList(operation));
+            } catch (Exception e) {
+                failures.add(new Failure(operation.getRecord(), e));
+            }
+        }
+    }
+
+    /**
+     * Sends operations in one changeset, failing when any of them fails.
+     */
+    @FunctionalInterface
+    public interface ChangesetSender {
+
+        void send(List<Operation> changeset) throws Exception;
+    }
+
+    /**
+     * Requests writing a record, created when the record is received.
+     * They are sent again, one record by one, when their changeset fails.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Operation {
+
+        private final Record record;
+
+        private final List<ODataBatchableRequest> requests;
+    }
+
+    /**
+     * Record not written, with the error of its own changeset.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Failure {
+
+        private final Record record;
+
+        private final Exception error;
+
+        @Override
+        public String toString() {
+            return error.getMessage() + " : " + record;
+        }
+    }
+}
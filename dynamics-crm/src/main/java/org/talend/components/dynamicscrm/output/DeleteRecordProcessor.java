@@ -12,6 +12,9 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import java.net.URI;
+import java.util.Collections;
+
 import javax.naming.ServiceUnavailableException;
 
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
@@ -26,11 +29,15 @@ public class DeleteRecordProcessor implements RecordProcessor {
 
     private final EdmEntitySet entitySet;
 
+    private final DynamicsCrmOutputConfiguration configuration;
+
     private final I18n i18n;
 
-    public DeleteRecordProcessor(final DynamicsCRMClient client, final EdmEntitySet entitySet, final I18n i18n) {
+    public DeleteRecordProcessor(final DynamicsCRMClient client, final EdmEntitySet entitySet,
+            final DynamicsCrmOutputConfiguration configuration, final I18n i18n) {
         this.client = client;
         this.entitySet = entitySet;
+        this.configuration = configuration;
         this.i18n = i18n;
     }
 
@@ -40,4 +47,17 @@ public class DeleteRecordProcessor implements RecordProcessor {
         String keyName = entitySet.getEntityType().getKeyPropertyRefs().get(0).getName();
         client.deleteEntity(record.getString(keyName));
     }
+
+    @Override
+    public ChangesetWriter.Operation createOperation(Record record) {
+        String keyName = entitySet.getEntityType().getKeyPropertyRefs().get(0).getName();
+        URI uri = client
+                .getClient()
+                .newURIBuilder(configuration.getDataset().getDatastore().getServiceRootUrl())
+                .appendEntitySetSegment(entitySet.getName())
+                .appendKeySegment(RecordProcessor.keySegment(entitySet, record.getString(keyName)))
+                .build();
+        return new ChangesetWriter.Operation(record,
+                Collections.singletonList(client.getClient().getCUDRequestFactory().getDeleteRequest(uri)));
+    }
 }
@@ -25,6 +25,7 @@ import javax.naming.ServiceUnavailableException;
 
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.talend.components.dynamicscrm.datastore.DynamicsCrmConnection;
 import org.talend.components.dynamicscrm.output.DynamicsCrmOutputConfiguration.Action;
 import org.talend.components.dynamicscrm.service.DynamicsCrmException;
 import org.talend.components.dynamicscrm.service.DynamicsCrmService;
@@ -36,11 +37,15 @@ import org.talend.sdk.component.api.component.Icon.IconType;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.record.Record;
 
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Version(1)
 @Icon(value = IconType.CUSTOM, custom = "azure-dynamics-connector")
 @Processor(name = "AzureDynamics365Output")
@@ -63,6 +68,8 @@ public class DynamicsCrmOutput implements Serializable {
 
     private RecordProcessor processor;
 
+    private transient ChangesetWriter changesetWriter;
+
     public DynamicsCrmOutput(@Option("configuration") final DynamicsCrmOutputConfiguration configuration,
             final DynamicsCrmService service, final I18n i18n) {
         this.configuration = configuration;
@@ -78,7 +85,7 @@ public class DynamicsCrmOutput implements Serializable {
         } catch (AuthenticationException e) {
             throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
         }
-        metadata = service.getMetadata(client);
+        metadata = service.getMetadata(client, configuration.getDataset().getDatastore());
         entitySet = metadata.getEntityContainer().getEntitySet(configuration.getDataset().getEntitySet());
         Set<String> possibleColumns = service
                 .getPropertiesValidationData(client, configuration.getDataset().getDatastore(),
@@ -97,6 +104,15 @@ public class DynamicsCrmOutput implements Serializable {
                 .filter(s -> possibleColumns.contains(client.extractNavigationLinkName(s)))
                 .collect(Collectors.toList());
         processor = createProcessor(configuration.getAction());
+        if (configuration.isBatchMode()) {
+            DynamicsCrmConnection datastore = configuration.getDataset().getDatastore();
+            changesetWriter = new ChangesetWriter(configuration.getChangesetSize(),
+                    configuration.getMaxConcurrentBatches(), operations -> service
+                            .sendChangeset(client, datastore, operations
+                                    .stream()
+                                    .flatMap(operation -> operation.getRequests().stream())
+                                    .collect(Collectors.toList())));
+        }
     }
 
     private Predicate<? super PropertyValidationData> getFilter() {
@@ -113,7 +129,7 @@ public class DynamicsCrmOutput implements Serializable {
     private RecordProcessor createProcessor(Action action) {
         switch (action) {
         case DELETE:
-            return new DeleteRecordProcessor(client, entitySet, i18n);
+            return new DeleteRecordProcessor(client, entitySet, configuration, i18n);
         case UPSERT:
             return new UpsertRecordProcessor(client, i18n, entitySet, configuration, metadata, fields);
         case INSERT:
@@ -125,6 +141,10 @@ public class DynamicsCrmOutput implements Serializable {
 
     @ElementListener
     public void onNext(@Input final Record defaultInput) {
+        if (changesetWriter != null) {
+            changesetWriter.add(processor.createOperation(defaultInput));
+            return;
+        }
         try {
             processor.processRecord(defaultInput);
         } catch (ServiceUnavailableException e) {
@@ -132,8 +152,25 @@ public class DynamicsCrmOutput implements Serializable {
         }
     }
 
+    @AfterGroup
+    public void afterGroup() {
+        if (changesetWriter == null) {
+            return;
+        }
+        List<ChangesetWriter.Failure> failures = changesetWriter.flush();
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> log.error(failure.toString()));
+            throw new DynamicsCrmException(i18n.batchWriteFailed(failures.size(), failures.get(0).toString()),
+                    failures.get(0).getError());
+        }
+    }
+
     @PreDestroy
     public void release() {
+        if (changesetWriter != null) {
+            changesetWriter.close();
+            changesetWriter = null;
+        }
         client = null;
     }
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs.Operator;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.widget.Structure;
@@ -33,7 +35,8 @@ import lombok.Data;
 @Data
 @GridLayout({ @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "action" }), @GridLayout.Row({ "lookupMapping" }) })
 @GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("emptyStringToNull"),
-        @GridLayout.Row("ignoreNull") })
+        @GridLayout.Row("ignoreNull"), @GridLayout.Row("batchMode"), @GridLayout.Row("changesetSize"),
+        @GridLayout.Row("maxConcurrentBatches") })
 @Documentation("Azure Dynamics 365 output configuration")
 public class DynamicsCrmOutputConfiguration implements Serializable {
 
@@ -61,6 +64,23 @@ public class DynamicsCrmOutputConfiguration implements Serializable {
     @Documentation("Convert empty strings to null for lookup properties")
     private boolean emptyStringToNull;
 
+    @Option
+    @Documentation("Send records by OData $batch requests, several records in each changeset")
+    private boolean batchMode;
+
+    @Option
+    @ActiveIf(target = "batchMode", value = "true")
+    @Min(1)
+    @Max(1000)
+    @Documentation("Number of records in a changeset, a changeset is also cut before 1000 requests")
+    private int changesetSize = 100;
+
+    @Option
+    @ActiveIf(target = "batchMode", value = "true")
+    @Min(1)
+    @Documentation("Maximum number of $batch requests sent concurrently")
+    private int maxConcurrentBatches = 4;
+
     @Option
     // @Structure(type = Type.IN)
     @Documentation("Fields to write to CRM")
@@ -12,6 +12,7 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
@@ -21,6 +22,8 @@ import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.naming.ServiceUnavailableException;
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +36,18 @@ public class InsertRecordProcessor extends AbstractToEntityRecordProcessor {
 
     @Override
     protected void doProcessRecord(ClientEntity entity, Record record) throws ServiceUnavailableException {
+        addNavigationLinks(entity, record);
+        client.insertEntity(entity);
+    }
+
+    @Override
+    protected List<ODataBatchableRequest> createRequests(ClientEntity entity, Record record) {
+        addNavigationLinks(entity, record);
+        URI uri = entitySetUriBuilder().build();
+        return Collections.singletonList(client.getClient().getCUDRequestFactory().getEntityCreateRequest(uri, entity));
+    }
+
+    private void addNavigationLinks(ClientEntity entity, Record record) {
         for (Map.Entry<String, String> lookupEntry : lookupMapping.entrySet()) {
             if (columnNames.contains(lookupEntry.getKey())) {
                 client
@@ -42,6 +57,5 @@ public class InsertRecordProcessor extends AbstractToEntityRecordProcessor {
                                 configuration.isEmptyStringToNull(), configuration.isIgnoreNull());
             }
         }
-        client.insertEntity(entity);
     }
 }
@@ -12,12 +12,33 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.commons.api.edm.EdmEntitySet;
+import org.apache.olingo.commons.api.edm.EdmPrimitiveTypeKind;
+import org.apache.olingo.commons.api.edm.EdmProperty;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.naming.ServiceUnavailableException;
+import java.util.UUID;
 
 public interface RecordProcessor {
 
     void processRecord(Record record) throws ServiceUnavailableException;
 
+    /**
+     * Create requests writing the record, to be sent in a batch changeset.
+     */
+    ChangesetWriter.Operation createOperation(Record record);
+
+    /**
+     * Value of the key segment of an entity, typed as the key property.
+     */
+    static Object keySegment(EdmEntitySet entitySet, String id) {
+        // There is only one key in Dynamics CRM.
+        EdmProperty key = entitySet.getEntityType().getKeyPropertyRefs().get(0).getProperty();
+        if (EdmPrimitiveTypeKind.Guid.getFullQualifiedName().equals(key.getType().getFullQualifiedName())) {
+            return UUID.fromString(id);
+        }
+        return id;
+    }
+
 }
@@ -12,6 +12,9 @@
  */
 package org.talend.components.dynamicscrm.output;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.cud.CUDRequestFactory;
+import org.apache.olingo.client.api.communication.request.cud.UpdateType;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.commons.api.edm.Edm;
 import org.apache.olingo.commons.api.edm.EdmEntitySet;
@@ -21,6 +24,7 @@ import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.sdk.component.api.record.Record;
 
 import javax.naming.ServiceUnavailableException;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -34,12 +38,45 @@ public class UpsertRecordProcessor extends AbstractToEntityRecordProcessor {
 
     @Override
     protected void doProcessRecord(ClientEntity entity, Record record) throws ServiceUnavailableException {
+        String recordId = getRecordId(record);
+        client.updateEntity(entity, recordId, addNavigationLinks(entity, record));
+    }
+
+    @Override
+    protected List<ODataBatchableRequest> createRequests(ClientEntity entity, Record record) {
+        Object key = RecordProcessor.keySegment(entitySet, getRecordId(record));
+        List<String> navigationLinksToDelete = addNavigationLinks(entity, record);
+        URI uri = entitySetUriBuilder().appendKeySegment(key).build();
+        CUDRequestFactory factory = client.getClient().getCUDRequestFactory();
+        List<ODataBatchableRequest> requests = new ArrayList<>();
+        requests.add(factory.getEntityUpdateRequest(uri, UpdateType.PATCH, entity));
+        for (String link : navigationLinksToDelete) {
+            URI referenceUri = entitySetUriBuilder()
+                    .appendKeySegment(key)
+                    .appendNavigationSegment(link)
+                    .appendRefSegment()
+                    .build();
+            requests.add(factory.getDeleteRequest(referenceUri));
+        }
+        return requests;
+    }
+
+    private String getRecordId(Record record) {
         // There is only one key in Microsoft CRM objects
         String keyField = entitySet.getEntityType().getKeyPropertyRefs().get(0).getProperty().getName();
         String recordId = record.getString(keyField);
         if (recordId == null || recordId.isEmpty()) {
             throw new DynamicsCrmException(i18n.idCannotBeNull(keyField));
         }
+        return recordId;
+    }
+
+    /**
+     * Add navigation links of record to entity.
+     *
+     * @return navigation links to delete.
+     */
+    private List<String> addNavigationLinks(ClientEntity entity, Record record) {
         // We need to obtain list of navigation links to delete
         List<String> navigationLinksToDelete = new ArrayList<>();
         for (Map.Entry<String, String> lookupEntry : lookupMapping.entrySet()) {
@@ -54,6 +91,6 @@ public class UpsertRecordProcessor extends AbstractToEntityRecordProcessor {
                 navigationLinksToDelete.add(client.extractNavigationLinkName(lookupEntry.getKey()));
             }
         }
-        client.updateEntity(entity, recordId, navigationLinksToDelete);
+        return navigationLinksToDelete;
     }
 }
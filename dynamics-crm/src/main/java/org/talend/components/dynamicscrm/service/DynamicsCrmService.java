@@ -12,18 +12,38 @@
  */
 package org.talend.components.dynamicscrm.service;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.naming.AuthenticationException;
 
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.apache.olingo.client.api.communication.request.ODataRequest;
+import org.apache.olingo.client.api.communication.request.batch.BatchManager;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchRequest;
+import org.apache.olingo.client.api.communication.request.batch.ODataBatchResponseItem;
+import org.apache.olingo.client.api.communication.request.batch.ODataChangeset;
 import org.apache.olingo.client.api.communication.request.retrieve.EdmMetadataRequest;
 import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySetRequest;
+import org.apache.olingo.client.api.communication.request.retrieve.ODataRawRequest;
+import org.apache.olingo.client.api.communication.response.ODataBatchResponse;
+import org.apache.olingo.client.api.communication.response.ODataRawResponse;
+import org.apache.olingo.client.api.communication.response.ODataResponse;
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.domain.ClientEntitySet;
 import org.apache.olingo.client.api.uri.URIBuilder;
 import org.apache.olingo.commons.api.edm.Edm;
+import org.apache.olingo.commons.api.format.ContentType;
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.apache.olingo.commons.api.http.HttpStatusCode;
 import org.talend.components.dynamicscrm.datastore.AppType;
 import org.talend.components.dynamicscrm.datastore.DynamicsCrmConnection;
 import org.talend.components.dynamicscrm.source.DynamicsCrmQueryResultsIterator;
@@ -81,10 +101,27 @@ public class DynamicsCrmService {
         }
     }
 
-    public DynamicsCrmQueryResultsIterator getEntitySetIterator(DynamicsCRMClient client, QueryOptionConfig config) {
+    public DynamicsCrmQueryResultsIterator getEntitySetIterator(DynamicsCRMClient client, QueryOptionConfig config,
+            int prefetchPages) {
         ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(config);
         ODataRetrieveResponse<ClientEntitySet> response = request.execute();
-        return new DynamicsCrmQueryResultsIterator(client, config, response.getBody());
+        return new DynamicsCrmQueryResultsIterator(client, config, response.getBody(), prefetchPages);
+    }
+
+    public Edm getMetadata(DynamicsCRMClient client, DynamicsCrmConnection connection) {
+        if (connection.getMetadataCacheTtl() == null || connection.getMetadataCacheTtl() <= 0) {
+            return getMetadata(client);
+        }
+        final String directory = connection.getMetadataCacheDirectory();
+        try {
+            return MetadataCache
+                    .get(connection.getServiceRootUrl(), TimeUnit.MINUTES.toMillis(connection.getMetadataCacheTtl()),
+                            directory == null || directory.trim().isEmpty() ? null : Paths.get(directory.trim()),
+                            etag -> fetchMetadata(client, connection, etag),
+                            in -> client.getClient().getReader().readMetadata(in));
+        } catch (Exception e) {
+            throw new DynamicsCrmException(i18n.metadataRetrieveFailed(e.getMessage()), e);
+        }
     }
 
     public Edm getMetadata(DynamicsCRMClient client) {
@@ -99,6 +136,107 @@ public class DynamicsCrmService {
         return metadata;
     }
 
+    /**
+     * Conditional request of the CSDL document, null when the document matching the ETag is not modified.
+     */
+    private MetadataCache.MetadataDocument fetchMetadata(DynamicsCRMClient client, DynamicsCrmConnection connection,
+            String etag) throws IOException {
+        ODataRawRequest request = client
+                .getClient()
+                .getRetrieveRequestFactory()
+                .getRawRequest(client.getClient().newURIBuilder(connection.getServiceRootUrl())
+                        .appendMetadataSegment()
+                        .build());
+        authenticate(client, request);
+        request.setAccept(ContentType.APPLICATION_XML.toContentTypeString());
+        if (etag != null) {
+            request.setIfNoneMatch(etag);
+        }
+        ODataRawResponse response = request.execute();
+        try {
+            if (response.getStatusCode() == HttpStatusCode.NOT_MODIFIED.getStatusCode()) {
+                return null;
+            }
+            try (InputStream in = response.getRawResponse()) {
+                return new MetadataCache.MetadataDocument(response.getETag(), readContent(in));
+            }
+        } finally {
+            response.close();
+        }
+    }
+
+    /**
+     * Send requests in one changeset of a $batch request. Changeset is applied entirely, or not at all.
+     *
+     * @throws DynamicsCrmException when a request of the changeset failed.
+     */
+    public void sendChangeset(DynamicsCRMClient client, DynamicsCrmConnection connection,
+            List<ODataBatchableRequest> requests) {
+        ODataBatchRequest request =
+                client.getClient().getBatchRequestFactory().getBatchRequest(connection.getServiceRootUrl());
+        authenticate(client, request);
+        BatchManager payload = request.payloadManager();
+        ODataChangeset changeset = payload.addChangeset();
+        requests.forEach(changeset::addRequest);
+        ODataBatchResponse response = payload.getResponse();
+        try {
+            Iterator<ODataBatchResponseItem> items = response.getBody();
+            while (items.hasNext()) {
+                ODataBatchResponseItem item = items.next();
+                try {
+                    while (item.hasNext()) {
+                        ODataResponse itemResponse = item.next();
+                        if (itemResponse.getStatusCode() >= HttpStatusCode.BAD_REQUEST.getStatusCode()) {
+                            throw new DynamicsCrmException(i18n
+                                    .changesetFailed(itemResponse.getStatusCode(), itemResponse.getStatusMessage(),
+                                            readError(itemResponse)));
+                        }
+                    }
+                } finally {
+                    item.close();
+                }
+            }
+        } finally {
+            response.close();
+        }
+    }
+
+    private String readError(ODataResponse response) {
+        try (InputStream in = response.getRawResponse()) {
+            if (in == null) {
+                return "";
+            }
+            return new String(readContent(in), StandardCharsets.UTF_8);
+        } catch (IOException | RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static byte[] readContent(InputStream in) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            content.write(buffer, 0, read);
+        }
+        return content.toByteArray();
+    }
+
+    /**
+     * Requests not created by the client get its authentication headers.
+     */
+    private void authenticate(DynamicsCRMClient client, ODataRequest request) {
+        ODataRequest configured;
+        synchronized (client) {
+            configured = client.createMetadataRetrieveRequest();
+        }
+        for (String name : configured.getHeaderNames()) {
+            if (!HttpHeader.ACCEPT.equalsIgnoreCase(name) && !HttpHeader.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                request.addCustomHeader(name, configured.getHeader(name));
+            }
+        }
+    }
+
     protected URIBuilder createUriBuilderForValidProps(DynamicsCRMClient client, DynamicsCrmConnection datastore,
             String entitySetName) {
         return client
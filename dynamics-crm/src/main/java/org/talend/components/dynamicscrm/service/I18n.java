@@ -34,4 +34,8 @@ public interface I18n {
     String failedToInsertEntity(String message);
 
     String idCannotBeNull(String keyFieldName);
+
+    String changesetFailed(int status, String reason, String message);
+
+    String batchWriteFailed(int count, String firstFailure);
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.apache.olingo.commons.api.edm.Edm;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JVM wide cache of service metadata, shared by all input and output workers of a service root.
+ * Metadata is used without any request during its time to live, then revalidated with its ETag: when the service
+ * answers it is unchanged, it is neither downloaded nor parsed again.
+ * Metadata can also be stored in a directory, to be shared by JVMs. The CSDL document is stored, as the parsed
+ * model can't be serialized.
+ */
+@Slf4j
+class MetadataCache {
+
+    private static final ConcurrentMap<String, CachedMetadata> CACHE = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private MetadataCache() {
+    }
+
+    /**
+     * Get metadata of a service root.
+     *
+     * @param serviceRoot key of metadata.
+     * @param ttlMillis time metadata is used without revalidation.
+     * @param directory directory where metadata are stored, null for memory only.
+     * @param source request to service, for the document matching an ETag.
+     * @param parser parser of CSDL document.
+     * @return metadata of the service root.
+     */
+    static Edm get(String serviceRoot, long ttlMillis, Path directory, MetadataSource source,
+            Function<InputStream, Edm> parser) throws IOException {
+        CachedMetadata cached = CACHE.get(serviceRoot);
+        if (cached != null && cached.isFresh(ttlMillis)) {
+            return cached.getEdm();
+        }
+        // only one worker of this JVM requests the service, the others wait for its result.
+        synchronized (LOCKS.computeIfAbsent(serviceRoot, k -> new Object())) {
+            cached = CACHE.get(serviceRoot);
+            if (cached == null && directory != null) {
+                cached = load(directory, serviceRoot, parser);
+            }
+            if (cached != null && cached.isFresh(ttlMillis)) {
+                CACHE.put(serviceRoot, cached);
+                return cached.getEdm();
+            }
+
+            final String etag = cached == null ? null : cached.getEtag();
+            final MetadataDocument document = source.fetch(etag);
+            final long now = System.currentTimeMillis();
+            if (document == null && cached != null) {
+                log.debug("Metadata of {} not modified.", serviceRoot);
+                cached = new CachedMetadata(cached.getEdm(), etag, now);
+                if (directory != null) {
+                    touch(directory, serviceRoot, now);
+                }
+            } else if (document != null) {
+                log.debug("Metadata of {} loaded, ETag {}.", serviceRoot, document.getEtag());
+                cached = new CachedMetadata(parser.apply(new ByteArrayInputStream(document.getContent())),
+                        document.getEtag(), now);
+                if (directory != null) {
+                    store(directory, serviceRoot, document);
+                }
+            } else {
+                throw new IOException("No metadata returned by " + serviceRoot);
+            }
+            CACHE.put(serviceRoot, cached);
+            return cached.getEdm();
+        }
+    }
+
+    static void clear() {
+        CACHE.clear();
+    }
+
+    private static CachedMetadata load(Path directory, String serviceRoot, Function<InputStream, Edm> parser) {
+        final Path document = directory.resolve(fileName(serviceRoot) + ".xml");
+        final Path etag = directory.resolve(fileName(serviceRoot) + ".etag");
+        if (!Files.isRegularFile(document)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(document)) {
+            final long validated = Files.getLastModifiedTime(document).toMillis();
+            final String etagValue = Files.isRegularFile(etag)
+                    ? new String(Files.readAllBytes(etag), StandardCharsets.UTF_8)
+                    : null;
+            return new CachedMetadata(parser.apply(in), etagValue, validated);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Can't read metadata of {} from {}: {}", serviceRoot, document, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void store(Path directory, String serviceRoot, MetadataDocument document) {
+        try {
+            Files.createDirectories(directory);
+            final String name = fileName(serviceRoot);
+            if (document.getEtag() != null) {
+                write(directory, name + ".etag", document.getEtag().getBytes(StandardCharsets.UTF_8));
+            } else {
+                Files.deleteIfExists(directory.resolve(name + ".etag"));
+            }
+            // document is written last, its time gives the time of validation.
+            write(directory, name + ".xml", document.getContent());
+        } catch (IOException e) {
+            log.warn("Can't store metadata of {} in {}: {}", serviceRoot, directory, e.getMessage());
+        }
+    }
+
+    private static void touch(Path directory, String serviceRoot, long time) {
+        try {
+            Files.setLastModifiedTime(directory.resolve(fileName(serviceRoot) + ".xml"), FileTime.fromMillis(time));
+        } catch (IOException e) {
+            log.warn("Can't update metadata of {} in {}: {}", serviceRoot, directory, e.getMessage());
+        }
+    }
+
+    private static void write(Path directory, String name, byte[] content) throws IOException {
+        // other JVMs read complete files only.
+        final Path tmp = Files.createTempFile(directory, name, ".tmp");
+        try {
+            Files.write(tmp, content);
+            Files.move(tmp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static String fileName(String serviceRoot) {
+        try {
+            final byte[] hash = MessageDigest
+                    .getInstance("SHA-256")
+                    .digest(serviceRoot.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder name = new StringBuilder("metadata-");
+            for (byte b : hash) {
+                name.append(String.format("%02x", b));
+            }
+            return name.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Request of metadata document to the service.
+     */
+    @FunctionalInterface
+    interface MetadataSource {
+
+        /**
+         * @param etag ETag of known document, null if none.
+         * @return document, or null when the known document is not modified.
+         */
+        MetadataDocument fetch(String etag) throws IOException;
+    }
+
+    @Value
+    static class MetadataDocument {
+
+        private final String etag;
+
+        private final byte[] content;
+    }
+
+    @Value
+    private static class CachedMetadata {
+
+        private final Edm edm;
+
+        private final String etag;
+
+        /** time of last validation by the service */
+        private final long validated;
+
+        boolean isFresh(long ttlMillis) {
+            return System.currentTimeMillis() - validated < ttlMillis;
+        }
+    }
+}
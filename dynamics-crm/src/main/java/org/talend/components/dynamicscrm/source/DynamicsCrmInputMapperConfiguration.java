@@ -20,6 +20,7 @@ import java.util.List;
 import org.talend.components.dynamicscrm.dataset.DynamicsCrmDataset;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -29,7 +30,7 @@ import lombok.Data;
 @GridLayout({ @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "customFilter" }), @GridLayout.Row({ "operator" }),
         @GridLayout.Row({ "filterConditions" }), @GridLayout.Row({ "filter" }),
         @GridLayout.Row({ "orderByConditionsList" }) })
-@GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout(names = ADVANCED, value = { @GridLayout.Row("dataset"), @GridLayout.Row("prefetchPages") })
 @Documentation("Dynamics CRM input configuration")
 public class DynamicsCrmInputMapperConfiguration implements Serializable {
 
@@ -65,6 +66,11 @@ public class DynamicsCrmInputMapperConfiguration implements Serializable {
     @Documentation("Fields to get from CRM")
     private List<String> columns;
 
+    @Option
+    @Min(0)
+    @Documentation("Number of pages fetched in advance while current page is read, 0 to fetch pages on demand")
+    private int prefetchPages = 1;
+
     public enum Operator {
         AND,
         OR;
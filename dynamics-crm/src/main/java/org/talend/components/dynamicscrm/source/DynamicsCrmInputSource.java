@@ -76,7 +76,7 @@ public class DynamicsCrmInputSource implements Serializable {
             throw new DynamicsCrmException(i18n.authenticationFailed(e.getMessage()));
         }
 
-        metadata = service.getMetadata(client);
+        metadata = service.getMetadata(client, configuration.getDataset().getDatastore());
         EdmEntitySet entitySet = metadata.getEntityContainer().getEntitySet(configuration.getDataset().getEntitySet());
         Set<String> readableColumns = service
                 .getPropertiesValidationData(client, configuration.getDataset().getDatastore(),
@@ -97,7 +97,9 @@ public class DynamicsCrmInputSource implements Serializable {
         schema = helper
                 .getSchemaFromMetadata(metadata, configuration.getDataset().getEntitySet(), columnNames,
                         builderFactory);
-        iterator = service.getEntitySetIterator(client, helper.createQueryOptionConfig(schema, configuration));
+        iterator = service
+                .getEntitySetIterator(client, helper.createQueryOptionConfig(schema, configuration),
+                        configuration.getPrefetchPages());
     }
 
     @Producer
@@ -111,6 +113,9 @@ public class DynamicsCrmInputSource implements Serializable {
 
     @PreDestroy
     public void release() {
+        if (iterator != null) {
+            iterator.close();
+        }
         iterator = null;
     }
 }
\ No newline at end of file
@@ -19,57 +19,82 @@ import org.apache.olingo.client.api.communication.request.retrieve.ODataEntitySe
 import org.apache.olingo.client.api.communication.response.ODataRetrieveResponse;
 import org.apache.olingo.client.api.domain.ClientEntity;
 import org.apache.olingo.client.api.domain.ClientEntitySet;
+import org.talend.components.common.collections.PagePrefetcher;
 import org.talend.ms.crm.odata.DynamicsCRMClient;
 import org.talend.ms.crm.odata.QueryOptionConfig;
 
-public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity> {
+/**
+ * Iterates on entities of a query, following next page links.
+ * Next pages are fetched in advance while current one is read, when prefetching is enabled.
+ */
+public class DynamicsCrmQueryResultsIterator implements Iterator<ClientEntity>, AutoCloseable {
 
     private final DynamicsCRMClient client;
 
     private final QueryOptionConfig queryOptionConfig;
 
+    /** only used by the thread fetching pages, once constructed */
     private URI nextPageUri;
 
     private Iterator<ClientEntity> entityIterator;
 
+    private final PagePrefetcher<ClientEntitySet> pages;
+
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig,
             ClientEntitySet clientEntitySet) {
+        this(client, queryOptionConfig, clientEntitySet, 0);
+    }
+
+    public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig,
+            ClientEntitySet clientEntitySet, int prefetchPages) {
         this.entityIterator = clientEntitySet.getEntities().iterator();
         this.nextPageUri = clientEntitySet.getNext();
         this.client = client;
         this.queryOptionConfig = queryOptionConfig;
+        this.pages = new PagePrefetcher<>("dynamicscrm", prefetchPages, this::requestNext);
     }
 
     public DynamicsCrmQueryResultsIterator(DynamicsCRMClient client, QueryOptionConfig queryOptionConfig) {
-        this.client = client;
-        this.queryOptionConfig = queryOptionConfig;
-        requestNext();
+        this(client, queryOptionConfig, client.createEntityRetrieveRequest(queryOptionConfig).execute().getBody());
     }
 
     @Override
     public boolean hasNext() {
-        return (entityIterator != null && entityIterator.hasNext()) || nextPageUri != null;
+        while (!entityIterator.hasNext()) {
+            ClientEntitySet entitySet = pages.next();
+            if (entitySet == null) {
+                return false;
+            }
+            entityIterator = entitySet.getEntities().iterator();
+        }
+        return true;
     }
 
     @Override
     public ClientEntity next() {
-        if (entityIterator == null || (!entityIterator.hasNext() && nextPageUri != null)) {
-            requestNext();
-        }
-        if (entityIterator.hasNext()) {
+        if (hasNext()) {
             return entityIterator.next();
         }
         return null;
     }
 
-    private void requestNext() {
-        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
-        if (nextPageUri != null) {
-            request.setURI(nextPageUri);
+    @Override
+    public void close() {
+        pages.close();
+    }
+
+    /**
+     * @return next page, or null when last page was fetched.
+     */
+    private ClientEntitySet requestNext() {
+        if (nextPageUri == null) {
+            return null;
         }
+        ODataEntitySetRequest<ClientEntitySet> request = client.createEntityRetrieveRequest(queryOptionConfig);
+        request.setURI(nextPageUri);
         ODataRetrieveResponse<ClientEntitySet> response = request.execute();
         ClientEntitySet entitySet = response.getBody();
-        entityIterator = entitySet.getEntities().iterator();
         nextPageUri = entitySet.getNext();
+        return entitySet;
     }
 }
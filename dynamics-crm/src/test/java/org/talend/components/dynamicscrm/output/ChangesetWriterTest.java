@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.output;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.olingo.client.api.communication.request.ODataBatchableRequest;
+import org.junit.jupiter.api.Test;
+import org.talend.components.dynamicscrm.service.DynamicsCrmException;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+public class ChangesetWriterTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    public void failedChangesetIsSentRecordByRecord() {
+        Set<Integer> written = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger changesets = new AtomicInteger();
+        ChangesetWriter.ChangesetSender sender = operations -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                changesets.incrementAndGet();
+                Thread.sleep(2);
+                // changeset is atomic
+                if (operations.stream().anyMatch(o -> o.getRecord().getInt("id") == 42)) {
+                    throw new DynamicsCrmException("duplicate record");
+                }
+                operations.forEach(o -> written.add(o.getRecord().getInt("id")));
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+
+        List<ChangesetWriter.Failure> failures;
+        try (ChangesetWriter writer = new ChangesetWriter(10, 2, sender)) {
+            for (int i = 0; i < 95; i++) {
+                writer.add(new ChangesetWriter.Operation(factory.newRecordBuilder().withInt("id", i).build(),
+                        Collections.emptyList()));
+            }
+            failures = writer.flush();
+            assertTrue(writer.flush().isEmpty());
+        }
+
+        assertEquals(94, written.size());
+        assertEquals(1, failures.size());
+        assertEquals(42, failures.get(0).getRecord().getInt("id"));
+        assertEquals("duplicate record", failures.get(0).getError().getMessage());
+        // 10 changesets, then the failed one again record by record
+        assertEquals(20, changesets.get());
+        assertTrue(maxRunning.get() <= 2, "too many batch requests in flight");
+    }
+
+    @Test
+    public void changesetCutByRequests() {
+        List<Integer> changesetRequests = Collections.synchronizedList(new ArrayList<>());
+        ChangesetWriter.ChangesetSender sender = operations -> changesetRequests
+                .add(operations.stream().mapToInt(o -> o.getRequests().size()).sum());
+
+        try (ChangesetWriter writer = new ChangesetWriter(1000, 1, sender)) {
+            for (int i = 0; i < 700; i++) {
+                // an upsert clearing 2 lookups
+                writer.add(new ChangesetWriter.Operation(factory.newRecordBuilder().withInt("id", i).build(),
+                        Collections.nCopies(3, (ODataBatchableRequest) null)));
+            }
+            assertTrue(writer.flush().isEmpty());
+        }
+
+        assertEquals(Arrays.asList(999, 999, 102), changesetRequests);
+    }
+}
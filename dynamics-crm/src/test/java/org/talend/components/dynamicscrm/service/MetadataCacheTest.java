@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.dynamicscrm.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.olingo.client.core.ODataClientFactory;
+import org.apache.olingo.commons.api.edm.Edm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MetadataCacheTest {
+
+    private static final String CSDL = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<edmx:Edmx Version=\"4.0\" xmlns:edmx=\"http://docs.oasis-open.org/odata/ns/edmx\">"
+            + "<edmx:DataServices><Schema Namespace=\"Test\" xmlns=\"http://docs.oasis-open.org/odata/ns/edm\">"
+            + "<EntityType Name=\"account\"><Key><PropertyRef Name=\"accountid\"/></Key>"
+            + "<Property Name=\"accountid\" Type=\"Edm.Guid\"/></EntityType>"
+            + "<EntityContainer Name=\"System\"><EntitySet Name=\"accounts\" EntityType=\"Test.account\"/>"
+            + "</EntityContainer></Schema></edmx:DataServices></edmx:Edmx>";
+
+    private final Function<InputStream, Edm> parser = in -> ODataClientFactory.getClient().getReader().readMetadata(in);
+
+    private final List<String> requests = new ArrayList<>();
+
+    @BeforeEach
+    public void clear() {
+        MetadataCache.clear();
+        requests.clear();
+    }
+
+    @Test
+    public void revalidateWithEtag() throws IOException {
+        MetadataCache.MetadataSource source = etag -> {
+            requests.add(String.valueOf(etag));
+            return "W/\"1\"".equals(etag) ? null
+                    : new MetadataCache.MetadataDocument("W/\"1\"", CSDL.getBytes(StandardCharsets.UTF_8));
+        };
+
+        Edm edm = MetadataCache.get("https://test/api/data/v9.1", 60_000, null, source, parser);
+        assertNotNull(edm.getEntityContainer().getEntitySet("accounts"));
+        // fresh metadata is used without request
+        assertSame(edm, MetadataCache.get("https://test/api/data/v9.1", 60_000, null, source, parser));
+        // expired metadata is revalidated, and kept when not modified
+        assertSame(edm, MetadataCache.get("https://test/api/data/v9.1", 0, null, source, parser));
+        assertEquals("null,W/\"1\"", String.join(",", requests));
+    }
+
+    @Test
+    public void loadFromDirectory(@TempDir Path directory) throws IOException {
+        MetadataCache.MetadataSource source = etag -> {
+            requests.add(String.valueOf(etag));
+            return new MetadataCache.MetadataDocument("W/\"2\"", CSDL.getBytes(StandardCharsets.UTF_8));
+        };
+        MetadataCache.get("https://test/api/data/v9.1", 60_000, directory, source, parser);
+
+        // another JVM finds metadata in directory
+        MetadataCache.clear();
+        Edm edm = MetadataCache.get("https://test/api/data/v9.1", 60_000, directory, source, parser);
+        assertNotNull(edm.getEntityContainer().getEntitySet("accounts"));
+        assertEquals(1, requests.size());
+
+        // expired metadata of directory is revalidated with its ETag
+        MetadataCache.clear();
+        MetadataCache.get("https://test/api/data/v9.1", 0, directory, source, parser);
+        assertEquals("null,W/\"2\"", String.join(",", requests));
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.Serializable;
+
+import lombok.Data;
+
+/**
+ * Part of a blob, between two positions.
+ */
+@Data
+public class BlobRange implements Serializable {
+
+    private static final long serialVersionUID = -3329478412562377437L;
+
+    /** blob name */
+    private final String blob;
+
+    /** start position (included) */
+    private final long start;
+
+    /** end position (excluded) */
+    private final long end;
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.format.avro.AvroConfiguration;
+import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.service.GSService;
+import org.talend.components.google.storage.service.StorageFacade;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+@Version
+@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
+@PartitionMapper(family = "GoogleStorage", name = "Input")
+@Documentation("This component read content file from google cloud storage.")
+public class GoogleStorageMapper implements Serializable {
+
+    private static final long serialVersionUID = -1416290429342914498L;
+
+    /** google storage input configuration. */
+    private final InputConfiguration config;
+
+    /** record factory */
+    private final RecordBuilderFactory factory;
+
+    private final RecordIORepository ioRepository;
+
+    private final GSService services;
+
+    /** part of avro blob to read, null to read whole blobs. */
+    private final BlobRange range;
+
+    public GoogleStorageMapper(@Option("config") final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null);
+    }
+
+    private GoogleStorageMapper(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services, final BlobRange range) {
+        this.config = config;
+        this.factory = factory;
+        this.ioRepository = ioRepository;
+        this.services = services;
+        this.range = range;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        if (this.range != null) {
+            return this.range.getEnd() - this.range.getStart();
+        }
+        final StorageFacade storage = this.buildStorage();
+        return this
+                .findBlobsName(storage) //
+                .mapToLong((String name) -> storage.getBlobSize(this.getDataSet().getBucket(), name))
+                .sum();
+    }
+
+    /**
+     * Avro blobs are cut in parts of bundle size, each part reads the data blocks starting in it.
+     * Other formats can't be split on positions and are read by one source.
+     */
+    @Split
+    public List<GoogleStorageMapper> split(@PartitionSize final long bundleSize) {
+        if (this.range != null
+                || !(this.getDataSet().getContentFormat().findFormat() instanceof AvroConfiguration)) {
+            return Collections.singletonList(this);
+        }
+        final StorageFacade storage = this.buildStorage();
+        final List<GoogleStorageMapper> mappers = new ArrayList<>();
+        this.findBlobsName(storage).forEach((String name) -> {
+            final long size = storage.getBlobSize(this.getDataSet().getBucket(), name);
+            final long partSize = bundleSize > 0 ? bundleSize : size;
+            for (long start = 0; start < size; start += partSize) {
+                final BlobRange part = new BlobRange(name, start, Math.min(start + partSize, size));
+                mappers.add(new GoogleStorageMapper(config, factory, ioRepository, services, part));
+            }
+        });
+        if (mappers.isEmpty()) {
+            return Collections.singletonList(this);
+        }
+        return mappers;
+    }
+
+    @Emitter
+    public GoogleStorageSource createSource() {
+        return new GoogleStorageSource(config, factory, ioRepository, services, range);
+    }
+
+    private StorageFacade buildStorage() {
+        return this.services.buildStorage(this.getDataSet().getDataStore().getJsonCredentials());
+    }
+
+    private Stream<String> findBlobsName(final StorageFacade storage) {
+        final GSDataSet dataset = this.getDataSet();
+        this.services.checkBucket(storage, dataset.getBucket());
+        this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
+        return storage.findBlobsName(dataset.getBucket(), dataset.getBlob());
+    }
+
+    private GSDataSet getDataSet() {
+        return this.config.getDataset();
+    }
+}
@@ -18,31 +18,24 @@ import java.util.Iterator;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.apache.avro.file.SeekableInput;
 import org.talend.components.common.collections.IteratorComposer;
 import org.talend.components.common.stream.api.RecordIORepository;
 import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.api.input.RecordReaderSupplier;
 import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.input.avro.AvroReader;
+import org.talend.components.common.stream.input.avro.AvroToRecord;
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.components.google.storage.service.GSService;
 import org.talend.components.google.storage.service.StorageFacade;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
-import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.input.Producer;
-import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-@Version
 @Slf4j
-@Icon(value = Icon.IconType.CUSTOM, custom = "cloudstorage-connector")
-@Emitter(family = "GoogleStorage", name = "Input")
-@Documentation("This component read content file from google cloud storage.")
-@RequiredArgsConstructor
 public class GoogleStorageSource implements Serializable {
 
     private static final long serialVersionUID = 7373818898514942128L;
@@ -57,9 +50,26 @@ public class GoogleStorageSource implements Serializable {
 
     private final GSService services;
 
+    /** part of avro blob to read, null to read whole blobs. */
+    private final BlobRange range;
+
     /** current record iterator */
     private transient Iterator<Record> recordIterator = null;
 
+    public GoogleStorageSource(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services) {
+        this(config, factory, ioRepository, services, null);
+    }
+
+    public GoogleStorageSource(final InputConfiguration config, final RecordBuilderFactory factory,
+            final RecordIORepository ioRepository, final GSService services, final BlobRange range) {
+        this.config = config;
+        this.factory = factory;
+        this.ioRepository = ioRepository;
+        this.services = services;
+        this.range = range;
+    }
+
     @Producer
     public Record next() {
         if (recordIterator == null) {
@@ -75,6 +85,9 @@ public class GoogleStorageSource implements Serializable {
         // blob name list
         final GSDataSet dataset = this.getDataSet();
         final StorageFacade storage = this.services.buildStorage(dataset.getDataStore().getJsonCredentials());
+        if (this.range != null) {
+            return this.buildRangeIterator(storage);
+        }
         this.services.checkBucket(storage, dataset.getBucket());
         this.services.checkBlob(storage, dataset.getBucket(), dataset.getBlob());
         final Stream<String> blobsName = storage.findBlobsName(dataset.getBucket(), dataset.getBlob());
@@ -91,6 +104,15 @@ public class GoogleStorageSource implements Serializable {
                 .build();
     }
 
+    private Iterator<Record> buildRangeIterator(final StorageFacade storage) {
+        final SeekableInput input = storage.buildSeekableInput(this.getDataSet().getBucket(), this.range.getBlob());
+        final AvroReader reader = new AvroReader(new AvroToRecord(this.factory));
+        return IteratorComposer
+                .of(reader.read(input, this.range.getStart(), this.range.getEnd())) //
+                .closeable(reader) //
+                .build();
+    }
+
     private RecordReader buildReader() {
         // reader depending on format.
         final ContentFormat format = this.getDataSet().getContentFormat().findFormat();
@@ -24,6 +24,13 @@ import org.talend.components.common.stream.api.input.RecordReader;
 import org.talend.components.common.stream.input.json.JsonToRecord;
 import org.talend.sdk.component.api.record.Record;
 
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read whole json content of each blob as one record.
+ * Blobs with same structure share the inferred schema through the converter schema cache.
+ */
+@Slf4j
 public class JsonAllRecordReader implements RecordReader {
 
     /** converter from json object to record. */
@@ -42,6 +49,7 @@ public class JsonAllRecordReader implements RecordReader {
 
     @Override
     public void close() {
+        log.debug("Json schema cache: {}", this.toRecord.getSchemaCache());
     }
 
     /**
@@ -25,6 +25,7 @@ import org.talend.components.common.stream.api.RecordIORepository;
 import org.talend.components.common.stream.api.output.RecordWriter;
 import org.talend.components.common.stream.api.output.RecordWriterSupplier;
 import org.talend.components.common.stream.format.ContentFormat;
+import org.talend.components.common.stream.format.avro.AvroConfiguration;
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.components.google.storage.service.BlobNameBuilder;
 import org.talend.components.google.storage.service.GSService;
@@ -102,6 +103,9 @@ public class GoogleStorageOutput implements Serializable {
 
     private RecordWriter buildWriter() throws IOException {
         final ContentFormat contentFormat = this.getDataSet().getContentFormat().findFormat();
+        if (contentFormat instanceof AvroConfiguration) {
+            this.config.getAvroConfiguration().applyTo((AvroConfiguration) contentFormat);
+        }
         final RecordWriterSupplier recordWriterSupplier = this.ioRepository.findWriter(contentFormat.getClass());
 
         final RecordWriter writer = recordWriterSupplier.getWriter(this::buildOutputStream, contentFormat);
@@ -14,16 +14,19 @@ package org.talend.components.google.storage.output;
 
 import java.io.Serializable;
 
+import org.talend.components.common.stream.format.avro.AvroOutputConfiguration;
 import org.talend.components.google.storage.dataset.GSDataSet;
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
 import lombok.Data;
 
 @Data
-@GridLayout(@GridLayout.Row("dataset"))
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset") })
+@GridLayout({ @GridLayout.Row("dataset"), @GridLayout.Row("avroConfiguration") })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row("dataset"), @GridLayout.Row("avroConfiguration") })
 public class OutputConfiguration implements Serializable {
 
     /** serialization */
@@ -32,4 +35,9 @@ public class OutputConfiguration implements Serializable {
     @Option
     @Documentation("Google storage data set.")
     private GSDataSet dataset;
+
+    @Option
+    @ActiveIf(target = "dataset.contentFormat.contentFormat", value = "AVRO")
+    @Documentation("Compression and block size of written avro files.")
+    private AvroOutputConfiguration avroConfiguration = new AvroOutputConfiguration();
 }
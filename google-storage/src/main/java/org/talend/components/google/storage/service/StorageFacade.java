@@ -18,6 +18,8 @@ import java.io.Serializable;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.apache.avro.file.SeekableInput;
+
 public interface StorageFacade extends Serializable {
 
     /**
@@ -38,6 +40,24 @@ public interface StorageFacade extends Serializable {
      */
     Supplier<InputStream> buildInput(final String bucket, final String blob);
 
+    /**
+     * Build seekable input on bucket/blob, to read only a part of it.
+     *
+     * @param bucket : bucket.
+     * @param blob : blob.
+     * @return seekable input on blob content.
+     */
+    SeekableInput buildSeekableInput(final String bucket, final String blob);
+
+    /**
+     * Size of a blob.
+     *
+     * @param bucket : bucket.
+     * @param blob : blob.
+     * @return size of blob content in bytes.
+     */
+    long getBlobSize(final String bucket, final String blob);
+
     /**
      * Find all blob for a given bucket that match name.
      * 
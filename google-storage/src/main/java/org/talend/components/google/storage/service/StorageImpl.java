@@ -12,8 +12,10 @@
  */
 package org.talend.components.google.storage.service;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -22,6 +24,7 @@ import java.util.stream.StreamSupport;
 
 import com.google.api.gax.paging.Page;
 import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.ReadChannel;
 import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobInfo;
@@ -29,6 +32,7 @@ import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.Storage.BlobListOption;
 import com.google.cloud.storage.StorageException;
 
+import org.apache.avro.file.SeekableInput;
 import org.talend.sdk.component.api.exception.ComponentException;
 import org.talend.sdk.component.api.exception.ComponentException.ErrorOrigin;
 
@@ -73,6 +77,22 @@ public class StorageImpl implements StorageFacade {
 
     @Override
     public Supplier<InputStream> buildInput(final String bucket, final String blob) {
+        final Blob blobObject = this.getBlob(bucket, blob);
+        return () -> Channels.newInputStream(blobObject.reader());
+    }
+
+    @Override
+    public SeekableInput buildSeekableInput(final String bucket, final String blob) {
+        final Blob blobObject = this.getBlob(bucket, blob);
+        return new BlobSeekableInput(blobObject.reader(), blobObject.getSize());
+    }
+
+    @Override
+    public long getBlobSize(final String bucket, final String blob) {
+        return this.getBlob(bucket, blob).getSize();
+    }
+
+    private Blob getBlob(final String bucket, final String blob) {
         final BlobInfo blobInfo = BlobInfo.newBuilder(bucket, blob).build();
 
         final Blob blobObject = this.getStorage().get(blobInfo.getBlobId());
@@ -81,7 +101,7 @@ public class StorageImpl implements StorageFacade {
             log.warn(errorLabel);
             throw new ComponentException(ErrorOrigin.BACKEND, errorLabel);
         }
-        return () -> Channels.newInputStream(blobObject.reader());
+        return blobObject;
     }
 
     @Override
@@ -131,4 +151,50 @@ public class StorageImpl implements StorageFacade {
         return this.storage;
     }
 
+    /**
+     * Avro seekable input on blob read channel.
+     */
+    private static class BlobSeekableInput implements SeekableInput {
+
+        private final ReadChannel channel;
+
+        private final long length;
+
+        private long position = 0L;
+
+        BlobSeekableInput(final ReadChannel channel, final long length) {
+            this.channel = channel;
+            this.length = length;
+        }
+
+        @Override
+        public void seek(final long p) throws IOException {
+            this.channel.seek(p);
+            this.position = p;
+        }
+
+        @Override
+        public long tell() {
+            return this.position;
+        }
+
+        @Override
+        public long length() {
+            return this.length;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int nbRead = this.channel.read(ByteBuffer.wrap(b, off, len));
+            if (nbRead > 0) {
+                this.position += nbRead;
+            }
+            return nbRead;
+        }
+
+        @Override
+        public void close() {
+            this.channel.close();
+        }
+    }
 }
@@ -26,6 +26,8 @@ import java.util.TreeMap;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.apache.avro.file.SeekableFileInput;
+import org.apache.avro.file.SeekableInput;
 import org.talend.components.google.storage.service.StorageFacade;
 
 import lombok.Getter;
@@ -110,6 +112,20 @@ public class StorageFacadeFake implements StorageFacade {
         return null;
     }
 
+    @Override
+    public SeekableInput buildSeekableInput(String bucket, String blob) {
+        try {
+            return new SeekableFileInput(this.bucket.getBlob(blob));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public long getBlobSize(String bucket, String blob) {
+        return this.bucket.getBlob(blob).length();
+    }
+
     @Override
     public Stream<String> findBlobsName(String bucket, String blobStartName) {
         if (Objects.equals(this.bucket.getName(), bucket)) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.google.storage.input;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.api.output.RecordWriter;
+import org.talend.components.common.stream.format.avro.AvroConfiguration;
+import org.talend.components.common.stream.output.avro.AvroWriterSupplier;
+import org.talend.components.google.storage.GSServiceFake;
+import org.talend.components.google.storage.dataset.FormatConfiguration;
+import org.talend.components.google.storage.dataset.GSDataSet;
+import org.talend.components.google.storage.datastore.GSDataStore;
+import org.talend.components.google.storage.service.GSService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+@WithComponents(value = "org.talend.components.google.storage")
+class GoogleStorageMapperTest {
+
+    @Service
+    private RecordIORepository repository;
+
+    @Service
+    private RecordBuilderFactory factory;
+
+    @Service
+    private GSService services;
+
+    @Test
+    void splitAvro(@TempDir Path root) throws IOException {
+        final AvroConfiguration avroConfig = new AvroConfiguration();
+        avroConfig.setSyncInterval(500);
+        final File blob = root.resolve("blob.avro").toFile();
+        try (RecordWriter writer = new AvroWriterSupplier().getWriter(() -> new FileOutputStream(blob), avroConfig)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.add(factory.newRecordBuilder().withInt("ID", i).withString("content", "content " + i).build());
+            }
+        }
+
+        final FormatConfiguration format = new FormatConfiguration();
+        format.setContentFormat(FormatConfiguration.Type.AVRO);
+        format.setAvroConfiguration(avroConfig);
+        final InputConfiguration config = this.buildConfig(format);
+        final GSService fake = new GSServiceFake(this.services, root.toFile(), "test");
+
+        final GoogleStorageMapper mapper = new GoogleStorageMapper(config, this.factory, this.repository, fake);
+        Assertions.assertEquals(blob.length(), mapper.estimateSize());
+
+        final List<GoogleStorageMapper> parts = mapper.split(blob.length() / 4 + 1);
+        Assertions.assertEquals(4, parts.size());
+
+        // each record read by exactly one part.
+        final Set<Integer> ids = new HashSet<>();
+        for (GoogleStorageMapper part : parts) {
+            final GoogleStorageSource source = part.createSource();
+            for (Record record = source.next(); record != null; record = source.next()) {
+                Assertions.assertTrue(ids.add(record.getInt("ID")), "record read twice");
+            }
+        }
+        Assertions.assertEquals(1000, ids.size());
+    }
+
+    @Test
+    void noSplitCsv() throws IOException {
+        final URL resource = Thread.currentThread().getContextClassLoader().getResource("./bucketSource");
+        final GSService fake = new GSServiceFake(this.services, new File(resource.getPath()), "test");
+
+        final FormatConfiguration format = new FormatConfiguration();
+        format.setContentFormat(FormatConfiguration.Type.CSV);
+        final InputConfiguration config = this.buildConfig(format);
+
+        final GoogleStorageMapper mapper = new GoogleStorageMapper(config, this.factory, this.repository, fake);
+        final List<GoogleStorageMapper> parts = mapper.split(10L);
+        Assertions.assertEquals(1, parts.size());
+        Assertions.assertSame(mapper, parts.get(0));
+    }
+
+    private InputConfiguration buildConfig(final FormatConfiguration format) throws IOException {
+        final GSDataStore dataStore = new GSDataStore();
+        final URL urlJWT = Thread.currentThread().getContextClassLoader().getResource("./engineering-test.json");
+        dataStore.setJsonCredentials(new String(Files.readAllBytes(new File(urlJWT.getPath()).toPath())));
+
+        final GSDataSet dataset = new GSDataSet();
+        dataset.setBucket("test");
+        dataset.setBlob("blob");
+        dataset.setDataStore(dataStore);
+        dataset.setContentFormat(format);
+
+        final InputConfiguration config = new InputConfiguration();
+        config.setDataset(dataset);
+        return config;
+    }
+}
@@ -19,4 +19,6 @@ import java.io.Serializable;
 public interface InputConfig extends Serializable {
 
     BaseDataSet getDataSet();
+
+    PartitionConfig getPartitioning();
 }
\ No newline at end of file
@@ -20,7 +20,8 @@ import org.talend.sdk.component.api.meta.Documentation;
 
 @Data
 @GridLayout(value = { @GridLayout.Row({ "dataSet" }) })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row({ "dataSet" }), @GridLayout.Row({ "partitioning" }) })
 @Documentation("Query input configuration")
 public class InputQueryConfig implements InputConfig {
 
@@ -28,4 +29,8 @@ public class InputQueryConfig implements InputConfig {
     @Documentation("SQL query dataset")
     private SqlQueryDataset dataSet;
 
+    @Option
+    @Documentation("Parallel read configuration")
+    private PartitionConfig partitioning = new PartitionConfig();
+
 }
@@ -20,7 +20,8 @@ import org.talend.sdk.component.api.meta.Documentation;
 
 @Data
 @GridLayout(value = { @GridLayout.Row({ "dataSet" }) })
-@GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataSet" }) })
+@GridLayout(names = GridLayout.FormType.ADVANCED,
+        value = { @GridLayout.Row({ "dataSet" }), @GridLayout.Row({ "partitioning" }) })
 @Documentation("Table name input configuration")
 public class InputTableNameConfig implements InputConfig {
 
@@ -28,4 +29,8 @@ public class InputTableNameConfig implements InputConfig {
     @Documentation("table name dataset")
     private TableNameDataset dataSet;
 
+    @Option
+    @Documentation("Parallel read configuration")
+    private PartitionConfig partitioning = new PartitionConfig();
+
 }
@@ -24,6 +24,7 @@ import org.talend.sdk.component.api.configuration.action.Suggestable;
 import org.talend.sdk.component.api.configuration.action.Validable;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
 import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.constraint.Required;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -45,7 +46,9 @@ import static org.talend.sdk.component.api.configuration.condition.ActiveIfs.Ope
         @GridLayout.Row("sortKeys"),
         @GridLayout.Row("distributionStrategy"), @GridLayout.Row("distributionKeys"), @GridLayout.Row("ignoreUpdate") })
 @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row("dataset"),
-        @GridLayout.Row("rewriteBatchedStatements"), @GridLayout.Row("useOriginColumnName") })
+        @GridLayout.Row("rewriteBatchedStatements"), @GridLayout.Row("useOriginColumnName"),
+        @GridLayout.Row("pipelinedExecution"), @GridLayout.Row("pipelineConnections"),
+        @GridLayout.Row("bisectFailedBatches") })
 @Version(value = 2, migrationHandler = JDBCOutputConfigMigration.class)
 @Documentation("Those properties define an output data set for the JDBC output component")
 public class OutputConfig implements Serializable {
@@ -125,6 +128,23 @@ public class OutputConfig implements Serializable {
     @Documentation("To keep the old behavior that use sanitized name as column name")
     private boolean useOriginColumnName = true;
 
+    @Option
+    @Documentation("Execute the batches asynchronously while the next records are buffered. "
+            + "Records with the same keys are always written in order by the same connection. "
+            + "A batch failure is reported with the next batch or when the component is closed.")
+    private boolean pipelinedExecution = false;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "pipelinedExecution", value = "true")
+    @Documentation("Number of connections executing batches in parallel in pipelined execution.")
+    private int pipelineConnections = 4;
+
+    @Option
+    @Documentation("When a batch fails, execute its remaining records again in halving sub batches "
+            + "so only the failing records are rejected instead of all the records following the first error.")
+    private boolean bisectFailedBatches = false;
+
     public ActionOnData getActionOnData() {
         if (actionOnData == null || actionOnData.isEmpty()) {
             throw new IllegalArgumentException("label on data is required");
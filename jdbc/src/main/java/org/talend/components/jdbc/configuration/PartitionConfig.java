@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.configuration;
+
+import lombok.Data;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Min;
+import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
+import org.talend.sdk.component.api.meta.Documentation;
+
+import java.io.Serializable;
+
+@Data
+@GridLayout({ @GridLayout.Row("partitioned"), @GridLayout.Row("partitionColumn"),
+        @GridLayout.Row("maxPartitions") })
+@Documentation("Parallel read configuration, the input is split into range bounded sub queries on a column.")
+public class PartitionConfig implements Serializable {
+
+    @Option
+    @Documentation("Split the input into several range bounded queries which can be read in parallel.")
+    private boolean partitioned = false;
+
+    @Option
+    @ActiveIf(target = "partitioned", value = "true")
+    @Documentation("A numeric, date or timestamp column used to compute the partition ranges. "
+            + "An indexed column with evenly distributed values gives the best results.")
+    private String partitionColumn;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "partitioned", value = "true")
+    @Documentation("The maximum number of partitions. "
+            + "Fewer partitions are created when the estimated size of the input is small.")
+    private int maxPartitions = 8;
+
+    public boolean isActive() {
+        return partitioned && partitionColumn != null && !partitionColumn.trim().isEmpty();
+    }
+
+}
@@ -23,6 +23,19 @@ public interface BaseDataSet extends Serializable {
 
     String getQuery(final Platform platform);
 
+    /**
+     * @param platform the targeted database platform
+     * @return the from clause of the dataset query, a table identifier or a derived table.
+     */
+    String getFromClause(final Platform platform);
+
+    /**
+     * @param platform the targeted database platform
+     * @param condition a where condition restricting the dataset query to a partition
+     * @return the dataset query restricted by the condition
+     */
+    String getPartitionQuery(final Platform platform, final String condition);
+
     int getFetchSize();
 
 }
@@ -37,6 +37,10 @@ import static org.talend.sdk.component.api.configuration.ui.layout.GridLayout.Fo
 @Documentation("This configuration define a read only query")
 public class SqlQueryDataset implements BaseDataSet {
 
+    private static final String DERIVED_TABLE_ALIAS = "talend_query";
+
+    private static final String PARTITION_QUERY_TEMPLATE = "select * from %s where %s";
+
     @Option
     @Documentation("The connection information to execute the query")
     @Updatable(value = ACTION_DEFAULT_VALUES, parameters = { "." }, after = "setRawUrl")
@@ -57,4 +61,15 @@ public class SqlQueryDataset implements BaseDataSet {
     public String getQuery(final Platform platform) {
         return sqlQuery;
     }
+
+    @Override
+    public String getFromClause(final Platform platform) {
+        // trailing semicolons are not allowed in a derived table
+        return "(" + sqlQuery.trim().replaceAll(";+$", "") + ") " + DERIVED_TABLE_ALIAS;
+    }
+
+    @Override
+    public String getPartitionQuery(final Platform platform, final String condition) {
+        return String.format(PARTITION_QUERY_TEMPLATE, getFromClause(platform), condition);
+    }
 }
@@ -71,6 +71,16 @@ public class TableNameDataset implements BaseDataSet {
                 .map(l -> l.stream().map(platform::identifier).collect(Collectors.joining(",")))
                 .orElse("*");
         // No need for the i18n service for this instance
-        return String.format(QUERY_TEMPLATE, columns, platform.identifier(getTableName()));
+        return String.format(QUERY_TEMPLATE, columns, getFromClause(platform));
+    }
+
+    @Override
+    public String getFromClause(final Platform platform) {
+        return platform.identifier(getTableName());
+    }
+
+    @Override
+    public String getPartitionQuery(final Platform platform, final String condition) {
+        return getQuery(platform) + " where " + condition;
     }
 }
@@ -12,11 +12,13 @@
  */
 package org.talend.components.jdbc.input;
 
+import static java.util.Optional.ofNullable;
 import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
 import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
 
 import java.io.Serializable;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -32,6 +34,7 @@ import org.jooq.impl.DefaultConfiguration;
 import org.jooq.impl.ParserException;
 import org.talend.components.jdbc.configuration.InputConfig;
 import org.talend.components.jdbc.dataset.BaseDataSet;
+import org.talend.components.jdbc.output.platforms.Platform;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
 import org.talend.sdk.component.api.input.Producer;
@@ -52,6 +55,8 @@ public abstract class AbstractInputEmitter implements Serializable {
 
     private final I18nMessage i18n;
 
+    private final QueryPartition partition;
+
     protected Connection connection;
 
     private Statement statement;
@@ -62,21 +67,30 @@ public abstract class AbstractInputEmitter implements Serializable {
 
     private transient Schema schema;
 
-    private transient JdbcService.ColumnInfo[] columnInfoList;
+    private transient JdbcService.ColumnReader[] columnReaders;
+
+    /**
+     * The driver result set, rows are read without going through the class loader switching proxy for each cell.
+     */
+    private transient ResultSet rows;
+
+    private transient ClassLoader driverClassLoader;
 
     AbstractInputEmitter(final InputConfig inputConfig, final JdbcService jdbcDriversService,
-            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage) {
+            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage,
+            final QueryPartition partition) {
         this.inputConfig = inputConfig;
         this.recordBuilderFactory = recordBuilderFactory;
         this.jdbcDriversService = jdbcDriversService;
         this.i18n = i18nMessage;
+        this.partition = partition;
     }
 
     @PostConstruct
     public void init() {
         BaseDataSet dataSet = inputConfig.getDataSet();
-        String query = dataSet.getQuery(
-                jdbcDriversService.getPlatformService().getPlatform(dataSet.getConnection()));
+        final Platform platform = jdbcDriversService.getPlatformService().getPlatform(dataSet.getConnection());
+        String query = dataSet.getQuery(platform);
         if (query == null || query.trim().isEmpty()) {
             throw new IllegalArgumentException(i18n.errorEmptyQuery());
         }
@@ -92,16 +106,32 @@ public abstract class AbstractInputEmitter implements Serializable {
         try {
             dataSource = jdbcDriversService.createDataSource(dataSet.getConnection());
             connection = dataSource.getConnection();
-            statement = connection.createStatement();
-            statement.setFetchSize(dataSet.getFetchSize());
-            resultSet = statement.executeQuery(query);
+            if (partition == null) {
+                statement = connection.createStatement();
+                statement.setFetchSize(dataSet.getFetchSize());
+                resultSet = statement.executeQuery(query);
+            } else {
+                final String partitionQuery = dataSet.getPartitionQuery(platform, partition.getCondition());
+                log.debug("Partition query: {} {}", partitionQuery, partition.getParameters());
+                final PreparedStatement preparedStatement = connection.prepareStatement(partitionQuery);
+                statement = preparedStatement;
+                preparedStatement.setFetchSize(dataSet.getFetchSize());
+                partition.bind(preparedStatement);
+                resultSet = preparedStatement.executeQuery();
+            }
 
             ResultSetMetaData metaData = resultSet.getMetaData();
             Schema.Builder schemaBuilder = recordBuilderFactory.newSchemaBuilder(RECORD);
-            columnInfoList = IntStream.rangeClosed(1, metaData.getColumnCount())
+            final JdbcService.ColumnInfo[] columnInfoList = IntStream.rangeClosed(1, metaData.getColumnCount())
                     .mapToObj(index -> jdbcDriversService.addField(schemaBuilder, metaData, index))
                     .toArray(JdbcService.ColumnInfo[]::new);
             schema = schemaBuilder.build();
+            columnReaders = IntStream.range(0, columnInfoList.length)
+                    .mapToObj(index -> jdbcDriversService.newColumnReader(columnInfoList[index], index + 1))
+                    .toArray(JdbcService.ColumnReader[]::new);
+            rows = unwrap(resultSet);
+            driverClassLoader = ofNullable(rows.getClass().getClassLoader())
+                    .orElseGet(() -> Thread.currentThread().getContextClassLoader());
 
             log.debug("Input schema: {}", schema);
             log.debug("SchemaRaw: {}",
@@ -113,17 +143,32 @@ public abstract class AbstractInputEmitter implements Serializable {
 
     @Producer
     public Record next() {
+        // switch to the driver class loader once per row instead of once per cell
+        final Thread thread = Thread.currentThread();
+        final ClassLoader prev = thread.getContextClassLoader();
+        thread.setContextClassLoader(driverClassLoader);
         try {
-            if (!resultSet.next()) {
+            if (!rows.next()) {
                 return null;
             }
             final Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder(schema);
-            for (int index = 0; index < columnInfoList.length; index++) {
-                jdbcDriversService.addColumn(recordBuilder, columnInfoList[index], resultSet.getObject(index + 1));
+            for (final JdbcService.ColumnReader columnReader : columnReaders) {
+                columnReader.read(rows, recordBuilder);
             }
             return recordBuilder.build();
         } catch (final SQLException e) {
             throw toIllegalStateException(e);
+        } finally {
+            thread.setContextClassLoader(prev);
+        }
+    }
+
+    private ResultSet unwrap(final ResultSet resultSet) {
+        try {
+            return resultSet.unwrap(ResultSet.class);
+        } catch (final SQLException e) {
+            log.debug("Can't unwrap the driver result set", e);
+            return resultSet;
         }
     }
 
@@ -14,29 +14,19 @@ package org.talend.components.jdbc.input;
 
 import lombok.extern.slf4j.Slf4j;
 import org.talend.components.jdbc.configuration.InputQueryConfig;
-import org.talend.components.jdbc.datastore.JdbcConnection;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
-import org.talend.sdk.component.api.component.Icon;
-import org.talend.sdk.component.api.component.Version;
-import org.talend.sdk.component.api.configuration.Option;
-import org.talend.sdk.component.api.input.Emitter;
-import org.talend.sdk.component.api.meta.Documentation;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import java.io.Serializable;
 
 @Slf4j
-@Version(JdbcConnection.VERSION)
-@Icon(value = Icon.IconType.CUSTOM, custom = "datastore-connector")
-@Emitter(name = "QueryInput")
-@Documentation("JDBC query input")
 public class QueryInputEmitter extends AbstractInputEmitter implements Serializable {
 
-    public QueryInputEmitter(@Option("configuration") final InputQueryConfig inputQueryConfig,
+    public QueryInputEmitter(final InputQueryConfig inputQueryConfig,
             final JdbcService jdbcDriversService, final RecordBuilderFactory recordBuilderFactory,
-            final I18nMessage i18nMessage) {
-        super(inputQueryConfig, jdbcDriversService, recordBuilderFactory, i18nMessage);
+            final I18nMessage i18nMessage, final QueryPartition partition) {
+        super(inputQueryConfig, jdbcDriversService, recordBuilderFactory, i18nMessage, partition);
     }
 
 }
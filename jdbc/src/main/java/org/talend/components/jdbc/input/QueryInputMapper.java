@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import static java.util.Collections.singletonList;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.talend.components.jdbc.configuration.InputQueryConfig;
+import org.talend.components.jdbc.datastore.JdbcConnection;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JdbcService;
+import org.talend.sdk.component.api.component.Icon;
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Version(JdbcConnection.VERSION)
+@Icon(value = Icon.IconType.CUSTOM, custom = "datastore-connector")
+@PartitionMapper(name = "QueryInput")
+@Documentation("JDBC query input")
+public class QueryInputMapper implements Serializable {
+
+    private final InputQueryConfig config;
+
+    private final JdbcService jdbcDriversService;
+
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    private final I18nMessage i18nMessage;
+
+    @Setter
+    private QueryPartition partition;
+
+    public QueryInputMapper(@Option("configuration") final InputQueryConfig config,
+            final JdbcService jdbcDriversService,
+            final RecordBuilderFactory recordBuilderFactory, final I18nMessage i18nMessage) {
+        this.config = config;
+        this.jdbcDriversService = jdbcDriversService;
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.i18nMessage = i18nMessage;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        if (!config.getPartitioning().isActive()) {
+            return 1L;
+        }
+        return SplitUtil.estimateSize(config, jdbcDriversService);
+    }
+
+    @Split
+    public List<QueryInputMapper> split(@PartitionSize final long bundles) {
+        if (!config.getPartitioning().isActive() || partition != null) {
+            return singletonList(this);
+        }
+        final int partitionCount = SplitUtil.getPartitionCount(config.getPartitioning(), estimateSize(), bundles);
+        final List<QueryPartition> partitions =
+                SplitUtil.getPartitions(config, jdbcDriversService, i18nMessage, partitionCount);
+        log.info("split number : " + partitions.size() + ",  the size of every split from platform : " + bundles);
+        if (partitions.size() < 2) {
+            return singletonList(this);
+        }
+        return partitions.stream().map(this::cloneMapperWithPartition).collect(Collectors.toList());
+    }
+
+    private QueryInputMapper cloneMapperWithPartition(final QueryPartition queryPartition) {
+        final QueryInputMapper mapper =
+                new QueryInputMapper(config, jdbcDriversService, recordBuilderFactory, i18nMessage);
+        mapper.setPartition(queryPartition);
+        return mapper;
+    }
+
+    @Emitter
+    public QueryInputEmitter createWorker() {
+        return new QueryInputEmitter(config, jdbcDriversService, recordBuilderFactory, i18nMessage, partition);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.input;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.talend.components.jdbc.configuration.InputConfig;
+import org.talend.components.jdbc.configuration.PartitionConfig;
+import org.talend.components.jdbc.dataset.BaseDataSet;
+import org.talend.components.jdbc.dataset.TableNameDataset;
+import org.talend.components.jdbc.output.platforms.Platform;
+import org.talend.components.jdbc.service.I18nMessage;
+import org.talend.components.jdbc.service.JdbcService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size estimation and range partitioning of the input queries.
+ */
+@Slf4j
+public final class SplitUtil {
+
+    /**
+     * Upper bound of a single column contribution to the estimated row size, large varchar columns are rarely full.
+     */
+    private static final int MAX_COLUMN_WIDTH = 256;
+
+    private SplitUtil() {
+        // no-op
+    }
+
+    /**
+     * @return the number of partitions to create, bounded by the configured maximum.
+     */
+    public static int getPartitionCount(final PartitionConfig partitioning, final long estimatedSize,
+            final long bundles) {
+        if (estimatedSize <= 1 || bundles <= 0) {
+            return partitioning.getMaxPartitions();
+        }
+        final long count = (estimatedSize + bundles - 1) / bundles;
+        return (int) Math.max(1, Math.min(partitioning.getMaxPartitions(), count));
+    }
+
+    /**
+     * Estimate the input size in bytes. The row count comes from the catalog statistics when available, from a
+     * count query otherwise. The row size is computed from the columns display size.
+     *
+     * @return the estimated size or 1 if it can't be estimated.
+     */
+    public static long estimateSize(final InputConfig config, final JdbcService service) {
+        final BaseDataSet dataSet = config.getDataSet();
+        final Platform platform = service.getPlatformService().getPlatform(dataSet.getConnection());
+        try (final JdbcService.JdbcDatasource dataSource = service.createDataSource(dataSet.getConnection());
+                final Connection connection = dataSource.getConnection()) {
+            final long rows = estimateRowCount(connection, dataSet, platform);
+            final long size = rows * estimateRowSize(connection, dataSet, platform);
+            log.debug("Estimated input size: {} rows, {} bytes", rows, size);
+            return Math.max(1, size);
+        } catch (final SQLException e) {
+            log.warn("Can't estimate the input size", e);
+            return 1L;
+        }
+    }
+
+    /**
+     * Split the input on the partition column. The range between the min and max values of the column is cut in
+     * equal intervals, the first partition also reads the null values.
+     *
+     * @return the partitions, empty if the input can't be split.
+     */
+    public static List<QueryPartition> getPartitions(final InputConfig config, final JdbcService service,
+            final I18nMessage i18n, final int partitionCount) {
+        if (partitionCount < 2) {
+            return emptyList();
+        }
+        final BaseDataSet dataSet = config.getDataSet();
+        final Platform platform = service.getPlatformService().getPlatform(dataSet.getConnection());
+        final String column = platform.identifier(config.getPartitioning().getPartitionColumn().trim());
+        final String query = "select min(" + column + "), max(" + column + ") from " + dataSet.getFromClause(platform);
+        try (final JdbcService.JdbcDatasource dataSource = service.createDataSource(dataSet.getConnection());
+                final Connection connection = dataSource.getConnection();
+                final Statement statement = connection.createStatement();
+                final ResultSet bounds = statement.executeQuery(query)) {
+            if (!bounds.next()) {
+                return emptyList();
+            }
+            final ResultSetMetaData metaData = bounds.getMetaData();
+            final List<Serializable> boundaries;
+            switch (metaData.getColumnType(1)) {
+            case java.sql.Types.TINYINT:
+            case java.sql.Types.SMALLINT:
+            case java.sql.Types.INTEGER:
+            case java.sql.Types.BIGINT:
+                boundaries = getBoundaries(bounds.getBigDecimal(1), bounds.getBigDecimal(2), partitionCount,
+                        value -> value.setScale(0, RoundingMode.CEILING).longValue());
+                break;
+            case java.sql.Types.DECIMAL:
+            case java.sql.Types.NUMERIC:
+            case java.sql.Types.FLOAT:
+            case java.sql.Types.REAL:
+            case java.sql.Types.DOUBLE:
+                boundaries = getBoundaries(bounds.getBigDecimal(1), bounds.getBigDecimal(2), partitionCount,
+                        value -> value);
+                break;
+            case java.sql.Types.DATE:
+                boundaries = getBoundaries(toMillis(bounds.getTimestamp(1)), toMillis(bounds.getTimestamp(2)),
+                        partitionCount, value -> java.sql.Date
+                                .valueOf(new java.sql.Date(value.longValue()).toLocalDate()));
+                break;
+            case java.sql.Types.TIMESTAMP:
+                boundaries = getBoundaries(toMillis(bounds.getTimestamp(1)), toMillis(bounds.getTimestamp(2)),
+                        partitionCount, value -> new Timestamp(value.longValue()));
+                break;
+            default:
+                throw new IllegalArgumentException(i18n
+                        .errorUnsupportedPartitionColumn(config.getPartitioning().getPartitionColumn(),
+                                metaData.getColumnTypeName(1)));
+            }
+            return toPartitions(column, boundaries);
+        } catch (final SQLException e) {
+            throw toIllegalStateException(e);
+        }
+    }
+
+    private static long estimateRowCount(final Connection connection, final BaseDataSet dataSet,
+            final Platform platform) throws SQLException {
+        if (dataSet instanceof TableNameDataset) {
+            long cardinality = 0;
+            try (final ResultSet statistics = connection
+                    .getMetaData()
+                    .getIndexInfo(connection.getCatalog(), JdbcService.getSchema(connection),
+                            ((TableNameDataset) dataSet).getTableName(), false, true)) {
+                while (statistics.next()) {
+                    final long rows = statistics.getLong("CARDINALITY");
+                    if (statistics.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic) {
+                        cardinality = rows;
+                        break;
+                    }
+                    if (!statistics.getBoolean("NON_UNIQUE")) {
+                        cardinality = Math.max(cardinality, rows);
+                    }
+                }
+            } catch (final SQLException e) {
+                log.debug("Catalog statistics are not available, fallback on a count query", e);
+            }
+            if (cardinality > 0) {
+                return cardinality;
+            }
+        }
+        try (final Statement statement = connection.createStatement();
+                final ResultSet count = statement
+                        .executeQuery("select count(*) from " + dataSet.getFromClause(platform))) {
+            return count.next() ? count.getLong(1) : 0;
+        }
+    }
+
+    private static long estimateRowSize(final Connection connection, final BaseDataSet dataSet,
+            final Platform platform) throws SQLException {
+        try (final Statement statement = connection.createStatement();
+                final ResultSet empty = statement.executeQuery(dataSet.getPartitionQuery(platform, "1 = 0"))) {
+            final ResultSetMetaData metaData = empty.getMetaData();
+            return IntStream
+                    .rangeClosed(1, metaData.getColumnCount())
+                    .mapToLong(index -> {
+                        try {
+                            return Math.max(1, Math.min(MAX_COLUMN_WIDTH, metaData.getColumnDisplaySize(index)));
+                        } catch (final SQLException e) {
+                            throw toIllegalStateException(e);
+                        }
+                    })
+                    .sum();
+        }
+    }
+
+    private static BigDecimal toMillis(final Timestamp timestamp) {
+        return timestamp == null ? null : BigDecimal.valueOf(timestamp.getTime());
+    }
+
+    private static List<Serializable> getBoundaries(final BigDecimal min, final BigDecimal max, final int count,
+            final Function<BigDecimal, Serializable> converter) {
+        if (min == null || max == null || min.compareTo(max) >= 0) {
+            return emptyList();
+        }
+        final BigDecimal step = max.subtract(min).divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+        return IntStream
+                .range(1, count)
+                .mapToObj(index -> min.add(step.multiply(BigDecimal.valueOf(index))))
+                .map(converter)
+                .distinct()
+                .collect(toList());
+    }
+
+    private static List<QueryPartition> toPartitions(final String column, final List<Serializable> boundaries) {
+        if (boundaries.isEmpty()) {
+            return emptyList();
+        }
+        final List<QueryPartition> partitions = new ArrayList<>(boundaries.size() + 1);
+        partitions.add(new QueryPartition("(" + column + " < ? or " + column + " is null)",
+                singletonList(boundaries.get(0))));
+        for (int index = 1; index < boundaries.size(); index++) {
+            partitions.add(new QueryPartition(column + " >= ? and " + column + " < ?",
+                    asList(boundaries.get(index - 1), boundaries.get(index))));
+        }
+        partitions.add(new QueryPartition(column + " >= ?", singletonList(boundaries.get(boundaries.size() - 1))));
+        return partitions;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.output;
+
+import static java.util.stream.Collectors.toList;
+import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.talend.components.jdbc.output.statement.QueryManager;
+import org.talend.components.jdbc.output.statement.operations.QueryManagerImpl;
+import org.talend.components.jdbc.service.JdbcService;
+import org.talend.sdk.component.api.record.Record;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Execute the batches of the output asynchronously on several connections.
+ * <p>
+ * Each lane owns a single thread, a connection of the pool and its own {@link QueryManager} since query managers
+ * are stateful. Records having the same keys are always routed to the same lane, lanes execute their batches in
+ * submission order so the writes of a key are never reordered. The number of batches waiting in a lane is bounded,
+ * {@link BatchPipeline#submit(List)} blocks when it is reached which slows down the producer.
+ * <p>
+ * After a failed batch, the records of the queued batches are rejected without being executed and the failure is
+ * rethrown by the next call to the pipeline.
+ */
+@Slf4j
+public class BatchPipeline implements AutoCloseable {
+
+    /**
+     * Number of batches a lane can hold, the running one included.
+     */
+    private static final int MAX_BATCHES_PER_LANE = 2;
+
+    private final List<Lane> lanes;
+
+    private final List<String> keys;
+
+    private final JdbcService.JdbcDatasource dataSource;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private int nextLane;
+
+    /**
+     * @param connections the number of lanes
+     * @param queryManagers a factory of query managers, one is created by lane
+     * @param dataSource the data source, its pool must allow one connection per lane
+     * @param keys the keys routing records to lanes, when empty the batches are split evenly between lanes
+     */
+    public BatchPipeline(final int connections, final Supplier<QueryManager> queryManagers,
+            final JdbcService.JdbcDatasource dataSource, final List<String> keys) {
+        this.dataSource = dataSource;
+        this.keys = keys;
+        final AtomicInteger counter = new AtomicInteger();
+        this.lanes = IntStream
+                .range(0, connections)
+                .mapToObj(index -> new Lane(queryManagers.get(), Executors.newSingleThreadExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "jdbc-output-pipeline-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                })))
+                .collect(toList());
+    }
+
+    /**
+     * Split the records between the lanes and queue them, blocks while a lane is full.
+     */
+    public void submit(final List<Record> records) {
+        checkFailure();
+        if (records.isEmpty()) {
+            return;
+        }
+        final List<List<Record>> batches = keys.isEmpty() ? splitEvenly(records) : splitByKeys(records);
+        for (int index = 0; index < batches.size(); index++) {
+            if (!batches.get(index).isEmpty()) {
+                lanes.get(index).submit(batches.get(index));
+            }
+        }
+    }
+
+    /**
+     * Rethrow the first error raised by an asynchronous batch.
+     */
+    public void checkFailure() {
+        final Throwable error = failure.get();
+        if (error != null) {
+            throw toIllegalStateException(error);
+        }
+    }
+
+    /**
+     * Wait for all the queued batches.
+     */
+    @Override
+    public void close() {
+        lanes.forEach(lane -> lane.executor.shutdown());
+        try {
+            for (final Lane lane : lanes) {
+                while (!lane.executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.debug("Waiting for the pending batches of the output");
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lanes.forEach(lane -> lane.executor.shutdownNow());
+            throw new IllegalStateException(e);
+        }
+        checkFailure();
+    }
+
+    private List<List<Record>> splitEvenly(final List<Record> records) {
+        final List<List<Record>> batches = newBatches();
+        final int size = (records.size() + lanes.size() - 1) / lanes.size();
+        for (int from = 0; from < records.size(); from += size) {
+            batches.get(nextLane).addAll(records.subList(from, Math.min(records.size(), from + size)));
+            nextLane = (nextLane + 1) % lanes.size();
+        }
+        return batches;
+    }
+
+    private List<List<Record>> splitByKeys(final List<Record> records) {
+        final List<List<Record>> batches = newBatches();
+        for (final Record record : records) {
+            final Object[] values = record
+                    .getSchema()
+                    .getEntries()
+                    .stream()
+                    .filter(entry -> keys.contains(entry.getOriginalFieldName()))
+                    .map(entry -> QueryManagerImpl.valueOf(record, entry).orElse(null))
+                    .toArray();
+            batches.get(Math.floorMod(Arrays.deepHashCode(values), lanes.size())).add(record);
+        }
+        return batches;
+    }
+
+    private List<List<Record>> newBatches() {
+        return IntStream.range(0, lanes.size()).mapToObj(i -> new ArrayList<Record>()).collect(toList());
+    }
+
+    private class Lane {
+
+        private final QueryManager queryManager;
+
+        private final ExecutorService executor;
+
+        private final Semaphore permits = new Semaphore(MAX_BATCHES_PER_LANE);
+
+        private Lane(final QueryManager queryManager, final ExecutorService executor) {
+            this.queryManager = queryManager;
+            this.executor = executor;
+        }
+
+        private void submit(final List<Record> batch) {
+            try {
+                permits.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            executor.execute(() -> {
+                try {
+                    if (failure.get() == null) {
+                        final List<Reject> discards = queryManager.execute(batch, dataSource);
+                        discards.stream().map(Object::toString).forEach(log::error);
+                    } else {
+                        // the first failure is rethrown to the output, batches queued after it are not executed.
+                        batch
+                                .stream()
+                                .map(r -> new Reject("not executed after previous error", r))
+                                .map(Reject::toString)
+                                .forEach(log::error);
+                    }
+                } catch (final Exception e) {
+                    batch.stream().map(r -> new Reject(e.getMessage(), r)).map(Reject::toString).forEach(log::error);
+                    failure.compareAndSet(null, e);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+}
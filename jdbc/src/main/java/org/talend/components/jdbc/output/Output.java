@@ -34,6 +34,9 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+
 import static org.talend.components.jdbc.ErrorFactory.toIllegalStateException;
 import static org.talend.components.jdbc.service.JdbcService.checkTableExistence;
 
@@ -51,6 +54,8 @@ public abstract class Output implements Serializable {
 
     private transient JdbcService.JdbcDatasource datasource;
 
+    private transient BatchPipeline pipeline;
+
     private Boolean tableExistsCheck;
 
     private boolean tableCreated;
@@ -65,6 +70,11 @@ public abstract class Output implements Serializable {
 
     protected abstract QueryManager getQueryManager();
 
+    /**
+     * @return a new query manager, used by the pipelined execution where each connection needs its own.
+     */
+    protected abstract QueryManager newQueryManager();
+
     protected abstract Platform getPlatform();
 
     @BeforeGroup
@@ -79,6 +89,9 @@ public abstract class Output implements Serializable {
             // it's mostly useful for streaming scenario
             lazyInit();
         }
+        if (pipeline != null) {
+            pipeline.checkFailure();
+        }
         records.add(record);
     }
 
@@ -86,7 +99,12 @@ public abstract class Output implements Serializable {
         this.init = true;
         this.datasource = jdbcService
                 .createDataSource(configuration.getDataset().getConnection(),
-                        configuration.isRewriteBatchedStatements());
+                        configuration.isRewriteBatchedStatements(),
+                        configuration.isPipelinedExecution() ? configuration.getPipelineConnections() : 1);
+        if (configuration.isPipelinedExecution()) {
+            this.pipeline = new BatchPipeline(configuration.getPipelineConnections(), this::newQueryManager,
+                    datasource, getRoutingKeys());
+        }
         if (this.tableExistsCheck == null) {
             this.tableExistsCheck = checkTableExistence(configuration.getDataset().getTableName(), datasource);
         }
@@ -110,6 +128,12 @@ public abstract class Output implements Serializable {
             }
         }
 
+        if (pipeline != null) {
+            pipeline.submit(records);
+            records = new ArrayList<>(1000);
+            return;
+        }
+
         // TODO : handle discarded records
         try {
             final List<Reject> discards = getQueryManager().execute(records, datasource);
@@ -122,8 +146,28 @@ public abstract class Output implements Serializable {
 
     @PreDestroy
     public void preDestroy() {
-        if (datasource != null) {
-            datasource.close();
+        try {
+            if (pipeline != null) {
+                pipeline.close();
+            }
+        } finally {
+            if (datasource != null) {
+                datasource.close();
+            }
+        }
+    }
+
+    /**
+     * Writes on a key must stay ordered, only inserts can be freely spread over the connections.
+     */
+    private List<String> getRoutingKeys() {
+        switch (configuration.getActionOnData()) {
+        case UPDATE:
+        case DELETE:
+        case UPSERT:
+            return new ArrayList<>(ofNullable(configuration.getKeys()).orElse(emptyList()));
+        default:
+            return emptyList();
         }
     }
 
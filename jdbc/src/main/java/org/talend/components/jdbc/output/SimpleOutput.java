@@ -44,12 +44,23 @@ public class SimpleOutput extends Output implements Serializable {
 
     private Platform platform;
 
+    private final I18nMessage i18n;
+
+    private final OutputConfig configuration;
+
     public SimpleOutput(@Option("configuration") final OutputConfig configuration, final JdbcService jdbcService,
             final I18nMessage i18n) {
         super(configuration, jdbcService, i18n);
         this.platform =
                 this.getJdbcService().getPlatformService().getPlatform(configuration.getDataset().getConnection());
         this.queryManager = QueryManagerFactory.getQueryManager(platform, i18n, configuration);
+        this.i18n = i18n;
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected QueryManagerImpl newQueryManager() {
+        return QueryManagerFactory.getQueryManager(platform, i18n, configuration);
     }
 
     @Slf4j
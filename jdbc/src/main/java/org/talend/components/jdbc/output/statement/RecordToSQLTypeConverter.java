@@ -21,6 +21,9 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 
 public enum RecordToSQLTypeConverter {
 
@@ -82,8 +85,9 @@ public enum RecordToSQLTypeConverter {
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry,
                 final Record record)
                 throws SQLException {
-            if (record.getOptionalInt(entry.getName()).isPresent()) {
-                statement.setInt(index, record.getInt(entry.getName()));
+            final OptionalInt value = record.getOptionalInt(entry.getName());
+            if (value.isPresent()) {
+                statement.setInt(index, value.getAsInt());
             } else {
                 statement.setNull(index, Types.INTEGER);
             }
@@ -96,8 +100,9 @@ public enum RecordToSQLTypeConverter {
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry,
                 final Record record)
                 throws SQLException {
-            if (record.getOptionalLong(entry.getName()).isPresent()) {
-                statement.setLong(index, record.getLong(entry.getName()));
+            final OptionalLong value = record.getOptionalLong(entry.getName());
+            if (value.isPresent()) {
+                statement.setLong(index, value.getAsLong());
             } else {
                 statement.setNull(index, Types.BIGINT);
             }
@@ -110,8 +115,9 @@ public enum RecordToSQLTypeConverter {
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry,
                 final Record record)
                 throws SQLException {
-            if (record.getOptionalFloat(entry.getName()).isPresent()) {
-                statement.setFloat(index, record.getFloat(entry.getName()));
+            final OptionalDouble value = record.getOptionalFloat(entry.getName());
+            if (value.isPresent()) {
+                statement.setFloat(index, (float) value.getAsDouble());
             } else {
                 statement.setNull(index, Types.FLOAT);
             }
@@ -124,8 +130,9 @@ public enum RecordToSQLTypeConverter {
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry,
                 final Record record)
                 throws SQLException {
-            if (record.getOptionalDouble(entry.getName()).isPresent()) {
-                statement.setDouble(index, record.getDouble(entry.getName()));
+            final OptionalDouble value = record.getOptionalDouble(entry.getName());
+            if (value.isPresent()) {
+                statement.setDouble(index, value.getAsDouble());
             } else {
                 statement.setNull(index, Types.DOUBLE);
             }
@@ -138,8 +145,9 @@ public enum RecordToSQLTypeConverter {
         public void setValue(final PreparedStatement statement, final int index, final Schema.Entry entry,
                 final Record record)
                 throws SQLException {
-            if (record.getOptionalBoolean(entry.getName()).isPresent()) {
-                statement.setBoolean(index, record.getBoolean(entry.getName()));
+            final Optional<Boolean> value = record.getOptionalBoolean(entry.getName());
+            if (value.isPresent()) {
+                statement.setBoolean(index, value.get());
             } else {
                 statement.setNull(index, Types.BOOLEAN);
             }
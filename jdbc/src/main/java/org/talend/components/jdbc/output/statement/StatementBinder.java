@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.output.statement;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Bind the query parameters of a record to a statement. The converter of each parameter is resolved once when the
+ * binder is created, binding a record is then a plain loop over the setters.
+ */
+public final class StatementBinder {
+
+    private final Map<Integer, Schema.Entry> queryParams;
+
+    private final ParameterSetter[] setters;
+
+    private StatementBinder(final Map<Integer, Schema.Entry> queryParams) {
+        this.queryParams = queryParams;
+        this.setters = queryParams
+                .entrySet()
+                .stream()
+                .map(param -> newSetter(param.getKey(), param.getValue()))
+                .toArray(ParameterSetter[]::new);
+    }
+
+    /**
+     * @param queryParams the query parameters by index.
+     * @param previous the binder of the previous batch, reused when the query parameters didn't change.
+     * @return a binder for the query parameters.
+     */
+    public static StatementBinder of(final Map<Integer, Schema.Entry> queryParams, final StatementBinder previous) {
+        if (previous != null && previous.queryParams.equals(queryParams)) {
+            return previous;
+        }
+        return new StatementBinder(queryParams);
+    }
+
+    public void bind(final PreparedStatement statement, final Record record) throws SQLException {
+        for (final ParameterSetter setter : setters) {
+            setter.set(statement, record);
+        }
+    }
+
+    private static ParameterSetter newSetter(final int index, final Schema.Entry entry) {
+        final RecordToSQLTypeConverter converter = RecordToSQLTypeConverter.valueOf(entry.getType().name());
+        return (statement, record) -> converter.setValue(statement, index, entry, record);
+    }
+
+    @FunctionalInterface
+    public interface ParameterSetter {
+
+        void set(PreparedStatement statement, Record record) throws SQLException;
+    }
+}
@@ -35,6 +35,8 @@ public class Insert extends QueryManagerImpl {
 
     private final Map<String, String> queries = new HashMap<>();
 
+    private final Map<String, Map<Integer, Schema.Entry>> queriesParams = new HashMap<>();
+
     public Insert(final Platform platform, final OutputConfig configuration, final I18nMessage i18n) {
         super(platform, configuration, i18n);
     }
@@ -46,11 +48,15 @@ public class Insert extends QueryManagerImpl {
                 .flatMap(r -> r.getSchema().getEntries().stream())
                 .distinct()
                 .collect(toList());
-        return queries.computeIfAbsent(entries.stream().map(Schema.Entry::getOriginalFieldName).collect(joining("::")),
+        final String queryKey = entries.stream().map(Schema.Entry::getOriginalFieldName).collect(joining("::"));
+        namedParams = queriesParams.computeIfAbsent(queryKey, key -> {
+            final AtomicInteger index = new AtomicInteger(0);
+            final Map<Integer, Schema.Entry> params = new HashMap<>();
+            entries.forEach(name -> params.put(index.incrementAndGet(), name));
+            return params;
+        });
+        return queries.computeIfAbsent(queryKey,
                 key -> {
-                    final AtomicInteger index = new AtomicInteger(0);
-                    namedParams = new HashMap<>();
-                    entries.forEach(name -> namedParams.put(index.incrementAndGet(), name));
                     final List<Map.Entry<Integer, Schema.Entry>> params = namedParams
                             .entrySet()
                             .stream()
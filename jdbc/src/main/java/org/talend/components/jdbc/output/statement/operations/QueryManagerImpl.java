@@ -18,7 +18,7 @@ import org.talend.components.jdbc.configuration.OutputConfig;
 import org.talend.components.jdbc.output.Reject;
 import org.talend.components.jdbc.output.platforms.Platform;
 import org.talend.components.jdbc.output.statement.QueryManager;
-import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
+import org.talend.components.jdbc.output.statement.StatementBinder;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
 import org.talend.sdk.component.api.record.Record;
@@ -30,12 +30,12 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
@@ -55,6 +55,8 @@ public abstract class QueryManagerImpl implements QueryManager {
 
     private Integer retryCount = 0;
 
+    private StatementBinder binder;
+
     abstract protected String buildQuery(List<Record> records);
 
     abstract protected Map<Integer, Schema.Entry> getQueryParams();
@@ -78,7 +80,8 @@ public abstract class QueryManagerImpl implements QueryManager {
         do {
             rejects = new ArrayList<>();
             try (final PreparedStatement statement = connection.prepareStatement(query)) {
-                final Map<Integer, Integer> batchOrder = new HashMap<>();
+                binder = StatementBinder.of(getQueryParams(), binder);
+                final int[] batchOrder = new int[records.size()];
                 int recordIndex = -1;
                 int batchNumber = -1;
                 for (final Record record : records) {
@@ -88,15 +91,10 @@ public abstract class QueryManagerImpl implements QueryManager {
                         rejects.add(new Reject("missing required query param in this record", record));
                         continue;
                     }
-                    for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
-                        RecordToSQLTypeConverter
-                                .valueOf(entry.getValue().getType().name())
-                                .setValue(statement, entry.getKey(),
-                                        entry.getValue(), record);
-                    }
+                    binder.bind(statement, record);
                     statement.addBatch();
                     batchNumber++;
-                    batchOrder.put(batchNumber, recordIndex);
+                    batchOrder[batchNumber] = recordIndex;
                 }
 
                 try {
@@ -110,7 +108,7 @@ public abstract class QueryManagerImpl implements QueryManager {
                         connection.rollback();
                     }
                     if (!retry(e) || retryCount > maxRetry) {
-                        rejects.addAll(handleRejects(records, batchOrder, e));
+                        rejects.addAll(handleRejects(records, batchOrder, batchNumber + 1, e, connection, query));
                         break;
                     }
                     retryCount++;
@@ -135,22 +133,32 @@ public abstract class QueryManagerImpl implements QueryManager {
         return "40001".equals(ofNullable(e.getNextException()).orElse(e).getSQLState());
     }
 
-    private List<Reject> handleRejects(final List<Record> records, Map<Integer, Integer> batchOrder,
-            final SQLException e)
-            throws SQLException {
+    private List<Reject> handleRejects(final List<Record> records, final int[] batchOrder, final int batchSize,
+            final SQLException e, final Connection connection, final String query) throws SQLException {
         if (!(e instanceof BatchUpdateException)) {
             throw e;
         }
         final List<Reject> discards = new ArrayList<>();
         final int[] result = ((BatchUpdateException) e).getUpdateCounts();
+        // the batch was rolled back, the records which didn't fail can be executed again
+        final boolean bisect = getConfiguration().isBisectFailedBatches() && !connection.getAutoCommit();
+        final List<Record> remaining = new ArrayList<>();
         SQLException error = e;
-        if (result.length == records.size()) {
+        if (result.length == batchSize) {
+            boolean failed = false;
             for (int i = 0; i < result.length; i++) {
-                if (result[i] == Statement.EXECUTE_FAILED) {
+                if (result[i] == Statement.EXECUTE_FAILED && bisect && failed) {
+                    // some drivers (postgres) mark all statements after the first failure as failed,
+                    // sub batches find which of them really fail.
+                    remaining.add(records.get(batchOrder[i]));
+                } else if (result[i] == Statement.EXECUTE_FAILED) {
+                    failed = true;
                     error = ofNullable(error.getNextException()).orElse(error);
                     discards
                             .add(new Reject(error.getMessage(), error.getSQLState(), error.getErrorCode(),
-                                    records.get(batchOrder.get(i))));
+                                    records.get(batchOrder[i])));
+                } else if (bisect) {
+                    remaining.add(records.get(batchOrder[i]));
                 }
             }
         } else {
@@ -158,20 +166,60 @@ public abstract class QueryManagerImpl implements QueryManager {
             error = ofNullable(error.getNextException()).orElse(error);
             discards
                     .add(new Reject(error.getMessage(), error.getSQLState(), error.getErrorCode(),
-                            records.get(batchOrder.get(failurePoint))));
-            // todo we may retry for this sub list
-            discards
-                    .addAll(records
-                            .subList(batchOrder.get(failurePoint) + 1, records.size())
-                            .stream()
-                            .map(r -> new Reject("rejected due to error in previous elements error in this transaction",
-                                    r))
-                            .collect(toList()));
+                            records.get(batchOrder[failurePoint])));
+            if (bisect) {
+                for (int i = 0; i < batchSize; i++) {
+                    if (i != failurePoint) {
+                        remaining.add(records.get(batchOrder[i]));
+                    }
+                }
+            } else {
+                discards
+                        .addAll(records
+                                .subList(batchOrder[failurePoint] + 1, records.size())
+                                .stream()
+                                .map(r -> new Reject(
+                                        "rejected due to error in previous elements error in this transaction", r))
+                                .collect(toList()));
+            }
+        }
+        if (!remaining.isEmpty()) {
+            log.debug("Retrying {} records of the failed batch in sub batches", remaining.size());
+            discards.addAll(bisect(remaining, connection, query));
         }
 
         return discards;
     }
 
+    /**
+     * Execute the records as a batch, if it fails the batch is split in two halves executed separately until the
+     * failing records are isolated. Only used on transactional connections, a failed sub batch is rolled back.
+     */
+    private List<Reject> bisect(final List<Record> records, final Connection connection, final String query)
+            throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement(query)) {
+            for (final Record record : records) {
+                statement.clearParameters();
+                binder.bind(statement, record);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+            return emptyList();
+        } catch (final SQLException e) {
+            connection.rollback();
+            if (records.size() == 1) {
+                final SQLException error = ofNullable(e.getNextException()).orElse(e);
+                return singletonList(
+                        new Reject(error.getMessage(), error.getSQLState(), error.getErrorCode(), records.get(0)));
+            }
+            final int middle = records.size() / 2;
+            final List<Reject> discards = new ArrayList<>(bisect(records.subList(0, middle), connection, query));
+            discards.addAll(bisect(records.subList(middle, records.size()), connection, query));
+            return discards;
+        }
+    }
+
     public String namespace(final Connection connection) throws SQLException {
         String schenma = JdbcService.getSchema(connection);
         return (connection.getCatalog() != null && !connection.getCatalog().isEmpty()
@@ -17,7 +17,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.talend.components.jdbc.configuration.OutputConfig;
 import org.talend.components.jdbc.output.Reject;
 import org.talend.components.jdbc.output.platforms.Platform;
-import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
+import org.talend.components.jdbc.output.statement.StatementBinder;
 import org.talend.components.jdbc.service.I18nMessage;
 import org.talend.components.jdbc.service.JdbcService;
 import org.talend.sdk.component.api.record.Record;
@@ -114,18 +114,14 @@ public class UpsertDefault extends QueryManagerImpl {
         final List<Reject> discards = new ArrayList<>();
         try (final Connection connection = dataSource.getConnection()) {
             try (final PreparedStatement statement = connection.prepareStatement(query)) {
+                final StatementBinder binder = StatementBinder.of(getQueryParams(), null);
                 for (final Record record : records) {
                     statement.clearParameters();
                     if (!validateQueryParam(record)) {
                         discards.add(new Reject("missing required query param in this record", record));
                         continue;
                     }
-                    for (final Map.Entry<Integer, Schema.Entry> entry : getQueryParams().entrySet()) {
-                        RecordToSQLTypeConverter
-                                .valueOf(entry.getValue().getType().name())
-                                .setValue(statement, entry.getKey(),
-                                        entry.getValue(), record);
-                    }
+                    binder.bind(statement, record);
                     try (final ResultSet result = statement.executeQuery()) {
                         if (result.next() && result.getInt("RECORD_EXIST") > 0) {
                             needUpdate.add(record);
@@ -28,6 +28,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -141,6 +142,15 @@ public class JdbcService {
                 rewriteBatchedStatements);
     }
 
+    /**
+     * @param maxPoolSize the maximum number of connections opened at the same time by the data source
+     */
+    public JdbcDatasource createDataSource(final JdbcConnection connection, final boolean rewriteBatchedStatements,
+            final int maxPoolSize) {
+        return new JdbcDatasource(resolver, i18n, tokenClient, connection, this, false, rewriteBatchedStatements,
+                maxPoolSize);
+    }
+
     public PlatformService getPlatformService() {
         return this.platformService;
     }
@@ -157,6 +167,12 @@ public class JdbcService {
         public JdbcDatasource(final Resolver resolver, final I18nMessage i18n, final TokenClient tokenClient,
                 final JdbcConnection connection, final JdbcService jdbcService, final boolean isAutoCommit,
                 final boolean rewriteBatchedStatements) {
+            this(resolver, i18n, tokenClient, connection, jdbcService, isAutoCommit, rewriteBatchedStatements, 1);
+        }
+
+        public JdbcDatasource(final Resolver resolver, final I18nMessage i18n, final TokenClient tokenClient,
+                final JdbcConnection connection, final JdbcService jdbcService, final boolean isAutoCommit,
+                final boolean rewriteBatchedStatements, final int maxPoolSize) {
             final Driver driver = jdbcService.getPlatformService().getDriver(connection);
             this.driverId = driver.getId();
             final Thread thread = Thread.currentThread();
@@ -203,7 +219,7 @@ public class JdbcService {
                 } else {
                     dataSource.setAutoCommit(isAutoCommit);
                 }
-                dataSource.setMaximumPoolSize(1);
+                dataSource.setMaximumPoolSize(maxPoolSize);
                 dataSource.setConnectionTimeout(connection.getConnectionTimeOut() * 1000);
                 dataSource.setValidationTimeout(connection.getConnectionValidationTimeOut() * 1000);
                 jdbcService.getPlatformService().getPlatform(connection).addDataSourceProperties(dataSource);
@@ -307,8 +323,8 @@ public class JdbcService {
 
     /**
      * To avoid accessing {@link ResultSetMetaData} object for each cell of a table in
-     * {@link JdbcService#addColumn(Record.Builder, ColumnInfo, Object)}, the required information for each column
-     * is kept in this class.
+     * {@link JdbcService#newColumnReader(ColumnInfo, int)}, the required information for each column is kept in this
+     * class.
      * <p>
      * Accessing {@link ResultSetMetaData} object requires Class Loader switching, which is a source of high performance
      * overhead.
@@ -324,6 +340,22 @@ public class JdbcService {
         private final int sqlType;
 
         private final boolean isNullable;
+
+        /**
+         * The schema entry added for this column, reused for each row.
+         */
+        private final Schema.Entry entry;
+    }
+
+    /**
+     * Read one column of the current row of a {@link ResultSet} into a record.
+     * Readers are compiled once per query by {@link JdbcService#newColumnReader(ColumnInfo, int)}, they use the typed
+     * getters of the result set and the prebuilt schema entry so no per cell allocation nor type resolution is done.
+     */
+    @FunctionalInterface
+    public interface ColumnReader {
+
+        void read(final ResultSet resultSet, final Record.Builder builder) throws SQLException;
     }
 
     public ColumnInfo addField(final Schema.Builder builder, final ResultSetMetaData metaData, final int columnIndex) {
@@ -332,38 +364,36 @@ public class JdbcService {
             final int sqlType = metaData.getColumnType(columnIndex);
             final String columnName = metaData.getColumnName(columnIndex);
             final boolean isNullable = metaData.isNullable(columnIndex) != ResultSetMetaData.columnNoNulls;
-            final Schema.Entry.Builder entryBuilder = recordBuilderFactory.newEntryBuilder()
-                    .withName(columnName)
-                    .withNullable(isNullable);
+            final Schema.Type type;
             switch (sqlType) {
             case java.sql.Types.SMALLINT:
             case java.sql.Types.TINYINT:
             case java.sql.Types.INTEGER:
                 if (javaType.equals(Integer.class.getName()) || Short.class.getName().equals(javaType)) {
-                    builder.withEntry(entryBuilder.withType(INT).build());
+                    type = INT;
                 } else {
-                    builder.withEntry(entryBuilder.withType(LONG).build());
+                    type = LONG;
                 }
                 break;
             case java.sql.Types.FLOAT:
             case java.sql.Types.REAL:
-                builder.withEntry(entryBuilder.withType(FLOAT).build());
+                type = FLOAT;
                 break;
             case java.sql.Types.DOUBLE:
-                builder.withEntry(entryBuilder.withType(DOUBLE).build());
+                type = DOUBLE;
                 break;
             case java.sql.Types.BOOLEAN:
-                builder.withEntry(entryBuilder.withType(BOOLEAN).build());
+                type = BOOLEAN;
                 break;
             case java.sql.Types.TIME:
             case java.sql.Types.DATE:
             case java.sql.Types.TIMESTAMP:
-                builder.withEntry(entryBuilder.withType(DATETIME).build());
+                type = DATETIME;
                 break;
             case java.sql.Types.BINARY:
             case java.sql.Types.VARBINARY:
             case java.sql.Types.LONGVARBINARY:
-                builder.withEntry(entryBuilder.withType(BYTES).build());
+                type = BYTES;
                 break;
             case java.sql.Types.BIGINT:
             case java.sql.Types.DECIMAL:
@@ -372,80 +402,111 @@ public class JdbcService {
             case java.sql.Types.LONGVARCHAR:
             case java.sql.Types.CHAR:
             default:
-                builder.withEntry(entryBuilder.withType(STRING).build());
+                type = STRING;
                 break;
             }
+            final Schema.Entry entry = recordBuilderFactory
+                    .newEntryBuilder()
+                    .withName(columnName)
+                    .withNullable(isNullable)
+                    .withType(type)
+                    .build();
+            builder.withEntry(entry);
 
             log.warn("[addField] {} {} {}.", columnName, javaType, sqlType);
-            return new ColumnInfo(columnName, sqlType, isNullable);
+            return new ColumnInfo(columnName, sqlType, isNullable, entry);
         } catch (final SQLException e) {
             throw toIllegalStateException(e);
         }
     }
 
-    public void addColumn(final Record.Builder builder, final ColumnInfo columnInfo, final Object value) {
-        final Schema.Entry.Builder entryBuilder = recordBuilderFactory.newEntryBuilder()
-                .withName(columnInfo.getColumnName())
-                .withNullable(columnInfo.isNullable());
+    /**
+     * Compile the reader of a column, primitive values are read with the typed getters and
+     * {@link ResultSet#wasNull()} instead of being boxed by {@link ResultSet#getObject(int)}.
+     *
+     * @param columnInfo the column information returned by
+     * {@link JdbcService#addField(Schema.Builder, ResultSetMetaData, int)}
+     * @param columnIndex the index of the column in the result set, starting at 1
+     * @return the column reader
+     */
+    public ColumnReader newColumnReader(final ColumnInfo columnInfo, final int columnIndex) {
+        final Schema.Entry entry = columnInfo.getEntry();
         switch (columnInfo.getSqlType()) {
         case java.sql.Types.SMALLINT:
         case java.sql.Types.TINYINT:
         case java.sql.Types.INTEGER:
-            if (value != null) {
-                if (value instanceof Integer) {
-                    builder.withInt(entryBuilder.withType(INT).build(), (Integer) value);
-                } else if (value instanceof Short) {
-                    builder.withInt(entryBuilder.withType(INT).build(), ((Short) value).intValue());
-                } else {
-                    builder.withLong(entryBuilder.withType(LONG).build(), Long.parseLong(value.toString()));
-                }
+            if (entry.getType() == INT) {
+                return (resultSet, builder) -> {
+                    final int value = resultSet.getInt(columnIndex);
+                    if (!resultSet.wasNull()) {
+                        builder.withInt(entry, value);
+                    }
+                };
             }
-            break;
+            return (resultSet, builder) -> {
+                final long value = resultSet.getLong(columnIndex);
+                if (!resultSet.wasNull()) {
+                    builder.withLong(entry, value);
+                }
+            };
         case java.sql.Types.FLOAT:
         case java.sql.Types.REAL:
-            if (value != null) {
-                builder.withFloat(entryBuilder.withType(FLOAT).build(), (Float) value);
-            }
-            break;
+            return (resultSet, builder) -> {
+                final float value = resultSet.getFloat(columnIndex);
+                if (!resultSet.wasNull()) {
+                    builder.withFloat(entry, value);
+                }
+            };
         case java.sql.Types.DOUBLE:
-            if (value != null) {
-                builder.withDouble(entryBuilder.withType(DOUBLE).build(), (Double) value);
-            }
-            break;
+            return (resultSet, builder) -> {
+                final double value = resultSet.getDouble(columnIndex);
+                if (!resultSet.wasNull()) {
+                    builder.withDouble(entry, value);
+                }
+            };
         case java.sql.Types.BOOLEAN:
-            if (value != null) {
-                builder.withBoolean(entryBuilder.withType(BOOLEAN).build(), (Boolean) value);
-            }
-            break;
+            return (resultSet, builder) -> {
+                final boolean value = resultSet.getBoolean(columnIndex);
+                if (!resultSet.wasNull()) {
+                    builder.withBoolean(entry, value);
+                }
+            };
         case java.sql.Types.DATE:
-            builder
-                    .withDateTime(entryBuilder.withType(DATETIME).build(),
-                            value == null ? null : new Date(((java.sql.Date) value).getTime()));
-            break;
+            return (resultSet, builder) -> {
+                final java.sql.Date value = resultSet.getDate(columnIndex);
+                builder.withDateTime(entry, value == null ? null : new Date(value.getTime()));
+            };
         case java.sql.Types.TIME:
-            builder
-                    .withDateTime(entryBuilder.withType(DATETIME).build(),
-                            value == null ? null : new Date(((java.sql.Time) value).getTime()));
-            break;
+            return (resultSet, builder) -> {
+                final java.sql.Time value = resultSet.getTime(columnIndex);
+                builder.withDateTime(entry, value == null ? null : new Date(value.getTime()));
+            };
         case java.sql.Types.TIMESTAMP:
-            builder
-                    .withDateTime(entryBuilder.withType(DATETIME).build(),
-                            value == null ? null : new Date(((java.sql.Timestamp) value).getTime()));
-            break;
+            return (resultSet, builder) -> {
+                final java.sql.Timestamp value = resultSet.getTimestamp(columnIndex);
+                builder.withDateTime(entry, value == null ? null : new Date(value.getTime()));
+            };
         case java.sql.Types.BINARY:
         case java.sql.Types.VARBINARY:
         case java.sql.Types.LONGVARBINARY:
-            builder.withBytes(entryBuilder.withType(BYTES).build(), value == null ? null : (byte[]) value);
-            break;
-        case java.sql.Types.BIGINT:
+            return (resultSet, builder) -> builder.withBytes(entry, resultSet.getBytes(columnIndex));
         case java.sql.Types.DECIMAL:
         case java.sql.Types.NUMERIC:
+            return (resultSet, builder) -> {
+                final BigDecimal value = resultSet.getBigDecimal(columnIndex);
+                builder.withString(entry, value == null ? null : value.toString());
+            };
         case java.sql.Types.VARCHAR:
         case java.sql.Types.LONGVARCHAR:
         case java.sql.Types.CHAR:
+            return (resultSet, builder) -> builder.withString(entry, resultSet.getString(columnIndex));
+        case java.sql.Types.BIGINT:
+            // not read with getLong, unsigned bigint (mysql) overflows a long.
         default:
-            builder.withString(entryBuilder.withType(STRING).build(), value == null ? null : String.valueOf(value));
-            break;
+            return (resultSet, builder) -> {
+                final Object value = resultSet.getObject(columnIndex);
+                builder.withString(entry, value == null ? null : String.valueOf(value));
+            };
         }
     }
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.output;
+
+import static java.util.stream.Collectors.toList;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.talend.components.jdbc.containers.DerbyTestContainer;
+import org.talend.components.jdbc.containers.JdbcTestContainer;
+import org.talend.components.jdbc.containers.PostgresqlTestContainer;
+import org.talend.components.jdbc.output.statement.RecordToSQLTypeConverter;
+import org.talend.components.jdbc.output.statement.StatementBinder;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compare the bind cost of a 100k records batch with the legacy per parameter converter lookup and with the
+ * {@link StatementBinder}. The batch is bound then cleared, only the binding is measured.
+ * <p>
+ * Run it with : mvn test -Dtest.excluded=IT -Dgroups=Benchmark
+ */
+@Slf4j
+@Tag("Benchmark")
+@WithComponents("org.talend.components.jdbc")
+class StatementBinderBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+
+    private static final int ITERATIONS = 5;
+
+    @Service
+    private RecordBuilderFactory recordBuilderFactory;
+
+    static Stream<Supplier<JdbcTestContainer>> containers() {
+        return Stream.of(DerbyTestContainer::new, PostgresqlTestContainer::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("containers")
+    void compareBindCost(final Supplier<JdbcTestContainer> containerFactory) throws Exception {
+        final List<Record> records = createRecords();
+        final Map<Integer, Schema.Entry> params = new HashMap<>();
+        final List<Schema.Entry> entries = records.get(0).getSchema().getEntries();
+        IntStream.range(0, entries.size()).forEach(index -> params.put(index + 1, entries.get(index)));
+
+        try (final JdbcTestContainer container = containerFactory.get()) {
+            container.start();
+            try (final Connection connection = DriverManager
+                    .getConnection(container.getJdbcUrl(), container.getUsername(), container.getPassword())) {
+                try (final Statement statement = connection.createStatement()) {
+                    statement
+                            .executeUpdate("create table bind_benchmark (id integer, l bigint, d double precision, "
+                                    + "s1 varchar(64), s2 varchar(64), t timestamp, b boolean)");
+                }
+                long legacyTime = Long.MAX_VALUE;
+                long compiledTime = Long.MAX_VALUE;
+                try (final PreparedStatement statement = connection
+                        .prepareStatement("insert into bind_benchmark values (?, ?, ?, ?, ?, ?, ?)")) {
+                    for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+                        legacyTime = Math.min(legacyTime, bindLegacy(statement, params, records));
+                        compiledTime = Math.min(compiledTime, bindCompiled(statement, params, records));
+                    }
+                }
+                log
+                        .info("[StatementBinderBenchmark] {} legacy: {} rows/sec, compiled: {} rows/sec",
+                                container.getDatabaseType(), rowsPerSecond(legacyTime), rowsPerSecond(compiledTime));
+            }
+        }
+    }
+
+    private long bindLegacy(final PreparedStatement statement, final Map<Integer, Schema.Entry> params,
+            final List<Record> records) throws SQLException {
+        final long start = System.nanoTime();
+        for (final Record record : records) {
+            statement.clearParameters();
+            for (final Map.Entry<Integer, Schema.Entry> entry : params.entrySet()) {
+                RecordToSQLTypeConverter
+                        .valueOf(entry.getValue().getType().name())
+                        .setValue(statement, entry.getKey(), entry.getValue(), record);
+            }
+            statement.addBatch();
+        }
+        final long time = System.nanoTime() - start;
+        statement.clearBatch();
+        return time;
+    }
+
+    private long bindCompiled(final PreparedStatement statement, final Map<Integer, Schema.Entry> params,
+            final List<Record> records) throws SQLException {
+        final long start = System.nanoTime();
+        final StatementBinder binder = StatementBinder.of(params, null);
+        for (final Record record : records) {
+            statement.clearParameters();
+            binder.bind(statement, record);
+            statement.addBatch();
+        }
+        final long time = System.nanoTime() - start;
+        statement.clearBatch();
+        return time;
+    }
+
+    private List<Record> createRecords() {
+        final Schema schema = recordBuilderFactory
+                .newSchemaBuilder(RECORD)
+                .withEntry(newEntry("id", Schema.Type.INT))
+                .withEntry(newEntry("l", Schema.Type.LONG))
+                .withEntry(newEntry("d", Schema.Type.DOUBLE))
+                .withEntry(newEntry("s1", Schema.Type.STRING))
+                .withEntry(newEntry("s2", Schema.Type.STRING))
+                .withEntry(newEntry("t", Schema.Type.DATETIME))
+                .withEntry(newEntry("b", Schema.Type.BOOLEAN))
+                .build();
+        final ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        return IntStream
+                .range(0, ROWS)
+                .mapToObj(row -> recordBuilderFactory
+                        .newRecordBuilder(schema)
+                        .withInt("id", row)
+                        .withLong("l", row * 10_000_000_000L)
+                        .withDouble("d", row / 3d)
+                        .withString("s1", "first " + row)
+                        .withString("s2", row % 10 == 0 ? null : "second " + row)
+                        .withDateTime("t", now.plusSeconds(row))
+                        .withBoolean("b", row % 2 == 0)
+                        .build())
+                .collect(toList());
+    }
+
+    private Schema.Entry newEntry(final String name, final Schema.Type type) {
+        return recordBuilderFactory.newEntryBuilder().withName(name).withType(type).withNullable(true).build();
+    }
+
+    private static long rowsPerSecond(final long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.jdbc.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.talend.sdk.component.api.record.Schema.Type.BOOLEAN;
+import static org.talend.sdk.component.api.record.Schema.Type.BYTES;
+import static org.talend.sdk.component.api.record.Schema.Type.DATETIME;
+import static org.talend.sdk.component.api.record.Schema.Type.DOUBLE;
+import static org.talend.sdk.component.api.record.Schema.Type.FLOAT;
+import static org.talend.sdk.component.api.record.Schema.Type.INT;
+import static org.talend.sdk.component.api.record.Schema.Type.LONG;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+import static org.talend.sdk.component.api.record.Schema.Type.STRING;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compare the rows/sec of the legacy mapping of {@link ResultSet#getObject(int)} values with the compiled
+ * {@link JdbcService.ColumnReader} on an embedded derby table.
+ * <p>
+ * Run it with : mvn test -Dtest.excluded=IT -Dgroups=Benchmark
+ */
+@Slf4j
+@Tag("Benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithComponents("org.talend.components.jdbc")
+class ColumnReaderBenchmarkTest {
+
+    private static final String URL = "jdbc:derby:memory:columnReaderBenchmark;create=true";
+
+    private static final int ROWS = 100_000;
+
+    private static final int ITERATIONS = 5;
+
+    @Service
+    private JdbcService jdbcService;
+
+    @Service
+    private RecordBuilderFactory recordBuilderFactory;
+
+    private Connection connection;
+
+    @BeforeAll
+    void createTable() throws SQLException {
+        connection = DriverManager.getConnection(URL);
+        try (final Statement statement = connection.createStatement()) {
+            statement
+                    .executeUpdate("create table wide (id integer not null, l bigint, d double, f real, "
+                            + "s1 varchar(64), s2 varchar(64), s3 varchar(64), t timestamp, dt date, "
+                            + "b boolean, n decimal(18, 4), bin varbinary(16))");
+        }
+        connection.setAutoCommit(false);
+        try (final PreparedStatement insert =
+                connection.prepareStatement("insert into wide values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int row = 0; row < ROWS; row++) {
+                insert.setInt(1, row);
+                insert.setLong(2, row * 10_000_000_000L);
+                insert.setDouble(3, row / 3d);
+                insert.setFloat(4, row / 7f);
+                insert.setString(5, "first " + row);
+                insert.setString(6, row % 10 == 0 ? null : "second " + row);
+                insert.setString(7, "third " + row);
+                insert.setTimestamp(8, new Timestamp(1_600_000_000_000L + row));
+                insert.setDate(9, new java.sql.Date(1_600_000_000_000L));
+                insert.setBoolean(10, row % 2 == 0);
+                insert.setBigDecimal(11, BigDecimal.valueOf(row, 4));
+                insert.setBytes(12, ("b" + row).getBytes(StandardCharsets.UTF_8));
+                insert.addBatch();
+                if (row % 1000 == 999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    @AfterAll
+    void dropTable() throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.executeUpdate("drop table wide");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Test
+    void compareRowsPerSecond() throws SQLException {
+        final List<Record> legacy = new ArrayList<>(ROWS);
+        final List<Record> compiled = new ArrayList<>(ROWS);
+        long legacyTime = Long.MAX_VALUE;
+        long compiledTime = Long.MAX_VALUE;
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            legacy.clear();
+            compiled.clear();
+            legacyTime = Math.min(legacyTime, read(legacy, false));
+            compiledTime = Math.min(compiledTime, read(compiled, true));
+        }
+        log
+                .info("[ColumnReaderBenchmark] legacy: {} rows/sec, compiled: {} rows/sec", rowsPerSecond(legacyTime),
+                        rowsPerSecond(compiledTime));
+
+        assertEquals(ROWS, legacy.size());
+        assertEquals(ROWS, compiled.size());
+        IntStream
+                .of(0, 1, ROWS / 2, ROWS - 1)
+                .forEach(index -> assertSameValues(legacy.get(index), compiled.get(index)));
+    }
+
+    private void assertSameValues(final Record expected, final Record actual) {
+        expected.getSchema().getEntries().forEach(entry -> {
+            if (entry.getType() == Schema.Type.BYTES) {
+                assertArrayEquals(expected.getBytes(entry.getName()), actual.getBytes(entry.getName()));
+            } else {
+                assertEquals(expected.get(Object.class, entry.getName()), actual.get(Object.class, entry.getName()));
+            }
+        });
+    }
+
+    private long read(final List<Record> records, final boolean compiledReaders) throws SQLException {
+        final long start = System.nanoTime();
+        try (final Statement statement = connection.createStatement();
+                final ResultSet resultSet = statement.executeQuery("select * from wide order by id")) {
+            final ResultSetMetaData metaData = resultSet.getMetaData();
+            final Schema.Builder schemaBuilder = recordBuilderFactory.newSchemaBuilder(RECORD);
+            final JdbcService.ColumnInfo[] columns = IntStream
+                    .rangeClosed(1, metaData.getColumnCount())
+                    .mapToObj(index -> jdbcService.addField(schemaBuilder, metaData, index))
+                    .toArray(JdbcService.ColumnInfo[]::new);
+            final Schema schema = schemaBuilder.build();
+            final JdbcService.ColumnReader[] readers = IntStream
+                    .range(0, columns.length)
+                    .mapToObj(index -> jdbcService.newColumnReader(columns[index], index + 1))
+                    .toArray(JdbcService.ColumnReader[]::new);
+            while (resultSet.next()) {
+                final Record.Builder builder = recordBuilderFactory.newRecordBuilder(schema);
+                if (compiledReaders) {
+                    for (final JdbcService.ColumnReader reader : readers) {
+                        reader.read(resultSet, builder);
+                    }
+                } else {
+                    for (int index = 0; index < columns.length; index++) {
+                        addColumn(builder, columns[index], resultSet.getObject(index + 1));
+                    }
+                }
+                records.add(builder.build());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * The mapping used before the compiled readers, from the boxed value of {@link ResultSet#getObject(int)}.
+     */
+    private void addColumn(final Record.Builder builder, final JdbcService.ColumnInfo columnInfo, final Object value) {
+        final Schema.Entry.Builder entryBuilder = recordBuilderFactory.newEntryBuilder()
+                .withName(columnInfo.getColumnName())
+                .withNullable(columnInfo.isNullable());
+        switch (columnInfo.getSqlType()) {
+        case java.sql.Types.SMALLINT:
+        case java.sql.Types.TINYINT:
+        case java.sql.Types.INTEGER:
+            if (value != null) {
+                if (value instanceof Integer) {
+                    builder.withInt(entryBuilder.withType(INT).build(), (Integer) value);
+                } else if (value instanceof Short) {
+                    builder.withInt(entryBuilder.withType(INT).build(), ((Short) value).intValue());
+                } else {
+                    builder.withLong(entryBuilder.withType(LONG).build(), Long.parseLong(value.toString()));
+                }
+            }
+            break;
+        case java.sql.Types.FLOAT:
+        case java.sql.Types.REAL:
+            if (value != null) {
+                builder.withFloat(entryBuilder.withType(FLOAT).build(), (Float) value);
+            }
+            break;
+        case java.sql.Types.DOUBLE:
+            if (value != null) {
+                builder.withDouble(entryBuilder.withType(DOUBLE).build(), (Double) value);
+            }
+            break;
+        case java.sql.Types.BOOLEAN:
+            if (value != null) {
+                builder.withBoolean(entryBuilder.withType(BOOLEAN).build(), (Boolean) value);
+            }
+            break;
+        case java.sql.Types.DATE:
+            builder
+                    .withDateTime(entryBuilder.withType(DATETIME).build(),
+                            value == null ? null : new Date(((java.sql.Date) value).getTime()));
+            break;
+        case java.sql.Types.TIME:
+            builder
+                    .withDateTime(entryBuilder.withType(DATETIME).build(),
+                            value == null ? null : new Date(((java.sql.Time) value).getTime()));
+            break;
+        case java.sql.Types.TIMESTAMP:
+            builder
+                    .withDateTime(entryBuilder.withType(DATETIME).build(),
+                            value == null ? null : new Date(((java.sql.Timestamp) value).getTime()));
+            break;
+        case java.sql.Types.BINARY:
+        case java.sql.Types.VARBINARY:
+        case java.sql.Types.LONGVARBINARY:
+            builder.withBytes(entryBuilder.withType(BYTES).build(), value == null ? null : (byte[]) value);
+            break;
+        case java.sql.Types.BIGINT:
+        case java.sql.Types.DECIMAL:
+        case java.sql.Types.NUMERIC:
+        case java.sql.Types.VARCHAR:
+        case java.sql.Types.LONGVARCHAR:
+        case java.sql.Types.CHAR:
+        default:
+            builder.withString(entryBuilder.withType(STRING).build(), value == null ? null : String.valueOf(value));
+            break;
+        }
+    }
+
+    private static long rowsPerSecond(final long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
@@ -65,6 +65,7 @@ import org.talend.components.jdbc.containers.JdbcTestContainer;
 import org.talend.components.jdbc.dataset.SqlQueryDataset;
 import org.talend.components.jdbc.dataset.TableNameDataset;
 import org.talend.components.jdbc.datastore.JdbcConnection;
+import org.talend.components.jdbc.input.TableNameInputMapper;
 import org.talend.components.jdbc.output.platforms.Platform;
 import org.talend.components.jdbc.service.JdbcService;
 import org.talend.sdk.component.api.record.Record;
@@ -73,6 +74,7 @@ import org.talend.sdk.component.api.service.completion.SuggestionValues;
 import org.talend.sdk.component.api.service.healthcheck.HealthCheckStatus;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.junit5.WithComponents;
+import org.talend.sdk.component.runtime.input.Mapper;
 import org.talend.sdk.component.runtime.manager.chain.Job;
 import org.testcontainers.shaded.org.apache.commons.lang3.RandomStringUtils;
 
@@ -601,6 +603,27 @@ public abstract class JDBCBaseContainerTest {
                             .run());
         }
 
+        @Test
+        @DisplayName("TableName - partitioned read")
+        void partitionedTableName(final TestInfo testInfo) {
+            final int rowCount = 50;
+            final int partitions = 4;
+            final String testTableName = getTestTableName(testInfo);
+            insertRows(testTableName, rowCount, false, null);
+            final InputTableNameConfig config = new InputTableNameConfig();
+            config.setDataSet(newTableNameDataset(testTableName));
+            config.getPartitioning().setPartitioned(true);
+            config.getPartitioning().setPartitionColumn("id");
+            config.getPartitioning().setMaxPartitions(partitions);
+            final Mapper mapper = getComponentsHandler().createMapper(TableNameInputMapper.class, config);
+            assertEquals(partitions, mapper.split(mapper.assess() / partitions).size());
+
+            final List<Record> collectedData = getComponentsHandler()
+                    .collect(Record.class, mapper, rowCount * 2, partitions)
+                    .collect(toList());
+            assertEquals(rowCount, collectedData.size());
+        }
+
         @Test
         @DisplayName("TableName - valid table name with null values")
         void validTableNameWithNullValues(final TestInfo testInfo) {
@@ -910,6 +933,33 @@ public abstract class JDBCBaseContainerTest {
             Assertions.assertEquals(rowCount, countAll(testTableName));
         }
 
+        @Test
+        @DisplayName("Insert - duplicate records with failed batches bisection")
+        void insertDuplicateRecordsWithBisection(final TestInfo testInfo) {
+            final String testTableName = getTestTableName(testInfo);
+            final int existingRecords = 5;
+            insertRows(testTableName, existingRecords, false, null);
+            final OutputConfig configuration = new OutputConfig();
+            configuration.setDataset(newTableNameDataset(testTableName));
+            configuration.setActionOnData(OutputConfig.ActionOnData.INSERT.name());
+            configuration.setKeys(asList("id"));
+            configuration.setBisectFailedBatches(true);
+            final String config = configurationByExample().forInstance(configuration).configured().toQueryString();
+            final int rowCount = existingRecords * 4;
+            Job
+                    .components()
+                    .component("rowGenerator",
+                            "jdbcTest://RowGenerator?"
+                                    + rowGeneratorConfig(rowCount, false, null, withBoolean, withBytes))
+                    .component("jdbcOutput", "Jdbc://Output?" + config)
+                    .connections()
+                    .from("rowGenerator")
+                    .to("jdbcOutput")
+                    .build()
+                    .run();
+            Assertions.assertEquals(rowCount, countAll(testTableName));
+        }
+
         @Test
         @DisplayName("Delete - valid query")
         void delete(final TestInfo testInfo) {
@@ -1097,6 +1147,44 @@ public abstract class JDBCBaseContainerTest {
                                     .collect(toSet()));
         }
 
+        @Test
+        @DisplayName("Upsert - pipelined execution")
+        void pipelinedUpsert(final TestInfo testInfo) {
+            final int existingRecords = 40;
+            final String testTableName = getTestTableName(testInfo);
+            insertRows(testTableName, existingRecords, false, null);
+            final OutputConfig configuration = new OutputConfig();
+            configuration.setDataset(newTableNameDataset(testTableName));
+            configuration.setActionOnData(OutputConfig.ActionOnData.UPSERT.name());
+            configuration.setKeys(singletonList("id"));
+            configuration.setPipelinedExecution(true);
+            configuration.setPipelineConnections(3);
+            final String updateConfig =
+                    configurationByExample().forInstance(configuration).configured().toQueryString();
+            final int newRecords = existingRecords * 2;
+            Job
+                    .components()
+                    .component("rowGenerator",
+                            "jdbcTest://RowGenerator?"
+                                    + rowGeneratorConfig(newRecords, false, "updated", withBoolean, withBytes))
+                    .component("jdbcOutput", "Jdbc://Output?" + updateConfig)
+                    .connections()
+                    .from("rowGenerator")
+                    .to("jdbcOutput")
+                    .build()
+                    .run();
+
+            final List<Record> users = readAll(testTableName, this.getComponentsHandler());
+            Assertions.assertEquals(newRecords, users.size());
+            Assertions
+                    .assertEquals(IntStream.rangeClosed(1, newRecords).mapToObj(i -> "updated" + i).collect(toSet()),
+                            users
+                                    .stream()
+                                    .map(r -> ofNullable(r.getString("t_string"))
+                                            .orElseGet(() -> r.getString("T_STRING")))
+                                    .collect(toSet()));
+        }
+
         @Test
         @DisplayName("Insert - Date type handling")
         void dateTypesTest(final TestInfo testInfo) {
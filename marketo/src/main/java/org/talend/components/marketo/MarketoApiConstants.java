@@ -16,6 +16,8 @@ public class MarketoApiConstants {
 
     public static final String ATTR_ACCESS_TOKEN = "access_token";
 
+    public static final String ATTR_EXPIRES_IN = "expires_in";
+
     public static final String ATTR_ACTION = "action";
 
     public static final String ATTR_CAMPAIGN_ID = "campaignId";
@@ -135,7 +137,44 @@ public class MarketoApiConstants {
 
     public static final String DATETIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
+    public static final String ATTR_EXPORT_ID = "exportId";
+
+    public static final String ATTR_FORMAT = "format";
+
+    public static final String ATTR_FILTER = "filter";
+
+    public static final String ATTR_START_AT = "startAt";
+
+    public static final String ATTR_END_AT = "endAt";
+
+    public static final String ATTR_STATIC_LIST_ID = "staticListId";
+
+    public static final String ATTR_ACTIVITY_TYPE_IDS = "activityTypeIds";
+
+    public static final String BULK_EXPORT_FORMAT_CSV = "CSV";
+
+    public static final String BULK_ENTITY_LEADS = "leads";
+
+    public static final String BULK_ENTITY_ACTIVITIES = "activities";
+
+    public static final String BULK_STATUS_COMPLETED = "Completed";
+
+    public static final String BULK_STATUS_FAILED = "Failed";
+
+    public static final String BULK_STATUS_CANCELLED = "Cancelled";
+
+    /** largest date range of an export filter */
+    public static final int BULK_EXPORT_MAX_DAYS = 31;
+
     public static final int REST_API_LIMIT = 300;
 
     public static final int HTTP_STATUS_OK = 200;
+
+    /** REST API calls allowed by subscription in a time window */
+    public static final int REST_API_CALLS_BY_WINDOW = 100;
+
+    public static final long REST_API_WINDOW_MILLIS = 20_000L;
+
+    /** REST API calls processed at a time by subscription */
+    public static final int REST_API_MAX_CONCURRENT_CALLS = 10;
 }
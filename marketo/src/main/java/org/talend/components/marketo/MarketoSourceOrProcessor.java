@@ -13,6 +13,7 @@
 package org.talend.components.marketo;
 
 import java.io.Serializable;
+import java.util.function.Function;
 
 import javax.annotation.PostConstruct;
 import javax.json.JsonArray;
@@ -68,6 +69,13 @@ public class MarketoSourceOrProcessor implements Serializable {
         return marketoService.getErrors(errors);
     }
 
+    /**
+     * Call REST API through the shared scheduler, with a valid access token.
+     */
+    protected Response<JsonObject> call(Function<String, Response<JsonObject>> request) {
+        return marketoService.call(dataSet.getDataStore(), request);
+    }
+
     protected JsonObject handleResponse(Response<JsonObject> response) {
         return marketoService.handleResponse(response);
     }
@@ -15,6 +15,9 @@ package org.talend.components.marketo.dataset;
 import java.io.Serializable;
 
 import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.constraint.Max;
+import org.talend.sdk.component.api.configuration.constraint.Min;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.meta.Documentation;
 
@@ -25,6 +28,13 @@ import lombok.ToString;
 @GridLayout({ //
         @GridLayout.Row({ "dataSet" }), //
 }) //
+@GridLayout(names = GridLayout.FormType.ADVANCED, value = { //
+        @GridLayout.Row({ "dataSet" }), //
+        @GridLayout.Row({ "prefetchPages" }), //
+        @GridLayout.Row({ "bulkExtract" }), //
+        @GridLayout.Row({ "exportWindowDays" }), //
+        @GridLayout.Row({ "pollInterval", "exportTimeout" }), //
+}) //
 @Documentation("Marketo Source Configuration")
 @ToString(callSuper = true)
 public class MarketoInputConfiguration implements Serializable {
@@ -38,4 +48,36 @@ public class MarketoInputConfiguration implements Serializable {
     @Documentation("Marketo DataSet")
     private MarketoDataSet dataSet;
 
+    @Option
+    @Min(0)
+    @ActiveIf(target = "bulkExtract", value = "false")
+    @Documentation("Number of pages fetched in advance while current page is read, 0 to fetch pages on demand")
+    private int prefetchPages = 1;
+
+    /*
+     * Bulk Extract
+     */
+    @Option
+    @Documentation("Extract with Bulk Extract API: export jobs create CSV files, instead of paging through REST API")
+    private boolean bulkExtract = false;
+
+    @Option
+    @Min(1)
+    @Max(31)
+    @ActiveIf(target = "bulkExtract", value = "true")
+    @Documentation("Days of activities exported by each job, jobs of different windows run in parallel")
+    private int exportWindowDays = 7;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkExtract", value = "true")
+    @Documentation("Seconds between export job status requests")
+    private int pollInterval = 30;
+
+    @Option
+    @Min(1)
+    @ActiveIf(target = "bulkExtract", value = "true")
+    @Documentation("Minutes before an export job not completed is cancelled")
+    private int exportTimeout = 60;
+
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.common.stream.api.input.RecordReader;
+import org.talend.components.common.stream.format.HeaderLine;
+import org.talend.components.common.stream.format.csv.CSVConfiguration;
+import org.talend.components.marketo.MarketoRuntimeException;
+import org.talend.components.marketo.MarketoSourceOrProcessor;
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
+import org.talend.components.marketo.dataset.MarketoInputConfiguration;
+import org.talend.components.marketo.datastore.MarketoDataStore;
+import org.talend.components.marketo.service.BulkExtractClient;
+import org.talend.components.marketo.service.MarketoService;
+import org.talend.components.marketo.service.RequestScheduler;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.service.http.Response;
+
+import lombok.extern.slf4j.Slf4j;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACTIVITY_TYPE_IDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_CREATED_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_END_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ERRORS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FIELDS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FILTER;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_FORMAT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_RESULT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_START_AT;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATIC_LIST_ID;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_STATUS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_SUCCESS;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_ENTITY_ACTIVITIES;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_ENTITY_LEADS;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_EXPORT_FORMAT_CSV;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_CANCELLED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_COMPLETED;
+import static org.talend.components.marketo.MarketoApiConstants.BULK_STATUS_FAILED;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE_APPLICATION_JSON;
+import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_OK;
+import static org.talend.components.marketo.service.BulkExtractClient.ERROR_EXPORT_QUEUE_FULL;
+
+/**
+ * Reads leads of a list, or activities, with Bulk Extract API instead of paging through REST API.
+ * An export job is created for the list, or for each window of activities. Once completed, its CSV file is streamed
+ * to records of the entity schema.
+ */
+@Slf4j
+public class BulkExtractSource extends MarketoSourceOrProcessor {
+
+    private final MarketoInputConfiguration configuration;
+
+    private final RecordIORepository ioRepository;
+
+    /** activities windows, one export job by window. Leads of a list are exported by one job */
+    private final List<ExportWindow> windows;
+
+    private final BulkExtractClient bulkExtractClient;
+
+    private transient Map<String, Entry> schema;
+
+    private transient int exports;
+
+    private transient String exportId;
+
+    private transient boolean completed;
+
+    private transient RecordReader reader;
+
+    private transient Iterator<Record> lines;
+
+    public BulkExtractSource(@Option("configuration") final MarketoInputConfiguration configuration, //
+            final MarketoService service, //
+            final RecordIORepository ioRepository, //
+            final List<ExportWindow> windows) {
+        super(configuration.getDataSet(), service);
+        this.configuration = configuration;
+        this.ioRepository = ioRepository;
+        this.windows = windows;
+        this.bulkExtractClient = service.getBulkExtractClient();
+        this.bulkExtractClient.base(getDataStore().getEndpoint());
+    }
+
+    @PostConstruct
+    public void init() {
+        super.init();
+        schema = new HashMap<>();
+        marketoService.getEntitySchema(configuration).getEntries().forEach(entry -> schema.put(entry.getName(), entry));
+    }
+
+    @Producer
+    public Record next() {
+        while (lines == null || !lines.hasNext()) {
+            if (!extractNext()) {
+                return null;
+            }
+        }
+        return marketoService.convertToRecord(lines.next(), schema);
+    }
+
+    @PreDestroy
+    public void release() {
+        closeReader();
+        if (exportId != null && !completed) {
+            cancelExport();
+        }
+    }
+
+    /**
+     * Run export job of next window, and open its file.
+     *
+     * @return false when all windows are exported.
+     */
+    private boolean extractNext() {
+        closeReader();
+        if (exports >= (isActivities() ? windows.size() : 1)) {
+            return false;
+        }
+        final ExportWindow window = isActivities() ? windows.get(exports) : null;
+        exports++;
+        final long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(configuration.getExportTimeout());
+        completed = false;
+        exportId = createExport(window);
+        enqueueExport(deadline);
+        waitForCompletion(deadline);
+
+        final String id = exportId;
+        final Response<InputStream> file = RequestScheduler
+                .of(getDataStore().getEndpoint())
+                .execute(() -> bulkExtractClient
+                        .getExportFile(getEntity(), id, marketoService.getAccessToken(getDataStore())));
+        if (file.status() != HTTP_STATUS_OK) {
+            throw new MarketoRuntimeException(i18n.bulkExportFileError(exportId, file.status()));
+        }
+        reader = ioRepository
+                .findReader(CSVConfiguration.class)
+                .getReader(marketoService.getRecordBuilder(), getCsvConfiguration());
+        lines = reader.read(file.body());
+        return true;
+    }
+
+    private String createExport(final ExportWindow window) {
+        final JsonObjectBuilder filter = jsonFactory.createObjectBuilder();
+        final JsonObjectBuilder payload = jsonFactory.createObjectBuilder().add(ATTR_FORMAT, BULK_EXPORT_FORMAT_CSV);
+        if (isActivities()) {
+            filter
+                    .add(ATTR_CREATED_AT, jsonFactory
+                            .createObjectBuilder()
+                            .add(ATTR_START_AT, window.formatStartAt())
+                            .add(ATTR_END_AT, window.formatEndAt()));
+            if (!configuration.getDataSet().getActivityTypeIds().isEmpty()) {
+                final JsonArrayBuilder activityTypeIds = jsonFactory.createArrayBuilder();
+                configuration
+                        .getDataSet()
+                        .getActivityTypeIds()
+                        .forEach(id -> activityTypeIds.add(Integer.parseInt(id)));
+                filter.add(ATTR_ACTIVITY_TYPE_IDS, activityTypeIds);
+            }
+        } else {
+            final JsonArrayBuilder fields = jsonFactory.createArrayBuilder();
+            schema.keySet().forEach(fields::add);
+            payload.add(ATTR_FIELDS, fields);
+            filter.add(ATTR_STATIC_LIST_ID, Integer.parseInt(configuration.getDataSet().getListId()));
+        }
+        final JsonObject request = payload.add(ATTR_FILTER, filter).build();
+        log.debug("[createExport] {}", request);
+        final JsonObject job = getJob(handleResponse(call(token -> bulkExtractClient
+                .createExport(HEADER_CONTENT_TYPE_APPLICATION_JSON, getEntity(), token, request))));
+        log.info("[createExport] {} export job {} created for {}.", getEntity(), job.getString(ATTR_EXPORT_ID), window);
+        return job.getString(ATTR_EXPORT_ID);
+    }
+
+    /**
+     * Enqueue export job, waiting while the queue of the subscription is full.
+     */
+    private void enqueueExport(final long deadline) {
+        final String id = exportId;
+        while (true) {
+            final Response<JsonObject> response =
+                    call(token -> bulkExtractClient.enqueueExport(getEntity(), id, token));
+            if (response.status() != HTTP_STATUS_OK || response.body().getBoolean(ATTR_SUCCESS, true)
+                    || !marketoService.hasError(response.body().getJsonArray(ATTR_ERRORS), ERROR_EXPORT_QUEUE_FULL)) {
+                handleResponse(response);
+                return;
+            }
+            log.info("[enqueueExport] Export queue full, export job {} waits.", id);
+            pause(deadline);
+        }
+    }
+
+    private void waitForCompletion(final long deadline) {
+        final String id = exportId;
+        while (true) {
+            final JsonObject job =
+                    getJob(handleResponse(call(token -> bulkExtractClient.getExportStatus(getEntity(), id, token))));
+            final String status = job.getString(ATTR_STATUS);
+            log.debug("[waitForCompletion] export job {} : {}.", id, job);
+            if (BULK_STATUS_COMPLETED.equals(status)) {
+                completed = true;
+                return;
+            }
+            if (BULK_STATUS_FAILED.equals(status) || BULK_STATUS_CANCELLED.equals(status)) {
+                completed = true;
+                throw new MarketoRuntimeException(i18n.bulkExportFailed(id, status, job.getString("errorMsg", "")));
+            }
+            pause(deadline);
+        }
+    }
+
+    private void pause(final long deadline) {
+        final long interval = TimeUnit.SECONDS.toMillis(configuration.getPollInterval());
+        if (System.currentTimeMillis() + interval > deadline) {
+            cancelExport();
+            throw new MarketoRuntimeException(i18n.bulkExportTimeout(exportId, configuration.getExportTimeout()));
+        }
+        try {
+            Thread.sleep(interval);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoRuntimeException(e.getMessage());
+        }
+    }
+
+    private void cancelExport() {
+        final String id = exportId;
+        completed = true;
+        try {
+            call(token -> bulkExtractClient.cancelExport(getEntity(), id, token));
+        } catch (RuntimeException e) {
+            log.warn("[cancelExport] Can't cancel export job {}: {}.", id, e.getMessage());
+        }
+    }
+
+    private void closeReader() {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+            lines = null;
+        }
+    }
+
+    private JsonObject getJob(final JsonObject response) {
+        return response.getJsonArray(ATTR_RESULT).getJsonObject(0);
+    }
+
+    /**
+     * Marketo files are RFC 4180 : comma separated values, with header, quotes doubled in quoted values.
+     */
+    private CSVConfiguration getCsvConfiguration() {
+        final CSVConfiguration csv = new CSVConfiguration();
+        csv.setQuotedValue('"');
+        csv.setEscape('"');
+        final HeaderLine header = new HeaderLine();
+        header.setActive(true);
+        header.setSize(1);
+        csv.getLineConfiguration().setHeader(header);
+        return csv;
+    }
+
+    private boolean isActivities() {
+        return LeadAction.getLeadActivity.equals(configuration.getDataSet().getLeadAction());
+    }
+
+    private String getEntity() {
+        return isActivities() ? BULK_ENTITY_ACTIVITIES : BULK_ENTITY_LEADS;
+    }
+
+    private MarketoDataStore getDataStore() {
+        return configuration.getDataSet().getDataStore();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import java.io.Serializable;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Value;
+
+/**
+ * Date range of activities exported by a Bulk Extract job.
+ */
+@Value
+public class ExportWindow implements Serializable {
+
+    private final ZonedDateTime startAt;
+
+    private final ZonedDateTime endAt;
+
+    /**
+     * Split a date range in consecutive windows.
+     *
+     * @param since start of the range
+     * @param until end of the range
+     * @param days days by window
+     * @return windows, from the oldest one
+     */
+    public static List<ExportWindow> split(final ZonedDateTime since, final ZonedDateTime until, final int days) {
+        final List<ExportWindow> windows = new ArrayList<>();
+        ZonedDateTime start = since.withZoneSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        final ZonedDateTime end = until.withZoneSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        while (start.isBefore(end)) {
+            final ZonedDateTime next = start.plusDays(days);
+            final ZonedDateTime windowEnd = next.isBefore(end) ? next : end;
+            windows.add(new ExportWindow(start, windowEnd));
+            start = windowEnd;
+        }
+        return windows;
+    }
+
+    public String formatStartAt() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(startAt);
+    }
+
+    public String formatEndAt() {
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(endAt);
+    }
+}
@@ -12,8 +12,6 @@
  */
 package org.talend.components.marketo.input;
 
-import java.time.Period;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.EnumMap;
 import java.util.function.Supplier;
@@ -22,7 +20,6 @@ import java.util.stream.Collectors;
 import javax.json.JsonObject;
 
 import org.talend.components.marketo.dataset.MarketoDataSet;
-import org.talend.components.marketo.dataset.MarketoDataSet.DateTimeMode;
 import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.service.LeadClient;
@@ -72,7 +69,7 @@ public class LeadSource extends MarketoSource {
     private JsonObject getLeadsByListId() {
         Integer listId = Integer.parseInt(configuration.getDataSet().getListId());
         String fields = schema.keySet().stream().collect(Collectors.joining(","));
-        return handleResponse(listClient.getLeadsByListId(accessToken, nextPageToken, listId, fields));
+        return handleResponse(call(token -> listClient.getLeadsByListId(token, nextPageToken, listId, fields)));
     }
 
     private Boolean isLeadUrlSizeGreaterThan8k(String filterType, String filterValues, String fields) {
@@ -105,17 +102,9 @@ public class LeadSource extends MarketoSource {
     }
 
     private String computeDateTimeFromConfiguration() {
-        String result;
-        if (DateTimeMode.absolute.equals(configuration.getDataSet().getDateTimeMode())) {
-            result = configuration.getDataSet().getSinceDateTimeAbsolute();
-        } else {
-            result = ZonedDateTime
-                    .now()
-                    .minus(Period.parse(configuration.getDataSet().getSinceDateTimeRelative().getRelativeOffset()))
-                    .format(DateTimeFormatter.ofPattern(DATETIME_FORMAT));
-        }
-
-        return result;
+        return marketoService
+                .getSinceDateTime(configuration.getDataSet())
+                .format(DateTimeFormatter.ofPattern(DATETIME_FORMAT));
     }
 
     /**
@@ -134,16 +123,18 @@ public class LeadSource extends MarketoSource {
             activityTypeIds = configuration.getDataSet().getActivityTypeIds().stream().collect(joining(","));
         }
         String listId = configuration.getDataSet().getListId();
-        return handleResponse(
-                leadClient.getLeadActivities(accessToken, nextPageToken, activityTypeIds, "", listId, ""));
+        final String activityTypes = activityTypeIds;
+        return handleResponse(call(
+                token -> leadClient.getLeadActivities(token, nextPageToken, activityTypes, "", listId, "")));
     }
 
     public JsonObject getActivities() {
-        return handleResponse(leadClient.getActivities(accessToken));
+        return handleResponse(call(leadClient::getActivities));
     }
 
     public String getPagingToken(String dateTime) {
-        return handleResponse(leadClient.getPagingToken(accessToken, dateTime)).getString(ATTR_NEXT_PAGE_TOKEN);
+        return handleResponse(call(token -> leadClient.getPagingToken(token, dateTime)))
+                .getString(ATTR_NEXT_PAGE_TOKEN);
     }
 
 }
@@ -13,11 +13,16 @@
 package org.talend.components.marketo.input;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.marketo.MarketoSourceOrProcessor;
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.service.AuthorizationClient;
 import org.talend.components.marketo.service.MarketoService;
@@ -34,6 +39,7 @@ import org.talend.sdk.component.api.meta.Documentation;
 
 import lombok.extern.slf4j.Slf4j;
 
+import static org.talend.components.marketo.MarketoApiConstants.BULK_EXPORT_MAX_DAYS;
 import static org.talend.components.marketo.MarketoApiConstants.REST_API_LIMIT;
 
 @Slf4j
@@ -49,10 +55,17 @@ public class MarketoInputMapper implements Serializable {
 
     private AuthorizationClient authorizationClient;
 
+    private RecordIORepository ioRepository;
+
+    /** activities windows exported by this mapper, all of them when not split */
+    private List<ExportWindow> windows;
+
     public MarketoInputMapper(@Option("configuration") final MarketoInputConfiguration configuration, //
-            final MarketoService service) {
+            final MarketoService service, //
+            final RecordIORepository ioRepository) {
         this.configuration = configuration;
         this.service = service;
+        this.ioRepository = ioRepository;
         authorizationClient = service.getAuthorizationClient();
         log.debug("[MarketoInputMapper] {}", configuration);
         authorizationClient.base(configuration.getDataSet().getDataStore().getEndpoint());
@@ -68,14 +81,42 @@ public class MarketoInputMapper implements Serializable {
         return REST_API_LIMIT;
     }
 
+    /**
+     * With Bulk Extract API, activities are split by date windows, exported by parallel jobs.
+     */
     @Split
     public List<MarketoInputMapper> split(@PartitionSize final long bundles) {
-        return Collections.singletonList(this);
+        if (!isBulkExtractOfActivities() || getWindows().isEmpty()) {
+            return Collections.singletonList(this);
+        }
+        return getWindows().stream().map(window -> {
+            MarketoInputMapper mapper = new MarketoInputMapper(configuration, service, ioRepository);
+            mapper.windows = Collections.singletonList(window);
+            return mapper;
+        }).collect(Collectors.toList());
     }
 
     @Emitter
-    public MarketoSource createWorker() {
+    public MarketoSourceOrProcessor createWorker() {
+        if (configuration.isBulkExtract()) {
+            return new BulkExtractSource(configuration, service, ioRepository,
+                    isBulkExtractOfActivities() ? getWindows() : Collections.emptyList());
+        }
         return new LeadSource(configuration, service);
     }
 
+    private boolean isBulkExtractOfActivities() {
+        return configuration.isBulkExtract()
+                && LeadAction.getLeadActivity.equals(configuration.getDataSet().getLeadAction());
+    }
+
+    private List<ExportWindow> getWindows() {
+        if (windows == null) {
+            int days = Math.max(1, Math.min(BULK_EXPORT_MAX_DAYS, configuration.getExportWindowDays()));
+            windows = ExportWindow
+                    .split(service.getSinceDateTime(configuration.getDataSet()), ZonedDateTime.now(), days);
+        }
+        return windows;
+    }
+
 }
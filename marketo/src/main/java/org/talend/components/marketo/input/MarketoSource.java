@@ -17,10 +17,12 @@ import java.util.Iterator;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
 
+import org.talend.components.common.collections.PagePrefetcher;
 import org.talend.components.marketo.MarketoSourceOrProcessor;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.service.MarketoService;
@@ -50,6 +52,11 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
 
     protected Iterator<JsonValue> resultIterator;
 
+    /** next pages of results, fetched in advance */
+    private transient PagePrefetcher<JsonArray> pages;
+
+    private transient boolean lastPage;
+
     public MarketoSource(@Option("configuration") final MarketoInputConfiguration configuration, //
             final MarketoService service) {
         super(configuration.getDataSet(), service);
@@ -71,7 +78,11 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
     public void init() {
         super.init();
         schema = buildSchemaMap(marketoService.getEntitySchema(configuration));
-        processBatch();
+        lastPage = false;
+        // first page is fetched here, so that configuration errors are raised by init.
+        JsonArray firstPage = fetchPage();
+        resultIterator = firstPage == null ? null : firstPage.iterator();
+        pages = new PagePrefetcher<>("marketo", configuration.getPrefetchPages(), this::fetchPage);
     }
     /*
      * Flow management
@@ -79,39 +90,43 @@ public abstract class MarketoSource extends MarketoSourceOrProcessor {
 
     @Producer
     public Record next() {
-        JsonValue next = null;
         if (resultIterator == null) {
             return null;
         }
-        boolean hasNext = resultIterator.hasNext();
-        if (hasNext) {
-            next = resultIterator.next();
-        } else if (nextPageToken != null) {
-            processBatch();
-            next = resultIterator.hasNext() ? resultIterator.next() : null;
+        while (!resultIterator.hasNext()) {
+            JsonArray page = pages.next();
+            if (page == null) {
+                return null;
+            }
+            resultIterator = page.iterator();
         }
-        return next == null ? null : marketoService.convertToRecord(next.asJsonObject(), schema);
+        return marketoService.convertToRecord(resultIterator.next().asJsonObject(), schema);
     }
 
-    public void processBatch() {
-        JsonObject result = runAction();
-        nextPageToken = result.getString(ATTR_NEXT_PAGE_TOKEN, null);
-        JsonArray requestResult = result.getJsonArray(ATTR_RESULT);
-        Boolean hasMore = result.getBoolean(ATTR_MORE_RESULT, true);
-        if (!hasMore && requestResult != null) {
-            resultIterator = requestResult.iterator();
-            nextPageToken = null;
-            return;
+    @PreDestroy
+    public void release() {
+        if (pages != null) {
+            pages.close();
         }
-        while (nextPageToken != null && requestResult == null && hasMore) {
-            result = runAction();
+    }
+
+    /**
+     * Fetch next page of results, skipping pages without result.
+     * Once started, only the prefetching thread runs actions, so it's the only one using the paging token.
+     *
+     * @return results of next page, or null when all pages were fetched.
+     */
+    protected JsonArray fetchPage() {
+        while (!lastPage) {
+            JsonObject result = runAction();
             nextPageToken = result.getString(ATTR_NEXT_PAGE_TOKEN, null);
-            requestResult = result.getJsonArray(ATTR_RESULT);
-            hasMore = result.getBoolean(ATTR_MORE_RESULT, true);
-        }
-        if (requestResult != null) {
-            resultIterator = requestResult.iterator();
+            JsonArray requestResult = result.getJsonArray(ATTR_RESULT);
+            lastPage = nextPageToken == null || !result.getBoolean(ATTR_MORE_RESULT, true);
+            if (requestResult != null) {
+                return requestResult;
+            }
         }
+        return null;
     }
 
     public abstract JsonObject runAction();
@@ -88,7 +88,8 @@ public class LeadStrategy extends OutputComponentStrategy implements ProcessorSt
     }
 
     private JsonObject deleteLeads(JsonObject payload) {
-        return handleResponse(leadClient.deleteLeads(HEADER_CONTENT_TYPE_APPLICATION_JSON, accessToken, payload));
+        return handleResponse(
+                call(token -> leadClient.deleteLeads(HEADER_CONTENT_TYPE_APPLICATION_JSON, token, payload)));
     }
 
     private void addLeadsInList(List<JsonObject> leads) {
@@ -97,8 +98,8 @@ public class LeadStrategy extends OutputComponentStrategy implements ProcessorSt
             builder.add(jsonFactory.createObjectBuilder().add(ATTR_ID, lead.getInt(ATTR_ID)));
         }
         JsonObject listPayload = jsonFactory.createObjectBuilder().add(ATTR_INPUT, builder.build()).build();
-        handleListResponse(
-                listClient.addToList(HEADER_CONTENT_TYPE_APPLICATION_JSON, accessToken, listId, listPayload));
+        handleListResponse(call(
+                token -> listClient.addToList(HEADER_CONTENT_TYPE_APPLICATION_JSON, token, listId, listPayload)));
     }
 
     private void handleListResponse(Response<JsonObject> response) {
@@ -123,7 +124,7 @@ public class LeadStrategy extends OutputComponentStrategy implements ProcessorSt
 
     private JsonObject syncLeads(JsonObject payload) {
         Response<JsonObject> response =
-                leadClient.syncLeads(HEADER_CONTENT_TYPE_APPLICATION_JSON, accessToken, payload);
+                call(token -> leadClient.syncLeads(HEADER_CONTENT_TYPE_APPLICATION_JSON, token, payload));
         if (response.status() == MarketoApiConstants.HTTP_STATUS_OK && response.body().getBoolean(ATTR_SUCCESS)) {
             addLeadsInList(response
                     .body()
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JVM wide cache of access tokens, by Marketo endpoint and client id, shared by all components of a subscription.
+ * A token is renewed a bit before its expiration, so that calls are not sent with an expiring token.
+ */
+@Slf4j
+public class AccessTokenCache {
+
+    /** time before expiration when a token is renewed */
+    static final long REFRESH_MARGIN_MILLIS = 60_000L;
+
+    private static final ConcurrentMap<String, AccessToken> TOKENS = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<>();
+
+    private AccessTokenCache() {
+    }
+
+    /**
+     * Get a valid token, retrieved from Marketo when none or when cached one expires soon.
+     *
+     * @param key endpoint and client id.
+     * @param retriever request of a new token to Marketo.
+     * @return access token.
+     */
+    static String get(String key, Supplier<AccessToken> retriever) {
+        AccessToken token = TOKENS.get(key);
+        if (token != null && !token.needsRefresh()) {
+            return token.getToken();
+        }
+        // only one component of this JVM retrieves the token, the others wait for it.
+        synchronized (LOCKS.computeIfAbsent(key, k -> new Object())) {
+            token = TOKENS.get(key);
+            if (token != null && !token.needsRefresh()) {
+                return token.getToken();
+            }
+            try {
+                final AccessToken retrieved = retriever.get();
+                TOKENS.put(key, retrieved);
+                return retrieved.getToken();
+            } catch (RuntimeException e) {
+                if (token != null && !token.isExpired()) {
+                    log.warn("[AccessTokenCache] Can't renew access token, current one used: {}.", e.getMessage());
+                    return token.getToken();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Forget a token refused by Marketo, unless another one replaced it already.
+     */
+    static void invalidate(String key, String token) {
+        TOKENS.computeIfPresent(key, (k, cached) -> cached.getToken().equals(token) ? null : cached);
+    }
+
+    /**
+     * Forget all tokens, when a subscription's credentials changed.
+     */
+    public static void clear() {
+        TOKENS.clear();
+    }
+
+    @Getter
+    static class AccessToken {
+
+        private final String token;
+
+        private final long expiresAt;
+
+        private final long refreshAt;
+
+        AccessToken(String token, long expiresInSeconds) {
+            final long now = System.currentTimeMillis();
+            this.token = token;
+            this.expiresAt = now + expiresInSeconds * 1000L;
+            // Marketo returns the current token until its expiration, then it's only renewed once expired.
+            final long refresh = expiresAt - REFRESH_MARGIN_MILLIS;
+            this.refreshAt = refresh > now ? refresh : expiresAt;
+        }
+
+        boolean needsRefresh() {
+            return System.currentTimeMillis() >= refreshAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
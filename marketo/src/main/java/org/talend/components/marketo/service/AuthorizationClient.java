@@ -35,6 +35,10 @@ public interface AuthorizationClient extends HttpClient {
 
     String ERROR_TOKEN_EXPIRED = "602";
 
+    String ERROR_RATE_LIMIT = "606";
+
+    String ERROR_CONCURRENCY_LIMIT = "615";
+
     String RECOVERABLE_ERRORS_PATTERN = "(502|604|606|608|611|614|615)";
 
     /**
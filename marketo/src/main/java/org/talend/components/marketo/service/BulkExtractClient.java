@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import java.io.InputStream;
+
+import javax.json.JsonObject;
+
+import org.talend.sdk.component.api.service.http.Header;
+import org.talend.sdk.component.api.service.http.HttpClient;
+import org.talend.sdk.component.api.service.http.Path;
+import org.talend.sdk.component.api.service.http.Query;
+import org.talend.sdk.component.api.service.http.Request;
+import org.talend.sdk.component.api.service.http.Response;
+
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_ACCESS_TOKEN;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPORT_ID;
+import static org.talend.components.marketo.MarketoApiConstants.HEADER_CONTENT_TYPE;
+import static org.talend.components.marketo.MarketoApiConstants.METHOD_POST;
+
+/**
+ * Client for Bulk Extract API : export jobs of leads or activities, as files.
+ *
+ * An export job is created, then enqueued. When its status is Completed, its file can be retrieved.
+ */
+public interface BulkExtractClient extends HttpClient {
+
+    String ENTITY = "entity";
+
+    /** too many export jobs in queue, or daily export quota exceeded */
+    String ERROR_EXPORT_QUEUE_FULL = "1029";
+
+    /**
+     * Create an export job.
+     *
+     * @param contentType application/json
+     * @param entity leads or activities
+     * @param accessToken Marketo authorization token for API
+     * @param payload is json object containing the following parameters
+     * <ul>
+     * <li>@param format File format, CSV</li>
+     * <li>@param fields List of fields to export (leads only)</li>
+     * <li>@param filter Date range (31 days max), static list id, activity type ids</li>
+     * </ul>
+     * @return export job with its exportId
+     */
+    @Request(path = "/bulk/v1/{entity}/export/create.json", method = METHOD_POST)
+    Response<JsonObject> createExport( //
+            @Header(HEADER_CONTENT_TYPE) String contentType, //
+            @Path(ENTITY) String entity, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken, //
+            JsonObject payload //
+    );
+
+    /**
+     * Put an export job in queue, it will be processed when resources are available.
+     *
+     * @param entity leads or activities
+     * @param exportId export job id
+     * @param accessToken Marketo authorization token for API
+     * @return export job status
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/enqueue.json", method = METHOD_POST)
+    Response<JsonObject> enqueueExport( //
+            @Path(ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+
+    /**
+     * Returns status of an export job : Created, Queued, Processing, Cancelled, Completed or Failed.
+     *
+     * @param entity leads or activities
+     * @param exportId export job id
+     * @param accessToken Marketo authorization token for API
+     * @return export job status
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/status.json")
+    Response<JsonObject> getExportStatus( //
+            @Path(ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+
+    /**
+     * Cancel an export job.
+     *
+     * @param entity leads or activities
+     * @param exportId export job id
+     * @param accessToken Marketo authorization token for API
+     * @return export job status
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/cancel.json", method = METHOD_POST)
+    Response<JsonObject> cancelExport( //
+            @Path(ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+
+    /**
+     * Returns file of a completed export job, streamed.
+     *
+     * @param entity leads or activities
+     * @param exportId export job id
+     * @param accessToken Marketo authorization token for API
+     * @return file content
+     */
+    @Request(path = "/bulk/v1/{entity}/export/{exportId}/file.json")
+    Response<InputStream> getExportFile( //
+            @Path(ENTITY) String entity, //
+            @Path(ATTR_EXPORT_ID) String exportId, //
+            @Query(ATTR_ACCESS_TOKEN) String accessToken //
+    );
+}
@@ -32,4 +32,10 @@ public interface I18nMessage {
     String invalidFields();
 
     String invalidDateTime();
+
+    String bulkExportFailed(String exportId, String status, String message);
+
+    String bulkExportTimeout(String exportId, int minutes);
+
+    String bulkExportFileError(String exportId, int status);
 }
@@ -15,9 +15,17 @@ package org.talend.components.marketo.service;
 import java.io.StringReader;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import javax.json.JsonArray;
 import javax.json.JsonBuilderFactory;
@@ -30,6 +38,7 @@ import javax.json.JsonWriterFactory;
 
 import org.talend.components.marketo.MarketoRuntimeException;
 import org.talend.components.marketo.dataset.MarketoDataSet;
+import org.talend.components.marketo.dataset.MarketoDataSet.DateTimeMode;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.datastore.MarketoDataStore;
 import org.talend.sdk.component.api.record.Record;
@@ -56,6 +65,7 @@ import static org.talend.components.marketo.MarketoApiConstants.ATTR_CAMPAIGN_ID
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_CODE;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_CREATED_AT;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ERRORS;
+import static org.talend.components.marketo.MarketoApiConstants.ATTR_EXPIRES_IN;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_FIELDS;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_ID;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_LEAD_ID;
@@ -73,6 +83,8 @@ import static org.talend.components.marketo.MarketoApiConstants.ATTR_UPDATED_AT;
 import static org.talend.components.marketo.MarketoApiConstants.ATTR_WORKSPACE_NAME;
 import static org.talend.components.marketo.MarketoApiConstants.HTTP_STATUS_OK;
 import static org.talend.components.marketo.service.AuthorizationClient.CLIENT_CREDENTIALS;
+import static org.talend.components.marketo.service.AuthorizationClient.ERROR_CONCURRENCY_LIMIT;
+import static org.talend.components.marketo.service.AuthorizationClient.ERROR_RATE_LIMIT;
 
 @Accessors
 @Slf4j
@@ -81,6 +93,16 @@ public class MarketoService {
 
     protected static final String DATETIME = "datetime";
 
+    /** retries of a call refused for expired token or exceeded quota */
+    static final int MAX_CALL_RETRIES = 5;
+
+    static final long RATE_LIMIT_PAUSE_MILLIS = 5_000L;
+
+    static final long CONCURRENCY_LIMIT_PAUSE_MILLIS = 1_000L;
+
+    /** lifetime of Marketo access tokens, used when the token response does not give it */
+    static final int DEFAULT_TOKEN_LIFETIME_SECONDS = 3600;
+
     @Getter
     @Service
     protected I18nMessage i18n;
@@ -125,6 +147,10 @@ public class MarketoService {
     @Service
     protected ListClient listClient;
 
+    @Getter
+    @Service
+    protected BulkExtractClient bulkExtractClient;
+
     public void initClients(MarketoDataStore dataStore) {
         authorizationClient.base(dataStore.getEndpoint());
         leadClient.base(dataStore.getEndpoint());
@@ -132,6 +158,7 @@ public class MarketoService {
         customObjectClient.base(dataStore.getEndpoint());
         companyClient.base(dataStore.getEndpoint());
         opportunityClient.base(dataStore.getEndpoint());
+        bulkExtractClient.base(dataStore.getEndpoint());
     }
 
     /**
@@ -139,17 +166,85 @@ public class MarketoService {
      */
     public String retrieveAccessToken(@Configuration("configuration") final MarketoDataSet dataSet) {
         initClients(dataSet.getDataStore());
-        Response<JsonObject> result = authorizationClient
-                .getAuthorizationToken(CLIENT_CREDENTIALS,
-                        dataSet.getDataStore().getClientId(), dataSet.getDataStore().getClientSecret());
-        log.debug("[retrieveAccessToken] [{}] : {}.", result.status(), result.body());
-        if (result.status() == 200) {
-            return result.body().getString(ATTR_ACCESS_TOKEN);
-        } else {
-            String error = i18n.accessTokenRetrievalError(result.status(), result.headers().toString());
-            log.error("[retrieveAccessToken] {}", error);
-            throw new MarketoRuntimeException(error);
+        return getAccessToken(dataSet.getDataStore());
+    }
+
+    /**
+     * Get an access token, shared by all components using the same endpoint and client id.
+     */
+    public String getAccessToken(final MarketoDataStore dataStore) {
+        return AccessTokenCache.get(getTokenKey(dataStore), () -> {
+            Response<JsonObject> result = authorizationClient
+                    .getAuthorizationToken(CLIENT_CREDENTIALS, dataStore.getClientId(), dataStore.getClientSecret());
+            log.debug("[retrieveAccessToken] [{}] : {}.", result.status(), result.body());
+            if (result.status() == 200) {
+                if (!result.body().containsKey(ATTR_EXPIRES_IN)) {
+                    log.warn("[retrieveAccessToken] No {} given, token kept {} seconds.", ATTR_EXPIRES_IN,
+                            DEFAULT_TOKEN_LIFETIME_SECONDS);
+                }
+                return new AccessTokenCache.AccessToken(result.body().getString(ATTR_ACCESS_TOKEN),
+                        result.body().getInt(ATTR_EXPIRES_IN, DEFAULT_TOKEN_LIFETIME_SECONDS));
+            } else {
+                String error = i18n.accessTokenRetrievalError(result.status(), result.headers().toString());
+                log.error("[retrieveAccessToken] {}", error);
+                throw new MarketoRuntimeException(error);
+            }
+        });
+    }
+
+    /**
+     * Call REST API with a valid access token, through the scheduler of the endpoint.
+     * Calls refused for an expired token or an exceeded quota are retried.
+     *
+     * @param dataStore the Marketo subscription
+     * @param request the call, given an access token
+     * @return the http response
+     */
+    public Response<JsonObject> call(final MarketoDataStore dataStore,
+            final Function<String, Response<JsonObject>> request) {
+        final RequestScheduler scheduler = RequestScheduler.of(dataStore.getEndpoint());
+        Response<JsonObject> response = null;
+        for (int attempt = 0; attempt <= MAX_CALL_RETRIES; attempt++) {
+            final String token = getAccessToken(dataStore);
+            response = scheduler.execute(() -> request.apply(token));
+            final JsonArray errors = getResponseErrors(response);
+            if (errors == null) {
+                return response;
+            }
+            if (authorizationClient.isAccessTokenExpired(errors)) {
+                AccessTokenCache.invalidate(getTokenKey(dataStore), token);
+            } else if (hasError(errors, ERROR_RATE_LIMIT)) {
+                scheduler.pause(RATE_LIMIT_PAUSE_MILLIS);
+            } else if (hasError(errors, ERROR_CONCURRENCY_LIMIT)) {
+                scheduler.pause(CONCURRENCY_LIMIT_PAUSE_MILLIS);
+            } else {
+                return response;
+            }
+            log.warn("[call] Attempt {} refused: {}.", attempt + 1, getErrors(errors));
         }
+        return response;
+    }
+
+    private String getTokenKey(final MarketoDataStore dataStore) {
+        return dataStore.getEndpoint() + "|" + dataStore.getClientId();
+    }
+
+    private JsonArray getResponseErrors(final Response<JsonObject> response) {
+        if (response.status() == HTTP_STATUS_OK && response.body() != null
+                && !response.body().getBoolean(ATTR_SUCCESS, true)) {
+            return response.body().getJsonArray(ATTR_ERRORS);
+        }
+        return null;
+    }
+
+    /**
+     * Checks in returned errors if one of them has the given code.
+     */
+    public boolean hasError(final JsonArray errors, final String code) {
+        return errors != null && errors
+                .getValuesAs(JsonObject.class)
+                .stream()
+                .anyMatch(error -> code.equals(error.getString(ATTR_CODE, null)));
     }
 
     public String getFieldsFromDescribeFormatedForApi(JsonArray fields) {
@@ -204,9 +299,7 @@ public class MarketoService {
     public Schema getEntitySchema(final MarketoDataStore dataStore) {
         try {
             initClients(dataStore);
-            String accessToken = authorizationClient.getAccessToken(dataStore);
-            JsonArray entitySchema = null;
-            entitySchema = parseResultFromResponse(leadClient.describeLead(accessToken));
+            JsonArray entitySchema = parseResultFromResponse(call(dataStore, leadClient::describeLead));
             return getSchemaForEntity(entitySchema);
         } catch (Exception e) {
             log.error(i18n.exceptionOccured(e.getMessage()));
@@ -409,6 +502,69 @@ public class MarketoService {
         return record;
     }
 
+    /**
+     * Convert a line of a bulk extract file, with string values only, to a record of the entity schema.
+     *
+     * @param line values read from CSV file
+     * @param schema entity schema
+     * @return record
+     */
+    public Record convertToRecord(final Record line, final Map<String, Entry> schema) {
+        Record.Builder b = getRecordBuilder().newRecordBuilder();
+        for (Entry entry : schema.values()) {
+            String key = entry.getName();
+            String value = line.getOptionalString(key).filter(v -> !v.isEmpty()).orElse(null);
+            switch (entry.getType()) {
+            case INT:
+                b.withInt(key, value != null ? Integer.parseInt(value) : 0);
+                break;
+            case LONG:
+                b.withLong(key, value != null ? Long.parseLong(value) : 0);
+                break;
+            case FLOAT:
+            case DOUBLE:
+                b.withDouble(key, value != null ? Double.parseDouble(value) : 0);
+                break;
+            case BOOLEAN:
+                b.withBoolean(key, Boolean.parseBoolean(value));
+                break;
+            case DATETIME:
+                try {
+                    b
+                            .withDateTime(key,
+                                    value != null ? new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'").parse(value)
+                                            : null);
+                } catch (ParseException e1) {
+                    log.error("[convertToRecord] Date parsing error: {}.", e1.getMessage());
+                }
+                break;
+            default:
+                b.withString(key, value);
+            }
+        }
+        return b.build();
+    }
+
+    /**
+     * Earliest date time of activities to retrieve, from the dataset date mode.
+     *
+     * @param dataSet Marketo dataset
+     * @return since date time
+     */
+    public ZonedDateTime getSinceDateTime(final MarketoDataSet dataSet) {
+        if (DateTimeMode.absolute.equals(dataSet.getDateTimeMode())) {
+            // time is optional
+            final DateTimeFormatter format = new DateTimeFormatterBuilder()
+                    .appendPattern("yyyy-MM-dd[ HH:mm:ss]")
+                    .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                    .toFormatter();
+            return LocalDateTime
+                    .parse(dataSet.getSinceDateTimeAbsolute().trim(), format)
+                    .atZone(ZoneId.systemDefault());
+        }
+        return ZonedDateTime.now().minus(Period.parse(dataSet.getSinceDateTimeRelative().getRelativeOffset()));
+    }
+
     /**
      * Convert Marketo Errors array to a single String (generally for Exception throwing).
      *
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import static org.talend.components.marketo.MarketoApiConstants.REST_API_CALLS_BY_WINDOW;
+import static org.talend.components.marketo.MarketoApiConstants.REST_API_MAX_CONCURRENT_CALLS;
+import static org.talend.components.marketo.MarketoApiConstants.REST_API_WINDOW_MILLIS;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import org.talend.components.marketo.MarketoRuntimeException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Schedules REST API calls of a Marketo subscription within its quotas: calls by time window, and concurrent calls.
+ * The rate is given by a token bucket refilled continuously. Bucket size plus refill during a window is the quota
+ * of the window, so that calls are sent at the quota ceiling and are not rejected by Marketo.
+ * One scheduler by endpoint is shared by all components of the JVM.
+ */
+@Slf4j
+public class RequestScheduler {
+
+    private static final ConcurrentMap<String, RequestScheduler> SCHEDULERS = new ConcurrentHashMap<>();
+
+    private final Semaphore concurrentCalls;
+
+    private final int bucketSize;
+
+    private final double refillByMilli;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    /** no call is sent before this time, set when Marketo rejects calls anyway */
+    private long pausedUntil;
+
+    RequestScheduler(int callsByWindow, long windowMillis, int maxConcurrentCalls) {
+        this.concurrentCalls = new Semaphore(maxConcurrentCalls, true);
+        this.bucketSize = Math.min(maxConcurrentCalls, callsByWindow / 2);
+        this.refillByMilli = (double) (callsByWindow - bucketSize) / windowMillis;
+        this.tokens = bucketSize;
+        this.refilledAt = System.currentTimeMillis();
+    }
+
+    public static RequestScheduler of(String endpoint) {
+        return SCHEDULERS
+                .computeIfAbsent(endpoint, e -> new RequestScheduler(REST_API_CALLS_BY_WINDOW, REST_API_WINDOW_MILLIS,
+                        REST_API_MAX_CONCURRENT_CALLS));
+    }
+
+    /**
+     * Run a call when quotas allow it.
+     */
+    public <T> T execute(Supplier<T> call) {
+        try {
+            concurrentCalls.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoRuntimeException(e.getMessage());
+        }
+        try {
+            long wait;
+            while ((wait = reserve()) > 0) {
+                Thread.sleep(wait);
+            }
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MarketoRuntimeException(e.getMessage());
+        } finally {
+            concurrentCalls.release();
+        }
+    }
+
+    /**
+     * Hold all calls for some time, when Marketo rejected a call for exceeded quota.
+     */
+    public synchronized void pause(long millis) {
+        log.debug("[RequestScheduler] calls paused for {} ms.", millis);
+        pausedUntil = Math.max(pausedUntil, System.currentTimeMillis() + millis);
+        tokens = 0;
+    }
+
+    /**
+     * Take a token if any.
+     *
+     * @return 0 when a token is taken, or time to wait before next one.
+     */
+    private synchronized long reserve() {
+        final long now = System.currentTimeMillis();
+        if (now < pausedUntil) {
+            return pausedUntil - now;
+        }
+        tokens = Math.min(bucketSize, tokens + (now - Math.max(refilledAt, pausedUntil)) * refillByMilli);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1L, (long) Math.ceil((1 - tokens) / refillByMilli));
+    }
+}
@@ -104,8 +104,7 @@ public class UIActionService extends MarketoService {
     public SuggestionValues suggestLeadKeyNames(@Option final MarketoDataStore dataStore) {
         try {
             initClients(dataStore);
-            JsonArray sf =
-                    parseResultFromResponse(leadClient.describeLead2(authorizationClient.getAccessToken(dataStore)));
+            JsonArray sf = parseResultFromResponse(call(dataStore, leadClient::describeLead2));
             List<String> f = sf
                     .getJsonObject(0)
                     .getJsonArray(MarketoApiConstants.ATTR_SEARCHABLE_FIELDS)
@@ -144,9 +143,8 @@ public class UIActionService extends MarketoService {
         log.debug("[getActivities] {}.", dataStore);
         try {
             initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
             List<Item> activities = new ArrayList<>();
-            for (JsonObject act : parseResultFromResponse(leadClient.getActivities(aToken))
+            for (JsonObject act : parseResultFromResponse(call(dataStore, leadClient::getActivities))
                     .getValuesAs(JsonObject.class)) {
                 activities
                         .add(new SuggestionValues.Item(String.valueOf(act.getInt(ATTR_ID)), act.getString(ATTR_NAME)));
@@ -230,11 +228,12 @@ public class UIActionService extends MarketoService {
 
     }
 
-    private ListsPage getListsPage(String token, String nextPage) {
+    private ListsPage getListsPage(MarketoDataStore dataStore, String nextPage) {
         List<Item> lists = new ArrayList<>();
         Consumer<JsonObject> listConsumer =
                 l -> lists.add(new Item(String.valueOf(l.getInt(ATTR_ID)), l.getString(ATTR_NAME)));
-        JsonObject result = handleResponse(listClient.getLists(token, nextPage, null, "", "", ""));
+        JsonObject result =
+                handleResponse(call(dataStore, token -> listClient.getLists(token, nextPage, null, "", "", "")));
         String nextPageToken = result.getString(ATTR_NEXT_PAGE_TOKEN, null);
         if (result.getJsonArray(ATTR_RESULT) != null) {
             result.getJsonArray(ATTR_RESULT).getValuesAs(JsonObject.class).forEach(listConsumer);
@@ -249,11 +248,10 @@ public class UIActionService extends MarketoService {
         Predicate<String> hasNextPageToken = token -> token != null && !token.isEmpty();
         try {
             initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
-            ListsPage result = getListsPage(aToken, null);
+            ListsPage result = getListsPage(dataStore, null);
             lists.addAll(result.getLists());
             while (hasNextPageToken.test(result.getNextPageToken())) {
-                result = getListsPage(aToken, result.getNextPageToken());
+                result = getListsPage(dataStore, result.getNextPageToken());
                 lists.addAll(result.getLists());
             }
             return new SuggestionValues(true, lists);
@@ -281,9 +279,9 @@ public class UIActionService extends MarketoService {
         log.debug("[getCustomObjectNames] {}.", dataStore);
         try {
             initClients(dataStore);
-            String aToken = authorizationClient.getAccessToken(dataStore);
             List<Item> coNames = new ArrayList<>();
-            for (JsonObject l : parseResultFromResponse(customObjectClient.listCustomObjects(aToken, ""))
+            for (JsonObject l : parseResultFromResponse(
+                    call(dataStore, token -> customObjectClient.listCustomObjects(token, "")))
                     .getValuesAs(JsonObject.class)) {
                 coNames.add(new SuggestionValues.Item(String.valueOf(l.getString(ATTR_NAME)), l.getString(ATTR_NAME)));
             }
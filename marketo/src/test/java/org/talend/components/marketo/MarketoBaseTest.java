@@ -19,6 +19,7 @@ import org.talend.components.marketo.dataset.MarketoDataSet;
 import org.talend.components.marketo.dataset.MarketoInputConfiguration;
 import org.talend.components.marketo.dataset.MarketoOutputConfiguration;
 import org.talend.components.marketo.datastore.MarketoDataStore;
+import org.talend.components.marketo.service.AccessTokenCache;
 import org.talend.components.marketo.service.MarketoService;
 import org.talend.sdk.component.api.DecryptedServer;
 import org.talend.sdk.component.api.service.Service;
@@ -63,6 +64,8 @@ public class MarketoBaseTest {
 
     @BeforeEach
     protected void setUp() {
+        // captured calls of each test use their own token
+        AccessTokenCache.clear();
         dataStore.setEndpoint("https://marketo.com");
         dataStore.setClientId("clientId");
         dataStore.setClientSecret("clientSecret");
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.input;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.common.stream.api.RecordIORepository;
+import org.talend.components.marketo.dataset.MarketoDataSet;
+import org.talend.components.marketo.dataset.MarketoDataSet.DateTimeMode;
+import org.talend.components.marketo.dataset.MarketoDataSet.LeadAction;
+import org.talend.components.marketo.dataset.MarketoInputConfiguration;
+import org.talend.components.marketo.datastore.MarketoDataStore;
+import org.talend.components.marketo.service.AccessTokenCache;
+import org.talend.components.marketo.service.MarketoService;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@WithComponents("org.talend.components.marketo")
+class BulkExtractSourceTest {
+
+    private static final String ACTIVITIES = "marketoGUID,leadId,activityDate,activityTypeId,campaignId,"
+            + "primaryAttributeValueId,primaryAttributeValue,attributes\n"
+            + "1,100,2022-01-01T10:00:00Z,1,5,7,\"Page, \"\"A\"\"\",\"{\"\"a\"\":1}\"\n"
+            + "2,101,2022-01-02T10:00:00Z,2,,8,Page B,\n";
+
+    @Service
+    private MarketoService service;
+
+    @Service
+    private RecordIORepository ioRepository;
+
+    private HttpServer server;
+
+    private final MarketoInputConfiguration configuration = new MarketoInputConfiguration();
+
+    private final List<JsonObject> createdExports = new CopyOnWriteArrayList<>();
+
+    private final Map<String, AtomicInteger> statusRequests = new ConcurrentHashMap<>();
+
+    private final AtomicInteger enqueueRequests = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        AccessTokenCache.clear();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/identity/oauth/token",
+                exchange -> respond(exchange, "{\"access_token\":\"token\",\"expires_in\":3600}"));
+        server.createContext("/bulk/v1/activities/export", this::export);
+        server.start();
+
+        MarketoDataStore dataStore = new MarketoDataStore();
+        dataStore.setEndpoint("http://localhost:" + server.getAddress().getPort());
+        dataStore.setClientId("clientId");
+        dataStore.setClientSecret("clientSecret");
+        MarketoDataSet dataSet = new MarketoDataSet();
+        dataSet.setDataStore(dataStore);
+        dataSet.setLeadAction(LeadAction.getLeadActivity);
+        dataSet.setDateTimeMode(DateTimeMode.absolute);
+        dataSet
+                .setSinceDateTimeAbsolute(ZonedDateTime
+                        .now()
+                        .minusDays(10)
+                        .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        dataSet.setActivityTypeIds(Arrays.asList("1", "2"));
+        configuration.setDataSet(dataSet);
+        configuration.setBulkExtract(true);
+        configuration.setExportWindowDays(7);
+        configuration.setPollInterval(1);
+        service.initClients(dataStore);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        AccessTokenCache.clear();
+    }
+
+    @Test
+    void extractActivitiesByWindows() {
+        MarketoInputMapper mapper = new MarketoInputMapper(configuration, service, ioRepository);
+        List<MarketoInputMapper> mappers = mapper.split(1);
+        // 10 days in windows of 7 days
+        assertEquals(2, mappers.size());
+
+        List<Record> records = new ArrayList<>();
+        for (MarketoInputMapper split : mappers) {
+            BulkExtractSource source = (BulkExtractSource) split.createWorker();
+            source.init();
+            Record record;
+            while ((record = source.next()) != null) {
+                records.add(record);
+            }
+            source.release();
+        }
+
+        assertEquals(4, records.size());
+        Record first = records.get(0);
+        assertEquals(100, first.getInt("leadId"));
+        assertEquals(1, first.getInt("activityTypeId"));
+        assertEquals("Page, \"A\"", first.getString("primaryAttributeValue"));
+        assertEquals("{\"a\":1}", first.getString("attributes"));
+        assertEquals(0, records.get(1).getInt("campaignId"));
+
+        // windows are consecutive
+        assertEquals(2, createdExports.size());
+        JsonObject firstFilter = createdExports.get(0).getJsonObject("filter");
+        JsonObject secondFilter = createdExports.get(1).getJsonObject("filter");
+        assertEquals("CSV", createdExports.get(0).getString("format"));
+        assertEquals(firstFilter.getJsonObject("createdAt").getString("endAt"),
+                secondFilter.getJsonObject("createdAt").getString("startAt"));
+        assertEquals(2, firstFilter.getJsonArray("activityTypeIds").size());
+        // first job waited for a free slot in queue, and was processed before completion
+        assertEquals(3, enqueueRequests.get());
+        assertTrue(statusRequests.get("export-1").get() >= 2);
+    }
+
+    private void export(HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/create.json")) {
+            try (InputStream in = exchange.getRequestBody()) {
+                createdExports.add(Json.createReader(in).readObject());
+            }
+            respond(exchange,
+                    "{\"success\":true,\"result\":[{\"exportId\":\"export-" + createdExports.size()
+                            + "\",\"status\":\"Created\"}]}");
+        } else if (path.endsWith("/enqueue.json")) {
+            if (enqueueRequests.incrementAndGet() == 1) {
+                respond(exchange, "{\"success\":false,\"errors\":[{\"code\":\"1029\",\"message\":\"queue full\"}]}");
+            } else {
+                respond(exchange, "{\"success\":true,\"result\":[{\"status\":\"Queued\"}]}");
+            }
+        } else if (path.endsWith("/status.json")) {
+            final String exportId = path.split("/")[5];
+            final int requests = statusRequests.computeIfAbsent(exportId, id -> new AtomicInteger()).incrementAndGet();
+            respond(exchange,
+                    "{\"success\":true,\"result\":[{\"exportId\":\"" + exportId + "\",\"status\":\""
+                            + (requests == 1 ? "Processing" : "Completed") + "\"}]}");
+        } else if (path.endsWith("/file.json")) {
+            respond(exchange, "text/csv", ACTIVITIES);
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        respond(exchange, "application/json", body);
+    }
+
+    private void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        final byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.talend.components.marketo.datastore.MarketoDataStore;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.http.Response;
+import org.talend.sdk.component.junit5.WithComponents;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@WithComponents("org.talend.components.marketo")
+public class AccessTokenCacheTest {
+
+    @Service
+    private MarketoService service;
+
+    private HttpServer server;
+
+    private final MarketoDataStore dataStore = new MarketoDataStore();
+
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+
+    private final AtomicInteger expiredTokens = new AtomicInteger();
+
+    /** token responses give expires_in */
+    private volatile boolean withExpiresIn = true;
+
+    private ExecutorService serverExecutor;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        AccessTokenCache.clear();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/identity/oauth/token", exchange -> respond(exchange,
+                "{\"access_token\":\"token-" + tokenRequests.incrementAndGet() + "\""
+                        + (withExpiresIn ? ",\"expires_in\":3600}" : "}")));
+        server.createContext("/rest/v1/leads/describe.json", exchange -> {
+            final String query = exchange.getRequestURI().getQuery();
+            // first token is expired by Marketo before its announced expiration
+            if (query.contains("access_token=token-1")) {
+                expiredTokens.incrementAndGet();
+                respond(exchange, "{\"success\":false,\"errors\":[{\"code\":\"602\",\"message\":\"expired\"}]}");
+            } else {
+                respond(exchange, "{\"success\":true,\"result\":[]}");
+            }
+        });
+        server.start();
+        dataStore.setEndpoint("http://localhost:" + server.getAddress().getPort());
+        dataStore.setClientId("clientId");
+        dataStore.setClientSecret("clientSecret");
+        service.initClients(dataStore);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        AccessTokenCache.clear();
+    }
+
+    @Test
+    void tokenSharedAndRenewedOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Response<JsonObject>>> calls = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                calls.add(executor.submit(() -> service.call(dataStore, service.getLeadClient()::describeLead)));
+            }
+            for (Future<Response<JsonObject>> call : calls) {
+                assertTrue(call.get().body().getBoolean("success"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // one token for all calls, and one renewal after it expired
+        assertEquals(2, tokenRequests.get());
+        assertTrue(expiredTokens.get() > 0);
+        assertEquals("token-2", service.getAccessToken(dataStore));
+    }
+
+    @Test
+    void tokenWithoutExpirationKept() {
+        withExpiresIn = false;
+        assertEquals("token-1", service.getAccessToken(dataStore));
+        // default lifetime is used, token is not retrieved again
+        assertEquals("token-1", service.getAccessToken(dataStore));
+        assertEquals(1, tokenRequests.get());
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        final byte[] content = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(content);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.marketo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class RequestSchedulerTest {
+
+    @Test
+    void callsWithinQuotas() throws Exception {
+        // 20 calls by 1s window, at most 3 at a time
+        RequestScheduler scheduler = new RequestScheduler(20, 1_000L, 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Long> startedAt = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                calls.add(executor.submit(() -> scheduler.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    startedAt.add(System.currentTimeMillis());
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return running.decrementAndGet();
+                })));
+            }
+            for (Future<Integer> call : calls) {
+                call.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(maxRunning.get() <= 3, "too many concurrent calls: " + maxRunning.get());
+        Collections.sort(startedAt);
+        for (int i = 0; i < startedAt.size(); i++) {
+            final long windowStart = startedAt.get(i);
+            long inWindow = startedAt.stream().filter(t -> t >= windowStart && t < windowStart + 1_000L).count();
+            assertTrue(inWindow <= 20, "too many calls in window: " + inWindow);
+        }
+        // 40 calls need more than one window
+        assertTrue(startedAt.get(39) - startedAt.get(0) >= 1_000L);
+    }
+
+    @Test
+    void pauseHoldsCalls() {
+        RequestScheduler scheduler = new RequestScheduler(100, 20_000L, 10);
+        scheduler.pause(200L);
+        long start = System.currentTimeMillis();
+        assertEquals("ok", scheduler.execute(() -> "ok"));
+        assertTrue(System.currentTimeMillis() - start >= 150L);
+    }
+}
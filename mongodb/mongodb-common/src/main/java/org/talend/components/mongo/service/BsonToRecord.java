@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongo.service;
+
+import com.mongodb.MongoClient;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.BsonTypeCodecMap;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.io.ByteBufferBsonInput;
+import org.bson.types.Code;
+import org.bson.types.ObjectId;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.record.Schema.Entry;
+import org.talend.sdk.component.api.record.Schema.Type;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Translate raw bson document to record, without decoding it to {@link Document}.
+ *
+ * Schema is the one guessed by {@link DocumentToRecord}, but it's guessed once by document shape :
+ * field names and bson types are read first, schema of a known shape is taken from a bounded cache,
+ * then values are read from bson bytes straight into record builder.
+ * Not thread safe, as readers are used by a single thread.
+ */
+@Slf4j
+public class BsonToRecord {
+
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    /** codecs used by driver to decode documents, so values are the ones of {@link Document} */
+    private static final CodecRegistry REGISTRY = MongoClient.getDefaultCodecRegistry();
+
+    private static final BsonTypeCodecMap VALUE_CODECS = new BsonTypeCodecMap(new BsonTypeClassMap(), REGISTRY);
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    /** record factory */
+    private final RecordBuilderFactory recordBuilderFactory;
+
+    /** guess schema of a new shape */
+    private final DocumentToRecord documentToRecord;
+
+    /** conversion plans by document shape */
+    private final Map<String, DocumentPlan> plans;
+
+    /** number of schemas found in cache. */
+    @Getter
+    private long hits;
+
+    /** number of schemas guessed. */
+    @Getter
+    private long misses;
+
+    public BsonToRecord(RecordBuilderFactory recordBuilderFactory) {
+        this(recordBuilderFactory, DEFAULT_CACHE_SIZE);
+    }
+
+    public BsonToRecord(RecordBuilderFactory recordBuilderFactory, final int cacheSize) {
+        this.recordBuilderFactory = recordBuilderFactory;
+        this.documentToRecord = new DocumentToRecord(recordBuilderFactory);
+        this.plans = new LinkedHashMap<String, DocumentPlan>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, DocumentPlan> eldest) {
+                return this.size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Convert raw document to record (with guessing schema).
+     *
+     * @param document : raw bson document.
+     * @return data in record format.
+     */
+    public Record toRecord(final RawBsonDocument document) {
+        if (document == null) {
+            return null;
+        }
+        final String shape = shapeOf(document);
+        DocumentPlan plan = plans.get(shape);
+        if (plan == null) {
+            misses++;
+            final Schema schema = documentToRecord.inferSchema(document.decode(REGISTRY.get(Document.class)));
+            plan = new DocumentPlan(schema);
+            plans.put(shape, plan);
+        } else {
+            hits++;
+        }
+        try (BsonBinaryReader reader = new BsonBinaryReader(new ByteBufferBsonInput(document.getByteBuffer()))) {
+            return readDocument(reader, plan);
+        }
+    }
+
+    /**
+     * Shape of document : what its guessed schema depends on.
+     * It's field names and bson types, for arrays, the first element, or all documents as their schemas are merged.
+     */
+    String shapeOf(final RawBsonDocument document) {
+        final StringBuilder shape = new StringBuilder();
+        try (BsonBinaryReader reader = new BsonBinaryReader(new ByteBufferBsonInput(document.getByteBuffer()))) {
+            appendDocumentShape(reader, shape);
+        }
+        return shape.toString();
+    }
+
+    private void appendDocumentShape(BsonReader reader, StringBuilder shape) {
+        reader.readStartDocument();
+        shape.append('{');
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            // name length avoid confusion with special chars in names.
+            final String name = reader.readName();
+            shape.append(name.length()).append(':').append(name);
+            appendValueShape(reader, shape);
+            shape.append(',');
+        }
+        reader.readEndDocument();
+        shape.append('}');
+    }
+
+    private void appendValueShape(BsonReader reader, StringBuilder shape) {
+        final BsonType type = reader.getCurrentBsonType();
+        if (type == BsonType.DOCUMENT) {
+            appendDocumentShape(reader, shape);
+        } else if (type == BsonType.ARRAY) {
+            appendArrayShape(reader, shape);
+        } else {
+            shape.append(type.ordinal());
+            reader.skipValue();
+        }
+    }
+
+    private void appendArrayShape(BsonReader reader, StringBuilder shape) {
+        reader.readStartArray();
+        shape.append('[');
+        final BsonType first = reader.readBsonType();
+        if (first == BsonType.DOCUMENT) {
+            // schemas of all documents are merged, a same shape repeated doesn't change merged schema.
+            String previous = null;
+            do {
+                if (reader.getCurrentBsonType() == BsonType.DOCUMENT) {
+                    final StringBuilder documentShape = new StringBuilder();
+                    appendDocumentShape(reader, documentShape);
+                    final String current = documentShape.toString();
+                    if (!current.equals(previous)) {
+                        shape.append(current);
+                    }
+                    previous = current;
+                } else {
+                    reader.skipValue();
+                }
+            } while (reader.readBsonType() != BsonType.END_OF_DOCUMENT);
+        } else if (first != BsonType.END_OF_DOCUMENT) {
+            // only first element gives the schema
+            appendValueShape(reader, shape);
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                reader.skipValue();
+            }
+        }
+        reader.readEndArray();
+        shape.append(']');
+    }
+
+    private Record readDocument(BsonReader reader, DocumentPlan plan) {
+        final Record.Builder builder = recordBuilderFactory.newRecordBuilder(plan.schema);
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            final Entry entry = plan.entries.get(reader.readName());
+            if (entry == null) {
+                reader.skipValue();
+            } else {
+                readEntry(reader, entry, plan.values.get(entry.getName()), builder);
+            }
+        }
+        reader.readEndDocument();
+        return builder.build();
+    }
+
+    /**
+     * Same conversions as {@link DocumentToRecord}, from bson value.
+     */
+    private void readEntry(BsonReader reader, Entry entry, ValuePlan plan, Record.Builder builder) {
+        switch (entry.getType()) {
+        case RECORD:
+            builder.withRecord(entry, readDocument(reader, plan.document));
+            break;
+        case ARRAY:
+            builder.withArray(entry, readArray(reader, plan.element));
+            break;
+        case STRING:
+            builder.withString(entry, toText(readValue(reader)));
+            break;
+        case INT:
+            builder.withInt(entry, (Integer) readValue(reader));
+            break;
+        case LONG:
+            builder.withLong(entry, (Long) readValue(reader));
+            break;
+        case FLOAT:
+            // Mongo DB document don't have float type, so all double type
+        case DOUBLE:
+            builder.withDouble(entry, (Double) readValue(reader));
+            break;
+        case BOOLEAN:
+            builder.withBoolean(entry, (Boolean) readValue(reader));
+            break;
+        case BYTES:
+            builder.withBytes(entry, ((String) readValue(reader)).getBytes());
+            break;
+        case DATETIME:
+            builder.withDateTime(entry, (Date) readValue(reader));
+            break;
+        default:
+            reader.skipValue();
+        }
+    }
+
+    /**
+     * Extract list of record format element from bson array.
+     *
+     * @param element : conversion of array element.
+     * @return list of value.
+     */
+    private List<Object> readArray(BsonReader reader, ValuePlan element) {
+        final List<Object> result = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (element.type) {
+            case RECORD:
+                result.add(readDocument(reader, element.document));
+                break;
+            case ARRAY:
+                result.add(readArray(reader, element.element));
+                break;
+            case STRING:
+                result.add(toText(readValue(reader)));
+                break;
+            case BYTES:
+                result.add(((String) readValue(reader)).getBytes());
+                break;
+            default:
+                result.add(readValue(reader));
+            }
+        }
+        reader.readEndArray();
+        return result;
+    }
+
+    /**
+     * Read current value as {@link Document} would hold it.
+     */
+    private Object readValue(BsonReader reader) {
+        final BsonType type = reader.getCurrentBsonType();
+        switch (type) {
+        case NULL:
+            reader.readNull();
+            return null;
+        case STRING:
+            return reader.readString();
+        case INT32:
+            return reader.readInt32();
+        case INT64:
+            return reader.readInt64();
+        case DOUBLE:
+            return reader.readDouble();
+        case BOOLEAN:
+            return reader.readBoolean();
+        case DATE_TIME:
+            return new Date(reader.readDateTime());
+        case OBJECT_ID:
+            return reader.readObjectId();
+        case ARRAY: {
+            final List<Object> list = new ArrayList<>();
+            reader.readStartArray();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                list.add(readValue(reader));
+            }
+            reader.readEndArray();
+            return list;
+        }
+        case BINARY:
+            if (BsonBinarySubType.isUuid(reader.peekBinarySubType()) && reader.peekBinarySize() == 16) {
+                return REGISTRY.get(UUID.class).decode(reader, DECODER_CONTEXT);
+            }
+            return VALUE_CODECS.get(type).decode(reader, DECODER_CONTEXT);
+        default:
+            return VALUE_CODECS.get(type).decode(reader, DECODER_CONTEXT);
+        }
+    }
+
+    private String toText(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof ObjectId) {
+            return ObjectId.class.cast(value).toString();
+        } else if (value instanceof Code) {
+            return Code.class.cast(value).getCode();
+        }
+        return value.toString();
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    @Override
+    public String toString() {
+        return "BsonToRecord{size=" + size() + ", hits=" + hits + ", misses=" + misses + "}";
+    }
+
+    /**
+     * Entries of a record schema, by bson element name.
+     */
+    private static class DocumentPlan {
+
+        private final Schema schema;
+
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        /** conversion of entries, by entry name */
+        private final Map<String, ValuePlan> values = new HashMap<>();
+
+        DocumentPlan(Schema schema) {
+            this.schema = schema;
+            for (Entry entry : schema.getEntries()) {
+                entries.put(originName(entry), entry);
+                if (entry.getType() == Type.RECORD || entry.getType() == Type.ARRAY) {
+                    // element schema of record entry is record schema, of array entry is array schema.
+                    values.put(entry.getName(), new ValuePlan(entry.getElementSchema()));
+                }
+            }
+        }
+
+        /**
+         * Comment of entry stores origin name, as "$oid" is corrected to "oid" in entry name.
+         */
+        private static String originName(Entry entry) {
+            final String comment = entry.getComment();
+            if (comment != null && comment.contains(DocumentToRecord.TYPE_SPLIT_CHARS)) {
+                return comment.substring(0, comment.lastIndexOf(DocumentToRecord.TYPE_SPLIT_CHARS));
+            }
+            return comment;
+        }
+    }
+
+    /**
+     * Conversion of a record or array value.
+     */
+    private static class ValuePlan {
+
+        private final Type type;
+
+        /** for record */
+        private final DocumentPlan document;
+
+        /** for array, conversion of elements */
+        private final ValuePlan element;
+
+        ValuePlan(Schema schema) {
+            this.type = schema.getType();
+            this.document = type == Type.RECORD ? new DocumentPlan(schema) : null;
+            this.element = type == Type.ARRAY ? new ValuePlan(schema.getElementSchema()) : null;
+        }
+    }
+}
@@ -13,10 +13,12 @@
 package org.talend.components.mongo.source;
 
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.DocumentCodec;
 import org.bson.json.JsonMode;
 import org.bson.json.JsonWriterSettings;
 import org.talend.components.common.stream.input.json.JsonToRecord;
+import org.talend.components.mongo.service.BsonToRecord;
 import org.talend.components.mongo.service.DocumentToRecord;
 import org.talend.components.mongo.service.MongoCommonService;
 import org.talend.sdk.component.api.record.Record;
@@ -44,6 +46,8 @@ public class MongoCommonInput implements Serializable {
 
     protected transient DocumentToRecord documentToRecord;
 
+    protected transient BsonToRecord bsonToRecord;
+
     protected Record doConvert(Document document) {
         switch (configuration.getDataset().getMode()) {
         case TEXT:
@@ -56,6 +60,16 @@ public class MongoCommonInput implements Serializable {
         }
     }
 
+    protected Record doConvert(RawBsonDocument document) {
+        switch (configuration.getDataset().getMode()) {
+        case TEXT:
+            return toRecordWithWSingleDocumentContentColumn(document.decode(new DocumentCodec()));
+        case JSON:
+        default:
+            return bsonToRecord.toRecord(document);
+        }
+    }
+
     protected Record convertDocument2Record(Document document) {
         // TODO bson can convert to json with loss data? check it
         String jsonContnt = document2Json(document);
@@ -22,4 +22,11 @@ public interface MongoCommonSourceConfiguration extends Serializable {
 
     Long getSampleLimit();
 
+    /**
+     * Indexed field used to split the collection in ranges.
+     */
+    default String getSplitField() {
+        return "_id";
+    }
+
 }
@@ -14,44 +14,48 @@ package org.talend.components.mongo.source;
 
 import com.mongodb.BasicDBObject;
 import com.mongodb.MongoClient;
-import com.mongodb.client.AggregateIterable;
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
+import org.bson.BsonInt64;
 import org.bson.BsonString;
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.conversions.Bson;
-import org.bson.json.JsonMode;
-import org.bson.json.JsonWriterSettings;
 import org.talend.components.mongo.dataset.MongoCommonDataSet;
 import org.talend.components.mongo.datastore.MongoCommonDataStore;
 import org.talend.components.mongo.service.MongoCommonService;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
 public class SplitUtil {
 
-    public static List<String> getQueries4Split(final MongoCommonSourceConfiguration configuration,
+    /** documents sampled for each split, when split points can't be computed by server */
+    private static final int SAMPLES_PER_SPLIT = 10;
+
+    /**
+     * Get filters of splits, ranges of split field which cover the whole collection.
+     *
+     * @return filters, empty if collection can't be split.
+     */
+    public static List<BsonDocument> getFilters4Split(final MongoCommonSourceConfiguration configuration,
             final MongoCommonService service,
             final int splitCount) {
-        List<String> result = new ArrayList<>();
-
-        MongoCommonDataSet dataset = configuration.getDataset();
-        MongoCommonDataStore datastore = dataset.getDatastore();
-
         MongoClient client = null;
         try {
-            client = service.createClient(datastore);
-            MongoDatabase database = client.getDatabase(datastore.getDatabase());
-            MongoCollection<Document> collection = database.getCollection(dataset.getCollection());
-
-            result = getQueries4Split(collection, splitCount);
+            client = service.createClient(configuration.getDataset().getDatastore());
+            return getFilters4Split(configuration, splitCount, client);
         } catch (Exception e) {
             // ignore any exception for split, for example: main node can't reason mongodb
             log.info(e.getMessage(), e);
@@ -59,22 +63,25 @@ public class SplitUtil {
             service.closeClient(client);
         }
 
-        return result;
+        return new ArrayList<>();
     }
 
-    public static List<String> getQueries4Split(final MongoCommonSourceConfiguration configuration,
+    public static List<BsonDocument> getFilters4Split(final MongoCommonSourceConfiguration configuration,
             final int splitCount,
             final MongoClient client) {
-        List<String> result = new ArrayList<>();
+        List<BsonDocument> result = new ArrayList<>();
 
         MongoCommonDataSet dataset = configuration.getDataset();
         MongoCommonDataStore datastore = dataset.getDatastore();
 
         try {
             MongoDatabase database = client.getDatabase(datastore.getDatabase());
-            MongoCollection<Document> collection = database.getCollection(dataset.getCollection());
-
-            result = getQueries4Split(collection, splitCount);
+            String field = configuration.getSplitField();
+            if (field == null || field.trim().isEmpty()) {
+                field = "_id";
+            }
+            List<BsonValue> splitPoints = getSplitPoints(database, dataset.getCollection(), field, splitCount);
+            result = toFilters(field, splitPoints);
         } catch (Exception e) {
             // ignore any exception for split, for example: main node can't reason mongodb
             log.info(e.getMessage(), e);
@@ -127,53 +134,115 @@ public class SplitUtil {
         return 1l;
     }
 
-    // https://docs.mongodb.com/manual/reference/operator/aggregation/bucketAuto/
-    private static List<String> getQueries4Split(final MongoCollection mongoCollection, final int splitCount) {
-        List<String> result = new ArrayList<>();
-
-        BsonDocument bucketAutoConfig = new BsonDocument();
-        bucketAutoConfig.put("groupBy", new BsonString("$_id"));
-        bucketAutoConfig.put("buckets", new BsonInt32(splitCount));
-        BsonDocument bucketAuto = new BsonDocument("$bucketAuto", bucketAutoConfig);
-        List<BsonDocument> aggregates = new ArrayList<>();
-        aggregates.add(bucketAuto);
-        AggregateIterable<Document> buckets = mongoCollection.aggregate(aggregates).allowDiskUse(true);
-
-        // [1,3) [3,5) and so on
-        Iterator<Document> iterator = buckets.iterator();
-        while (iterator.hasNext()) {
-            Document bucket = iterator.next();
-            Document id_document = (Document) bucket.get("_id");
-            Object min = id_document.get("min");
-            Object max = id_document.get("max");
-
-            Bson filters = Filters
-                    .and(Filters.gte("_id", min),
-                            iterator.hasNext() ? Filters.lt("_id", max) : Filters.lte("_id", max));
-            String filtersShellJson = filtersToJson(filters);
-            result.add(filtersShellJson);
+    /**
+     * Values of split field which cut collection in splits of same size.
+     * Split points are computed from index by server (splitVector), without reading documents,
+     * if not allowed (needs cluster manager role, not available on mongos), they are taken from a random sample.
+     */
+    private static List<BsonValue> getSplitPoints(final MongoDatabase database, final String collection,
+            final String field, final int splitCount) {
+        try {
+            long size = getCollectionSize(database, collection);
+            // splitVector cuts chunks at half of max chunk size
+            BsonDocument splitVector = new BsonDocument("splitVector",
+                    new BsonString(database.getName() + "." + collection))
+                            .append("keyPattern", new BsonDocument(field, new BsonInt32(1)))
+                            .append("maxChunkSizeBytes", new BsonInt64(Math.max(1L, 2 * size / splitCount)));
+            BsonDocument result = database.runCommand(splitVector, BsonDocument.class);
+            List<BsonValue> splitPoints = new ArrayList<>();
+            for (BsonValue splitKey : result.getArray("splitKeys", new BsonArray())) {
+                splitPoints.add(splitKey.asDocument().get(field));
+            }
+            return reduce(splitPoints, splitCount);
+        } catch (MongoException e) {
+            log.info("can't compute split points from index, use sample : " + e.getMessage());
         }
 
-        return result;
+        // $sample doesn't scan collection if sample size is less than 5% of documents
+        MongoCollection<BsonDocument> sampleCollection = database.getCollection(collection, BsonDocument.class);
+        List<Bson> pipeline = Arrays
+                .asList(Aggregates.sample(splitCount * SAMPLES_PER_SPLIT),
+                        Aggregates.project(Projections.include(field)), Aggregates.sort(Sorts.ascending(field)));
+        List<BsonValue> samples = new ArrayList<>();
+        try (MongoCursor<BsonDocument> cursor = sampleCollection.aggregate(pipeline).allowDiskUse(true).iterator()) {
+            while (cursor.hasNext()) {
+                BsonValue value = getValue(cursor.next(), field);
+                if (value != null && !value.isNull()) {
+                    samples.add(value);
+                }
+            }
+        }
+        return reduce(samples, splitCount);
     }
 
-    private static String filtersToJson(Bson filters) {
-        BsonDocument document = filters.toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry());
-        return document.toJson(JsonWriterSettings.builder().outputMode(JsonMode.SHELL).build());
+    private static BsonValue getValue(final BsonDocument document, final String path) {
+        BsonValue value = document;
+        for (String name : path.split("\\.")) {
+            if (value == null || !value.isDocument()) {
+                return null;
+            }
+            value = value.asDocument().get(name);
+        }
+        return value;
     }
 
-    public static boolean isSplit(String query, Long limit) {
-        // limit is passed by platform, so mean getSample here, so no split as we will set limit for query
-        if (limit != null && limit > 0) {
-            return false;
+    /**
+     * Keep at most splitCount - 1 distinct split points, of the same bson type, at regular intervals.
+     * Range query operators only match values of their bson type, so all points must have the same type.
+     */
+    private static List<BsonValue> reduce(final List<BsonValue> points, final int splitCount) {
+        List<BsonValue> candidates = new ArrayList<>();
+        for (BsonValue point : points) {
+            if (point == null || (!candidates.isEmpty() && (point.getBsonType() != candidates.get(0).getBsonType()
+                    || point.equals(candidates.get(candidates.size() - 1))))) {
+                continue;
+            }
+            candidates.add(point);
+        }
+        if (candidates.size() < splitCount) {
+            return candidates;
         }
 
-        // have set filter, then not split now, maybe should too?
-        if (query == null || query.trim().isEmpty() || "{}".equals(query)) {
-            return true;
+        List<BsonValue> result = new ArrayList<>();
+        for (int i = 1; i < splitCount; i++) {
+            BsonValue point = candidates.get((int) ((long) i * candidates.size() / splitCount));
+            if (result.isEmpty() || !point.equals(result.get(result.size() - 1))) {
+                result.add(point);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ranges between split points : [min, p1) [p1, p2) ... [pn, max].
+     * First range also gets documents without split field, or with an other bson type.
+     */
+    private static List<BsonDocument> toFilters(final String field, final List<BsonValue> splitPoints) {
+        List<BsonDocument> result = new ArrayList<>();
+        if (splitPoints.isEmpty()) {
+            return result;
         }
 
-        return false;
+        result.add(new BsonDocument(field, new BsonDocument("$not", new BsonDocument("$gte", splitPoints.get(0)))));
+        for (int i = 0; i < splitPoints.size() - 1; i++) {
+            result
+                    .add(new BsonDocument(field,
+                            new BsonDocument("$gte", splitPoints.get(i)).append("$lt", splitPoints.get(i + 1))));
+        }
+        result.add(new BsonDocument(field, new BsonDocument("$gte", splitPoints.get(splitPoints.size() - 1))));
+        return result;
+    }
+
+    private static long getCollectionSize(final MongoDatabase database, final String collection) {
+        BasicDBObject stat = new BasicDBObject();
+        stat.append("collStats", collection);
+        Document stats = database.runCommand(stat);
+        return stats.get("size", Number.class).longValue();
+    }
+
+    public static boolean isSplit(String query, Long limit) {
+        // query is combined with the filter of each split, so only limit matters
+        return isSplit(limit);
     }
 
     public static boolean isSplit(Long limit) {
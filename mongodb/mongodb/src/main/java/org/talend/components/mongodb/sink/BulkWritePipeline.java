@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.sink;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.talend.sdk.component.api.record.Record;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk writes of converted documents.
+ * Write models are grouped in bulk writes limited by number of operations and by estimated bson size,
+ * bulk writes are sent by a pool of threads while next records are converted, with a bounded number in flight.
+ * Unordered bulk writes are sent concurrently, ordered ones are sent one after the other, and the ones after a
+ * failed one are not sent, as a single ordered bulk write stops at first error.
+ * Operations failed by MongoDB are mapped back to their source records.
+ */
+@Slf4j
+public class BulkWritePipeline implements AutoCloseable {
+
+    /** Maximum operations by bulk write, driver would split bigger ones by itself, one after the other */
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    /** Maximum estimated size of bulk write, the one of the largest bson document */
+    public static final long MAX_BATCH_BYTES = 16L * 1024 * 1024;
+
+    /** bson overhead of an operation in bulk write command */
+    private static final int OPERATION_OVERHEAD = 16;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private final MongoCollection<Document> collection;
+
+    private final boolean ordered;
+
+    private final int maxBatchSize;
+
+    private final long maxBatchBytes;
+
+    private final ExecutorService executor;
+
+    /** limit number of bulk writes in flight, so converted documents in memory stay bounded */
+    private final Semaphore inFlight;
+
+    private final List<Future<List<Reject>>> pending = new ArrayList<>();
+
+    private List<WriteModel<Document>> currentModels;
+
+    private List<Record> currentRecords;
+
+    private long currentBytes;
+
+    /** an ordered bulk write failed since last flush */
+    private volatile boolean failed;
+
+    public BulkWritePipeline(MongoCollection<Document> collection, boolean ordered, int concurrency) {
+        this(collection, ordered, concurrency, MAX_BATCH_SIZE, MAX_BATCH_BYTES);
+    }
+
+    public BulkWritePipeline(MongoCollection<Document> collection, boolean ordered, int concurrency,
+            int maxBatchSize, long maxBatchBytes) {
+        this.collection = collection;
+        this.ordered = ordered;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchBytes = maxBatchBytes;
+        // ordered bulk writes must be applied one after the other.
+        final int threads = ordered ? 1 : Math.max(1, concurrency);
+        final int pool = POOL_NUMBER.incrementAndGet();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, (Runnable r) -> {
+            final Thread thread = new Thread(r, "mongodb-bulk-write-" + pool + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.inFlight = new Semaphore(threads);
+    }
+
+    /**
+     * Add write model of record, send current bulk write if it's full.
+     *
+     * @param record : source record.
+     * @param model : write operation of record.
+     */
+    public void add(Record record, WriteModel<Document> model) {
+        final long modelBytes = OPERATION_OVERHEAD + BulkWritePipeline.estimateSize(model);
+        if (this.currentModels != null && (this.currentModels.size() >= this.maxBatchSize
+                || this.currentBytes + modelBytes > this.maxBatchBytes)) {
+            this.send();
+        }
+        if (this.currentModels == null) {
+            this.currentModels = new ArrayList<>();
+            this.currentRecords = new ArrayList<>();
+            this.currentBytes = 0L;
+        }
+        this.currentModels.add(model);
+        this.currentRecords.add(record);
+        this.currentBytes += modelBytes;
+    }
+
+    /**
+     * Send pending operations and wait for all bulk writes.
+     *
+     * @return rejected records.
+     */
+    public List<Reject> flush() {
+        this.send();
+        final List<Reject> rejects = new ArrayList<>();
+        try {
+            for (Future<List<Reject>> bulkWrite : this.pending) {
+                rejects.addAll(bulkWrite.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            this.pending.clear();
+            this.failed = false;
+        }
+        return rejects;
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    private void send() {
+        if (this.currentModels == null) {
+            return;
+        }
+        final List<WriteModel<Document>> models = this.currentModels;
+        final List<Record> sources = this.currentRecords;
+        this.currentModels = null;
+        this.currentRecords = null;
+        try {
+            this.inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        try {
+            this.pending.add(this.executor.submit(() -> {
+                try {
+                    return this.bulkWrite(models, sources);
+                } finally {
+                    this.inFlight.release();
+                }
+            }));
+        } catch (RuntimeException e) {
+            this.inFlight.release();
+            throw e;
+        }
+    }
+
+    private List<Reject> bulkWrite(List<WriteModel<Document>> models, List<Record> sources) {
+        if (this.failed) {
+            final List<Reject> rejects = new ArrayList<>();
+            for (Record source : sources) {
+                rejects.add(new Reject(source, "not executed after previous error"));
+            }
+            return rejects;
+        }
+        log.debug("Bulk write of {} operations", models.size());
+        try {
+            this.collection.bulkWrite(models, new BulkWriteOptions().ordered(this.ordered));
+            return new ArrayList<>();
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteConcernError() != null) {
+                // not related to an operation.
+                throw e;
+            }
+            final List<Reject> rejects = new ArrayList<>();
+            int lastIndex = -1;
+            // errors are indexed by operation position in bulk write.
+            for (BulkWriteError error : e.getWriteErrors()) {
+                rejects.add(new Reject(sources.get(error.getIndex()), error.getCode() + " : " + error.getMessage()));
+                lastIndex = Math.max(lastIndex, error.getIndex());
+            }
+            if (this.ordered) {
+                // ordered bulk write stops at first error, next ones are not sent.
+                this.failed = true;
+                for (int i = lastIndex + 1; i < sources.size(); i++) {
+                    rejects.add(new Reject(sources.get(i), "not executed after previous error"));
+                }
+            }
+            return rejects;
+        }
+    }
+
+    /**
+     * Estimate bson size of a write model.
+     */
+    static long estimateSize(WriteModel<Document> model) {
+        if (model instanceof InsertOneModel) {
+            return BulkWritePipeline.estimateSize(((InsertOneModel<Document>) model).getDocument());
+        }
+        if (model instanceof UpdateOneModel) {
+            final UpdateOneModel<Document> update = (UpdateOneModel<Document>) model;
+            return BulkWritePipeline.estimateSize(update.getFilter())
+                    + BulkWritePipeline.estimateSize(update.getUpdate());
+        }
+        if (model instanceof UpdateManyModel) {
+            final UpdateManyModel<Document> update = (UpdateManyModel<Document>) model;
+            return BulkWritePipeline.estimateSize(update.getFilter())
+                    + BulkWritePipeline.estimateSize(update.getUpdate());
+        }
+        return 1024;
+    }
+
+    /**
+     * Estimate bson size of a document value.
+     *
+     * @param value : document value (document, list, string, number, date, boolean...).
+     * @return approximate number of bytes, without element name.
+     */
+    static long estimateSize(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof CharSequence) {
+            // utf-8 length is 1 to 3 bytes by char.
+            final CharSequence text = (CharSequence) value;
+            long size = 5 + text.length();
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) >= 0x80) {
+                    size += 2;
+                }
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            long size = 5;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += 2 + String.valueOf(entry.getKey()).length() + BulkWritePipeline.estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection) {
+            long size = 5;
+            int index = 0;
+            for (Object element : (Collection<?>) value) {
+                size += 2 + String.valueOf(index++).length() + BulkWritePipeline.estimateSize(element);
+            }
+            return size;
+        }
+        if (value instanceof byte[]) {
+            return 5 + ((byte[]) value).length;
+        }
+        if (value instanceof Number || value instanceof Date) {
+            // decimal128 is 16 bytes, others up to 8.
+            return 16;
+        }
+        return 32;
+    }
+
+    /**
+     * Record failed by a bulk write, with MongoDB error.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Reject {
+
+        private final Record record;
+
+        private final String error;
+
+        @Override
+        public String toString() {
+            return "{\"error\": \"" + error + "\", \"record\":" + record + "}";
+        }
+    }
+}
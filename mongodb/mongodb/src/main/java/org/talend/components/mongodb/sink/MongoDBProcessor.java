@@ -37,7 +37,6 @@ import org.talend.sdk.component.api.record.Record;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
-import java.util.ArrayList;
 import java.util.List;
 
 import static com.mongodb.WriteConcern.*;
@@ -114,27 +113,24 @@ public class MongoDBProcessor extends MongoCommonOutput {
             }
         }
 
-        writeModels = new ArrayList<>();
-    }
-
-    private transient List<WriteModel<Document>> writeModels;
-
-    @BeforeGroup
-    public void beforeGroup() {
-        if (!configuration.isBulkWrite()) {
-            return;
+        if (configuration.isBulkWrite()) {
+            boolean ordered = configuration.getBulkWriteType() == BulkWriteType.ORDERED;
+            bulkWritePipeline =
+                    new BulkWritePipeline(collection, ordered, configuration.getBulkWriteConcurrency());
         }
-        writeModels.clear();
     }
 
+    private transient BulkWritePipeline bulkWritePipeline;
+
     @AfterGroup
     public void afterGroup() {
         if (!configuration.isBulkWrite()) {
             return;
         }
-        if (writeModels != null && !writeModels.isEmpty()) {
-            boolean ordered = configuration.getBulkWriteType() == BulkWriteType.ORDERED;
-            collection.bulkWrite(writeModels, new BulkWriteOptions().ordered(ordered));
+        List<BulkWritePipeline.Reject> rejects = bulkWritePipeline.flush();
+        if (!rejects.isEmpty()) {
+            log.error(rejects.size() + " records rejected by bulk write.");
+            rejects.stream().map(BulkWritePipeline.Reject::toString).forEach(log::error);
         }
     }
 
@@ -244,7 +240,7 @@ public class MongoDBProcessor extends MongoCommonOutput {
         switch (configuration.getDataAction()) {
         case INSERT:
             if (configuration.isBulkWrite()) {
-                writeModels.add(new InsertOneModel(document));
+                bulkWritePipeline.add(record, new InsertOneModel<>(document));
             } else {
                 collection.insertOne(document);
             }
@@ -252,14 +248,14 @@ public class MongoDBProcessor extends MongoCommonOutput {
         case SET:
             if (configuration.isBulkWrite()) {
                 if (configuration.isUpdateAllDocuments()) {
-                    writeModels
-                            .add(new UpdateManyModel<Document>(
+                    bulkWritePipeline
+                            .add(record, new UpdateManyModel<Document>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             record, document),
                                     new Document("$set", document)));
                 } else {
-                    writeModels
-                            .add(new UpdateOneModel<Document>(
+                    bulkWritePipeline
+                            .add(record, new UpdateOneModel<Document>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             record, document),
                                     new Document("$set", document)));
@@ -293,14 +289,14 @@ public class MongoDBProcessor extends MongoCommonOutput {
             // TODO show a more clear exception here
             if (configuration.isBulkWrite()) {
                 if (configuration.isUpdateAllDocuments()) {
-                    writeModels
-                            .add(new UpdateManyModel<Document>(
+                    bulkWritePipeline
+                            .add(record, new UpdateManyModel<Document>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             record, document),
                                     new Document("$set", document), new UpdateOptions().upsert(true)));
                 } else {
-                    writeModels
-                            .add(new UpdateOneModel<Document>(
+                    bulkWritePipeline
+                            .add(record, new UpdateOneModel<Document>(
                                     getKeysQueryDocumentAndRemoveKeysFromSourceDocument(configuration.getKeyMappings(),
                                             record, document),
                                     new Document("$set", document), new UpdateOptions().upsert(true)));
@@ -326,6 +322,10 @@ public class MongoDBProcessor extends MongoCommonOutput {
 
     @PreDestroy
     public void release() {
+        if (bulkWritePipeline != null) {
+            bulkWritePipeline.close();
+            bulkWritePipeline = null;
+        }
         service.closeClient(client);
     }
 
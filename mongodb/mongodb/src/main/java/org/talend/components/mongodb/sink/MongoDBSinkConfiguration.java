@@ -22,6 +22,7 @@ import org.talend.components.mongodb.dataset.MongoDBReadAndWriteDataSet;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.configuration.condition.ActiveIf;
+import org.talend.sdk.component.api.configuration.condition.ActiveIfs;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayout;
 import org.talend.sdk.component.api.configuration.ui.layout.GridLayouts;
 import org.talend.sdk.component.api.meta.Documentation;
@@ -34,7 +35,8 @@ import java.util.List;
 @GridLayouts({ @GridLayout({ @GridLayout.Row({ "dataset" }), //
         @GridLayout.Row({ "setWriteConcern" }), //
         @GridLayout.Row({ "writeConcern" }), //
-        @GridLayout.Row({ "bulkWrite" }), @GridLayout.Row({ "bulkWriteType" }), @GridLayout.Row({ "dataAction" }),
+        @GridLayout.Row({ "bulkWrite" }), @GridLayout.Row({ "bulkWriteType" }),
+        @GridLayout.Row({ "bulkWriteConcurrency" }), @GridLayout.Row({ "dataAction" }),
         @GridLayout.Row({ "keyMappings" }), @GridLayout.Row({ "updateAllDocuments" }) }),
         @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }) }) })
 @Documentation("MongoDB sink configuration")
@@ -62,6 +64,12 @@ public class MongoDBSinkConfiguration implements MongoCommonOutputConfiguration
     @Documentation("Bulk load type")
     private BulkWriteType bulkWriteType = BulkWriteType.UNORDERED;
 
+    @Option
+    @ActiveIfs({ @ActiveIf(target = "bulkWrite", value = "true"),
+            @ActiveIf(target = "bulkWriteType", value = "UNORDERED") })
+    @Documentation("Maximum number of unordered bulk writes sent concurrently.")
+    private int bulkWriteConcurrency = 4;
+
     @Option
     @Documentation("Data action")
     private DataAction dataAction = DataAction.INSERT;
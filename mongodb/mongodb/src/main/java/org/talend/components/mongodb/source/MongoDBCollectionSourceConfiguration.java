@@ -25,7 +25,8 @@ import org.talend.sdk.component.api.meta.Documentation;
 @Version(1)
 @Data
 @GridLayouts({ @GridLayout({ @GridLayout.Row({ "dataset" }) }),
-        @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }) }) })
+        @GridLayout(names = GridLayout.FormType.ADVANCED,
+                value = { @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "splitField" }) }) })
 @Documentation("Simple MongoDB Source Configuration which not support query")
 public class MongoDBCollectionSourceConfiguration implements MongoCommonSourceConfiguration {
 
@@ -33,6 +34,10 @@ public class MongoDBCollectionSourceConfiguration implements MongoCommonSourceCo
     @Documentation("dataset")
     private MongoDBReadAndWriteDataSet dataset;
 
+    @Option
+    @Documentation("Indexed field used to split the collection for parallel reading.")
+    private String splitField = "_id";
+
     private Long sampleLimit = -1L;
 
     public void setDataset(MongoCommonDataSet dataset) {
@@ -14,6 +14,7 @@ package org.talend.components.mongodb.source;
 
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
 import org.talend.components.mongo.source.SplitUtil;
 import org.talend.components.mongodb.service.I18nMessage;
 import org.talend.components.mongodb.service.MongoDBService;
@@ -46,7 +47,7 @@ public class MongoDBQueryMapper implements Serializable {
     private final I18nMessage i18nMessage;
 
     @Setter
-    private String query4Split;
+    private BsonDocument filter4Split;
 
     public MongoDBQueryMapper(@Option("configuration") final MongoDBQuerySourceConfiguration configuration,
             final MongoDBService service, final RecordBuilderFactory recordBuilderFactory,
@@ -81,23 +82,23 @@ public class MongoDBQueryMapper implements Serializable {
         log.info("split number : " + splitCount + ",  the size of every split from platform : " + bundles);
 
         if (splitCount > 1) {
-            List<String> queries4Split = SplitUtil.getQueries4Split(configuration, service, splitCount);
-            if (queries4Split == null || queries4Split.size() < 2) {
+            List<BsonDocument> filters4Split = SplitUtil.getFilters4Split(configuration, service, splitCount);
+            if (filters4Split == null || filters4Split.size() < 2) {
                 return singletonList(this);
             }
 
-            return queries4Split
+            return filters4Split
                     .stream()
-                    .map(query4Split -> cloneMapperAndSetSplitParameter4Reader(query4Split))
+                    .map(filter4Split -> cloneMapperAndSetSplitParameter4Reader(filter4Split))
                     .collect(Collectors.toList());
         }
 
         return singletonList(this);
     }
 
-    private MongoDBQueryMapper cloneMapperAndSetSplitParameter4Reader(String query4Split) {
+    private MongoDBQueryMapper cloneMapperAndSetSplitParameter4Reader(BsonDocument filter4Split) {
         MongoDBQueryMapper mapper = new MongoDBQueryMapper(configuration, service, recordBuilderFactory, i18nMessage);
-        mapper.setQuery4Split(query4Split);
+        mapper.setFilter4Split(filter4Split);
         return mapper;
     }
 
@@ -106,6 +107,6 @@ public class MongoDBQueryMapper implements Serializable {
         // here we create an actual worker,
         // you are free to rework the configuration etc but our default generated implementation
         // propagates the partition mapper entries.
-        return new MongoDBReader(configuration, service, recordBuilderFactory, i18nMessage, query4Split);
+        return new MongoDBReader(configuration, service, recordBuilderFactory, i18nMessage, filter4Split);
     }
 }
\ No newline at end of file
@@ -25,7 +25,8 @@ import org.talend.sdk.component.api.meta.Documentation;
 @Version(1)
 @Data
 @GridLayouts({ @GridLayout({ @GridLayout.Row({ "dataset" }) }),
-        @GridLayout(names = GridLayout.FormType.ADVANCED, value = { @GridLayout.Row({ "dataset" }) }) })
+        @GridLayout(names = GridLayout.FormType.ADVANCED,
+                value = { @GridLayout.Row({ "dataset" }), @GridLayout.Row({ "splitField" }) }) })
 @Documentation("MongoDB Source Configuration with full query support")
 public class MongoDBQuerySourceConfiguration implements MongoCommonSourceConfiguration {
 
@@ -33,6 +34,10 @@ public class MongoDBQuerySourceConfiguration implements MongoCommonSourceConfigu
     @Documentation("dataset")
     private MongoDBReadDataSet dataset;
 
+    @Option
+    @Documentation("Indexed field used to split the collection for parallel reading.")
+    private String splitField = "_id";
+
     private Long sampleLimit = -1L;
 
     public void setDataset(MongoCommonDataSet dataset) {
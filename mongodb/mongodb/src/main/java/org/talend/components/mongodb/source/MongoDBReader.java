@@ -17,13 +17,15 @@ import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
 import org.bson.BsonDocument;
-import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.talend.components.common.stream.input.json.JsonToRecord;
 import org.talend.components.mongo.dataset.MongoCommonDataSet;
 import org.talend.components.mongo.datastore.MongoCommonDataStore;
+import org.talend.components.mongo.service.BsonToRecord;
 import org.talend.components.mongo.service.DocumentToRecord;
 import org.talend.components.mongo.source.MongoCommonInput;
 import org.talend.components.mongo.source.MongoCommonSourceConfiguration;
@@ -38,6 +40,7 @@ import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.util.Arrays;
 import java.util.Iterator;
 
 @Slf4j
@@ -54,51 +57,60 @@ public class MongoDBReader extends MongoCommonInput {
 
     private transient MongoClient client;
 
-    private transient String query4Split;
+    /** range of split field read by this reader, null if not split */
+    private final BsonDocument filter4Split;
 
     public MongoDBReader(@Option("configuration") final MongoCommonSourceConfiguration configuration,
             final MongoDBService service,
-            final RecordBuilderFactory builderFactory, final I18nMessage i18n, String query4Split) {
+            final RecordBuilderFactory builderFactory, final I18nMessage i18n, BsonDocument filter4Split) {
         super.configuration = this.configuration = configuration;
         super.service = this.service = service;
         this.builderFactory = builderFactory;
         this.i18n = i18n;
-        this.query4Split = query4Split;
+        this.filter4Split = filter4Split;
     }
 
-    Iterator<Document> iterator = null;
+    Iterator<RawBsonDocument> iterator = null;
 
     @PostConstruct
     public void init() {
         jsonToRecord = new JsonToRecord(this.builderFactory);
         documentToRecord = new DocumentToRecord(this.builderFactory);
+        bsonToRecord = new BsonToRecord(this.builderFactory);
 
         MongoCommonDataSet dataset = configuration.getDataset();
         MongoCommonDataStore datastore = dataset.getDatastore();
         client = service.createClient(datastore);
         MongoDatabase database = client.getDatabase(datastore.getDatabase());
-        MongoCollection<Document> collection = database.getCollection(dataset.getCollection());
+        // documents are kept as bson bytes, and converted to record directly
+        MongoCollection<RawBsonDocument> collection =
+                database.getCollection(dataset.getCollection(), RawBsonDocument.class);
 
         iterator = fetchData(dataset, collection);
     }
 
-    private Iterator<Document> fetchData(MongoCommonDataSet dataset, MongoCollection<Document> collection) {
-        if (query4Split != null) {
-            log.info("query for mongodb split : " + query4Split);
-            return collection.find(service.getBsonDocument(query4Split)).iterator();
+    private Iterator<RawBsonDocument> fetchData(MongoCommonDataSet dataset,
+            MongoCollection<RawBsonDocument> collection) {
+        if (filter4Split != null) {
+            log.info("filter for mongodb split : " + filter4Split);
         }
 
         Long sampleLimit = configuration.getSampleLimit();
         if (dataset instanceof MongoDBReadDataSet) {
             // return fetchData((MongoDBReadDataSet) dataset, collection);
             BsonDocument query = service.getBsonDocument(((MongoDBReadDataSet) dataset).getQuery());
-            FindIterable<Document> fi = collection.find(query);
+            if (filter4Split != null) {
+                query = query.isEmpty() ? filter4Split
+                        : new BsonDocument("$and", new BsonArray(Arrays.asList(query, filter4Split)));
+            }
+            FindIterable<RawBsonDocument> fi = collection.find(query);
             if (sampleLimit != null && sampleLimit > 0) {
                 fi = fi.limit(sampleLimit.intValue());
             }
             return fi.iterator();
         } else {
-            FindIterable<Document> fi = collection.find();
+            FindIterable<RawBsonDocument> fi =
+                    filter4Split == null ? collection.find() : collection.find(filter4Split);
             if (sampleLimit != null && sampleLimit > 0) {
                 fi = fi.limit(sampleLimit.intValue());
             }
@@ -141,7 +153,7 @@ public class MongoDBReader extends MongoCommonInput {
     @Producer
     public Record next() {
         if (iterator.hasNext()) {
-            Document document = iterator.next();
+            RawBsonDocument document = iterator.next();
             return doConvert(document);
         }
         return null;
@@ -185,6 +197,9 @@ public class MongoDBReader extends MongoCommonInput {
 
     @PreDestroy
     public void release() {
+        if (bsonToRecord != null) {
+            log.debug("mongodb document schemas : {}", bsonToRecord);
+        }
         service.closeClient(client);
     }
 
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongo.service;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Code;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+class BsonToRecordTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void sameRecordAsDocument() {
+        final Document document = new Document("_id", new ObjectId())
+                .append("name", "Talend")
+                .append("count", 12)
+                .append("total", 123456789012L)
+                .append("rate", 1.5)
+                .append("active", true)
+                .append("created", new Date(1_600_000_000_000L))
+                .append("code", new Code("var i = 0;"))
+                .append("price", new Decimal128(new BigDecimal("12.34")))
+                .append("nothing", null)
+                .append("address", new Document("city", "Nantes").append("zip", 44000))
+                .append("tags", Arrays.asList("a", "b"))
+                .append("ids", Arrays.asList(new ObjectId(), new ObjectId()))
+                .append("matrix", Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)))
+                .append("empty", Collections.emptyList())
+                .append("items",
+                        Arrays.asList(new Document("sku", "x1").append("qty", 1),
+                                new Document("sku", "x2").append("qty", 2).append("note", "gift")));
+
+        final Record expected = new DocumentToRecord(factory).toRecord(document);
+        final Record record = new BsonToRecord(factory).toRecord(new RawBsonDocument(document, new DocumentCodec()));
+
+        Assertions.assertEquals(expected.getSchema(), record.getSchema());
+        Assertions.assertEquals(expected.toString(), record.toString());
+    }
+
+    @Test
+    void schemaByShape() {
+        final BsonToRecord toRecord = new BsonToRecord(factory, 2);
+        for (int i = 0; i < 10; i++) {
+            final Record record = toRecord.toRecord(raw(new Document("id", i).append("name", "name" + i)));
+            Assertions.assertEquals(i, record.getInt("id"));
+            Assertions.assertEquals("name" + i, record.getString("name"));
+        }
+        Assertions.assertEquals(1, toRecord.getMisses());
+        Assertions.assertEquals(9, toRecord.getHits());
+
+        // other field type, other field order, other array element : other shapes.
+        toRecord.toRecord(raw(new Document("id", 1L).append("name", "n")));
+        toRecord.toRecord(raw(new Document("name", "n").append("id", 1)));
+        final Record record = toRecord.toRecord(raw(new Document("id", 1).append("name", Arrays.asList(1, 2))));
+        Assertions.assertEquals(Arrays.asList(1, 2), record.getArray(Integer.class, "name"));
+        Assertions.assertEquals(4, toRecord.getMisses());
+        Assertions.assertEquals(2, toRecord.size());
+
+        // only first element of array gives schema
+        Assertions
+                .assertEquals(toRecord.shapeOf(raw(new Document("a", Arrays.asList(1, 2)))),
+                        toRecord.shapeOf(raw(new Document("a", Arrays.asList(3, "x", 5)))));
+        // all sub documents are merged
+        Assertions
+                .assertNotEquals(toRecord.shapeOf(raw(new Document("a", Arrays.asList(new Document("x", 1))))),
+                        toRecord
+                                .shapeOf(raw(new Document("a",
+                                        Arrays.asList(new Document("x", 1), new Document("y", 1))))));
+    }
+
+    private RawBsonDocument raw(Document document) {
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+}
@@ -23,6 +23,7 @@ import de.flapdoodle.embed.mongo.config.*;
 import de.flapdoodle.embed.mongo.distribution.Version;
 import de.flapdoodle.embed.process.runtime.Network;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
 import org.bson.Document;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
@@ -453,6 +454,28 @@ public class MongoDBTest {
         Assertions.assertEquals(10, res.size());
     }
 
+    @Test
+    void testSinkBulkWriteWithRejectedRecords() {
+        MongoDBReadAndWriteDataSet dataset = getMongoDBReadAndWriteDataSet("sinkbulkrejected");
+
+        dataset.setMode(Mode.JSON);
+
+        MongoDBSinkConfiguration config = new MongoDBSinkConfiguration();
+        config.setDataset(dataset);
+        config.setBulkWrite(true);
+        config.setBulkWriteType(BulkWriteType.UNORDERED);
+        config.setBulkWriteConcurrency(2);
+
+        // second insert of each _id fails, but not the whole group
+        List<Record> testData = new ArrayList<>(getDuplicatedKeyTestData());
+        testData.addAll(getDuplicatedKeyTestData());
+        componentsHandler.setInputData(testData);
+        executeSinkTestJob(config);
+
+        List<Record> res = getRecords(dataset);
+        Assertions.assertEquals(10, res.size());
+    }
+
     @Test
     void testUpdate() {
         MongoDBReadAndWriteDataSet dataset = getMongoDBReadAndWriteDataSet("sinkupdate");
@@ -903,15 +926,20 @@ public class MongoDBTest {
         MongoDBQuerySourceConfiguration source_config = new MongoDBQuerySourceConfiguration();
         source_config.setDataset(source_dataset);
 
-        Assertions.assertFalse(SplitUtil.isSplit("{ }", null));
+        Assertions.assertTrue(SplitUtil.isSplit("{ }", null));
         Assertions.assertFalse(SplitUtil.isSplit(null, 8l));
         Assertions.assertTrue(SplitUtil.isSplit(null, null));
         Assertions.assertTrue(SplitUtil.isSplit(null, -1l));
         Assertions.assertFalse(SplitUtil.isSplit(8l));
         Assertions.assertTrue(SplitUtil.isSplit(null));
         Assertions.assertTrue(SplitUtil.isSplit(-1l));
-        List<String> result = SplitUtil.getQueries4Split(source_config, new MongoDBService(), 5);
-        Assertions.assertEquals(5, result.size());
+        List<BsonDocument> result = SplitUtil.getFilters4Split(source_config, new MongoDBService(), 5);
+        Assertions.assertTrue(result.size() > 1);
+
+        // splits cover the collection, without overlap
+        MongoCollection<Document> collection = client.getDatabase(DATABASE).getCollection("basic");
+        long count = result.stream().mapToLong(collection::countDocuments).sum();
+        Assertions.assertEquals(collection.countDocuments(), count);
     }
 
     @Disabled
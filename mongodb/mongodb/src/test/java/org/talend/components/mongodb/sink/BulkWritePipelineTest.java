@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.mongodb.sink;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class BulkWritePipelineTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void orderedStopsAtFirstFailedBulkWrite() {
+        final List<Integer> sentBulkWrites = new ArrayList<>();
+        // second operation of first bulk write fails.
+        final MongoCollection<Document> collection = this.collection(models -> {
+            sentBulkWrites.add(models.size());
+            if (sentBulkWrites.size() == 1) {
+                throw new MongoBulkWriteException(BulkWriteResult.unacknowledged(),
+                        Collections.singletonList(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)),
+                        null, new ServerAddress());
+            }
+        });
+
+        final List<BulkWritePipeline.Reject> rejects;
+        try (BulkWritePipeline pipeline = new BulkWritePipeline(collection, true, 4, 3, 1024 * 1024)) {
+            for (int i = 0; i < 6; i++) {
+                final Record record = this.factory.newRecordBuilder().withInt("id", i).build();
+                pipeline.add(record, new InsertOneModel<>(new Document("id", i)));
+            }
+            rejects = pipeline.flush();
+            // second bulk write of flush is not sent.
+            Assertions.assertEquals(1, sentBulkWrites.size());
+
+            // pipeline is usable again after flush.
+            pipeline.add(this.factory.newRecordBuilder().withInt("id", 6).build(),
+                    new InsertOneModel<>(new Document("id", 6)));
+            Assertions.assertTrue(pipeline.flush().isEmpty());
+        }
+
+        Assertions.assertEquals(5, rejects.size());
+        Assertions.assertEquals(1, rejects.get(0).getRecord().getInt("id"));
+        Assertions.assertEquals("11000 : duplicate key", rejects.get(0).getError());
+        for (int i = 1; i < rejects.size(); i++) {
+            Assertions.assertEquals(i + 1, rejects.get(i).getRecord().getInt("id"));
+            Assertions.assertEquals("not executed after previous error", rejects.get(i).getError());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private MongoCollection<Document> collection(BulkWriter writer) {
+        return (MongoCollection<Document>) Proxy
+                .newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { MongoCollection.class },
+                        (proxy, method, args) -> {
+                            if ("bulkWrite".equals(method.getName())) {
+                                writer.write((List<WriteModel<Document>>) args[0]);
+                                return null;
+                            }
+                            throw new UnsupportedOperationException(method.getName());
+                        });
+    }
+
+    @FunctionalInterface
+    private interface BulkWriter {
+
+        void write(List<WriteModel<Document>> models);
+    }
+}
@@ -13,43 +13,56 @@
 package org.talend.components.salesforce.commons;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
+/**
+ * Rows of a bulk query result, read from csv reader or from rows already downloaded.
+ */
 public class BulkResultSet {
 
     private final com.csvreader.CsvReader reader;
 
+    /** downloaded rows, used when there is no reader */
+    private final Iterator<String[]> rows;
+
     private final List<String> header;
 
     public BulkResultSet(com.csvreader.CsvReader reader, List<String> header) {
         this.reader = reader;
+        this.rows = null;
         this.header = header;
     }
 
-    public Map<String, String> next() {
+    public BulkResultSet(Iterator<String[]> rows, List<String> header) {
+        this.reader = null;
+        this.rows = rows;
+        this.header = header;
+    }
+
+    public List<String> getHeader() {
+        return this.header;
+    }
+
+    /**
+     * Values of next row, in header order.
+     *
+     * @return row values, null at end of result.
+     */
+    public String[] nextRow() {
+        if (this.rows != null) {
+            return this.rows.hasNext() ? this.rows.next() : null;
+        }
         try {
-            boolean hasNext = reader.readRecord();
-            Map<String, String> result = null;
-            String[] row;
-            if (hasNext) {
-                if ((row = reader.getValues()) != null) {
-                    result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-                    for (int i = 0; i < this.header.size(); i++) {
-                        // We replace the . with _ to add support of relationShip Queries
-                        // The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
-                        // So Account.Name in SF will be Account_Name in Talend
-                        result.put(header.get(i).replace('.', '_'), row[i]);
-
-                    }
-                    return result;
-                } else {
-                    return next();
+            while (reader.readRecord()) {
+                final String[] row = reader.getValues();
+                if (row != null) {
+                    return row;
                 }
-            } else {
-                this.reader.close();
             }
+            this.reader.close();
             return null;
         } catch (IOException e) {
             this.reader.close();
@@ -57,4 +70,27 @@ public class BulkResultSet {
         }
     }
 
-}
\ No newline at end of file
+    public Map<String, String> next() {
+        final String[] row = this.nextRow();
+        if (row == null) {
+            return null;
+        }
+        final Map<String, String> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < this.header.size(); i++) {
+            // We replace the . with _ to add support of relationShip Queries
+            // The relationShip Queries Use . in Salesforce and we use _ in Talend (Studio)
+            // So Account.Name in SF will be Account_Name in Talend
+            result.put(header.get(i).replace('.', '_'), row[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Close reader when result is not read until its end.
+     */
+    public void close() {
+        if (this.reader != null) {
+            this.reader.close();
+        }
+    }
+}
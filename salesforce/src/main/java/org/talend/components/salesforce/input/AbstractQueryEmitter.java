@@ -99,17 +99,17 @@ public abstract class AbstractQueryEmitter implements Serializable {
                 bulkQueryService.setRecordSchema(schema);
             }
             if (bulkResultSet == null) {
-                bulkResultSet = bulkQueryService.getQueryResultSet(bulkQueryService.nextResultId());
+                bulkResultSet = bulkQueryService.nextResultSet();
             }
-            Map<String, String> currentRecord = bulkResultSet.next();
-            if (currentRecord == null) {
-                String resultId = bulkQueryService.nextResultId();
-                if (resultId != null) {
-                    bulkResultSet = bulkQueryService.getQueryResultSet(resultId);
-                    currentRecord = bulkResultSet.next();
-                }
+            String[] currentRow = null;
+            while (bulkResultSet != null && (currentRow = bulkResultSet.nextRow()) == null) {
+                // results are downloaded in background, go to next one.
+                bulkResultSet = bulkQueryService.nextResultSet();
             }
-            return bulkQueryService.convertToRecord(currentRecord);
+            if (currentRow == null) {
+                return null;
+            }
+            return bulkQueryService.convertToRecord(currentRow, bulkResultSet.getHeader());
         } catch (ConnectionException e) {
             throw service.handleConnectionException(e);
         } catch (AsyncApiException e) {
@@ -122,6 +122,7 @@ public abstract class AbstractQueryEmitter implements Serializable {
     @PreDestroy
     public void release() {
         try {
+            bulkQueryService.closeResults();
             bulkQueryService.closeJob();
         } catch (AsyncApiException | ConnectionException e) {
             log.error(e.getMessage());
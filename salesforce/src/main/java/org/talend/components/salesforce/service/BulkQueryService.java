@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import com.sforce.async.AsyncApiException;
 import com.sforce.async.AsyncExceptionCode;
@@ -66,6 +67,9 @@ public class BulkQueryService {
 
     private static final int MAX_BATCH_EXECUTION_TIME = 600 * 1000;
 
+    /** maximum number of results downloaded concurrently */
+    private static final int MAX_CONCURRENT_DOWNLOADS = 4;
+
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
     private static final SimpleDateFormat DATETIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'.000Z'");
@@ -86,8 +90,6 @@ public class BulkQueryService {
 
     private JobInfo job;
 
-    private List<String> baseFileHeader;
-
     private ConcurrencyMode concurrencyMode = null;
 
     private Iterator<String> queryResultIDs = null;
@@ -104,6 +106,17 @@ public class BulkQueryService {
     // pre build record schema
     private Schema recordSchema;
 
+    private BulkResultPrefetcher prefetcher;
+
+    /** header of last converted row */
+    private List<String> mappedHeader;
+
+    /** for each schema entry, index of its column in mapped header, -1 if missing */
+    private int[] columnIndexes;
+
+    /** for each schema entry, its module field */
+    private IField[] columnFields;
+
     public BulkQueryService(final BulkConnection bulkConnection, final RecordBuilderFactory recordBuilderFactory,
             final Messages messages) {
         this.bulkConnection = bulkConnection;
@@ -193,12 +206,39 @@ public class BulkQueryService {
                         FILE_ENCODING)),
                 ',');
         baseFileReader.setSafetySwitch(safetySwitch);
+        List<String> baseFileHeader = null;
         if (baseFileReader.readRecord()) {
             baseFileHeader = Arrays.asList(baseFileReader.getValues());
         }
         return new BulkResultSet(baseFileReader, baseFileHeader);
     }
 
+    /**
+     * Get next bulk resultset.
+     * All results are downloaded in background, several at once, while previous ones are read.
+     *
+     * @return next resultset, null if there is no more result.
+     */
+    public BulkResultSet nextResultSet() throws AsyncApiException, IOException, ConnectionException {
+        if (prefetcher == null) {
+            if (queryResultIDs == null) {
+                return null;
+            }
+            prefetcher = new BulkResultPrefetcher(queryResultIDs, this::getQueryResultSet, MAX_CONCURRENT_DOWNLOADS);
+        }
+        return prefetcher.nextResultSet();
+    }
+
+    /**
+     * Stop downloading results.
+     */
+    public void closeResults() {
+        if (prefetcher != null) {
+            prefetcher.close();
+            prefetcher = null;
+        }
+    }
+
     /**
      * Create bulk api job
      */
@@ -452,6 +492,53 @@ public class BulkQueryService {
         return recordBuilder.build();
     }
 
+    /**
+     * Convert result row to record, columns are mapped to schema entries once by header.
+     *
+     * @param row : values of row.
+     * @param header : column names of row.
+     * @return record, null if row is null.
+     */
+    public Record convertToRecord(String[] row, List<String> header) throws IOException {
+        if (row == null) {
+            return null;
+        }
+        if (header != mappedHeader) {
+            mapColumns(header);
+        }
+        Record.Builder recordBuilder = recordBuilderFactory.newRecordBuilder(recordSchema);
+        final List<Schema.Entry> entries = recordSchema.getEntries();
+        for (int i = 0; i < columnIndexes.length; i++) {
+            final int index = columnIndexes[i];
+            final String resultValue = index >= 0 && index < row.length ? row[index] : null;
+            addField(recordBuilder, entries.get(i).getName(), columnFields[i], resultValue);
+        }
+        return recordBuilder.build();
+    }
+
+    /**
+     * Find column of each schema entry, as {@link #convertToRecord(Map)} does by name.
+     */
+    private void mapColumns(List<String> header) {
+        final Map<String, Integer> indexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < header.size(); i++) {
+            indexes.put(header.get(i).replace('.', '_'), i);
+        }
+        final List<Schema.Entry> entries = recordSchema.getEntries();
+        columnIndexes = new int[entries.size()];
+        columnFields = new IField[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            final String columnName = entries.get(i).getName();
+            Integer index = indexes.get(columnName);
+            if (index == null) {
+                index = indexes.get(columnName.substring(columnName.indexOf("_") + 1));
+            }
+            columnIndexes[i] = index == null ? -1 : index;
+            columnFields[i] = fieldMap.get(columnName);
+        }
+        mappedHeader = header;
+    }
+
     public void setFieldMap(Map<String, IField> fieldMap) {
         this.fieldMap = fieldMap;
     }
@@ -460,12 +547,19 @@ public class BulkQueryService {
      * Add field to record
      */
     private void addField(final Record.Builder builder, String fieldName, final String value) throws IOException {
+        // Get field from module field mapping, if null means not a field of module
+        addField(builder, fieldName, fieldMap.get(fieldName), value);
+    }
+
+    /**
+     * Add field to record
+     */
+    private void addField(final Record.Builder builder, String fieldName, final IField field, final String value)
+            throws IOException {
         if (value == null || value.isEmpty()) {
             return;
         }
         try {
-            // Get field from module field mapping, if null means not a field of module
-            IField field = fieldMap.get(fieldName);
             if (field != null) {
                 switch (field.getType()) {
                 case _boolean:
@@ -505,5 +599,6 @@ public class BulkQueryService {
 
     public void setRecordSchema(Schema recordSchema) {
         this.recordSchema = recordSchema;
+        this.mappedHeader = null;
     }
 }
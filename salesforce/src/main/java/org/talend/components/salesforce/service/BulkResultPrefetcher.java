@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sforce.async.AsyncApiException;
+import com.sforce.ws.ConnectionException;
+
+import org.talend.components.salesforce.commons.BulkResultSet;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Download several bulk query results (PK chunks) concurrently.
+ * Each result is read by a worker thread into a bounded buffer of row blocks, while the emitter drains results in
+ * order. Results are started in order on a fixed pool, so the result being drained always has a running worker.
+ */
+@Slf4j
+public class BulkResultPrefetcher implements AutoCloseable {
+
+    /** number of rows in a block of buffer */
+    static final int BLOCK_SIZE = 500;
+
+    /** number of blocks buffered for one result */
+    static final int BUFFER_BLOCKS = 8;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    /** end of result marker */
+    private static final List<String[]> END = Collections.emptyList();
+
+    @FunctionalInterface
+    public interface ResultOpener {
+
+        BulkResultSet open(String resultId) throws AsyncApiException, ConnectionException, IOException;
+    }
+
+    private final ExecutorService executor;
+
+    /** results not yet given to emitter, in order */
+    private final Deque<PrefetchedResult> results = new ArrayDeque<>();
+
+    public BulkResultPrefetcher(Iterator<String> resultIds, ResultOpener opener, int concurrency) {
+        final int pool = POOL_NUMBER.incrementAndGet();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, concurrency), (Runnable r) -> {
+            final Thread thread =
+                    new Thread(r, "salesforce-bulk-result-" + pool + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        while (resultIds.hasNext()) {
+            final PrefetchedResult result = new PrefetchedResult(resultIds.next());
+            this.results.add(result);
+            this.executor.submit(() -> result.download(opener));
+        }
+        this.executor.shutdown();
+    }
+
+    /**
+     * Get next result, wait for its header if not yet downloaded.
+     *
+     * @return next result, null if all results were given.
+     */
+    public BulkResultSet nextResultSet() throws AsyncApiException, ConnectionException, IOException {
+        final PrefetchedResult result = this.results.poll();
+        if (result == null) {
+            return null;
+        }
+        try {
+            return new BulkResultSet(result, result.header.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for bulk result " + result.resultId, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof AsyncApiException) {
+                throw (AsyncApiException) cause;
+            }
+            if (cause instanceof ConnectionException) {
+                throw (ConnectionException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        // interrupt workers waiting for buffer space.
+        this.executor.shutdownNow();
+        this.results.clear();
+    }
+
+    /**
+     * One result, filled by a worker and drained by the emitter.
+     */
+    private static class PrefetchedResult implements Iterator<String[]> {
+
+        private final String resultId;
+
+        private final CompletableFuture<List<String>> header = new CompletableFuture<>();
+
+        private final BlockingQueue<List<String[]>> blocks = new ArrayBlockingQueue<>(BUFFER_BLOCKS);
+
+        /** worker error, given to emitter after end marker */
+        private volatile Throwable error;
+
+        /** block being drained by emitter */
+        private List<String[]> current = Collections.emptyList();
+
+        private int position;
+
+        private boolean ended;
+
+        PrefetchedResult(String resultId) {
+            this.resultId = resultId;
+        }
+
+        /**
+         * Worker side, read whole result into buffer.
+         */
+        void download(ResultOpener opener) {
+            BulkResultSet source = null;
+            try {
+                source = opener.open(this.resultId);
+                this.header.complete(source.getHeader());
+                List<String[]> block = new ArrayList<>(BLOCK_SIZE);
+                String[] row;
+                while ((row = source.nextRow()) != null) {
+                    block.add(row);
+                    if (block.size() >= BLOCK_SIZE) {
+                        this.blocks.put(block);
+                        block = new ArrayList<>(BLOCK_SIZE);
+                    }
+                }
+                if (!block.isEmpty()) {
+                    this.blocks.put(block);
+                }
+            } catch (InterruptedException e) {
+                // prefetcher closed.
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.debug("Error while downloading bulk result {}", this.resultId, e);
+                this.error = e;
+                this.header.completeExceptionally(e);
+            } finally {
+                if (source != null) {
+                    source.close();
+                }
+            }
+            try {
+                this.blocks.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.ended && this.position >= this.current.size()) {
+                try {
+                    this.current = this.blocks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while reading bulk result " + this.resultId, e);
+                }
+                this.position = 0;
+                if (this.current == END) {
+                    this.ended = true;
+                    if (this.error != null) {
+                        throw new IllegalStateException(this.error.getMessage(), this.error);
+                    }
+                }
+            }
+            return !this.ended;
+        }
+
+        @Override
+        public String[] next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.current.get(this.position++);
+        }
+    }
+}
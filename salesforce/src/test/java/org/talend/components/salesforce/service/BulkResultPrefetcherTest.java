@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2006-2022 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.talend.components.salesforce.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import com.csvreader.CsvReader;
+import com.csvreader.CsvWriter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.talend.components.salesforce.commons.BulkResultSet;
+
+public class BulkResultPrefetcherTest {
+
+    @Test
+    @DisplayName("Test results are read in order")
+    public void testResultsOrder() throws Exception {
+        // more rows than buffer capacity, so workers wait for emitter.
+        final int rowCount = BulkResultPrefetcher.BLOCK_SIZE * (BulkResultPrefetcher.BUFFER_BLOCKS + 2) + 7;
+        final List<String> resultIds = Arrays.asList("r0", "r1", "r2", "r3", "r4");
+        try (BulkResultPrefetcher prefetcher = new BulkResultPrefetcher(resultIds.iterator(),
+                (String resultId) -> openResult(resultId, rowCount), 2)) {
+            for (String resultId : resultIds) {
+                final BulkResultSet resultSet = prefetcher.nextResultSet();
+                assertEquals(Arrays.asList("Id", "Account.Name"), resultSet.getHeader());
+                int count = 0;
+                String[] row;
+                while ((row = resultSet.nextRow()) != null) {
+                    assertEquals(resultId + "_" + count, row[0]);
+                    assertEquals("name" + count, row[1]);
+                    count++;
+                }
+                assertEquals(rowCount, count);
+            }
+            assertNull(prefetcher.nextResultSet());
+        }
+    }
+
+    @Test
+    @DisplayName("Test open error is given to emitter")
+    public void testOpenError() throws Exception {
+        final List<String> resultIds = Arrays.asList("r0", "r1");
+        try (BulkResultPrefetcher prefetcher = new BulkResultPrefetcher(resultIds.iterator(), (String resultId) -> {
+            if ("r1".equals(resultId)) {
+                throw new IOException("I/O ERROR");
+            }
+            return openResult(resultId, 3);
+        }, 4)) {
+            final BulkResultSet first = prefetcher.nextResultSet();
+            int count = 0;
+            while (first.nextRow() != null) {
+                count++;
+            }
+            assertEquals(3, count);
+            final IOException error = assertThrows(IOException.class, prefetcher::nextResultSet);
+            assertEquals("I/O ERROR", error.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Test read error is given to emitter")
+    public void testReadError() throws Exception {
+        final List<String> resultIds = Arrays.asList("r0");
+        try (BulkResultPrefetcher prefetcher = new BulkResultPrefetcher(resultIds.iterator(),
+                (String resultId) -> new BulkResultSet(Arrays.<String[]> asList(new String[] { "a" }).iterator(),
+                        Arrays.asList("Id")) {
+
+                    private int rows;
+
+                    @Override
+                    public String[] nextRow() {
+                        if (rows++ > 0) {
+                            throw new IllegalStateException("read error");
+                        }
+                        return super.nextRow();
+                    }
+                }, 1)) {
+            final BulkResultSet resultSet = prefetcher.nextResultSet();
+            final IllegalStateException error = assertThrows(IllegalStateException.class, () -> {
+                while (resultSet.nextRow() != null) {
+                }
+            });
+            assertEquals("read error", error.getMessage());
+        }
+    }
+
+    private static BulkResultSet openResult(String resultId, int rowCount) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final CsvWriter csvWriter = new CsvWriter(out, ',', StandardCharsets.UTF_8);
+        csvWriter.writeRecord(new String[] { "Id", "Account.Name" });
+        for (int i = 0; i < rowCount; i++) {
+            csvWriter.writeRecord(new String[] { resultId + "_" + i, "name" + i });
+        }
+        csvWriter.close();
+        final CsvReader csvReader =
+                new CsvReader(new ByteArrayInputStream(out.toByteArray()), ',', StandardCharsets.UTF_8);
+        csvReader.readRecord();
+        return new BulkResultSet(csvReader, Arrays.asList(csvReader.getValues()));
+    }
+}